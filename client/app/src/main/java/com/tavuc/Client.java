@@ -1,19 +1,33 @@
 package com.tavuc;
 
-import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.tavuc.exceptions.ProtocolException;
 import com.tavuc.managers.WorldManager;
 import com.tavuc.models.planets.ColorPallete;
 import com.tavuc.networking.models.AttackShipFireBroadcast;
@@ -32,6 +46,7 @@ import com.tavuc.networking.models.LeaveGameRequest;
 import com.tavuc.networking.models.ListGamesRequest;
 import com.tavuc.networking.models.ListGamesResponse;
 import com.tavuc.networking.models.LoginRequest;
+import com.tavuc.networking.models.LoginQueued;
 import com.tavuc.networking.models.LoginResponse;
 import com.tavuc.networking.models.PlayerJoinedBroadcast;
 import com.tavuc.networking.models.PlayerLeftBroadcast;
@@ -41,6 +56,8 @@ import com.tavuc.networking.models.PlayerInitialData;
 import com.tavuc.networking.models.ProjectileSpawnedBroadcast;
 import com.tavuc.networking.models.ProjectileUpdateBroadcast;
 import com.tavuc.networking.models.ProjectileRemovedBroadcast;
+import com.tavuc.networking.models.ProtocolHello;
+import com.tavuc.networking.models.ProtocolHelloAck;
 import com.tavuc.networking.models.RegisterRequest;
 import com.tavuc.networking.models.RegisterResponse;
 import com.tavuc.networking.models.RequestChunkRequest;
@@ -48,7 +65,11 @@ import com.tavuc.networking.models.RequestChunkResponse;
 import com.tavuc.networking.models.RequestPaletteRequest;
 import com.tavuc.networking.models.RequestPaletteResponse;
 import com.tavuc.networking.models.RequestPlanetsAreaRequest;
+import com.tavuc.networking.models.Ping;
+import com.tavuc.networking.models.Pong;
 import com.tavuc.networking.models.RequestPlanetsAreaResponse;
+import com.tavuc.networking.models.ResumeRequest;
+import com.tavuc.networking.models.ResumeResponse;
 import com.tavuc.networking.models.ShipLeftBroadcast;
 import com.tavuc.networking.models.ShipUpdateBroadcast;
 import com.tavuc.networking.models.ShipDamagedBroadcast;
@@ -56,6 +77,11 @@ import com.tavuc.networking.models.ShipDestroyedBroadcast;
 import com.tavuc.networking.models.ShipUpdateRequest;
 import com.tavuc.networking.models.DummyUpdateBroadcast; // Added import
 import com.tavuc.networking.models.DummyRemovedBroadcast; // Added import
+import com.tavuc.networking.UdpChannel;
+import com.tavuc.networking.protocol.FrameCompressor;
+import com.tavuc.networking.protocol.FrameReader;
+import com.tavuc.networking.protocol.MessageCodecs;
+import com.tavuc.networking.protocol.WireFormat;
 import com.tavuc.ui.panels.GamePanel;
 import com.tavuc.ui.panels.ISpacePanel;
 import com.tavuc.ui.panels.SpacePanel;
@@ -76,10 +102,23 @@ public class Client {
     private String username;
     private int currentGameId;
     private String currentPlanetName;
-    private static PrintWriter out;
-    private static BufferedReader in;
+    private static final int HANDSHAKE_TIMEOUT_MS = 10000;
+    private static final String SERVER_HOST = "localhost";
+    private static final int SERVER_PORT = 5000;
+    private static final long RESUME_WINDOW_MS = 25000;
+    private static final long RESUME_MAX_BACKOFF_MS = 4000;
+    private static volatile String resumeToken;
+    private static final AtomicBoolean resuming = new AtomicBoolean(false);
+    private static OutputStream out;
+    private static FrameReader in;
     private static Socket socket;
-    private static volatile CompletableFuture<String> activeRequestFuture; 
+    private static final Object sendLock = new Object();
+    private static volatile WireFormat wireFormat = WireFormat.JSON;
+    private static volatile UdpChannel udpChannel;
+    private static volatile FrameCompressor compressor;
+    private static volatile CompletableFuture<BaseMessage> activeRequestFuture; 
+    private static final Map<Integer, CompletableFuture<BaseMessage>> pendingRequests = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextRequestId = new AtomicInteger();
     public static GamePanel currentGamePanel = null;
     public static SpacePanel currentSpacePanel = null; 
     public static WorldManager worldManager = null;
@@ -164,6 +203,33 @@ public class Client {
     }
 
 
+    /**
+     * Sends a message to the server in the encoding negotiated for this connection.
+     * @param message The message to send
+     */
+    private static void send(BaseMessage message) {
+        UdpChannel udp = udpChannel;
+        if (udp != null && udp.send(message)) {
+            return;
+        }
+        try {
+            synchronized (sendLock) {
+                if (wireFormat == WireFormat.BINARY) {
+                    ByteBuffer frame = MessageCodecs.encodeFrame(message);
+                    if (compressor != null) {
+                        frame = compressor.compress(frame);
+                    }
+                    out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+                } else {
+                    out.write((gson.toJson(message) + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Client: Failed to send " + message.type + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Waits for a response from the server. Will block until a response is received or the timeout is reached.
      * @param timeoutSeconds Timeout in seconds
@@ -172,8 +238,8 @@ public class Client {
      * @throws ExecutionException
      * @throws TimeoutException
      */
-    private static String waitForResponse(long timeoutSeconds) throws InterruptedException, ExecutionException, TimeoutException {
-        CompletableFuture<String> localRequestFuture = new CompletableFuture<>();
+    private static BaseMessage waitForResponse(long timeoutSeconds) throws InterruptedException, ExecutionException, TimeoutException {
+        CompletableFuture<BaseMessage> localRequestFuture = new CompletableFuture<>();
         activeRequestFuture = localRequestFuture; 
 
         try {
@@ -186,81 +252,177 @@ public class Client {
         }
     }
 
+    /**
+     * Sends a request tagged with a fresh request ID and waits for the response carrying the same ID.
+     * Any number of these may be outstanding at once and their responses may arrive in any order.
+     * @param request Builds the request for the given request ID
+     * @param timeoutSeconds How long to wait for the response
+     * @return The decoded response
+     * @throws InterruptedException
+     * @throws ExecutionException
+     * @throws TimeoutException
+     */
+    private static BaseMessage sendCorrelated(IntFunction<BaseMessage> request, long timeoutSeconds) throws InterruptedException, ExecutionException, TimeoutException {
+        int requestId = nextRequestId.updateAndGet(id -> id == Integer.MAX_VALUE ? 1 : id + 1);
+        CompletableFuture<BaseMessage> future = new CompletableFuture<>();
+        pendingRequests.put(requestId, future);
+        try {
+            send(request.apply(requestId));
+            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } finally {
+            pendingRequests.remove(requestId);
+        }
+    }
+
+    /**
+     * Gets the request ID a response answers.
+     * @param message The message received from the server
+     * @return The request ID, or 0 if the message does not answer a correlated request
+     */
+    private static int requestIdOf(BaseMessage message) {
+        if (message instanceof RequestChunkResponse) {
+            return ((RequestChunkResponse) message).requestId;
+        } else if (message instanceof RequestPlanetsAreaResponse) {
+            return ((RequestPlanetsAreaResponse) message).requestId;
+        } else if (message instanceof ErrorMessage) {
+            return ((ErrorMessage) message).requestId;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the response to a request as the type the request expects.
+     * @param response The message that answered the request
+     * @param type The expected response type
+     * @return The response, or null if the server answered with something else, such as an error
+     */
+    private static <T extends BaseMessage> T responseAs(BaseMessage response, Class<T> type) {
+        if (type.isInstance(response)) {
+            return type.cast(response);
+        }
+        System.err.println("Client: Expected " + type.getSimpleName() + " but got: " + errorTextOf(response));
+        return null;
+    }
+
+    /**
+     * Describes a response that is not the one a request expected.
+     * @param response The message that answered the request
+     * @return The server's error text, or the type of the unexpected message
+     */
+    private static String errorTextOf(BaseMessage response) {
+        if (response instanceof ErrorMessage) {
+            return ((ErrorMessage) response).errorMessageContent;
+        }
+        return "Unexpected response " + (response != null ? response.type : null);
+    }
+
     /**
      * Registers a new user with the server.
      * @param username Player's username
      * @param password Player's password
-     * @return Server response
+     * @return The server's response; a failed one if the server answered with an error
      * @throws InterruptedException
      * @throws ExecutionException
      * @throws TimeoutException
      */
-    public static String register(String username, String password) throws InterruptedException, ExecutionException, TimeoutException {
-        if (out == null) return gson.toJson(new RegisterResponse(false, "REGISTER_FAILED_NO_CONNECTION", null));
+    public static RegisterResponse register(String username, String password) throws InterruptedException, ExecutionException, TimeoutException {
+        if (out == null) return new RegisterResponse(false, "REGISTER_FAILED_NO_CONNECTION", null);
         RegisterRequest req = new RegisterRequest(username, password);
-        out.println(gson.toJson(req));
+        send(req);
         
-        String jsonResponse = waitForResponse(20);
-        RegisterResponse resp = gson.fromJson(jsonResponse, RegisterResponse.class);
-
-        if (resp != null && resp.success) {
-            if (resp.message != null && resp.message.startsWith("Login successful after registration")) {
-
-                if (instance != null && resp.playerId != null) {
-                    try {
-                        instance.setLoginDetails(username, Integer.parseInt(resp.playerId));
-                        instance.loggedInStatus = true;
-                    } catch (NumberFormatException e) {
-                        System.err.println("Could not parse player ID from register-login response: " + resp.playerId);
-                    }
+        BaseMessage response = waitForResponse(20);
+        if (response instanceof LoginResponse) {
+            // The server logs a new player in straight away and answers with the login.
+            LoginResponse loginResp = (LoginResponse) response;
+            if (loginResp.success && instance != null && loginResp.playerId != null) {
+                try {
+                    instance.setLoginDetails(username, Integer.parseInt(loginResp.playerId));
+                    instance.loggedInStatus = true;
+                    resumeToken = loginResp.resumeToken;
+                    openUdpChannel(loginResp.udpPort, loginResp.udpToken);
+                } catch (NumberFormatException e) {
+                    System.err.println("Could not parse player ID from register-login response: " + loginResp.playerId);
                 }
             }
-            return jsonResponse; 
+            return new RegisterResponse(loginResp.success, loginResp.message, loginResp.playerId);
         }
-        return jsonResponse;
+        RegisterResponse resp = responseAs(response, RegisterResponse.class);
+        return resp != null ? resp : new RegisterResponse(false, errorTextOf(response), null);
     }
 
     /**
      * Logs in an existing user.
      * @param username Player's username
      * @param password Player's password
-     * @return Server response
+     * @return The server's response; a failed one if the server answered with an error
      * @throws InterruptedException
      * @throws ExecutionException
      * @throws TimeoutException
      */
-    public static String login(String username, String password) throws InterruptedException, ExecutionException, TimeoutException {
+    public static LoginResponse login(String username, String password) throws InterruptedException, ExecutionException, TimeoutException {
         if (out == null) {
             if (instance != null) instance.loggedInStatus = false;
-            return gson.toJson(new LoginResponse(false, "LOGIN_FAILED_NO_CONNECTION", null, null));
+            return new LoginResponse(false, "LOGIN_FAILED_NO_CONNECTION", null, null);
         }
         LoginRequest req = new LoginRequest(username, password);
-        out.println(gson.toJson(req));
+        send(req);
 
-        String jsonResponse = waitForResponse(20);
-        LoginResponse resp = gson.fromJson(jsonResponse, LoginResponse.class);
+        BaseMessage response = waitForResponse(20);
+        LoginResponse resp = responseAs(response, LoginResponse.class);
 
         if (resp != null && resp.success) {
             if (instance != null && resp.playerId != null) {
                 try {
                     instance.setLoginDetails(username, Integer.parseInt(resp.playerId));
                     instance.loggedInStatus = true;
+                    resumeToken = resp.resumeToken;
+                    openUdpChannel(resp.udpPort, resp.udpToken);
                 } catch (NumberFormatException e) {
                     System.err.println("Could not parse player ID from login response: " + resp.playerId);
                     if (instance != null) instance.loggedInStatus = false; 
-                    return gson.toJson(new LoginResponse(false, "LOGIN_FAILED_INVALID_PLAYER_ID", null, null));
+                    return new LoginResponse(false, "LOGIN_FAILED_INVALID_PLAYER_ID", null, null);
                 }
             }
         } else {
             if (instance != null) instance.loggedInStatus = false;
         }
-        return jsonResponse;
+        return resp != null ? resp : new LoginResponse(false, errorTextOf(response), null, null);
+    }
+
+    /**
+     * Opens the UDP channel offered in a login or resume response. Without an offer, or if the channel
+     * cannot be opened, every message keeps using the TCP connection.
+     * Can be disabled with {@code -Dtavuc.udp=false}.
+     * @param udpPort The server's UDP port, or 0 if none was offered.
+     * @param udpToken The session's UDP token, or null if none was offered.
+     */
+    private static void openUdpChannel(int udpPort, String udpToken) {
+        if (udpToken == null || udpPort <= 0 || wireFormat != WireFormat.BINARY) {
+            return;
+        }
+        if (!Boolean.parseBoolean(System.getProperty("tavuc.udp", "true"))) {
+            System.out.println("Client: UDP channel disabled, using TCP only.");
+            return;
+        }
+        try {
+            UdpChannel previous = udpChannel;
+            if (previous != null) {
+                previous.close();
+            }
+            UdpChannel channel = new UdpChannel(socket.getInetAddress(), udpPort, Long.parseUnsignedLong(udpToken, 16),
+                    Client::handleServerMessage);
+            channel.start();
+            udpChannel = channel;
+        } catch (SocketException | NumberFormatException e) {
+            System.err.println("Client: Could not open UDP channel, using TCP only: " + e.getMessage());
+        }
     }
 
     /**
      * Logs out the User.
      */
     public void logout() {
+        resumeToken = null;
         this.loggedInStatus = false;
         this.username = null;
         this.playerId = 0;
@@ -270,33 +432,33 @@ public class Client {
 
     /**
      * Requests a list of available planets from the server.
-     * @return Server response
+     * @return The list of games, or null if the server answered with an error
      * @throws InterruptedException
      * @throws ExecutionException
      * @throws TimeoutException
      */
-    public static String requestPlanetList() throws InterruptedException, ExecutionException, TimeoutException {
-        if (out == null) return gson.toJson(new ListGamesResponse(null)); 
+    public static ListGamesResponse requestPlanetList() throws InterruptedException, ExecutionException, TimeoutException {
+        if (out == null) return new ListGamesResponse(null); 
         ListGamesRequest req = new ListGamesRequest();
-        out.println(gson.toJson(req));
-        return waitForResponse(10); 
+        send(req);
+        return responseAs(waitForResponse(10), ListGamesResponse.class); 
     }
 
     /**
      * Joins a game with the specified ID.
      * @param gameId The ID of the game to join
-     * @return Server response
+     * @return The server's response; a failed one if the server answered with an error
      * @throws InterruptedException
      * @throws ExecutionException
      * @throws TimeoutException
      */
-    public static String joinPlanet(int gameId, String planetName) throws InterruptedException, ExecutionException, TimeoutException {
-        if (out == null) return gson.toJson(new JoinGameResponse(false, "JOIN_FAILED_NO_CONNECTION", String.valueOf(gameId), planetName, null));
+    public static JoinGameResponse joinPlanet(int gameId, String planetName) throws InterruptedException, ExecutionException, TimeoutException {
+        if (out == null) return new JoinGameResponse(false, "JOIN_FAILED_NO_CONNECTION", String.valueOf(gameId), planetName, null);
         JoinGameRequest req = new JoinGameRequest(String.valueOf(gameId));
-        out.println(gson.toJson(req));
+        send(req);
         
-        String jsonResponse = waitForResponse(20);
-        JoinGameResponse resp = gson.fromJson(jsonResponse, JoinGameResponse.class);
+        BaseMessage response = waitForResponse(20);
+        JoinGameResponse resp = responseAs(response, JoinGameResponse.class);
 
         if (resp != null && resp.success) {
             if (instance != null) {
@@ -320,7 +482,7 @@ public class Client {
                 }
             }
         }
-        return jsonResponse;
+        return resp != null ? resp : new JoinGameResponse(false, errorTextOf(response), String.valueOf(gameId), planetName, null);
     }
 
     /**
@@ -338,22 +500,22 @@ public class Client {
             return;
         }
         PlayerUpdateRequest req = new PlayerUpdateRequest(String.valueOf(playerId), x, y, dx, dy, directionAngle);
-        out.println(gson.toJson(req));
+        send(req);
     }
 
     /**
      * Requests the list of players in a game.
      * @param gameId The ID of the game
-     * @return Server response
+     * @return The players in the game, or null if the server answered with an error
      * @throws InterruptedException
      * @throws ExecutionException
      * @throws TimeoutException
      */
-    public static String requestPlayers(int gameId) throws InterruptedException, ExecutionException, TimeoutException {
-        if (out == null) return gson.toJson(new GetPlayersResponse(null)); 
+    public static GetPlayersResponse requestPlayers(int gameId) throws InterruptedException, ExecutionException, TimeoutException {
+        if (out == null) return new GetPlayersResponse(null); 
         GetPlayersRequest req = new GetPlayersRequest(String.valueOf(gameId));
-        out.println(gson.toJson(req));
-        return waitForResponse(5); 
+        send(req);
+        return responseAs(waitForResponse(5), GetPlayersResponse.class); 
     }
 
     /**
@@ -361,37 +523,34 @@ public class Client {
      * @param gameId The ID of the game
      * @param chunkX The x-coordinate of the chunk
      * @param chunkY The y-coordinate of the chunk
-     * @return Server response containing the chunk data
+     * @return The chunk, already handed to the world manager when it arrived, or null if the server answered with an error
      * @throws InterruptedException
      * @throws ExecutionException
      * @throws TimeoutException
      */
-    public static String requestChunkData(int gameId, int chunkX, int chunkY) throws InterruptedException, ExecutionException, TimeoutException {
-        if (out == null) return gson.toJson(new RequestChunkResponse(chunkX, chunkY, null)); 
-        RequestChunkRequest req = new RequestChunkRequest(String.valueOf(gameId), chunkX, chunkY);
-        out.println(gson.toJson(req));
-        return waitForResponse(10); 
+    public static RequestChunkResponse requestChunkData(int gameId, int chunkX, int chunkY) throws InterruptedException, ExecutionException, TimeoutException {
+        if (out == null) return new RequestChunkResponse(chunkX, chunkY, null); 
+        return responseAs(sendCorrelated(requestId -> new RequestChunkRequest(String.valueOf(gameId), chunkX, chunkY, requestId), 10), RequestChunkResponse.class);
     }
 
     /**
      * Requests the color palette for a specific planet.
      * @param gameId The ID of the game 
-     * @return Server response containing the color palette data
+     * @return The palette, or null if the server answered with an error
      * @throws InterruptedException
      * @throws ExecutionException
      * @throws TimeoutException
      */
-    public static String requestPlanetPalette(int gameId) throws InterruptedException, ExecutionException, TimeoutException {
-        if (out == null) return gson.toJson(new RequestPaletteResponse(null, null, null, null, null, null));
+    public static RequestPaletteResponse requestPlanetPalette(int gameId) throws InterruptedException, ExecutionException, TimeoutException {
+        if (out == null) return new RequestPaletteResponse(null, null, null, null, null, null);
         RequestPaletteRequest req = new RequestPaletteRequest(String.valueOf(gameId));
-        out.println(gson.toJson(req));
+        send(req);
         
-        String jsonResponse = waitForResponse(10);
-        RequestPaletteResponse resp = gson.fromJson(jsonResponse, RequestPaletteResponse.class);
+        RequestPaletteResponse resp = responseAs(waitForResponse(10), RequestPaletteResponse.class);
         if (resp != null && resp.primarySurfaceRGB != null) { // Check if response is valid
             processPlanetPaletteData(resp); 
         }
-        return jsonResponse;
+        return resp;
     }
 
     /**
@@ -399,16 +558,14 @@ public class Client {
      * @param centerX The X-coordinate of the center of the area
      * @param centerY The Y-coordinate of the center of the area
      * @param radius The radius of the area
-     * @return Server response containing the planets data
+     * @return The planets in the area, or null if the server answered with an error
      * @throws InterruptedException
      * @throws ExecutionException
      * @throws TimeoutException
      */
-    public static String requestPlanetsArea(double centerX, double centerY, double radius) throws InterruptedException, ExecutionException, TimeoutException {
-        if (out == null) return gson.toJson(new RequestPlanetsAreaResponse(null));
-        RequestPlanetsAreaRequest req = new RequestPlanetsAreaRequest(centerX, centerY, radius);
-        out.println(gson.toJson(req));
-        return waitForResponse(10);
+    public static RequestPlanetsAreaResponse requestPlanetsArea(double centerX, double centerY, double radius) throws InterruptedException, ExecutionException, TimeoutException {
+        if (out == null) return new RequestPlanetsAreaResponse(null);
+        return responseAs(sendCorrelated(requestId -> new RequestPlanetsAreaRequest(centerX, centerY, radius, requestId), 10), RequestPlanetsAreaResponse.class);
     }
 
     public static void sendShipUpdate(int playerId, double x, double y, double angle, double dx, double dy, boolean thrusting) {
@@ -417,7 +574,7 @@ public class Client {
             return;
         }
         ShipUpdateRequest req = new ShipUpdateRequest(String.valueOf(playerId), x, y, angle, dx, dy, thrusting);
-        out.println(gson.toJson(req));
+        send(req);
     }
 
     /**
@@ -430,7 +587,7 @@ public class Client {
             return;
         }
         LeaveGameRequest req = new LeaveGameRequest(); 
-        out.println(gson.toJson(req));
+        send(req);
         System.out.println("Client: Sent LEAVE_GAME_REQUEST");
     }
 
@@ -444,7 +601,7 @@ public class Client {
             return;
         }
         try {
-            out.println(new Gson().toJson(request));
+            send(request);
         } catch (Exception e) {
             System.err.println("Error sending fire request: " + e.getMessage());
         }
@@ -455,7 +612,7 @@ public class Client {
             System.err.println("Client not connected, cannot send parry request.");
             return;
         }
-        out.println(new Gson().toJson(request));
+        send(request);
     }
 
     /**
@@ -466,182 +623,120 @@ public class Client {
         return currentColorPalette;
     }
 
+    /**
+     * Negotiates the wire protocol with the server. The hello and its acknowledgement are
+     * always JSON; if the server agrees on binary, both directions switch to length-prefixed
+     * frames right after the acknowledgement. Any other reply leaves the connection on JSON.
+     * @throws IOException If the server does not answer in time or the connection fails
+     */
+    private static void negotiateProtocol() throws IOException {
+        boolean offerCompression = Boolean.parseBoolean(System.getProperty("tavuc.compression", "true"));
+        send(new ProtocolHello(MessageCodecs.PROTOCOL_VERSION, List.of(WireFormat.BINARY.getWireName(), WireFormat.JSON.getWireName()),
+                offerCompression ? List.of(FrameCompressor.DEFLATE) : List.of()));
+        int previousTimeout = socket.getSoTimeout();
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+        try {
+            String line = in.readLine();
+            if (line == null) {
+                throw new IOException("Server closed the connection during the protocol handshake.");
+            }
+            BaseMessage reply = parseJsonMessage(line);
+            if (reply instanceof ProtocolHelloAck) {
+                ProtocolHelloAck ack = (ProtocolHelloAck) reply;
+                WireFormat agreed = WireFormat.fromWireName(ack.encoding);
+                if (agreed == WireFormat.BINARY && FrameCompressor.DEFLATE.equals(ack.compression)) {
+                    compressor = new FrameCompressor(FrameCompressor.DEFAULT_THRESHOLD_BYTES);
+                }
+                wireFormat = agreed != null ? agreed : WireFormat.JSON;
+                System.out.println("Client: Protocol negotiated: " + wireFormat.getWireName() + (compressor != null ? " with deflate" : "") + " (server version " + ack.version + ").");
+            } else if (reply instanceof ErrorMessage) {
+                throw new IOException("Server refused the connection: " + ((ErrorMessage) reply).errorMessageContent);
+            } else {
+                System.out.println("Client: Server does not support protocol negotiation, staying on JSON. Reply: " + line);
+            }
+        } catch (SocketTimeoutException e) {
+            throw new IOException("Server did not answer the protocol handshake within " + HANDSHAKE_TIMEOUT_MS + " ms.", e);
+        } finally {
+            socket.setSoTimeout(previousTimeout);
+        }
+    }
+
+    /**
+     * Parses one JSON line from the server into its concrete message class.
+     * Older servers double-encode some responses as a JSON string, which is unwrapped first.
+     * @param jsonFromServer The line received from the server
+     * @return The message, or null if the line is not a valid message
+     */
+    private static BaseMessage parseJsonMessage(String jsonFromServer) {
+        String processedJson = unwrapJson(jsonFromServer);
+        try {
+            JsonObject json = JsonParser.parseString(processedJson).getAsJsonObject();
+            JsonElement typeElement = json.get("type");
+            if (typeElement == null || typeElement.isJsonNull()) {
+                System.err.println("Listener: Received message with no type (after potential unwrap): " + processedJson);
+                return null;
+            }
+            String type = typeElement.getAsString();
+            Class<? extends BaseMessage> messageClass = MessageCodecs.messageClassFor(type);
+            BaseMessage message = gson.fromJson(json, messageClass != null ? messageClass : BaseMessage.class);
+            message.type = type;
+            return message;
+        } catch (JsonParseException | IllegalStateException e) {
+            System.err.println("Listener: Received invalid JSON structure for BaseMessage (after potential unwrap): " + processedJson + " - Error: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Unwraps a message that was serialized to a JSON string before being sent.
+     * @param jsonFromServer The line received from the server
+     * @return The inner JSON if the line was a wrapped object or array, otherwise the line itself
+     */
+    private static String unwrapJson(String jsonFromServer) {
+        if (!(jsonFromServer.startsWith("\"") && jsonFromServer.endsWith("\""))) {
+            return jsonFromServer;
+        }
+        try {
+            String unwrappedJson = gson.fromJson(jsonFromServer, String.class);
+            if (unwrappedJson != null && 
+                ((unwrappedJson.trim().startsWith("{") && unwrappedJson.trim().endsWith("}")) || 
+                 (unwrappedJson.trim().startsWith("[") && unwrappedJson.trim().endsWith("]")))) {
+                return unwrappedJson;
+            }
+            System.out.println("Listener: Unwrapping attempt did not yield object/array-like JSON, using original: " + jsonFromServer + (unwrappedJson == null ? " (unwrapped to null)" : " (unwrapped: " + unwrappedJson + ")"));
+        } catch (JsonSyntaxException e_unwrap) {
+            System.out.println("Listener: Failed to unwrap as JSON String (Error: " + e_unwrap.getMessage() + "), using original: " + jsonFromServer);
+        }
+        return jsonFromServer;
+    }
+
     /**
      * Starts the server listener thread.
      */
     public static void startServerListener() {
         new Thread(() -> {
             try {
-                String jsonFromServer;
-                while (socket != null && !socket.isClosed() && (jsonFromServer = in.readLine()) != null) {
-                    //System.out.println("Server JSON: " + jsonFromServer); 
-                    
-                    String processedJson = jsonFromServer; 
-                    if (jsonFromServer.startsWith("\"") && jsonFromServer.endsWith("\"")) {
+                while (socket != null && !socket.isClosed()) {
+                    if (wireFormat == WireFormat.BINARY) {
+                        byte[] frame = in.readFrame();
+                        if (frame == null) break;
+                        List<BaseMessage> messages;
                         try {
-                            String unwrappedJson = gson.fromJson(jsonFromServer, String.class);
-                            if (unwrappedJson != null && 
-                                ((unwrappedJson.trim().startsWith("{") && unwrappedJson.trim().endsWith("}")) || 
-                                 (unwrappedJson.trim().startsWith("[") && unwrappedJson.trim().endsWith("]")))) {
-                                processedJson = unwrappedJson;
-                                System.out.println("Listener: Unwrapped JSON string: " + processedJson);
-                            } else {
-                                System.out.println("Listener: Unwrapping attempt did not yield object/array-like JSON, using original: " + jsonFromServer + (unwrappedJson == null ? " (unwrapped to null)" : " (unwrapped: " + unwrappedJson + ")"));
-                            }
-                        } catch (JsonSyntaxException e_unwrap) {
-                   
-                            System.out.println("Listener: Failed to unwrap as JSON String (Error: " + e_unwrap.getMessage() + "), using original: " + jsonFromServer);
-                        }
-                    }
-
-                    BaseMessage baseMsg = null;
-                    try {
-                        baseMsg = gson.fromJson(processedJson, BaseMessage.class);
-                    } catch (JsonSyntaxException e_base) {
-                        System.err.println("Listener: Received invalid JSON structure for BaseMessage (after potential unwrap): " + processedJson + " - Error: " + e_base.getMessage());
-    
-                        continue; 
-                    }
-
-                    if (baseMsg == null || baseMsg.type == null) {
-                        System.err.println("Listener: Received message with no type (after potential unwrap): " + processedJson);
-                        continue;
-                    }
-
-                    boolean handledByFuture = false;
-                    if (activeRequestFuture != null && !activeRequestFuture.isDone()) {
-                        if (!baseMsg.type.endsWith("_BROADCAST") && !baseMsg.type.equals("ERROR_MESSAGE")) {
-                             activeRequestFuture.complete(processedJson); 
-                             handledByFuture = true;
-                        } else if (baseMsg.type.equals("ERROR_MESSAGE")) { 
-                            activeRequestFuture.complete(processedJson); 
-                            handledByFuture = true;
+                            // A server tick arrives as one bundle frame; unpack it in order.
+                            messages = MessageCodecs.decodeAll(frame, compressor);
+                        } catch (ProtocolException e) {
+                            System.err.println("Listener: Dropping malformed frame of " + frame.length + " bytes: " + e.getMessage());
+                            continue;
                         }
-                    }
-
-                    if (handledByFuture) {
-                        if ("REQUEST_CHUNK_RESPONSE".equals(baseMsg.type) && worldManager != null) {
-                            RequestChunkResponse chunkResponse = gson.fromJson(processedJson, RequestChunkResponse.class); 
-                            SwingUtilities.invokeLater(() -> worldManager.processChunkData(chunkResponse));
-                        } else if ("REQUEST_PALETTE_RESPONSE".equals(baseMsg.type)) {
-                            RequestPaletteResponse paletteResponse = gson.fromJson(processedJson, RequestPaletteResponse.class); 
-                            processPlanetPaletteData(paletteResponse);
+                        for (BaseMessage message : messages) {
+                            handleServerMessage(message);
                         }
                     } else {
-                        switch (baseMsg.type) {
-                            case "PLAYER_MOVED_BROADCAST":
-                                if (worldManager != null) {
-                                    PlayerMovedBroadcast event = gson.fromJson(processedJson, PlayerMovedBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> worldManager.updatePlayer(event));
-                                } else if (currentGamePanel != null) { // Fallback or alternative handler
-                                    PlayerMovedBroadcast event = gson.fromJson(processedJson, PlayerMovedBroadcast.class);
-                                    // Assuming GamePanel might have a similar method or WorldManager is preferred
-                                    // currentGamePanel.processPlayerUpdate(event); // Or adapt as needed
-                                    System.out.println("Client: PLAYER_MOVED_BROADCAST received, currentGamePanel to handle (if worldManager is null)");
-                                }
-                                break;
-                            case "PLAYER_JOINED_BROADCAST":
-                                System.out.println("Listener: Received PLAYER_JOINED_BROADCAST. JSON: " + processedJson);
-                                if (worldManager != null) {
-                                    System.out.println("Listener: worldManager is NOT null. Processing PLAYER_JOINED_BROADCAST.");
-                                    PlayerJoinedBroadcast joinedEvent = gson.fromJson(processedJson, PlayerJoinedBroadcast.class);
-                                    System.out.println("Listener: Parsed PlayerJoinedBroadcast for player ID: " + joinedEvent.playerId + ", username: " + joinedEvent.username);
-                                    SwingUtilities.invokeLater(() -> {
-                                        System.out.println("Listener (invokeLater): Calling worldManager.addPlayer for " + joinedEvent.username);
-                                        worldManager.addPlayer(joinedEvent);
-                                    });
-                                } else {
-                                    System.err.println("Listener: worldManager IS NULL when PLAYER_JOINED_BROADCAST received. Cannot process. JSON: " + processedJson);
-                                }
-                                break;
-                            case "PLAYER_LEFT_BROADCAST":
-                                if (worldManager != null) {
-                                    PlayerLeftBroadcast leftEvent = gson.fromJson(processedJson, PlayerLeftBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> worldManager.removePlayer(leftEvent.playerId));
-                                }
-                                break;
-                            case "SHIP_UPDATE_BROADCAST":
-                                if (currentSpacePanel != null) {
-                                    ShipUpdateBroadcast event = gson.fromJson(processedJson, ShipUpdateBroadcast.class);
-                                    try {
-                                        int pId = Integer.parseInt(event.playerId);
-                                        if (pId == instance.getPlayerId()) {
-                                            SwingUtilities.invokeLater(() -> currentSpacePanel.updatePlayerShip(event.x, event.y, event.angle, event.dx, event.dy, event.thrusting));
-                                        } else {
-                                            SwingUtilities.invokeLater(() -> currentSpacePanel.updateOtherShip(pId, event.x, event.y, event.angle, event.dx, event.dy, event.thrusting));
-                                        }
-                                    } catch (NumberFormatException e) {
-                                        System.err.println("Listener: Error parsing playerId for SHIP_UPDATE_BROADCAST: " + event.playerId);
-                                    }
-                                }
-                                break;
-                            case "SHIP_LEFT_BROADCAST":
-                                if (currentSpacePanel != null) {
-                                    ShipLeftBroadcast event = gson.fromJson(processedJson, ShipLeftBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> currentSpacePanel.removeOtherShip(Integer.parseInt(event.playerId)));
-                                }
-                                break;
-                            case "SHIP_DAMAGED_BROADCAST":
-                                if (currentSpacePanel != null) {
-                                    ShipDamagedBroadcast dmgEvent = gson.fromJson(processedJson, ShipDamagedBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleShipDamaged(dmgEvent));
-                                }
-                                break;
-                            case "SHIP_DESTROYED_BROADCAST":
-                                if (currentSpacePanel != null) {
-                                    ShipDestroyedBroadcast destroyedEvent = gson.fromJson(processedJson, ShipDestroyedBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleShipDestroyed(destroyedEvent));
-                                }
-                                break;
-                            case "PROJECTILE_SPAWNED_BROADCAST":
-                                if (currentSpacePanel != null) {
-                                    ProjectileSpawnedBroadcast event = gson.fromJson(processedJson, ProjectileSpawnedBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleProjectileSpawned(event));
-                                }
-                                break;
-                            case "PROJECTILE_UPDATE_BROADCAST":
-                                if (currentSpacePanel != null) {
-                                    ProjectileUpdateBroadcast event = gson.fromJson(processedJson, ProjectileUpdateBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleProjectileUpdate(event));
-                                }
-                                break;
-                            case "PROJECTILE_REMOVED_BROADCAST":
-                                if (currentSpacePanel != null) {
-                                    ProjectileRemovedBroadcast event = gson.fromJson(processedJson, ProjectileRemovedBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleProjectileRemoved(event));
-                                }
-                                break;
-                            case "REQUEST_CHUNK_RESPONSE":
-                                if (worldManager != null) {
-                                    RequestChunkResponse chunkResponse = gson.fromJson(processedJson, RequestChunkResponse.class);
-                                    SwingUtilities.invokeLater(() -> worldManager.processChunkData(chunkResponse));
-                                }
-                                break;
-                            case "REQUEST_PALETTE_RESPONSE": 
-                                 RequestPaletteResponse paletteResponse = gson.fromJson(processedJson, RequestPaletteResponse.class);
-                                 processPlanetPaletteData(paletteResponse);
-                                break;
-                           
-                            case "ERROR_MESSAGE":
-                                ErrorMessage errMsg = gson.fromJson(processedJson, ErrorMessage.class); 
-                                System.err.println("Listener: Received ERROR_MESSAGE from server: " + errMsg.errorMessageContent);
-                                break;
-                            case "DUMMY_UPDATE_BROADCAST":
-                                if (worldManager != null) {
-                                    DummyUpdateBroadcast dummyEvent = gson.fromJson(processedJson, DummyUpdateBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> worldManager.updateDummy(dummyEvent.id, dummyEvent.x, dummyEvent.y));
-                                }
-                                break;
-                            case "DUMMY_REMOVED_BROADCAST":
-                                if (worldManager != null) {
-                                    DummyRemovedBroadcast dummyRemovedEvent = gson.fromJson(processedJson, DummyRemovedBroadcast.class);
-                                    SwingUtilities.invokeLater(() -> worldManager.removeDummy(dummyRemovedEvent.id));
-                                }
-                                break;
-                            default:
-                                System.out.println("Listener: Unhandled broadcast/async message type: " + baseMsg.type);
-                                break;
-                        }
+                        String jsonFromServer = in.readLine();
+                        if (jsonFromServer == null) break;
+                        BaseMessage message = parseJsonMessage(jsonFromServer);
+                        if (message == null) continue;
+                        handleServerMessage(message);
                     }
                 }
             } catch (IOException e) {
@@ -650,20 +745,198 @@ public class Client {
                     if (activeRequestFuture != null && !activeRequestFuture.isDone()) { 
                         activeRequestFuture.completeExceptionally(e);
                     }
+                    for (CompletableFuture<BaseMessage> pending : pendingRequests.values()) {
+                        pending.completeExceptionally(e);
+                    }
                 }
             } finally {
                 System.out.println("Server listener thread stopped.");
+                if (udpChannel != null) {
+                    udpChannel.close();
+                    udpChannel = null;
+                }
+                if (compressor != null) {
+                    System.out.println("Client: Compression: " + compressor);
+                    compressor.close();
+                    compressor = null;
+                }
                 try {
-                    if (in != null) in.close();
                     if (out != null) out.close();
                     if (socket != null) socket.close();
                 } catch (IOException ex) {
                     System.err.println("Listener: Error closing resources: " + ex.getMessage());
                 }
+                if (resumeToken != null && instance != null && instance.loggedInStatus && resuming.compareAndSet(false, true)) {
+                    new Thread(Client::resumeSession, "Client-Resume").start();
+                }
             }
         }, "Client-ServerListener").start();
     }
 
+    /**
+     * Routes one decoded server message. Responses complete the pending request with
+     * the decoded message itself, whichever encoding it arrived in; broadcasts are applied
+     * to the active panels.
+     * @param message The decoded message
+     */
+    private static void handleServerMessage(BaseMessage message) {
+        String messageType = message.type;
+        if (message instanceof Ping) {
+            // Answer straight away so the server's RTT estimate does not include our own queueing.
+            send(new Pong(((Ping) message).timestamp));
+            return;
+        }
+        if (message instanceof LoginQueued) {
+            // The login itself is still pending; keep waiting for its response.
+            System.out.println("Client: Server is busy, login queued at position " + ((LoginQueued) message).position + ".");
+            return;
+        }
+        int requestId = requestIdOf(message);
+        if (requestId != 0) {
+            if (message instanceof RequestChunkResponse && worldManager != null) {
+                RequestChunkResponse chunkResponse = (RequestChunkResponse) message;
+                SwingUtilities.invokeLater(() -> worldManager.processChunkData(chunkResponse));
+            }
+            CompletableFuture<BaseMessage> pending = pendingRequests.remove(requestId);
+            if (pending != null) {
+                pending.complete(message);
+            } else if (message instanceof ErrorMessage) {
+                System.err.println("Listener: Received ERROR_MESSAGE for expired request " + requestId + ": " + ((ErrorMessage) message).errorMessageContent);
+            }
+            return;
+        }
+        boolean handledByFuture = false;
+        if (activeRequestFuture != null && !activeRequestFuture.isDone()) {
+            if (!messageType.endsWith("_BROADCAST") || messageType.equals("ERROR_MESSAGE")) {
+                activeRequestFuture.complete(message); 
+                handledByFuture = true;
+            }
+        }
+
+        if (handledByFuture) {
+            if (message instanceof RequestChunkResponse && worldManager != null) {
+                RequestChunkResponse chunkResponse = (RequestChunkResponse) message; 
+                SwingUtilities.invokeLater(() -> worldManager.processChunkData(chunkResponse));
+            } else if (message instanceof RequestPaletteResponse) {
+                processPlanetPaletteData((RequestPaletteResponse) message);
+            }
+            return;
+        }
+
+        switch (messageType) {
+            case "PLAYER_MOVED_BROADCAST":
+                if (worldManager != null) {
+                    PlayerMovedBroadcast event = (PlayerMovedBroadcast) message;
+                    SwingUtilities.invokeLater(() -> worldManager.updatePlayer(event));
+                } else if (currentGamePanel != null) { // Fallback or alternative handler
+                    // Assuming GamePanel might have a similar method or WorldManager is preferred
+                    // currentGamePanel.processPlayerUpdate(event); // Or adapt as needed
+                    System.out.println("Client: PLAYER_MOVED_BROADCAST received, currentGamePanel to handle (if worldManager is null)");
+                }
+                break;
+            case "PLAYER_JOINED_BROADCAST":
+                System.out.println("Listener: Received PLAYER_JOINED_BROADCAST.");
+                if (worldManager != null) {
+                    System.out.println("Listener: worldManager is NOT null. Processing PLAYER_JOINED_BROADCAST.");
+                    PlayerJoinedBroadcast joinedEvent = (PlayerJoinedBroadcast) message;
+                    System.out.println("Listener: Parsed PlayerJoinedBroadcast for player ID: " + joinedEvent.playerId + ", username: " + joinedEvent.username);
+                    SwingUtilities.invokeLater(() -> {
+                        System.out.println("Listener (invokeLater): Calling worldManager.addPlayer for " + joinedEvent.username);
+                        worldManager.addPlayer(joinedEvent);
+                    });
+                } else {
+                    System.err.println("Listener: worldManager IS NULL when PLAYER_JOINED_BROADCAST received. Cannot process.");
+                }
+                break;
+            case "PLAYER_LEFT_BROADCAST":
+                if (worldManager != null) {
+                    PlayerLeftBroadcast leftEvent = (PlayerLeftBroadcast) message;
+                    SwingUtilities.invokeLater(() -> worldManager.removePlayer(leftEvent.playerId));
+                }
+                break;
+            case "SHIP_UPDATE_BROADCAST":
+                if (currentSpacePanel != null) {
+                    ShipUpdateBroadcast event = (ShipUpdateBroadcast) message;
+                    try {
+                        int pId = Integer.parseInt(event.playerId);
+                        if (pId == instance.getPlayerId()) {
+                            SwingUtilities.invokeLater(() -> currentSpacePanel.updatePlayerShip(event.x, event.y, event.angle, event.dx, event.dy, event.thrusting));
+                        } else {
+                            SwingUtilities.invokeLater(() -> currentSpacePanel.updateOtherShip(pId, event.x, event.y, event.angle, event.dx, event.dy, event.thrusting));
+                        }
+                    } catch (NumberFormatException e) {
+                        System.err.println("Listener: Error parsing playerId for SHIP_UPDATE_BROADCAST: " + event.playerId);
+                    }
+                }
+                break;
+            case "SHIP_LEFT_BROADCAST":
+                if (currentSpacePanel != null) {
+                    ShipLeftBroadcast event = (ShipLeftBroadcast) message;
+                    SwingUtilities.invokeLater(() -> currentSpacePanel.removeOtherShip(Integer.parseInt(event.playerId)));
+                }
+                break;
+            case "SHIP_DAMAGED_BROADCAST":
+                if (currentSpacePanel != null) {
+                    ShipDamagedBroadcast dmgEvent = (ShipDamagedBroadcast) message;
+                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleShipDamaged(dmgEvent));
+                }
+                break;
+            case "SHIP_DESTROYED_BROADCAST":
+                if (currentSpacePanel != null) {
+                    ShipDestroyedBroadcast destroyedEvent = (ShipDestroyedBroadcast) message;
+                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleShipDestroyed(destroyedEvent));
+                }
+                break;
+            case "PROJECTILE_SPAWNED_BROADCAST":
+                if (currentSpacePanel != null) {
+                    ProjectileSpawnedBroadcast event = (ProjectileSpawnedBroadcast) message;
+                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleProjectileSpawned(event));
+                }
+                break;
+            case "PROJECTILE_UPDATE_BROADCAST":
+                if (currentSpacePanel != null) {
+                    ProjectileUpdateBroadcast event = (ProjectileUpdateBroadcast) message;
+                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleProjectileUpdate(event));
+                }
+                break;
+            case "PROJECTILE_REMOVED_BROADCAST":
+                if (currentSpacePanel != null) {
+                    ProjectileRemovedBroadcast event = (ProjectileRemovedBroadcast) message;
+                    SwingUtilities.invokeLater(() -> currentSpacePanel.handleProjectileRemoved(event));
+                }
+                break;
+            case "REQUEST_CHUNK_RESPONSE":
+                if (worldManager != null) {
+                    RequestChunkResponse chunkResponse = (RequestChunkResponse) message;
+                    SwingUtilities.invokeLater(() -> worldManager.processChunkData(chunkResponse));
+                }
+                break;
+            case "REQUEST_PALETTE_RESPONSE": 
+                processPlanetPaletteData((RequestPaletteResponse) message);
+                break;
+           
+            case "ERROR_MESSAGE":
+                ErrorMessage errMsg = (ErrorMessage) message; 
+                System.err.println("Listener: Received ERROR_MESSAGE from server: " + errMsg.errorMessageContent);
+                break;
+            case "DUMMY_UPDATE_BROADCAST":
+                if (worldManager != null) {
+                    DummyUpdateBroadcast dummyEvent = (DummyUpdateBroadcast) message;
+                    SwingUtilities.invokeLater(() -> worldManager.updateDummy(dummyEvent.id, dummyEvent.x, dummyEvent.y));
+                }
+                break;
+            case "DUMMY_REMOVED_BROADCAST":
+                if (worldManager != null) {
+                    DummyRemovedBroadcast dummyRemovedEvent = (DummyRemovedBroadcast) message;
+                    SwingUtilities.invokeLater(() -> worldManager.removeDummy(dummyRemovedEvent.id));
+                }
+                break;
+            default:
+                System.out.println("Listener: Unhandled broadcast/async message type: " + messageType);
+                break;
+        }
+    }
+
     /**
      * Processes the PLANET_PALETTE message from the server.
      * @param paletteResponse The RequestPaletteResponse object
@@ -766,15 +1039,75 @@ public class Client {
         });
     }
 
+    /**
+     * Opens a connection to the server, negotiates the protocol and starts the listener.
+     * @throws IOException If the server cannot be reached or the handshake fails
+     */
+    private static void connect() throws IOException {
+        socket = new Socket(SERVER_HOST, SERVER_PORT);
+        out = new BufferedOutputStream(socket.getOutputStream());
+        in = new FrameReader(socket.getInputStream());
+        wireFormat = WireFormat.JSON;
+        System.out.println("Connected to server");
+        negotiateProtocol();
+        startServerListener();
+    }
+
+    /**
+     * Reconnects after the connection dropped and resumes the session with the token from the last
+     * login, so the current screen and everything already loaded stay as they are. Retries with
+     * backoff while the server may still hold the session; if that fails, the user has to log in again.
+     */
+    private static void resumeSession() {
+        String token = resumeToken;
+        long deadline = System.currentTimeMillis() + RESUME_WINDOW_MS;
+        long backoffMs = 250;
+        try {
+            while (token != null && System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, RESUME_MAX_BACKOFF_MS);
+                try {
+                    connect();
+                    send(new ResumeRequest(token));
+                    ResumeResponse resp = responseAs(waitForResponse(10), ResumeResponse.class);
+                    if (resp == null || !resp.success) {
+                        System.err.println("Client: Could not resume session: " + (resp != null ? resp.message : "no response"));
+                        break;
+                    }
+                    resumeToken = resp.resumeToken;
+                    openUdpChannel(resp.udpPort, resp.udpToken);
+                    if (worldManager != null && resp.gameId != null) {
+                        SwingUtilities.invokeLater(() -> worldManager.syncPlayers(resp.playersInGame));
+                    }
+                    System.out.println("Client: Session resumed " + (resp.gameId != null ? "in game " + resp.gameId : "in space") + ".");
+                    return;
+                } catch (IOException | ExecutionException | TimeoutException e) {
+                    System.err.println("Client: Reconnect attempt failed: " + e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            resumeToken = null;
+            if (instance != null) {
+                instance.loggedInStatus = false;
+            }
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, "Lost connection to the server. Please restart and log in again.", "Connection Error", JOptionPane.ERROR_MESSAGE));
+        } finally {
+            resuming.set(false);
+        }
+    }
+
     public static void main(String[] args) {
         instance = getInstance();
 
         try {
-            socket = new Socket("localhost", 5000);
-            out = new PrintWriter(socket.getOutputStream(), true);
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            System.out.println("Connected to server");
-            startServerListener();
+            connect();
             SwingUtilities.invokeLater(() -> new StartScreen());
         } catch (IOException e) {
             System.err.println("Could not connect to the server: " + e.getMessage());
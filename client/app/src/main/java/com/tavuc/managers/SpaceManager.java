@@ -8,11 +8,8 @@ import com.tavuc.models.planets.PlanetType;
 
 import java.awt.Color;
 import java.util.Collection; 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.tavuc.networking.models.PlanetInfo;
+import com.tavuc.networking.models.RequestPlanetsAreaResponse;
 
 public class SpaceManager {
     private Space space;
@@ -77,40 +74,30 @@ public class SpaceManager {
 
 
 
-    public void parseAndStorePlanetsData(String rawData) {
-        System.out.println("SpaceManager: Parsing planets data: " + rawData);
-        try {
-            JsonObject jsonObject = JsonParser.parseString(rawData).getAsJsonObject();
-
-            JsonArray planetsArray = jsonObject.getAsJsonArray("planets");
-
-            for (JsonElement planet : planetsArray) {
-                JsonObject planetJson = planet.getAsJsonObject();
-                try {
-                    int planetId = planetJson.get("gameId").getAsInt();
-                    String planetName = planetJson.get("planetName").getAsString();
-                    PlanetType planetType = PlanetType.valueOf(planetJson.get("type").getAsString()); 
-                    int planetRadius = (int) (planetJson.get("size").getAsDouble() * VISUAL_SCALE);
-                    int galaxyX = (int) planetJson.get("x").getAsDouble();
-                    int galaxyY = (int) planetJson.get("y").getAsDouble();
-                    Color planetColor = getDefaultColorForPlanetType(planetType); 
-                    Color hueShiftColor = planetJson.has("hueShiftColor") ? new Color(planetJson.get("hueShiftColor").getAsInt(), true) : getDefaultColorForPlanetType(planetType);
-                    Planet clientPlanet = new Planet(planetId, planetName, planetType, planetRadius, planetColor, galaxyX, galaxyY, hueShiftColor);
-                    
-                    this.addPlanet(clientPlanet); 
-                    System.out.println("SpaceManager: Loaded planet: " + planetName + " (ID: " + planetId + ") at (" + galaxyX + "," + galaxyY + ")");
-
-                } catch (Exception e) {
-                    System.err.println("SpaceManager: Error parsing individual planet JSON object '" + planetJson.toString() + "': " + e.getMessage());
-                    e.printStackTrace();
-                }
+    public void storePlanetsData(RequestPlanetsAreaResponse response) {
+        if (response == null || response.planets == null) {
+            System.err.println("SpaceManager: No planets in response.");
+            return;
+        }
+        System.out.println("SpaceManager: Storing " + response.planets.size() + " planet(s).");
+        for (PlanetInfo info : response.planets) {
+            try {
+                int planetId = Integer.parseInt(info.gameId);
+                PlanetType planetType = PlanetType.valueOf(info.type); 
+                int planetRadius = (int) (info.size * VISUAL_SCALE);
+                int galaxyX = (int) info.x;
+                int galaxyY = (int) info.y;
+                Color planetColor = getDefaultColorForPlanetType(planetType); 
+                Color hueShiftColor = new Color(info.hueShiftColor, true);
+                Planet clientPlanet = new Planet(planetId, info.planetName, planetType, planetRadius, planetColor, galaxyX, galaxyY, hueShiftColor);
+                
+                this.addPlanet(clientPlanet); 
+                System.out.println("SpaceManager: Loaded planet: " + info.planetName + " (ID: " + planetId + ") at (" + galaxyX + "," + galaxyY + ")");
+
+            } catch (Exception e) {
+                System.err.println("SpaceManager: Error storing planet '" + info.planetName + "' (ID: " + info.gameId + "): " + e.getMessage());
+                e.printStackTrace();
             }
-        } catch (JsonSyntaxException e) {
-            System.err.println("SpaceManager: Error parsing planets JSON string: " + e.getMessage());
-            e.printStackTrace();
-        } catch (Exception e) {
-            System.err.println("SpaceManager: Unexpected error processing planets data: " + e.getMessage());
-            e.printStackTrace();
         }
     }
 
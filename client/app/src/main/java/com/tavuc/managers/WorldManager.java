@@ -3,14 +3,17 @@ package com.tavuc.managers;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.gson.Gson;
 import com.tavuc.models.entities.Dummy;
 import com.tavuc.models.entities.Player; // Added import
 import com.tavuc.Client;
+import com.tavuc.networking.models.PlayerInitialData;
 import com.tavuc.networking.models.PlayerJoinedBroadcast; // Added import
 import com.tavuc.networking.models.PlayerMovedBroadcast; // Added import
 import com.tavuc.models.planets.Chunk;
@@ -117,6 +120,28 @@ public class WorldManager {
         }
     }
 
+    /**
+     * Replaces the other players with the server's current list after a session resume.
+     * Players that left while the connection was down are removed; chunks are kept.
+     * @param players Everyone currently in the game, possibly including this client's player.
+     */
+    public void syncPlayers(List<PlayerInitialData> players) {
+        Set<Integer> present = new HashSet<>();
+        if (players != null) {
+            for (PlayerInitialData pData : players) {
+                try {
+                    present.add(Integer.parseInt(pData.playerId));
+                } catch (NumberFormatException e) {
+                    System.err.println("WorldManager: Error parsing playerId for syncPlayers: " + pData.playerId);
+                    continue;
+                }
+                addPlayer(new PlayerJoinedBroadcast(pData.playerId, pData.username, pData.x, pData.y, pData.dx, pData.dy, pData.directionAngle));
+            }
+        }
+        otherPlayers.keySet().retainAll(present);
+        if (Client.currentGamePanel != null) Client.currentGamePanel.repaint();
+    }
+
     public void setGameId(int gameId) {
         this.gameId = gameId;
     }
@@ -0,0 +1,166 @@
+package com.tavuc.networking;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.tavuc.exceptions.ProtocolException;
+import com.tavuc.networking.models.BaseMessage;
+import com.tavuc.networking.protocol.DatagramCodec;
+import com.tavuc.networking.protocol.MessageCodecs;
+import com.tavuc.networking.protocol.Opcode;
+
+/**
+ * Client side of the optional UDP channel for latest-state messages.
+ * After login the channel sends keepalives carrying the server-issued token; once the server
+ * answers, ship and player updates are sent as datagrams and state broadcasts arrive the same way.
+ * If the server stops answering the channel reports itself inactive and callers use TCP instead.
+ */
+public class UdpChannel {
+
+    private static final long BIND_INTERVAL_MS = 250;
+    private static final long KEEPALIVE_INTERVAL_MS = 1000;
+    private static final long TIMEOUT_MS = 5000;
+    private static final int RECEIVE_BUFFER_SIZE = 64 * 1024;
+
+    private final DatagramSocket socket;
+    private final long token;
+    private final Consumer<BaseMessage> dispatcher;
+    private final AtomicInteger outboundSequence = new AtomicInteger();
+    private volatile long lastHeardMillis;
+    private volatile boolean bound = false;
+    private volatile boolean running = true;
+    private int lastInboundSequence;
+
+    /**
+     * Constructor for UdpChannel
+     * @param host The server's address.
+     * @param port The server's UDP port from the login response.
+     * @param token The token from the login response.
+     * @param dispatcher Receives every message that arrives over the channel, on the channel's thread.
+     * @throws SocketException If the local socket cannot be opened.
+     */
+    public UdpChannel(InetAddress host, int port, long token, Consumer<BaseMessage> dispatcher) throws SocketException {
+        this.socket = new DatagramSocket();
+        this.socket.connect(host, port);
+        this.token = token;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Starts the receive and keepalive threads.
+     */
+    public void start() {
+        Thread receiver = new Thread(this::receiveLoop, "Client-UdpListener");
+        receiver.setDaemon(true);
+        receiver.start();
+        Thread keepalive = new Thread(this::keepaliveLoop, "Client-UdpKeepalive");
+        keepalive.setDaemon(true);
+        keepalive.start();
+    }
+
+    /**
+     * Checks if the server has answered recently enough to send state over UDP.
+     * @return true if datagrams should be used.
+     */
+    public boolean isActive() {
+        return running && bound && System.currentTimeMillis() - lastHeardMillis < TIMEOUT_MS;
+    }
+
+    /**
+     * Sends a latest-state message as a datagram if the channel is up.
+     * @param message The message to send.
+     * @return false if the message must be sent over TCP instead.
+     */
+    public boolean send(BaseMessage message) {
+        Opcode opcode = Opcode.fromType(message.type);
+        if (!isActive() || opcode == null || !opcode.isLatestState() || !MessageCodecs.supports(message)) {
+            return false;
+        }
+        ByteBuffer frame = MessageCodecs.encodeFrame(message);
+        if (DatagramCodec.CLIENT_HEADER_BYTES + frame.remaining() > DatagramCodec.MAX_DATAGRAM_BYTES) {
+            return false;
+        }
+        return sendDatagram(Collections.singletonList(frame));
+    }
+
+    private boolean sendDatagram(List<ByteBuffer> frames) {
+        ByteBuffer datagram = DatagramCodec.encodeClientDatagram(token, outboundSequence.incrementAndGet(), frames);
+        try {
+            socket.send(new DatagramPacket(datagram.array(), datagram.arrayOffset() + datagram.position(), datagram.remaining()));
+            return true;
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("UdpChannel: Send failed: " + e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private void keepaliveLoop() {
+        while (running) {
+            sendDatagram(Collections.emptyList());
+            try {
+                Thread.sleep(bound ? KEEPALIVE_INTERVAL_MS : BIND_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[RECEIVE_BUFFER_SIZE];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (running) {
+            try {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("UdpChannel: Receive failed: " + e.getMessage());
+                }
+                continue;
+            }
+            if (packet.getLength() < DatagramCodec.SERVER_HEADER_BYTES) {
+                continue;
+            }
+            int sequence = ByteBuffer.wrap(buffer, 0, DatagramCodec.SERVER_HEADER_BYTES).getInt();
+            if (bound && !DatagramCodec.isNewer(sequence, lastInboundSequence)) {
+                continue;
+            }
+            lastInboundSequence = sequence;
+            lastHeardMillis = System.currentTimeMillis();
+            if (!bound) {
+                bound = true;
+                System.out.println("UdpChannel: Bound to " + socket.getRemoteSocketAddress() + ". Latest-state traffic now uses UDP.");
+            }
+            int frameBytes = packet.getLength() - DatagramCodec.SERVER_HEADER_BYTES;
+            if (frameBytes == 0) {
+                continue;
+            }
+            try {
+                for (BaseMessage message : MessageCodecs.decodeFrames(buffer, DatagramCodec.SERVER_HEADER_BYTES, frameBytes)) {
+                    dispatcher.accept(message);
+                }
+            } catch (ProtocolException e) {
+                System.err.println("UdpChannel: Dropping malformed datagram: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops both threads and closes the socket.
+     */
+    public void close() {
+        running = false;
+        socket.close();
+    }
+}
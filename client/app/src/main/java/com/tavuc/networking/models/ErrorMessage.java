@@ -1,13 +0,0 @@
-package com.tavuc.networking.models;
-
-public class ErrorMessage extends BaseMessage {
-    public String errorMessageContent;
-
-    public ErrorMessage() {
-    }
-
-    public ErrorMessage(String errorMessageContent) {
-        this.type = "ERROR_MESSAGE";
-        this.errorMessageContent = errorMessageContent;
-    }
-}
@@ -1,7 +0,0 @@
-package com.tavuc.networking.models;
-
-public class ProjectileRemovedBroadcast extends BaseMessage {
-    public String projectileId;
-
-    public ProjectileRemovedBroadcast() {}
-}
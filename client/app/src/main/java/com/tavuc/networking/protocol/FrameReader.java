@@ -0,0 +1,90 @@
+package com.tavuc.networking.protocol;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads server messages from the socket in either encoding: newline terminated JSON
+ * lines before and without the binary handshake, length-prefixed frames after it.
+ * Bytes are read directly rather than through a {@code Reader}, so switching encodings
+ * never loses data buffered for the previous one.
+ */
+public class FrameReader {
+
+    private final InputStream in;
+    private byte[] lineBuffer = new byte[256];
+    private int lineLength;
+
+    /**
+     * Constructor for FrameReader
+     * @param in The socket input stream.
+     */
+    public FrameReader(InputStream in) {
+        this.in = new BufferedInputStream(in);
+    }
+
+    /**
+     * Reads one newline terminated line. A read timeout keeps the partial line for the next call.
+     * @return The line without its terminator, or null at end of stream.
+     * @throws IOException If the socket fails or the line is too long.
+     */
+    public String readLine() throws IOException {
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int length = lineLength;
+                if (length > 0 && lineBuffer[length - 1] == '\r') {
+                    length--;
+                }
+                lineLength = 0;
+                return new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+            }
+            if (lineLength == WireWriter.MAX_FRAME_BYTES) {
+                throw new IOException("Line exceeds " + WireWriter.MAX_FRAME_BYTES + " bytes.");
+            }
+            if (lineLength == lineBuffer.length) {
+                byte[] grown = new byte[Math.min(WireWriter.MAX_FRAME_BYTES, lineBuffer.length * 2)];
+                System.arraycopy(lineBuffer, 0, grown, 0, lineLength);
+                lineBuffer = grown;
+            }
+            lineBuffer[lineLength++] = (byte) b;
+        }
+        return null;
+    }
+
+    /**
+     * Reads one length-prefixed frame.
+     * @return The frame body without its length prefix, or null at end of stream.
+     * @throws IOException If the socket fails or the frame is malformed.
+     */
+    public byte[] readFrame() throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b == -1) {
+                if (shift == 0) {
+                    return null;
+                }
+                throw new EOFException("Stream ended inside a frame length.");
+            }
+            if (shift > 14) {
+                throw new IOException("Malformed frame length.");
+            }
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (length > WireWriter.MAX_FRAME_BYTES) {
+            throw new IOException("Frame of " + length + " bytes exceeds " + WireWriter.MAX_FRAME_BYTES + " bytes.");
+        }
+        byte[] frame = in.readNBytes(length);
+        if (frame.length != length) {
+            throw new EOFException("Stream ended inside a frame.");
+        }
+        return frame;
+    }
+}
@@ -23,15 +23,12 @@ import java.awt.event.FocusEvent;
 import javax.swing.BorderFactory;
 import javax.swing.JOptionPane;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 import com.tavuc.networking.models.LoginResponse;
 import com.tavuc.networking.models.RegisterResponse;
 
 
 public class LoginDialog extends JDialog {
 
-    private static final Gson gson = new Gson();
     private JTextField usernameField;
     private JPasswordField passwordField; 
     private JButton loginButton;
@@ -132,16 +129,8 @@ public class LoginDialog extends JDialog {
 
                 if (registering) {
                     try {
-                        String jsonRegistrationResponse = Client.register(user, pass);
-                        System.out.println("Server registration response: " + jsonRegistrationResponse);
-                        RegisterResponse regResponse = null;
-                        try {
-                            regResponse = gson.fromJson(jsonRegistrationResponse, RegisterResponse.class);
-                        } catch (JsonSyntaxException jsonEx) {
-                            JOptionPane.showMessageDialog(LoginDialog.this, "Registration failed: Invalid response format from server.", "Error", JOptionPane.ERROR_MESSAGE);
-                            jsonEx.printStackTrace();
-                            return;
-                        }
+                        RegisterResponse regResponse = Client.register(user, pass);
+                        System.out.println("Server registration response: " + (regResponse != null ? regResponse.message : null));
 
                         if (regResponse != null && regResponse.success) {
                             JOptionPane.showMessageDialog(LoginDialog.this, "Registration successful! Please log in.", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -159,22 +148,13 @@ public class LoginDialog extends JDialog {
                     }
                 } else {
                     try {
-                        String jsonLoginResponse = Client.login(user, pass);
-                        System.out.println("Server login response: " + jsonLoginResponse);
-                        LoginResponse loginResp = null;
+                        LoginResponse loginResp = Client.login(user, pass);
                         
-                        if (jsonLoginResponse == null) {
+                        if (loginResp == null) {
                              JOptionPane.showMessageDialog(LoginDialog.this, "Login failed: No response from server.", "Error", JOptionPane.ERROR_MESSAGE);
                              return;
                         }
-
-                        try {
-                            loginResp = gson.fromJson(jsonLoginResponse, LoginResponse.class);
-                        } catch (JsonSyntaxException jsonEx) {
-                            JOptionPane.showMessageDialog(LoginDialog.this, "Login failed: Invalid response format from server.", "Error", JOptionPane.ERROR_MESSAGE);
-                            jsonEx.printStackTrace();
-                            return;
-                        }
+                        System.out.println("Server login response: " + loginResp.message);
                         
                         if (loginResp != null && loginResp.success) {
                             JOptionPane.showMessageDialog(LoginDialog.this, "Login successful!", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -148,11 +148,11 @@ public class SpacePanel extends GPanel implements KeyListener, MouseListener, Ac
             }
         }).thenAccept(planetsData -> {
             SwingUtilities.invokeLater(() -> {
-                if (planetsData != null && planetsData.trim().startsWith("{") && planetsData.trim().endsWith("}")) {
-                    spaceManager.parseAndStorePlanetsData(planetsData);
-                    System.out.println("SpacePanel: Initial planets data received and parsed.");
+                if (planetsData != null && planetsData.planets != null) {
+                    spaceManager.storePlanetsData(planetsData);
+                    System.out.println("SpacePanel: Initial planets data received and stored.");
                 } else {
-                    System.err.println("SpacePanel: Failed to fetch initial planets or no valid JSON data (async): " + planetsData);
+                    System.err.println("SpacePanel: Failed to fetch initial planets (async).");
                 }
                 repaint();
             });
@@ -598,13 +598,13 @@ public class SpacePanel extends GPanel implements KeyListener, MouseListener, Ac
                 }
             }).thenAccept(planetsData -> {
                 SwingUtilities.invokeLater(() -> {
-                    if (planetsData != null && planetsData.trim().startsWith("{") && planetsData.trim().endsWith("}")) {
-                        spaceManager.parseAndStorePlanetsData(planetsData);
+                    if (planetsData != null && planetsData.planets != null) {
+                        spaceManager.storePlanetsData(planetsData);
                         lastFetchGalaxyX = currentShipX;
                         lastFetchGalaxyY = currentShipY;
-                        System.out.println("SpacePanel: More planets data received and parsed.");
+                        System.out.println("SpacePanel: More planets data received and stored.");
                     } else {
-                        System.err.println("SpacePanel: Failed to fetch more planets or no valid JSON data (async): " + planetsData);
+                        System.err.println("SpacePanel: Failed to fetch more planets (async).");
                     }
                     isFetchingPlanets = false;
                 });
@@ -663,11 +663,8 @@ public class SpacePanel extends GPanel implements KeyListener, MouseListener, Ac
                 for (Planet planet : spaceManager.getLoadedPlanets()) {
                     if (planet.isNear(playerShip, 40) && planet.getBounds().contains(worldClickPoint)) {
                         try {
-                            String jsonResponseString = Client.joinPlanet(planet.getPlanetId(), planet.getPlanetName());
-
-                            com.google.gson.Gson gson = new com.google.gson.Gson();
                             com.tavuc.networking.models.JoinGameResponse resp =
-                                gson.fromJson(jsonResponseString, com.tavuc.networking.models.JoinGameResponse.class);
+                                Client.joinPlanet(planet.getPlanetId(), planet.getPlanetName());
 
                             if (resp != null && resp.success) {
                                 SwingUtilities.invokeLater(() -> {
@@ -12,3 +12,6 @@ plugins {
 
 rootProject.name = "client-space"
 include("app")
+
+// Message classes and their generated binary codecs, shared with the server
+includeBuild("../protocol")
@@ -0,0 +1,365 @@
+package com.tavuc.networking.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates {@code com.tavuc.networking.protocol.GeneratedCodecs} from the {@code Wire} annotations
+ * on the message classes: one reflection-free writer and reader per message, registered under its
+ * opcode, plus a writer and reader per struct used in message lists. Fails the build if an opcode
+ * has no message, is claimed twice, or a field cannot be encoded.
+ */
+public class CodecProcessor extends AbstractProcessor {
+
+    private static final String PROTOCOL_PACKAGE = "com.tavuc.networking.protocol";
+    private static final String WIRE = PROTOCOL_PACKAGE + ".Wire";
+    private static final String MESSAGE = WIRE + ".Message";
+    private static final String STRUCT = WIRE + ".Struct";
+    private static final String CONTAINER = WIRE + ".Container";
+    private static final String OPCODE = PROTOCOL_PACKAGE + ".Opcode";
+    private static final String GENERATED_CLASS = "GeneratedCodecs";
+
+    private boolean generated;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(MESSAGE, STRUCT);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        if (generated || round.processingOver()) {
+            return false;
+        }
+        TypeElement messageAnnotation = processingEnv.getElementUtils().getTypeElement(MESSAGE);
+        TypeElement structAnnotation = processingEnv.getElementUtils().getTypeElement(STRUCT);
+        TypeElement opcodeEnum = processingEnv.getElementUtils().getTypeElement(OPCODE);
+        if (messageAnnotation == null || structAnnotation == null || opcodeEnum == null) {
+            return false;
+        }
+        Set<? extends Element> messageElements = round.getElementsAnnotatedWith(messageAnnotation);
+        if (messageElements.isEmpty()) {
+            return false;
+        }
+        generated = true;
+
+        Map<String, TypeElement> messagesByOpcode = new LinkedHashMap<>();
+        for (Element element : messageElements) {
+            TypeElement type = (TypeElement) element;
+            String opcode = opcodeOf(type);
+            TypeElement previous = messagesByOpcode.put(opcode, type);
+            if (previous != null) {
+                error(type, "Opcode " + opcode + " is already used by " + previous.getQualifiedName());
+            }
+        }
+
+        List<String> opcodeOrder = new ArrayList<>();
+        for (VariableElement constant : ElementFilter.fieldsIn(opcodeEnum.getEnclosedElements())) {
+            if (constant.getKind() != ElementKind.ENUM_CONSTANT || hasAnnotation(constant, CONTAINER)) {
+                continue;
+            }
+            String name = constant.getSimpleName().toString();
+            opcodeOrder.add(name);
+            if (!messagesByOpcode.containsKey(name)) {
+                error(constant, "No @Wire.Message class for opcode " + name);
+            }
+        }
+
+        Set<String> structs = new TreeSet<>();
+        for (Element element : round.getElementsAnnotatedWith(structAnnotation)) {
+            structs.add(((TypeElement) element).getQualifiedName().toString());
+        }
+
+        StringBuilder body = new StringBuilder();
+        Set<String> imports = new TreeSet<>();
+        imports.add("com.tavuc.exceptions.ProtocolException");
+        body.append("    static void registerAll() {\n");
+        for (String opcode : opcodeOrder) {
+            TypeElement type = messagesByOpcode.get(opcode);
+            if (type == null) {
+                continue;
+            }
+            requireNoArgConstructor(type);
+            imports.add(type.getQualifiedName().toString());
+            String name = type.getSimpleName().toString();
+            List<VariableElement> fields = wireFields(type);
+            body.append("        MessageCodecs.register(Opcode.").append(opcode).append(", ").append(name).append(".class, ").append(name).append("::new,\n");
+            body.append("            (m, out) -> {\n");
+            for (VariableElement field : fields) {
+                body.append("                ").append(writeStatement(field, "m", structs)).append('\n');
+            }
+            body.append("            },\n");
+            body.append("            (m, in) -> {\n");
+            for (VariableElement field : fields) {
+                body.append("                ").append(readStatement(field, "m", structs)).append('\n');
+            }
+            body.append("            });\n");
+        }
+        body.append("    }\n");
+
+        for (String structName : structs) {
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(structName);
+            requireNoArgConstructor(type);
+            imports.add(structName);
+            String name = type.getSimpleName().toString();
+            List<VariableElement> fields = wireFields(type);
+            body.append("\n    static void write").append(name).append('(').append(name).append(" v, WireWriter out) {\n");
+            for (VariableElement field : fields) {
+                body.append("        ").append(writeStatement(field, "v", structs)).append('\n');
+            }
+            body.append("    }\n");
+            body.append("\n    static ").append(name).append(" read").append(name).append("(WireReader in) throws ProtocolException {\n");
+            body.append("        ").append(name).append(" v = new ").append(name).append("();\n");
+            for (VariableElement field : fields) {
+                body.append("        ").append(readStatement(field, "v", structs)).append('\n');
+            }
+            body.append("        return v;\n");
+            body.append("    }\n");
+        }
+
+        try (Writer out = processingEnv.getFiler().createSourceFile(PROTOCOL_PACKAGE + "." + GENERATED_CLASS, messageElements.toArray(new Element[0])).openWriter()) {
+            out.write("package " + PROTOCOL_PACKAGE + ";\n\n");
+            out.write("import javax.annotation.processing.Generated;\n\n");
+            for (String imported : imports) {
+                out.write("import " + imported + ";\n");
+            }
+            out.write("\n/**\n * Binary codecs of every message, generated from the {@link Wire} annotations. Do not edit.\n */\n");
+            out.write("@Generated(\"" + CodecProcessor.class.getName() + "\")\n");
+            out.write("final class " + GENERATED_CLASS + " {\n\n");
+            out.write("    private " + GENERATED_CLASS + "() {\n    }\n\n");
+            out.write(body.toString());
+            out.write("}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + GENERATED_CLASS + ": " + e.getMessage());
+        }
+        return true;
+    }
+
+    private String opcodeOf(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (nameOf(mirror).equals(MESSAGE)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals("value")) {
+                        return ((VariableElement) entry.getValue().getValue()).getSimpleName().toString();
+                    }
+                }
+            }
+        }
+        error(type, "@Wire.Message without an opcode");
+        return "";
+    }
+
+    /**
+     * Collects the instance fields that go on the wire, in declaration order.
+     */
+    private List<VariableElement> wireFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.FINAL)) {
+                error(field, "Wire fields must be public and not final");
+                continue;
+            }
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    private void requireNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return;
+            }
+        }
+        error(type, "Wire classes need a public no-argument constructor");
+    }
+
+    private String writeStatement(VariableElement field, String owner, Set<String> structs) {
+        String value = owner + "." + field.getSimpleName();
+        TypeMirror type = field.asType();
+        String encoding = encodingOf(field);
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return check(field, encoding) + "out.writeBoolean(" + value + ");";
+            case INT:
+                return check(field, encoding, "Unsigned") + ("Unsigned".equals(encoding) ? "out.writeVarInt(" : "out.writeSignedVarInt(") + value + ");";
+            case LONG:
+                return check(field, encoding, "Unsigned") + ("Unsigned".equals(encoding) ? "out.writeVarLong(" : "out.writeSignedVarLong(") + value + ");";
+            case FLOAT:
+            case DOUBLE:
+                if (isScaled(encoding)) {
+                    return "out.write" + encoding + "(" + value + ");";
+                }
+                check(field, encoding);
+                return "out.writeFloat(" + (type.getKind() == TypeKind.DOUBLE ? "(float) " : "") + value + ");";
+            case DECLARED:
+                String declared = erasure(type);
+                if (declared.equals("java.lang.String")) {
+                    return check(field, encoding, "Id", "Table") + "out.write" + stringMethod(encoding) + "(" + value + ");";
+                }
+                if (declared.equals("java.util.List")) {
+                    check(field, encoding);
+                    String element = listElement(field, structs);
+                    if (element == null) {
+                        return "";
+                    }
+                    return element.equals("java.lang.String")
+                        ? "out.writeList(" + value + ", (e, o) -> o.writeString(e));"
+                        : "out.writeList(" + value + ", " + GENERATED_CLASS + "::write" + simpleName(element) + ");";
+                }
+                break;
+            default:
+                break;
+        }
+        error(field, "Unsupported wire field type " + type);
+        return "";
+    }
+
+    private String readStatement(VariableElement field, String owner, Set<String> structs) {
+        String target = owner + "." + field.getSimpleName() + " = ";
+        TypeMirror type = field.asType();
+        String encoding = encodingOf(field);
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return target + "in.readBoolean();";
+            case INT:
+                return target + ("Unsigned".equals(encoding) ? "in.readVarInt();" : "in.readSignedVarInt();");
+            case LONG:
+                return target + ("Unsigned".equals(encoding) ? "in.readVarLong();" : "in.readSignedVarLong();");
+            case FLOAT:
+            case DOUBLE:
+                if (isScaled(encoding)) {
+                    return target + (type.getKind() == TypeKind.FLOAT ? "(float) " : "") + "in.read" + encoding + "();";
+                }
+                return target + "in.readFloat();";
+            case DECLARED:
+                String declared = erasure(type);
+                if (declared.equals("java.lang.String")) {
+                    return target + "in.read" + stringMethod(encoding) + "();";
+                }
+                if (declared.equals("java.util.List")) {
+                    String element = listElement(field, structs);
+                    if (element == null) {
+                        return "";
+                    }
+                    return target + (element.equals("java.lang.String")
+                        ? "in.readList(WireReader::readString);"
+                        : "in.readList(" + GENERATED_CLASS + "::read" + simpleName(element) + ");");
+                }
+                break;
+            default:
+                break;
+        }
+        return "";
+    }
+
+    private String listElement(VariableElement field, Set<String> structs) {
+        List<? extends TypeMirror> arguments = ((DeclaredType) field.asType()).getTypeArguments();
+        if (arguments.size() == 1 && arguments.get(0).getKind() == TypeKind.DECLARED) {
+            String element = erasure(arguments.get(0));
+            if (element.equals("java.lang.String") || structs.contains(element)) {
+                return element;
+            }
+        }
+        error(field, "Lists on the wire must hold strings or @Wire.Struct classes");
+        return null;
+    }
+
+    private static boolean isScaled(String encoding) {
+        return "Position".equals(encoding) || "Velocity".equals(encoding) || "Angle".equals(encoding);
+    }
+
+    private static String stringMethod(String encoding) {
+        if ("Id".equals(encoding)) {
+            return "Id";
+        }
+        return "Table".equals(encoding) ? "TableString" : "String";
+    }
+
+    /**
+     * Reports an encoding annotation that does not fit the field's type.
+     * @return An empty prefix, so the call can be chained into the generated statement.
+     */
+    private String check(VariableElement field, String encoding, String... allowed) {
+        if (encoding == null) {
+            return "";
+        }
+        for (String candidate : allowed) {
+            if (encoding.equals(candidate)) {
+                return "";
+            }
+        }
+        error(field, "@Wire." + encoding + " does not apply to " + field.asType());
+        return "";
+    }
+
+    private String encodingOf(VariableElement field) {
+        String encoding = null;
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            String name = nameOf(mirror);
+            if (name.startsWith(WIRE + ".")) {
+                if (encoding != null) {
+                    error(field, "More than one wire encoding on " + field.getSimpleName());
+                }
+                encoding = name.substring(WIRE.length() + 1);
+            }
+        }
+        return encoding;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (nameOf(mirror).equals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String nameOf(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private String erasure(TypeMirror type) {
+        return ((TypeElement) processingEnv.getTypeUtils().asElement(type)).getQualifiedName().toString();
+    }
+
+    private static String simpleName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
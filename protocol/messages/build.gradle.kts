@@ -0,0 +1,20 @@
+plugins {
+    `java-library`
+}
+
+group = "com.tavuc"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // Generates GeneratedCodecs from the @Wire annotations
+    annotationProcessor(project(":codegen"))
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
@@ -0,0 +1,21 @@
+package com.tavuc.exceptions;
+
+public class ProtocolException extends Exception {
+
+    /**
+     * Constructs a new ProtocolException with the specified detail message.
+     * @param message the detail message
+     */
+    public ProtocolException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ProtocolException with the specified detail message and cause.
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public ProtocolException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,15 +1,16 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
 
+@Wire.Message(Opcode.ATTACK_REQUEST)
 public class AttackRequest extends BaseMessage {
-    public String playerId;
-    public double directionX;
-    public double directionY;
-
+    @Wire.Id public String playerId;
+    @Wire.Velocity public double directionX;
+    @Wire.Velocity public double directionY;
 
     public AttackRequest() {}
 
-
     public AttackRequest(String playerId, double directionX, double directionY) {
         this.type = "ATTACK_REQUEST";
         this.playerId = playerId;
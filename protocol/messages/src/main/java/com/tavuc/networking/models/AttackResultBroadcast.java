@@ -2,14 +2,16 @@ package com.tavuc.networking.models;
 
 import java.util.List;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
 
+@Wire.Message(Opcode.ATTACK_RESULT_BROADCAST)
 public class AttackResultBroadcast extends BaseMessage {
-    public String attackerId;
-    public double directionX;
-    public double directionY;
+    @Wire.Id public String attackerId;
+    @Wire.Velocity public double directionX;
+    @Wire.Velocity public double directionY;
     public List<AttackResultData> results;
 
-
     public AttackResultBroadcast() {}
 
     public AttackResultBroadcast(String attackerId, double directionX, double directionY, List<AttackResultData> results) {
@@ -1,16 +1,16 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Wire;
 
+@Wire.Struct
 public class AttackResultData {
-    public String playerId;
+    @Wire.Id public String playerId;
     public float damageDealt;
     public float newHealth;
     public boolean blocked;
 
-
     public AttackResultData() {}
 
-
     public AttackResultData(String playerId, float damageDealt, float newHealth, boolean blocked) {
         this.playerId = playerId;
         this.damageDealt = damageDealt;
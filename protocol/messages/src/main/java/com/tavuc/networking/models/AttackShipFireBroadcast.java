@@ -1,13 +1,20 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.ATTACK_SHIP_FIRE_BROADCAST)
 public class AttackShipFireBroadcast extends BaseMessage {
-    public String attackerId;
-    public String targetPlayerId;
+    @Wire.Id public String attackerId;
+    @Wire.Id public String targetPlayerId;
     public int fromX;
     public int fromY;
     public int toX;
     public int toY;
 
+    public AttackShipFireBroadcast() {
+    }
+
     public AttackShipFireBroadcast(String attackerId, String targetPlayerId, int fromX, int fromY, int toX, int toY) {
         super();
         this.type = "ATTACK_SHIP_FIRE_BROADCAST";
@@ -1,18 +1,27 @@
 package com.tavuc.networking.models;
 
-public class AttackShipUpdateBroadcast extends BaseMessage {
-    public String entityId;
-    public String parentCruiserId; 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.ATTACK_SHIP_UPDATE_BROADCAST)
+public class AttackShipUpdateBroadcast extends BaseMessage implements TickStamped {
+    @Wire.Id public String entityId;
+    @Wire.Id public String parentCruiserId; 
     public int x;
     public int y;
-    public float velocityX;
-    public float velocityY;
-    public float orientation;
+    @Wire.Velocity public float velocityX;
+    @Wire.Velocity public float velocityY;
+    @Wire.Angle public float orientation;
     public float health;
     public float maxHealth;
     public String aiState;
-    public float attackPointX; 
-    public float attackPointY;
+    @Wire.Position public float attackPointX; 
+    @Wire.Position public float attackPointY;
+    @Wire.Id public String targetPlayerId;
+    @Wire.Unsigned public long tick;
+
+    public AttackShipUpdateBroadcast() {
+    }
 
     public AttackShipUpdateBroadcast(String entityId, String parentCruiserId, int x, int y,
                                      float velocityX, float velocityY, float orientation,
@@ -33,4 +42,9 @@ public class AttackShipUpdateBroadcast extends BaseMessage {
         this.attackPointX = attackPointX;
         this.attackPointY = attackPointY;
     }
+
+    @Override
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
 }
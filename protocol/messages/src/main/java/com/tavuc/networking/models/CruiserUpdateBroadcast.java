@@ -1,17 +1,25 @@
 package com.tavuc.networking.models;
 
-public class CruiserUpdateBroadcast extends BaseMessage {
-    public String entityId;
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.CRUISER_UPDATE_BROADCAST)
+public class CruiserUpdateBroadcast extends BaseMessage implements TickStamped {
+    @Wire.Id public String entityId;
     public int x;
     public int y;
-    public float velocityX;
-    public float velocityY;
-    public float orientation;
+    @Wire.Velocity public float velocityX;
+    @Wire.Velocity public float velocityY;
+    @Wire.Angle public float orientation;
     public float health;
     public float maxHealth;
     public float shieldHealth; 
     public float maxShieldHealth;
     public String aiState;
+    @Wire.Unsigned public long tick;
+
+    public CruiserUpdateBroadcast() {
+    }
 
     public CruiserUpdateBroadcast(String entityId, int x, int y, float velocityX, float velocityY,
                                   float orientation, float health, float maxHealth,
@@ -30,4 +38,9 @@ public class CruiserUpdateBroadcast extends BaseMessage {
         this.maxShieldHealth = maxShieldHealth;
         this.aiState = aiState;
     }
+
+    @Override
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
 }
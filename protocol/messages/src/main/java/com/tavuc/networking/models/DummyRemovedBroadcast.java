@@ -1,8 +1,15 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.DUMMY_REMOVED_BROADCAST)
 public class DummyRemovedBroadcast extends BaseMessage {
     public int id;
 
+    public DummyRemovedBroadcast() {
+    }
+
     public DummyRemovedBroadcast(int id) {
         super();
         this.type = "DUMMY_REMOVED_BROADCAST";
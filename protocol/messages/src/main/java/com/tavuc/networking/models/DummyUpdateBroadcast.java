@@ -0,0 +1,32 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.DUMMY_UPDATE_BROADCAST)
+public class DummyUpdateBroadcast extends BaseMessage implements TickStamped {
+    public int id;
+    @Wire.Position public float x;
+    @Wire.Position public float y;
+    @Wire.Velocity public double dx; // Include velocity if needed for client-side prediction/interpolation
+    @Wire.Velocity public double dy;
+    @Wire.Unsigned public long tick;
+
+    public DummyUpdateBroadcast() {
+    }
+
+    public DummyUpdateBroadcast(int id, float x, float y, double dx, double dy) {
+        super();
+        this.type = "DUMMY_UPDATE_BROADCAST";
+        this.id = id;
+        this.x = x;
+        this.y = y;
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    @Override
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+}
@@ -1,9 +1,16 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.ENTITY_REMOVED_BROADCAST)
 public class EntityRemovedBroadcast extends BaseMessage {
-    public String entityId;
+    @Wire.Id public String entityId;
     public String entityType; 
 
+    public EntityRemovedBroadcast() {
+    }
+
     public EntityRemovedBroadcast(String entityId, String entityType) {
         super();
         this.type = "ENTITY_REMOVED_BROADCAST"; 
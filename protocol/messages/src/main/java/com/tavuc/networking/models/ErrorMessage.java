@@ -1,7 +1,12 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.ERROR_MESSAGE)
 public class ErrorMessage extends BaseMessage {
     public String errorMessageContent;
+    @Wire.Unsigned public int requestId;
 
     public ErrorMessage() {
     }
@@ -10,4 +15,9 @@ public class ErrorMessage extends BaseMessage {
         this.type = "ERROR_MESSAGE";
         this.errorMessageContent = errorMessageContent;
     }
+
+    public ErrorMessage(String errorMessageContent, int requestId) {
+        this(errorMessageContent);
+        this.requestId = requestId;
+    }
 }
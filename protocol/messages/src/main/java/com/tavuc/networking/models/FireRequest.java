@@ -0,0 +1,28 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.FIRE_REQUEST)
+public class FireRequest extends BaseMessage {
+    @Wire.Id public String playerId;
+    @Wire.Position public double shipX;
+    @Wire.Position public double shipY;
+    @Wire.Angle public double shipAngle;
+    @Wire.Velocity public double shipDx;
+    @Wire.Velocity public double shipDy;
+
+    public FireRequest() {
+        this.type = "FIRE_REQUEST";
+    }
+
+    public FireRequest(String playerId, double shipX, double shipY, double shipAngle, double shipDx, double shipDy) {
+        this();
+        this.playerId = playerId;
+        this.shipX = shipX;
+        this.shipY = shipY;
+        this.shipAngle = shipAngle;
+        this.shipDx = shipDx;
+        this.shipDy = shipDy;
+    }
+}
@@ -1,9 +1,12 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Struct
 public class GameInfo {
-    public String gameId;
+    @Wire.Id public String gameId;
     public String planetName;
-    public int playerCount;
+    @Wire.Unsigned public int playerCount;
 
     public GameInfo() {
     }
@@ -1,7 +1,14 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.GET_PLAYERS_REQUEST)
 public class GetPlayersRequest extends BaseMessage {
-    public String gameId;
+    @Wire.Id public String gameId;
+
+    public GetPlayersRequest() {
+    }
 
     public GetPlayersRequest(String gameId) {
         this.type = "GET_PLAYERS_REQUEST";
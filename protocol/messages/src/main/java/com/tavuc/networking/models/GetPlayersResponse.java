@@ -2,6 +2,10 @@ package com.tavuc.networking.models;
 
 import java.util.List;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.GET_PLAYERS_RESPONSE)
 public class GetPlayersResponse extends BaseMessage {
     public List<PlayerInitialData> players;
 
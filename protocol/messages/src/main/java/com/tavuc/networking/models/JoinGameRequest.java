@@ -1,7 +1,14 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.JOIN_GAME_REQUEST)
 public class JoinGameRequest extends BaseMessage {
-    public String gameId;
+    @Wire.Id public String gameId;
+
+    public JoinGameRequest() {
+    }
 
     public JoinGameRequest(String gameId) {
         this.type = "JOIN_GAME_REQUEST";
@@ -2,10 +2,14 @@ package com.tavuc.networking.models;
 
 import java.util.List;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.JOIN_GAME_RESPONSE)
 public class JoinGameResponse extends BaseMessage {
     public boolean success;
     public String message;
-    public String gameId;
+    @Wire.Id public String gameId;
     public String planetName;
     public List<PlayerInitialData> playersInGame;
 
@@ -1,5 +1,9 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.LEAVE_GAME_REQUEST)
 public class LeaveGameRequest extends BaseMessage {
     public LeaveGameRequest() {
         this.type = "LEAVE_GAME_REQUEST";
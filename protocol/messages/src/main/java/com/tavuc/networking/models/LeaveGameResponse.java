@@ -1,9 +1,13 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.LEAVE_GAME_RESPONSE)
 public class LeaveGameResponse extends BaseMessage {
     public boolean success;
     public String message;
-    public String gameId;
+    @Wire.Id public String gameId;
 
     public LeaveGameResponse() {
     }
@@ -1,5 +1,9 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.LIST_GAMES_REQUEST)
 public class ListGamesRequest extends BaseMessage {
     public ListGamesRequest() {
         this.type = "LIST_GAMES_REQUEST";
@@ -2,6 +2,10 @@ package com.tavuc.networking.models;
 
 import java.util.List;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.LIST_GAMES_RESPONSE)
 public class ListGamesResponse extends BaseMessage {
     public List<GameInfo> games;
 
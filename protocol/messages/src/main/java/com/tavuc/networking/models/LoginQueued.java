@@ -0,0 +1,17 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.LOGIN_QUEUED)
+public class LoginQueued extends BaseMessage {
+    @Wire.Unsigned public int position;
+
+    public LoginQueued() {
+    }
+
+    public LoginQueued(int position) {
+        this.type = "LOGIN_QUEUED";
+        this.position = position;
+    }
+}
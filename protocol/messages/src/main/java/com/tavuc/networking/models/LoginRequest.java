@@ -1,9 +1,16 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.LOGIN_REQUEST)
 public class LoginRequest extends BaseMessage {
     public String username;
     public String password;
 
+    public LoginRequest() {
+    }
+
     public LoginRequest(String username, String password) {
         this.type = "LOGIN_REQUEST";
         this.username = username;
@@ -0,0 +1,37 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.LOGIN_RESPONSE)
+public class LoginResponse extends BaseMessage {
+    public boolean success;
+    public String message;
+    @Wire.Id public String playerId;
+    public String username;
+    @Wire.Unsigned public int udpPort;
+    public String udpToken;
+    public String resumeToken;
+
+    public LoginResponse() {
+    }
+
+    public LoginResponse(boolean success, String message, String playerId, String username) {
+        this.type = "LOGIN_RESPONSE";
+        this.success = success;
+        this.message = message;
+        this.playerId = playerId;
+        this.username = username;
+    }
+
+    public LoginResponse(boolean success, String message, String playerId, String username, int udpPort, String udpToken) {
+        this(success, message, playerId, username);
+        this.udpPort = udpPort;
+        this.udpToken = udpToken;
+    }
+
+    public LoginResponse(boolean success, String message, String playerId, String username, int udpPort, String udpToken, String resumeToken) {
+        this(success, message, playerId, username, udpPort, udpToken);
+        this.resumeToken = resumeToken;
+    }
+}
@@ -0,0 +1,17 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PING)
+public class Ping extends BaseMessage {
+    public long timestamp;
+
+    public Ping() {
+    }
+
+    public Ping(long timestamp) {
+        this.type = "PING";
+        this.timestamp = timestamp;
+    }
+}
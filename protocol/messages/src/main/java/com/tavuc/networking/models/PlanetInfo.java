@@ -1,13 +1,16 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Struct
 public class PlanetInfo {
-    public String gameId;
+    @Wire.Id public String gameId;
     public String planetName;
-    public double x;
-    public double y;
-    public double size;
-    public String type; 
-    public int hueShiftColor; 
+    @Wire.Position public double x;
+    @Wire.Position public double y;
+    @Wire.Position public double size;
+    @Wire.Table public String type; 
+    @Wire.Unsigned public int hueShiftColor; 
 
     public PlanetInfo() {
     }
@@ -1,13 +1,16 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Struct
 public class PlayerInitialData {
-    public String playerId;
+    @Wire.Id public String playerId;
     public String username;
-    public double x;
-    public double y;
-    public double dx;
-    public double dy;
-    public double directionAngle;
+    @Wire.Position public double x;
+    @Wire.Position public double y;
+    @Wire.Velocity public double dx;
+    @Wire.Velocity public double dy;
+    @Wire.Angle public double directionAngle;
 
     public PlayerInitialData() {
     }
@@ -1,13 +1,20 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PLAYER_JOINED_BROADCAST)
 public class PlayerJoinedBroadcast extends BaseMessage {
-    public String playerId;
+    @Wire.Id public String playerId;
     public String username;
-    public double x;
-    public double y;
-    public double dx;
-    public double dy;
-    public double directionAngle;
+    @Wire.Position public double x;
+    @Wire.Position public double y;
+    @Wire.Velocity public double dx;
+    @Wire.Velocity public double dy;
+    @Wire.Angle public double directionAngle;
+
+    public PlayerJoinedBroadcast() {
+    }
 
     public PlayerJoinedBroadcast(String playerId, String username, double x, double y, double dx, double dy, double directionAngle) {
         this.type = "PLAYER_JOINED_BROADCAST";
@@ -19,9 +26,4 @@ public class PlayerJoinedBroadcast extends BaseMessage {
         this.dy = dy;
         this.directionAngle = directionAngle;
     }
-
-    // Gson can also use a no-arg constructor if needed, or public fields directly
-    public PlayerJoinedBroadcast() {
-        this.type = "PLAYER_JOINED_BROADCAST";
-    }
 }
@@ -1,7 +1,14 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PLAYER_LEFT_BROADCAST)
 public class PlayerLeftBroadcast extends BaseMessage {
-    public String playerId;
+    @Wire.Id public String playerId;
+
+    public PlayerLeftBroadcast() {
+    }
 
     public PlayerLeftBroadcast(String playerId) {
         this.type = "PLAYER_LEFT_BROADCAST";
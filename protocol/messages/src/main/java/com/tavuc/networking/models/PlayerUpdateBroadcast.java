@@ -0,0 +1,33 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PLAYER_UPDATE_BROADCAST)
+public class PlayerUpdateBroadcast extends BaseMessage implements TickStamped {
+    @Wire.Id public String playerId;
+    @Wire.Position public double x;
+    @Wire.Position public double y;
+    @Wire.Velocity public double dx;
+    @Wire.Velocity public double dy;
+    @Wire.Angle public double directionAngle;
+    @Wire.Unsigned public long tick;
+
+    public PlayerUpdateBroadcast() {
+    }
+
+    public PlayerUpdateBroadcast(String playerId, double x, double y, double dx, double dy, double directionAngle) {
+        this.type = "PLAYER_UPDATE_BROADCAST";
+        this.playerId = playerId;
+        this.x = x;
+        this.y = y;
+        this.dx = dx;
+        this.dy = dy;
+        this.directionAngle = directionAngle;
+    }
+
+    @Override
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+}
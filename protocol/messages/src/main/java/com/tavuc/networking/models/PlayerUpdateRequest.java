@@ -1,12 +1,16 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PLAYER_UPDATE_REQUEST)
 public class PlayerUpdateRequest extends BaseMessage {
-    public String playerId;
-    public double x;
-    public double y;
-    public double dx;
-    public double dy;
-    public double directionAngle;
+    @Wire.Id public String playerId;
+    @Wire.Position public double x;
+    @Wire.Position public double y;
+    @Wire.Velocity public double dx;
+    @Wire.Velocity public double dy;
+    @Wire.Angle public double directionAngle;
 
     public PlayerUpdateRequest() {
     }
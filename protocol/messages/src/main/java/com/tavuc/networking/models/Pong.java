@@ -0,0 +1,17 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PONG)
+public class Pong extends BaseMessage {
+    public long timestamp;
+
+    public Pong() {
+    }
+
+    public Pong(long timestamp) {
+        this.type = "PONG";
+        this.timestamp = timestamp;
+    }
+}
@@ -1,7 +1,14 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PROJECTILE_REMOVED_BROADCAST)
 public class ProjectileRemovedBroadcast extends BaseMessage {
-    public String projectileId;
+    @Wire.Id public String projectileId;
+
+    public ProjectileRemovedBroadcast() {
+    }
 
     public ProjectileRemovedBroadcast(String projectileId) {
         super();
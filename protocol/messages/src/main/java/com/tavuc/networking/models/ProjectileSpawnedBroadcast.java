@@ -1,17 +1,24 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PROJECTILE_SPAWNED_BROADCAST)
 public class ProjectileSpawnedBroadcast extends BaseMessage {
-    public String projectileId;
-    public float x;
-    public float y;
+    @Wire.Id public String projectileId;
+    @Wire.Position public float x;
+    @Wire.Position public float y;
     public int width;
     public int height;
-    public float orientation;
+    @Wire.Angle public float orientation;
     public float speed;
-    public float velocityX;
-    public float velocityY;
+    @Wire.Velocity public float velocityX;
+    @Wire.Velocity public float velocityY;
     public float damage;
-    public String firedBy;
+    @Wire.Id public String firedBy;
+
+    public ProjectileSpawnedBroadcast() {
+    }
 
     public ProjectileSpawnedBroadcast(String projectileId, float x, float y, int width, int height,
                                       float orientation, float speed,
@@ -0,0 +1,32 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PROJECTILE_UPDATE_BROADCAST)
+public class ProjectileUpdateBroadcast extends BaseMessage implements TickStamped {
+    @Wire.Id public String projectileId;
+    @Wire.Position public float x;
+    @Wire.Position public float y;
+    @Wire.Velocity public float velocityX;
+    @Wire.Velocity public float velocityY;
+    @Wire.Unsigned public long tick;
+
+    public ProjectileUpdateBroadcast() {
+    }
+
+    public ProjectileUpdateBroadcast(String projectileId, float x, float y, float velocityX, float velocityY) {
+        super();
+        this.type = "PROJECTILE_UPDATE_BROADCAST";
+        this.projectileId = projectileId;
+        this.x = x;
+        this.y = y;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+    }
+
+    @Override
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tavuc.networking.models;
+
+import java.util.List;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PROTOCOL_HELLO)
+public class ProtocolHello extends BaseMessage {
+    @Wire.Unsigned public int version;
+    public List<String> encodings;
+    public List<String> compression;
+
+    public ProtocolHello() {
+    }
+
+    public ProtocolHello(int version, List<String> encodings) {
+        this.type = "PROTOCOL_HELLO";
+        this.version = version;
+        this.encodings = encodings;
+    }
+
+    public ProtocolHello(int version, List<String> encodings, List<String> compression) {
+        this(version, encodings);
+        this.compression = compression;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.PROTOCOL_HELLO_ACK)
+public class ProtocolHelloAck extends BaseMessage {
+    @Wire.Unsigned public int version;
+    public String encoding;
+    public String compression;
+
+    public ProtocolHelloAck() {
+    }
+
+    public ProtocolHelloAck(int version, String encoding) {
+        this.type = "PROTOCOL_HELLO_ACK";
+        this.version = version;
+        this.encoding = encoding;
+    }
+
+    public ProtocolHelloAck(int version, String encoding, String compression) {
+        this(version, encoding);
+        this.compression = compression;
+    }
+}
@@ -1,9 +1,16 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.REGISTER_REQUEST)
 public class RegisterRequest extends BaseMessage {
     public String username;
     public String password;
 
+    public RegisterRequest() {
+    }
+
     public RegisterRequest(String username, String password) {
         this.type = "REGISTER_REQUEST";
         this.username = username;
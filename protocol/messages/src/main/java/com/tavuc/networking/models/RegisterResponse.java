@@ -1,9 +1,13 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.REGISTER_RESPONSE)
 public class RegisterResponse extends BaseMessage {
     public boolean success;
     public String message;
-    public String playerId;
+    @Wire.Id public String playerId;
 
     public RegisterResponse() {
     }
@@ -0,0 +1,27 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.REQUEST_CHUNK_REQUEST)
+public class RequestChunkRequest extends BaseMessage {
+    @Wire.Id public String gameId;
+    public int chunkX;
+    public int chunkY;
+    @Wire.Unsigned public int requestId;
+
+    public RequestChunkRequest() {
+    }
+
+    public RequestChunkRequest(String gameId, int chunkX, int chunkY) {
+        this.type = "REQUEST_CHUNK_REQUEST";
+        this.gameId = gameId;
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+    }
+
+    public RequestChunkRequest(String gameId, int chunkX, int chunkY, int requestId) {
+        this(gameId, chunkX, chunkY);
+        this.requestId = requestId;
+    }
+}
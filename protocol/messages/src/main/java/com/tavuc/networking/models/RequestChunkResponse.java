@@ -2,10 +2,16 @@ package com.tavuc.networking.models;
 
 import java.util.List;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.REQUEST_CHUNK_RESPONSE)
 public class RequestChunkResponse extends BaseMessage {
     public int chunkX;
     public int chunkY;
     public List<TileData> tiles;
+    /** Must stay the last field: the server caches encoded responses and appends only this. */
+    @Wire.Unsigned public int requestId;
 
     public RequestChunkResponse() {
     }
@@ -16,4 +22,9 @@ public class RequestChunkResponse extends BaseMessage {
         this.chunkY = chunkY;
         this.tiles = tiles;
     }
+
+    public RequestChunkResponse(int chunkX, int chunkY, List<TileData> tiles, int requestId) {
+        this(chunkX, chunkY, tiles);
+        this.requestId = requestId;
+    }
 }
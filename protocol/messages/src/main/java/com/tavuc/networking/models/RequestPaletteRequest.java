@@ -1,7 +1,14 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.REQUEST_PALETTE_REQUEST)
 public class RequestPaletteRequest extends BaseMessage {
-    public String gameId;
+    @Wire.Id public String gameId;
+
+    public RequestPaletteRequest() {
+    }
 
     public RequestPaletteRequest(String gameId) {
         this.type = "REQUEST_PALETTE_REQUEST";
@@ -1,5 +1,9 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.REQUEST_PALETTE_RESPONSE)
 public class RequestPaletteResponse extends BaseMessage {
     public String primarySurfaceRGB;
     public String primaryLiquidRGB;
@@ -0,0 +1,27 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.REQUEST_PLANETS_AREA_REQUEST)
+public class RequestPlanetsAreaRequest extends BaseMessage {
+    @Wire.Position public double centerX;
+    @Wire.Position public double centerY;
+    @Wire.Position public double radius;
+    @Wire.Unsigned public int requestId;
+
+    public RequestPlanetsAreaRequest() {
+    }
+
+    public RequestPlanetsAreaRequest(double centerX, double centerY, double radius) {
+        this.type = "REQUEST_PLANETS_AREA_REQUEST";
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+    }
+
+    public RequestPlanetsAreaRequest(double centerX, double centerY, double radius, int requestId) {
+        this(centerX, centerY, radius);
+        this.requestId = requestId;
+    }
+}
@@ -2,8 +2,13 @@ package com.tavuc.networking.models;
 
 import java.util.List;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.REQUEST_PLANETS_AREA_RESPONSE)
 public class RequestPlanetsAreaResponse extends BaseMessage {
     public List<PlanetInfo> planets;
+    @Wire.Unsigned public int requestId;
 
     public RequestPlanetsAreaResponse() {
     }
@@ -12,4 +17,9 @@ public class RequestPlanetsAreaResponse extends BaseMessage {
         this.type = "REQUEST_PLANETS_AREA_RESPONSE";
         this.planets = planets;
     }
+
+    public RequestPlanetsAreaResponse(List<PlanetInfo> planets, int requestId) {
+        this(planets);
+        this.requestId = requestId;
+    }
 }
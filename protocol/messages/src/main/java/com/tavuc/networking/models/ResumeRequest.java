@@ -0,0 +1,17 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.RESUME_REQUEST)
+public class ResumeRequest extends BaseMessage {
+    public String resumeToken;
+
+    public ResumeRequest() {
+    }
+
+    public ResumeRequest(String resumeToken) {
+        this.type = "RESUME_REQUEST";
+        this.resumeToken = resumeToken;
+    }
+}
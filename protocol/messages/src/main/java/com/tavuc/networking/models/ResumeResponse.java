@@ -0,0 +1,40 @@
+package com.tavuc.networking.models;
+
+import java.util.List;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.RESUME_RESPONSE)
+public class ResumeResponse extends BaseMessage {
+    public boolean success;
+    public String message;
+    @Wire.Id public String playerId;
+    public String username;
+    @Wire.Id public String gameId;
+    public List<PlayerInitialData> playersInGame;
+    @Wire.Unsigned public int udpPort;
+    public String udpToken;
+    public String resumeToken;
+
+    public ResumeResponse() {
+    }
+
+    public ResumeResponse(boolean success, String message) {
+        this.type = "RESUME_RESPONSE";
+        this.success = success;
+        this.message = message;
+    }
+
+    public ResumeResponse(boolean success, String message, String playerId, String username, String gameId, List<PlayerInitialData> playersInGame,
+                          int udpPort, String udpToken, String resumeToken) {
+        this(success, message);
+        this.playerId = playerId;
+        this.username = username;
+        this.gameId = gameId;
+        this.playersInGame = playersInGame;
+        this.udpPort = udpPort;
+        this.udpToken = udpToken;
+        this.resumeToken = resumeToken;
+    }
+}
@@ -1,13 +1,16 @@
 
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
 
+@Wire.Message(Opcode.SHIP_DAMAGED_BROADCAST)
 public class ShipDamagedBroadcast extends BaseMessage {
-    public String playerId;
+    @Wire.Id public String playerId;
     public float damageAmount;
     public float currentHealth;
     public float maxHealth;
-    public String damageDealerId;
+    @Wire.Id public String damageDealerId;
 
     public ShipDamagedBroadcast() {
         this.type = "SHIP_DAMAGED_BROADCAST";
@@ -1,12 +1,16 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
 /**
  * Broadcast message sent when a player's ship has been destroyed.
  */
+@Wire.Message(Opcode.SHIP_DESTROYED_BROADCAST)
 public class ShipDestroyedBroadcast extends BaseMessage {
-    public String playerId;
-    public float x;
-    public float y;
+    @Wire.Id public String playerId;
+    @Wire.Position public float x;
+    @Wire.Position public float y;
 
     public ShipDestroyedBroadcast() {
         this.type = "SHIP_DESTROYED_BROADCAST";
@@ -19,4 +23,3 @@ public class ShipDestroyedBroadcast extends BaseMessage {
         this.y = y;
     }
 }
-
@@ -1,7 +1,11 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.SHIP_LEFT_BROADCAST)
 public class ShipLeftBroadcast extends BaseMessage {
-    public String playerId;
+    @Wire.Id public String playerId;
 
     public ShipLeftBroadcast() {
     }
@@ -0,0 +1,35 @@
+package com.tavuc.networking.models;
+
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.SHIP_UPDATE_BROADCAST)
+public class ShipUpdateBroadcast extends BaseMessage implements TickStamped {
+    @Wire.Id public String playerId;
+    @Wire.Position public double x;
+    @Wire.Position public double y;
+    @Wire.Angle public double angle;
+    @Wire.Velocity public double dx;
+    @Wire.Velocity public double dy;
+    public boolean thrusting;
+    @Wire.Unsigned public long tick;
+
+    public ShipUpdateBroadcast() {
+    }
+
+    public ShipUpdateBroadcast(String playerId, double x, double y, double angle, double dx, double dy, boolean thrusting) {
+        this.type = "SHIP_UPDATE_BROADCAST";
+        this.playerId = playerId;
+        this.x = x;
+        this.y = y;
+        this.angle = angle;
+        this.dx = dx;
+        this.dy = dy;
+        this.thrusting = thrusting;
+    }
+
+    @Override
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+}
@@ -1,14 +1,21 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Message(Opcode.SHIP_UPDATE_REQUEST)
 public class ShipUpdateRequest extends BaseMessage {
-    public String playerId;
-    public double x;
-    public double y;
-    public double angle;
-    public double dx;
-    public double dy;
+    @Wire.Id public String playerId;
+    @Wire.Position public double x;
+    @Wire.Position public double y;
+    @Wire.Angle public double angle;
+    @Wire.Velocity public double dx;
+    @Wire.Velocity public double dy;
     public boolean thrusting;
 
+    public ShipUpdateRequest() {
+    }
+
     public ShipUpdateRequest(String playerId, double x, double y, double angle, double dx, double dy, boolean thrusting) {
         this.type = "SHIP_UPDATE_REQUEST";
         this.playerId = playerId;
@@ -0,0 +1,14 @@
+package com.tavuc.networking.models;
+
+/**
+ * A message carrying entity state as of one simulation tick. Clients can compare tick numbers
+ * to drop state that arrives out of order, for example over the UDP channel.
+ */
+public interface TickStamped {
+
+    /**
+     * Records the tick the state belongs to.
+     * @param tick The tick number, or 0 if the state was not produced by a tick.
+     */
+    void setTick(long tick);
+}
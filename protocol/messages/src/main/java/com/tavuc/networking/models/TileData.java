@@ -1,10 +1,13 @@
 package com.tavuc.networking.models;
 
+import com.tavuc.networking.protocol.Wire;
+
+@Wire.Struct
 public class TileData {
     public int x;
     public int y;
-    public String tileType; 
-    public String colorTypeName; 
+    @Wire.Table public String tileType; 
+    @Wire.Table public String colorTypeName; 
 
     public TileData() {
     }
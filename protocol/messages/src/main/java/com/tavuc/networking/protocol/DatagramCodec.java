@@ -0,0 +1,78 @@
+package com.tavuc.networking.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Layout of the optional UDP channel that carries latest-state messages.
+ * A datagram is a fixed header followed by complete length-prefixed frames, exactly as they
+ * would be written on the TCP connection. Client datagrams start with the 8-byte token
+ * handed out in the login response and a 4-byte sequence number; server datagrams carry the
+ * sequence number only. Receivers drop any datagram that is not newer than the last one
+ * accepted, so a late packet can never roll state back. A datagram without frames is a
+ * keepalive; the server answers each one with an empty datagram of its own.
+ */
+public final class DatagramCodec {
+
+    /** Largest datagram either side sends, chosen to stay below common path MTUs. */
+    public static final int MAX_DATAGRAM_BYTES = 1200;
+    /** Token and sequence number. */
+    public static final int CLIENT_HEADER_BYTES = 12;
+    /** Sequence number. */
+    public static final int SERVER_HEADER_BYTES = 4;
+
+    private DatagramCodec() {
+    }
+
+    /**
+     * Builds a client to server datagram.
+     * @param token The token from the login response.
+     * @param sequence The sender's next sequence number.
+     * @param frames The frames to carry; may be empty for a keepalive. They are not consumed.
+     * @return The datagram, ready to send.
+     */
+    public static ByteBuffer encodeClientDatagram(long token, int sequence, List<ByteBuffer> frames) {
+        ByteBuffer datagram = ByteBuffer.allocate(CLIENT_HEADER_BYTES + totalBytes(frames));
+        datagram.putLong(token);
+        datagram.putInt(sequence);
+        return fill(datagram, frames);
+    }
+
+    /**
+     * Builds a server to client datagram.
+     * @param sequence The sender's next sequence number.
+     * @param frames The frames to carry; may be empty for a keepalive. They are not consumed.
+     * @return The datagram, ready to send.
+     */
+    public static ByteBuffer encodeServerDatagram(int sequence, List<ByteBuffer> frames) {
+        ByteBuffer datagram = ByteBuffer.allocate(SERVER_HEADER_BYTES + totalBytes(frames));
+        datagram.putInt(sequence);
+        return fill(datagram, frames);
+    }
+
+    /**
+     * Checks if a sequence number is newer than the last one accepted, allowing for wrap-around.
+     * @param sequence The received sequence number.
+     * @param lastAccepted The newest sequence number accepted so far.
+     * @return true if the datagram should be accepted.
+     */
+    public static boolean isNewer(int sequence, int lastAccepted) {
+        return sequence - lastAccepted > 0;
+    }
+
+    private static int totalBytes(List<ByteBuffer> frames) {
+        int total = 0;
+        for (ByteBuffer frame : frames) {
+            total += frame.remaining();
+        }
+        return total;
+    }
+
+    private static ByteBuffer fill(ByteBuffer datagram, List<ByteBuffer> frames) {
+        for (ByteBuffer frame : frames) {
+            datagram.put(frame.duplicate());
+        }
+        datagram.flip();
+        return datagram;
+    }
+}
@@ -0,0 +1,232 @@
+package com.tavuc.networking.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.tavuc.exceptions.ProtocolException;
+
+/**
+ * Per-connection Deflate compression of large binary frames, used once both sides agreed on
+ * {@link #DEFLATE} in the protocol handshake. A frame whose body exceeds the threshold is
+ * replaced by a {@link Opcode#COMPRESSED} frame: the opcode, the varint length of the original
+ * body and the raw Deflate stream of that body. Each message is compressed on its own, so frames
+ * can be decoded in any order. The {@link Deflater} and {@link Inflater} are created once and
+ * reused for every frame of the connection.
+ */
+public final class FrameCompressor {
+
+    /** Handshake name of the Deflate compression. */
+    public static final String DEFLATE = "deflate";
+    /** Default body size above which frames are compressed. */
+    public static final int DEFAULT_THRESHOLD_BYTES = 512;
+
+    private final int thresholdBytes;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final Inflater inflater = new Inflater(true);
+    private final ReentrantLock deflateLock = new ReentrantLock();
+    private final ReentrantLock inflateLock = new ReentrantLock();
+    private final LongAdder compressedFrames = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder inflatedFrames = new LongAdder();
+    private final LongAdder inflatedRawBytes = new LongAdder();
+    private final LongAdder inflatedCompressedBytes = new LongAdder();
+    private byte[] scratch = new byte[4096];
+    private boolean closed;
+
+    /**
+     * Constructor for FrameCompressor
+     * @param thresholdBytes Frame bodies larger than this are compressed.
+     */
+    public FrameCompressor(int thresholdBytes) {
+        this.thresholdBytes = Math.max(0, thresholdBytes);
+    }
+
+    /**
+     * Compresses a complete length-prefixed frame if it is large enough and compression pays off.
+     * @param frame The frame to send. Not consumed.
+     * @return A {@link Opcode#COMPRESSED} frame, or the original frame if it is left as is.
+     */
+    public ByteBuffer compress(ByteBuffer frame) {
+        ByteBuffer body = frame.duplicate();
+        int length = readLengthPrefix(body);
+        if (length <= thresholdBytes || length != body.remaining()) {
+            return frame;
+        }
+        deflateLock.lock();
+        try {
+            if (closed) {
+                return frame;
+            }
+            deflater.reset();
+            if (body.hasArray()) {
+                deflater.setInput(body.array(), body.arrayOffset() + body.position(), length);
+            } else {
+                deflater.setInput(body);
+            }
+            deflater.finish();
+            int written = 0;
+            while (!deflater.finished()) {
+                if (written == scratch.length) {
+                    if (written >= length) {
+                        return frame;
+                    }
+                    scratch = Arrays.copyOf(scratch, scratch.length * 2);
+                }
+                written += deflater.deflate(scratch, written, scratch.length - written);
+            }
+            if (written + 8 >= length) {
+                return frame;
+            }
+            WireWriter out = new WireWriter(written + 8);
+            out.writeVarInt(Opcode.COMPRESSED.getId());
+            out.writeVarInt(length);
+            out.writeBytes(ByteBuffer.wrap(scratch, 0, written));
+            ByteBuffer compressed = out.toFrame();
+            compressedFrames.increment();
+            rawBytes.add(frame.remaining());
+            compressedBytes.add(compressed.remaining());
+            return compressed;
+        } finally {
+            deflateLock.unlock();
+        }
+    }
+
+    /**
+     * Restores the original body of a {@link Opcode#COMPRESSED} frame.
+     * @param frame The frame body, starting with the compressed opcode.
+     * @param offset Index of the original length, right after the opcode.
+     * @return The original frame body.
+     * @throws ProtocolException If the stream is corrupt or does not match the announced length.
+     */
+    byte[] decompress(byte[] frame, int offset) throws ProtocolException {
+        WireReader in = new WireReader(frame, offset, frame.length - offset);
+        int length = in.readVarInt();
+        if (length < 0 || length > WireWriter.MAX_FRAME_BYTES) {
+            throw new ProtocolException("Compressed frame announces " + length + " bytes");
+        }
+        int start = frame.length - in.remaining();
+        byte[] body = new byte[length];
+        inflateLock.lock();
+        try {
+            if (closed) {
+                throw new ProtocolException("Compressor is closed");
+            }
+            inflater.reset();
+            inflater.setInput(frame, start, frame.length - start);
+            int filled = 0;
+            while (filled < length) {
+                int n = inflater.inflate(body, filled, length - filled);
+                if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                filled += n;
+            }
+            if (filled != length) {
+                throw new ProtocolException("Compressed frame inflated to " + filled + " of " + length + " bytes");
+            }
+            inflatedFrames.increment();
+            inflatedRawBytes.add(length);
+            inflatedCompressedBytes.add(frame.length);
+        } catch (DataFormatException e) {
+            throw new ProtocolException("Corrupt compressed frame: " + e.getMessage(), e);
+        } finally {
+            inflateLock.unlock();
+        }
+        return body;
+    }
+
+    private static int readLengthPrefix(ByteBuffer frame) {
+        int value = 0;
+        int shift = 0;
+        while (frame.hasRemaining() && shift < 35) {
+            int b = frame.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of frames sent compressed.
+     * @return The compressed frame count.
+     */
+    public long getCompressedFrames() {
+        return compressedFrames.sum();
+    }
+
+    /**
+     * Gets the size of the compressed frames before compression.
+     * @return The original bytes, length prefixes included.
+     */
+    public long getRawBytes() {
+        return rawBytes.sum();
+    }
+
+    /**
+     * Gets the size of the compressed frames on the wire.
+     * @return The compressed bytes, length prefixes included.
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * Gets how much smaller the compressed frames are than the originals.
+     * @return Original bytes divided by compressed bytes, or 1 if nothing was compressed.
+     */
+    public double getCompressionRatio() {
+        long compressed = getCompressedBytes();
+        return compressed == 0 ? 1.0 : (double) getRawBytes() / compressed;
+    }
+
+    /**
+     * Gets the number of compressed frames received and inflated.
+     * @return The inflated frame count.
+     */
+    public long getInflatedFrames() {
+        return inflatedFrames.sum();
+    }
+
+    /**
+     * Gets how much smaller the received compressed frames were than their contents.
+     * @return Inflated bytes divided by received bytes, or 1 if nothing was inflated.
+     */
+    public double getInflationRatio() {
+        long compressed = inflatedCompressedBytes.sum();
+        return compressed == 0 ? 1.0 : (double) inflatedRawBytes.sum() / compressed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sent %d compressed frame(s), %d -> %d bytes (%.2f:1); received %d compressed frame(s), %d -> %d bytes (%.2f:1)",
+                getCompressedFrames(), getRawBytes(), getCompressedBytes(), getCompressionRatio(),
+                getInflatedFrames(), inflatedCompressedBytes.sum(), inflatedRawBytes.sum(), getInflationRatio());
+    }
+
+    /**
+     * Releases the native Deflate state. Frames compressed afterwards are passed through unchanged.
+     */
+    public void close() {
+        deflateLock.lock();
+        inflateLock.lock();
+        try {
+            if (!closed) {
+                closed = true;
+                deflater.end();
+                inflater.end();
+            }
+        } finally {
+            inflateLock.unlock();
+            deflateLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tavuc.networking.protocol;
+
+import java.util.function.Supplier;
+
+import com.tavuc.exceptions.ProtocolException;
+import com.tavuc.networking.models.BaseMessage;
+
+/**
+ * Binary encoding of one message class: its opcode, a factory for empty instances
+ * and the functions writing and reading its fields in a fixed order.
+ * @param <T> The message class.
+ */
+public final class MessageCodec<T extends BaseMessage> {
+
+    /**
+     * Writes the fields of a message.
+     * @param <T> The message class.
+     */
+    public interface FieldWriter<T> {
+        void write(T message, WireWriter out);
+    }
+
+    /**
+     * Reads the fields of a message into an empty instance.
+     * @param <T> The message class.
+     */
+    public interface FieldReader<T> {
+        void read(T message, WireReader in) throws ProtocolException;
+    }
+
+    private final Opcode opcode;
+    private final Class<T> messageClass;
+    private final Supplier<T> factory;
+    private final FieldWriter<T> writer;
+    private final FieldReader<T> reader;
+
+    MessageCodec(Opcode opcode, Class<T> messageClass, Supplier<T> factory, FieldWriter<T> writer, FieldReader<T> reader) {
+        this.opcode = opcode;
+        this.messageClass = messageClass;
+        this.factory = factory;
+        this.writer = writer;
+        this.reader = reader;
+    }
+
+    public Opcode getOpcode() {
+        return opcode;
+    }
+
+    public Class<T> getMessageClass() {
+        return messageClass;
+    }
+
+    void write(BaseMessage message, WireWriter out) {
+        writer.write(messageClass.cast(message), out);
+    }
+
+    T read(WireReader in) throws ProtocolException {
+        T message = factory.get();
+        message.type = opcode.getType();
+        reader.read(message, in);
+        return message;
+    }
+}
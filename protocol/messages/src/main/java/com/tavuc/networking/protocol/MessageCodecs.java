@@ -0,0 +1,230 @@
+package com.tavuc.networking.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.tavuc.exceptions.ProtocolException;
+import com.tavuc.networking.models.*;
+
+/**
+ * Registry of the binary codecs for every message in {@code com.tavuc.networking.models}.
+ * A frame body is the varint opcode followed by the message fields in declaration order, encoded
+ * as their {@link Wire} annotations say. The codecs are generated at compile time into
+ * {@code GeneratedCodecs}, and client and server build them from the same message classes,
+ * so field order is part of the protocol.
+ */
+public final class MessageCodecs {
+
+    /** Version announced in the protocol handshake. Bump when a codec changes incompatibly. */
+    public static final int PROTOCOL_VERSION = 9;
+
+    private static final MessageCodec<?>[] BY_OPCODE = new MessageCodec<?>[Opcode.values().length];
+    private static final Map<Class<?>, MessageCodec<?>> BY_CLASS = new HashMap<>();
+
+    static {
+        GeneratedCodecs.registerAll();
+
+        for (Opcode opcode : Opcode.values()) {
+            if (opcode != Opcode.BUNDLE && opcode != Opcode.COMPRESSED && BY_OPCODE[opcode.ordinal()] == null) {
+                throw new IllegalStateException("No codec registered for opcode " + opcode);
+            }
+        }
+    }
+
+    private MessageCodecs() {
+    }
+
+    static <T extends BaseMessage> void register(Opcode opcode, Class<T> messageClass, Supplier<T> factory,
+                                                         MessageCodec.FieldWriter<T> writer, MessageCodec.FieldReader<T> reader) {
+        MessageCodec<T> codec = new MessageCodec<>(opcode, messageClass, factory, writer, reader);
+        BY_OPCODE[opcode.ordinal()] = codec;
+        BY_CLASS.put(messageClass, codec);
+    }
+
+    /**
+     * Checks if a message can be sent in binary form.
+     * @param message The message to check.
+     * @return true if a codec is registered for the message's class.
+     */
+    public static boolean supports(Object message) {
+        return message != null && BY_CLASS.containsKey(message.getClass());
+    }
+
+    /**
+     * Gets the message class for a JSON type string, so a JSON line only needs to be parsed once.
+     * @param type The {@code type} field of the message.
+     * @return The message class, or null if the type is unknown.
+     */
+    public static Class<? extends BaseMessage> messageClassFor(String type) {
+        Opcode opcode = Opcode.fromType(type);
+        MessageCodec<?> codec = opcode == null ? null : BY_OPCODE[opcode.ordinal()];
+        return codec == null ? null : codec.getMessageClass();
+    }
+
+    /**
+     * Writes the opcode and fields of a message into a frame body.
+     * @param message The message to encode.
+     * @param out The writer for the frame.
+     */
+    public static void encode(BaseMessage message, WireWriter out) {
+        MessageCodec<?> codec = BY_CLASS.get(message.getClass());
+        if (codec == null) {
+            throw new IllegalArgumentException("No binary codec for " + message.getClass().getSimpleName());
+        }
+        out.writeVarInt(codec.getOpcode().getId());
+        codec.write(message, out);
+    }
+
+    /**
+     * Encodes a message as a complete length-prefixed frame.
+     * @param message The message to encode.
+     * @return The frame, ready to be handed to a connection.
+     */
+    public static ByteBuffer encodeFrame(BaseMessage message) {
+        WireWriter out = new WireWriter();
+        encode(message, out);
+        return out.toFrame();
+    }
+
+    /**
+     * Packs already encoded frames into as few {@link Opcode#BUNDLE} frames as the frame size limit allows.
+     * A bundle body is the bundle opcode followed by the complete inner frames, length prefixes included,
+     * so the receiver can split it without knowing the inner message types.
+     * @param frames The frames to pack, in delivery order. They are not consumed.
+     * @return The frames to write, in order. A group holding a single frame is returned unwrapped.
+     */
+    public static List<ByteBuffer> encodeBundles(List<ByteBuffer> frames) {
+        List<ByteBuffer> result = new ArrayList<>();
+        int bundleHeader = 1;
+        int start = 0;
+        int size = bundleHeader;
+        for (int i = 0; i <= frames.size(); i++) {
+            boolean full = i < frames.size() && size + frames.get(i).remaining() > WireWriter.MAX_FRAME_BYTES;
+            if (i == frames.size() || (full && i > start)) {
+                if (i - start == 1) {
+                    result.add(frames.get(start));
+                } else if (i > start) {
+                    WireWriter out = new WireWriter(size);
+                    out.writeVarInt(Opcode.BUNDLE.getId());
+                    for (int j = start; j < i; j++) {
+                        out.writeBytes(frames.get(j));
+                    }
+                    result.add(out.toFrame());
+                }
+                start = i;
+                size = bundleHeader;
+            }
+            if (i < frames.size()) {
+                size += frames.get(i).remaining();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a frame body into its message.
+     * @param frame The frame without its length prefix.
+     * @return The decoded message with its {@code type} set.
+     * @throws ProtocolException If the opcode is unknown, the frame is a bundle or the body is malformed.
+     */
+    public static BaseMessage decode(byte[] frame) throws ProtocolException {
+        WireReader in = new WireReader(frame);
+        Opcode opcode = readOpcode(in);
+        if (opcode == Opcode.BUNDLE || opcode == Opcode.COMPRESSED) {
+            throw new ProtocolException("Unexpected " + opcode + " frame");
+        }
+        return decodeBody(opcode, in);
+    }
+
+    /**
+     * Decodes a frame body into the messages it carries, unpacking bundles in order.
+     * @param frame The frame without its length prefix.
+     * @return The decoded messages with their {@code type} set.
+     * @throws ProtocolException If an opcode is unknown, a bundle is nested, the frame is compressed or a body is malformed.
+     */
+    public static List<BaseMessage> decodeAll(byte[] frame) throws ProtocolException {
+        return decodeAll(frame, null);
+    }
+
+    /**
+     * Decodes a frame body into the messages it carries, inflating compressed frames and unpacking bundles in order.
+     * @param frame The frame without its length prefix.
+     * @param compressor The connection's compressor, or null if compression was not negotiated.
+     * @return The decoded messages with their {@code type} set.
+     * @throws ProtocolException If an opcode is unknown, compression was not negotiated or a body is malformed.
+     */
+    public static List<BaseMessage> decodeAll(byte[] frame, FrameCompressor compressor) throws ProtocolException {
+        WireReader in = new WireReader(frame);
+        Opcode opcode = readOpcode(in);
+        if (opcode == Opcode.COMPRESSED) {
+            if (compressor == null) {
+                throw new ProtocolException("Compressed frame received but compression was not negotiated");
+            }
+            return decodeAll(compressor.decompress(frame, frame.length - in.remaining()), null);
+        }
+        if (opcode != Opcode.BUNDLE) {
+            return Collections.singletonList(decodeBody(opcode, in));
+        }
+        return decodeFrames(in);
+    }
+
+    /**
+     * Reads the opcode of a frame without decoding its body, so a receiver can reject a message cheaply.
+     * @param frame The frame without its length prefix.
+     * @return The opcode, or null if the frame does not start with a known one.
+     */
+    public static Opcode peekOpcode(byte[] frame) {
+        try {
+            return Opcode.fromId(new WireReader(frame).readVarInt());
+        } catch (ProtocolException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a run of complete length-prefixed frames, as carried by a datagram.
+     * @param buffer The array holding the frames.
+     * @param offset Index of the first length prefix.
+     * @param length Number of bytes holding frames.
+     * @return The decoded messages in order.
+     * @throws ProtocolException If a frame is truncated, is a bundle or is malformed.
+     */
+    public static List<BaseMessage> decodeFrames(byte[] buffer, int offset, int length) throws ProtocolException {
+        return decodeFrames(new WireReader(buffer, offset, length));
+    }
+
+    private static List<BaseMessage> decodeFrames(WireReader in) throws ProtocolException {
+        List<BaseMessage> messages = new ArrayList<>();
+        while (in.remaining() > 0) {
+            WireReader inner = in.readFrame();
+            Opcode innerOpcode = readOpcode(inner);
+            if (innerOpcode == Opcode.BUNDLE || innerOpcode == Opcode.COMPRESSED) {
+                throw new ProtocolException("Nested " + innerOpcode + " frame");
+            }
+            messages.add(decodeBody(innerOpcode, inner));
+        }
+        return messages;
+    }
+
+    private static Opcode readOpcode(WireReader in) throws ProtocolException {
+        int id = in.readVarInt();
+        Opcode opcode = Opcode.fromId(id);
+        if (opcode == null) {
+            throw new ProtocolException("Unknown opcode " + id);
+        }
+        return opcode;
+    }
+
+    private static BaseMessage decodeBody(Opcode opcode, WireReader in) throws ProtocolException {
+        BaseMessage message = BY_OPCODE[opcode.ordinal()].read(in);
+        if (in.remaining() != 0) {
+            throw new ProtocolException(in.remaining() + " trailing byte(s) after " + opcode);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,141 @@
+package com.tavuc.networking.protocol;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Numeric identifiers of every message type on the binary wire.
+ * The constant name is the message's JSON {@code type} string, so both
+ * encodings address a message type the same way. Ids are part of the protocol:
+ * never renumber an existing constant, only append new ones.
+ */
+public enum Opcode {
+    PROTOCOL_HELLO(1),
+    PROTOCOL_HELLO_ACK(2),
+    ERROR_MESSAGE(3),
+    @Wire.Container BUNDLE(4),
+    @Wire.Container COMPRESSED(5),
+    PING(6),
+    PONG(7),
+
+    REGISTER_REQUEST(10),
+    REGISTER_RESPONSE(11),
+    LOGIN_REQUEST(12),
+    LOGIN_RESPONSE(13),
+    RESUME_REQUEST(14),
+    RESUME_RESPONSE(15),
+    LOGIN_QUEUED(16),
+
+    LIST_GAMES_REQUEST(20),
+    LIST_GAMES_RESPONSE(21),
+    JOIN_GAME_REQUEST(22),
+    JOIN_GAME_RESPONSE(23),
+    LEAVE_GAME_REQUEST(24),
+    LEAVE_GAME_RESPONSE(25),
+    GET_PLAYERS_REQUEST(26),
+    GET_PLAYERS_RESPONSE(27),
+    REQUEST_PLANETS_AREA_REQUEST(28),
+    REQUEST_PLANETS_AREA_RESPONSE(29),
+    REQUEST_CHUNK_REQUEST(30),
+    REQUEST_CHUNK_RESPONSE(31),
+    REQUEST_PALETTE_REQUEST(32),
+    REQUEST_PALETTE_RESPONSE(33),
+
+    PLAYER_UPDATE_REQUEST(40, true),
+    PLAYER_UPDATE_BROADCAST(41, true),
+    PLAYER_MOVED_BROADCAST(42, true),
+    PLAYER_JOINED_BROADCAST(43),
+    PLAYER_LEFT_BROADCAST(44),
+    DUMMY_UPDATE_BROADCAST(45, true),
+    DUMMY_REMOVED_BROADCAST(46),
+    ATTACK_REQUEST(47),
+    ATTACK_RESULT_BROADCAST(48),
+    PARRY_REQUEST(49),
+
+    SHIP_UPDATE_REQUEST(60, true),
+    SHIP_UPDATE_BROADCAST(61, true),
+    SHIP_LEFT_BROADCAST(62),
+    SHIP_DAMAGED_BROADCAST(63),
+    SHIP_DESTROYED_BROADCAST(64),
+    FIRE_REQUEST(65),
+    PROJECTILE_SPAWNED_BROADCAST(66),
+    PROJECTILE_UPDATE_BROADCAST(67, true),
+    PROJECTILE_REMOVED_BROADCAST(68),
+    CRUISER_UPDATE_BROADCAST(69, true),
+    ATTACK_SHIP_UPDATE_BROADCAST(70, true),
+    ATTACK_SHIP_FIRE_BROADCAST(71),
+    ENTITY_REMOVED_BROADCAST(72);
+
+    private static final Opcode[] BY_ID;
+    private static final Map<String, Opcode> BY_TYPE = new HashMap<>();
+
+    static {
+        int maxId = 0;
+        for (Opcode opcode : values()) {
+            maxId = Math.max(maxId, opcode.id);
+        }
+        BY_ID = new Opcode[maxId + 1];
+        for (Opcode opcode : values()) {
+            if (BY_ID[opcode.id] != null) {
+                throw new IllegalStateException("Duplicate opcode id " + opcode.id);
+            }
+            BY_ID[opcode.id] = opcode;
+            BY_TYPE.put(opcode.name(), opcode);
+        }
+    }
+
+    private final int id;
+    private final boolean latestState;
+
+    Opcode(int id) {
+        this(id, false);
+    }
+
+    Opcode(int id, boolean latestState) {
+        this.id = id;
+        this.latestState = latestState;
+    }
+
+    /**
+     * Gets the numeric id written on the wire.
+     * @return The opcode id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the JSON type string of this message type.
+     * @return The type string.
+     */
+    public String getType() {
+        return name();
+    }
+
+    /**
+     * Checks if messages of this type only carry the latest state of an entity, so a newer
+     * message of the same type supersedes an older one that has not been delivered yet.
+     * @return true if undelivered messages of this type may be dropped under backpressure.
+     */
+    public boolean isLatestState() {
+        return latestState;
+    }
+
+    /**
+     * Looks up an opcode by its wire id.
+     * @param id The id read from a frame.
+     * @return The opcode, or null if the id is unknown.
+     */
+    public static Opcode fromId(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+
+    /**
+     * Looks up an opcode by its JSON type string.
+     * @param type The type string of a JSON message.
+     * @return The opcode, or null if the type is unknown.
+     */
+    public static Opcode fromType(String type) {
+        return type == null ? null : BY_TYPE.get(type);
+    }
+}
@@ -0,0 +1,77 @@
+package com.tavuc.networking.protocol;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotations describing the binary form of the message classes. The codec processor in the
+ * {@code codegen} module reads them at compile time and generates {@code GeneratedCodecs}, which
+ * writes and reads the public instance fields of each message in declaration order.
+ * <p>
+ * Without an encoding annotation a field uses the plain encoding of its type: {@code boolean} as
+ * one byte, {@code int} and {@code long} as zigzag varints, {@code float} and {@code double} as
+ * 32-bit floats, {@code String} as UTF-8, and {@code List} of strings or {@link Struct} classes
+ * as a counted list. Field order is part of the protocol.
+ */
+public final class Wire {
+
+    private Wire() {
+    }
+
+    /** Marks a message class and assigns its opcode. */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.TYPE)
+    public @interface Message {
+        Opcode value();
+    }
+
+    /** Marks a class that is only sent inside the lists of other messages. */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.TYPE)
+    public @interface Struct {
+    }
+
+    /** Marks an opcode that frames other messages instead of carrying one. */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.FIELD)
+    public @interface Container {
+    }
+
+    /** A string holding a numeric identifier, sent as a varint when it is one. See {@link WireWriter#writeId}. */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.FIELD)
+    public @interface Id {
+    }
+
+    /** A string from a small set of values, sent once per frame and then by index. See {@link WireWriter#writeTableString}. */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.FIELD)
+    public @interface Table {
+    }
+
+    /** A non-negative {@code int}, sent as a plain varint. */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.FIELD)
+    public @interface Unsigned {
+    }
+
+    /** A world coordinate. See {@link WireWriter#writePosition}. */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.FIELD)
+    public @interface Position {
+    }
+
+    /** A velocity component. See {@link WireWriter#writeVelocity}. */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.FIELD)
+    public @interface Velocity {
+    }
+
+    /** An angle in radians. See {@link WireWriter#writeAngle}. */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.FIELD)
+    public @interface Angle {
+    }
+}
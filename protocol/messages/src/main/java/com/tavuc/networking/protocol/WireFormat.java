@@ -0,0 +1,39 @@
+package com.tavuc.networking.protocol;
+
+/**
+ * The encodings a connection can speak after the protocol handshake.
+ */
+public enum WireFormat {
+    /** Newline terminated Gson JSON. Used until the handshake completes and as the fallback. */
+    JSON("json"),
+    /** Length-prefixed frames with numeric opcodes and compact field encodings. */
+    BINARY("binary");
+
+    private final String wireName;
+
+    WireFormat(String wireName) {
+        this.wireName = wireName;
+    }
+
+    /**
+     * Gets the name used for this format in the handshake messages.
+     * @return The handshake name.
+     */
+    public String getWireName() {
+        return wireName;
+    }
+
+    /**
+     * Looks up a format by its handshake name.
+     * @param wireName The name sent by the peer.
+     * @return The format, or null if the name is unknown.
+     */
+    public static WireFormat fromWireName(String wireName) {
+        for (WireFormat format : values()) {
+            if (format.wireName.equalsIgnoreCase(wireName)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,212 @@
+package com.tavuc.networking.protocol;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.tavuc.exceptions.ProtocolException;
+
+/**
+ * Reads the fields of one binary frame body written by a {@link WireWriter}.
+ * Every read checks the frame bounds, so a truncated or hostile frame surfaces
+ * as a {@link ProtocolException} rather than an index error.
+ */
+public class WireReader {
+
+    /**
+     * Reads a single element of a list.
+     * @param <T> The element type.
+     */
+    public interface ElementReader<T> {
+        T read(WireReader in) throws ProtocolException;
+    }
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+    private List<String> stringTable;
+
+    /**
+     * Constructor for WireReader
+     * @param buffer The frame body.
+     */
+    public WireReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Constructor for WireReader
+     * @param buffer The array holding the frame body.
+     * @param offset Index of the first body byte.
+     * @param length Number of body bytes.
+     */
+    public WireReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    private void require(int count) throws ProtocolException {
+        if (limit - position < count) {
+            throw new ProtocolException("Frame truncated: needed " + count + " more byte(s) at offset " + position);
+        }
+    }
+
+    public int readByte() throws ProtocolException {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() throws ProtocolException {
+        return readByte() != 0;
+    }
+
+    public int readVarInt() throws ProtocolException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new ProtocolException("Malformed varint at offset " + position);
+    }
+
+    public long readVarLong() throws ProtocolException {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new ProtocolException("Malformed varlong at offset " + position);
+    }
+
+    public int readSignedVarInt() throws ProtocolException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readSignedVarLong() throws ProtocolException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public float readFloat() throws ProtocolException {
+        require(4);
+        int bits = (buffer[position] & 0xFF) << 24
+                 | (buffer[position + 1] & 0xFF) << 16
+                 | (buffer[position + 2] & 0xFF) << 8
+                 | (buffer[position + 3] & 0xFF);
+        position += 4;
+        return Float.intBitsToFloat(bits);
+    }
+
+    public double readPosition() throws ProtocolException {
+        return readSignedVarLong() / WireWriter.POSITION_SCALE;
+    }
+
+    public double readVelocity() throws ProtocolException {
+        return readSignedVarLong() / WireWriter.VELOCITY_SCALE;
+    }
+
+    public double readAngle() throws ProtocolException {
+        require(2);
+        int steps = (buffer[position] & 0xFF) << 8 | (buffer[position + 1] & 0xFF);
+        position += 2;
+        return steps * (2.0 * Math.PI) / WireWriter.ANGLE_STEPS;
+    }
+
+    public String readString() throws ProtocolException {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        return readUtf8(length);
+    }
+
+    public String readId() throws ProtocolException {
+        long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        if ((value & 1) != 0) {
+            return Long.toString(value >>> 1);
+        }
+        long length = (value >>> 1) - 1;
+        if (length > limit - position) {
+            throw new ProtocolException("Id length " + length + " exceeds frame at offset " + position);
+        }
+        return readUtf8((int) length);
+    }
+
+    public String readTableString() throws ProtocolException {
+        int tag = readVarInt();
+        if (tag == 0) {
+            return null;
+        }
+        if (stringTable == null) {
+            stringTable = new ArrayList<>();
+        }
+        if (tag == 1) {
+            String value = readString();
+            stringTable.add(value);
+            return value;
+        }
+        int index = tag - 2;
+        if (index >= stringTable.size()) {
+            throw new ProtocolException("String table index " + index + " out of range at offset " + position);
+        }
+        return stringTable.get(index);
+    }
+
+    public <T> List<T> readList(ElementReader<T> elementReader) throws ProtocolException {
+        int size = readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        if (size > limit - position) {
+            throw new ProtocolException("List size " + size + " exceeds frame at offset " + position);
+        }
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(elementReader.read(this));
+        }
+        return list;
+    }
+
+    /**
+     * Reads a nested length-prefixed frame and returns a reader limited to its body.
+     * This reader continues after the nested frame.
+     * @return A reader over the nested frame body.
+     * @throws ProtocolException If the nested frame is truncated.
+     */
+    public WireReader readFrame() throws ProtocolException {
+        int length = readVarInt();
+        if (length < 0) {
+            throw new ProtocolException("Negative nested frame length at offset " + position);
+        }
+        require(length);
+        WireReader nested = new WireReader(buffer, position, length);
+        position += length;
+        return nested;
+    }
+
+    private String readUtf8(int length) throws ProtocolException {
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Gets the number of unread bytes in the frame.
+     * @return The remaining byte count.
+     */
+    public int remaining() {
+        return limit - position;
+    }
+}
@@ -0,0 +1,267 @@
+package com.tavuc.networking.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Growable buffer that builds one binary frame.
+ * Integers are written as LEB128 varints (zigzag for signed values), positions and
+ * velocities as fixed-point varints and angles as unsigned 16-bit fractions of a turn.
+ * Space for the length prefix is reserved up front so {@link #toFrame()} never copies.
+ */
+public class WireWriter {
+
+    /** Largest frame body either side accepts. */
+    public static final int MAX_FRAME_BYTES = 1024 * 1024;
+    /** Positions are sent in hundredths of a world unit. */
+    static final double POSITION_SCALE = 100.0;
+    /** Velocities are sent in thousandths of a world unit per tick. */
+    static final double VELOCITY_SCALE = 1000.0;
+    /** Angles are sent as 1/65536 of a full turn. */
+    static final int ANGLE_STEPS = 1 << 16;
+
+    private static final int HEADER_BYTES = 3;
+
+    /**
+     * Writes a single element of a list.
+     * @param <T> The element type.
+     */
+    public interface ElementWriter<T> {
+        void write(T element, WireWriter out);
+    }
+
+    private byte[] buffer;
+    private int position = HEADER_BYTES;
+    private Map<String, Integer> stringTable;
+
+    /**
+     * Constructor for WireWriter
+     */
+    public WireWriter() {
+        this(64);
+    }
+
+    /**
+     * Constructor for WireWriter
+     * @param initialCapacity Expected size of the frame body in bytes.
+     */
+    public WireWriter(int initialCapacity) {
+        this.buffer = new byte[HEADER_BYTES + Math.max(16, initialCapacity)];
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = position + extra;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeFloat(float value) {
+        int bits = Float.floatToIntBits(value);
+        ensureCapacity(4);
+        buffer[position++] = (byte) (bits >>> 24);
+        buffer[position++] = (byte) (bits >>> 16);
+        buffer[position++] = (byte) (bits >>> 8);
+        buffer[position++] = (byte) bits;
+    }
+
+    /**
+     * Writes a world coordinate as a fixed-point signed varint.
+     * @param value The coordinate.
+     */
+    public void writePosition(double value) {
+        writeSignedVarLong(Math.round(value * POSITION_SCALE));
+    }
+
+    /**
+     * Writes a velocity component as a fixed-point signed varint.
+     * @param value The velocity.
+     */
+    public void writeVelocity(double value) {
+        writeSignedVarLong(Math.round(value * VELOCITY_SCALE));
+    }
+
+    /**
+     * Writes an angle in radians as two bytes. The reader gets it back normalized to [0, 2*PI).
+     * @param radians The angle.
+     */
+    public void writeAngle(double radians) {
+        double turns = radians / (2.0 * Math.PI);
+        turns -= Math.floor(turns);
+        int steps = (int) Math.round(turns * ANGLE_STEPS) & (ANGLE_STEPS - 1);
+        ensureCapacity(2);
+        buffer[position++] = (byte) (steps >>> 8);
+        buffer[position++] = (byte) steps;
+    }
+
+    /**
+     * Writes a nullable UTF-8 string prefixed with its byte length plus one (zero means null).
+     * @param value The string, may be null.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Writes a nullable identifier. Decimal ids such as player ids are sent as a varint,
+     * anything else as a string. The low bit of the leading varint tells the two apart.
+     * @param id The identifier, may be null.
+     */
+    public void writeId(String id) {
+        if (id == null) {
+            writeVarLong(0);
+            return;
+        }
+        if (isCanonicalNumber(id)) {
+            writeVarLong((Long.parseLong(id) << 1) | 1);
+            return;
+        }
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        writeVarLong((long) (bytes.length + 1) << 1);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Writes a string that is likely to repeat within this frame, such as a tile type.
+     * The first occurrence is written in full, later ones as an index into a per-frame table.
+     * @param value The string, may be null.
+     */
+    public void writeTableString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        if (stringTable == null) {
+            stringTable = new HashMap<>();
+        }
+        Integer index = stringTable.get(value);
+        if (index != null) {
+            writeVarInt(index + 2);
+            return;
+        }
+        stringTable.put(value, stringTable.size());
+        writeVarInt(1);
+        writeString(value);
+    }
+
+    /**
+     * Writes a nullable list prefixed with its size plus one (zero means null).
+     * @param list The list, may be null.
+     * @param elementWriter Writes a single element.
+     */
+    public <T> void writeList(List<T> list, ElementWriter<T> elementWriter) {
+        if (list == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(list.size() + 1);
+        for (T element : list) {
+            elementWriter.write(element, this);
+        }
+    }
+
+    public void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Appends the remaining bytes of a buffer without changing its position.
+     * @param bytes The bytes to append.
+     */
+    public void writeBytes(ByteBuffer bytes) {
+        int length = bytes.remaining();
+        ensureCapacity(length);
+        bytes.duplicate().get(buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * Gets the number of body bytes written so far.
+     * @return The body size.
+     */
+    public int size() {
+        return position - HEADER_BYTES;
+    }
+
+    /**
+     * Prepends the varint length and returns the finished frame.
+     * The writer must not be used afterwards.
+     * @return A buffer positioned at the length prefix and limited to the end of the body.
+     */
+    public ByteBuffer toFrame() {
+        int length = size();
+        if (length > MAX_FRAME_BYTES) {
+            throw new IllegalStateException("Frame of " + length + " bytes exceeds " + MAX_FRAME_BYTES + " bytes.");
+        }
+        int prefixBytes = length < (1 << 7) ? 1 : length < (1 << 14) ? 2 : 3;
+        int start = HEADER_BYTES - prefixBytes;
+        int value = length;
+        for (int i = start; i < HEADER_BYTES - 1; i++) {
+            buffer[i] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[HEADER_BYTES - 1] = (byte) value;
+        return ByteBuffer.wrap(buffer, start, length + prefixBytes);
+    }
+
+    private static boolean isCanonicalNumber(String value) {
+        int length = value.length();
+        if (length == 0 || length > 18 || (length > 1 && value.charAt(0) == '0')) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
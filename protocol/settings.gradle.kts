@@ -0,0 +1,13 @@
+/*
+ * Protocol messages shared by the server and the client.
+ * The codegen project holds the annotation processor that generates the binary codecs of the
+ * messages project at compile time.
+ */
+
+plugins {
+    // Apply the foojay-resolver plugin to allow automatic download of JDKs
+    id("org.gradle.toolchains.foojay-resolver-convention") version "0.9.0"
+}
+
+rootProject.name = "protocol"
+include("codegen", "messages")
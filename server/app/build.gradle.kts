@@ -22,6 +22,9 @@ dependencies {
     // This dependency is used by the application.
     implementation(libs.guava)
 
+    // Shared protocol messages and codecs
+    implementation("com.tavuc:messages")
+
     // GSON for JSON processing
     implementation("com.google.code.gson:gson:2.10.1")
 }
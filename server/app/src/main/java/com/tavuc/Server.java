@@ -7,13 +7,17 @@ import com.tavuc.managers.AuthManager;
 import com.tavuc.managers.GameManager;
 import com.tavuc.managers.LobbyManager;
 import com.tavuc.managers.NetworkManager; 
+import com.tavuc.simulation.GameTickRunner;
+import com.tavuc.simulation.SimulationClock;
+import com.tavuc.simulation.TickScheduler;
 
 public class Server {
 
     private static NetworkManager networkManager; 
     private final AuthManager authManager;
     private final LobbyManager gameLobbyService; 
-    private volatile boolean running = true; 
+    private final TickScheduler tickScheduler;
+    private final GameTickRunner gameTickRunner;
 
     /**
      * Gets the static instance of NetworkManager.
@@ -42,19 +46,24 @@ public class Server {
     /**
      * Constructor for the Server class.
      * Initializes the authentication service, game lobby service, and network service.
-     * Starts the server on the specified port and begins the game loop.
+     * Starts the server on the specified port and begins ticking the simulation.
      * @param port The port number on which the server will listen for incoming connections.
+     * @param config The startup configuration for this server.
      */
-    public Server(int port) {
+    public Server(int port, ServerConfig config) {
         this.authManager = new AuthManager();
         this.gameLobbyService = new LobbyManager();
-        networkManager = new NetworkManager(this.authManager, this.gameLobbyService);
+        SimulationClock clock = new SimulationClock(config.getTickRate());
+        networkManager = new NetworkManager(this.authManager, this.gameLobbyService, config, clock);
         this.gameLobbyService.initializeLobby(networkManager); 
+        int recoverAfterTicks = config.getTickRate() * config.getOverloadRecoverySeconds();
+        this.tickScheduler = new TickScheduler(clock, config.getMaxCatchUpTicks(), recoverAfterTicks);
+        this.gameTickRunner = new GameTickRunner(config.getGameTickThreads(), Math.max(1, config.getTickRate() / config.getIdleTickRate()), recoverAfterTicks);
         
         try {
             networkManager.startServer(port);
             System.out.println("Server application initialized and network service started on port " + port);
-            startGameLoop(); 
+            startSimulation(); 
         } catch (ServerStartException e) {
             System.err.println("Failed to start the server: " + e.getMessage());
             e.printStackTrace();
@@ -63,76 +72,37 @@ public class Server {
     }
 
     /**
-     * Starts the main game loop in a separate thread.
-     * The loop runs at a target ticks per second (TPS) rate, updating game states accordingly.
+     * Registers every part of the world with the tick scheduler and starts it.
+     * The lobby, space (ship inputs, projectiles, collisions) and the planets advance
+     * once per tick, in that order. The planets' games run in parallel on the game tick workers.
+     * Space sheds work by how far whole ticks overrun; each game sheds work by its own tick time.
      */
-    private void startGameLoop() {
-        new Thread(() -> {
-            long lastTime = System.nanoTime();
-            double amountOfTicks = 60.0; 
-            double ns = 1000000000 / amountOfTicks;
-            double delta = 0;
-            long timer = System.currentTimeMillis();
-
-            while (running) {
-                long now = System.nanoTime();
-                delta += (now - lastTime) / ns;
-                lastTime = now;
-
-                while (delta >= 1) {
-                    tick();
-                    delta--;
-                }
-
-                if (System.currentTimeMillis() - timer > 1000) {
-                    timer += 1000;
-                }
-
-                try {
-                    long sleepTime = (long) (lastTime - System.nanoTime() + ns) / 1000000;
-                    Thread.sleep(Math.max(0, sleepTime));
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    System.err.println("Game loop interrupted.");
-                    running = false; 
-                }
-            }
-            System.out.println("Game loop stopped.");
-        }, "MainGameLoopThread").start();
+    private void startSimulation() {
+        tickScheduler.addPhase("lobby", (tick, deltaSeconds) -> gameLobbyService.update());
+        tickScheduler.addPhase("space", (tick, deltaSeconds) -> networkManager.updateSpace(deltaSeconds, tickScheduler.getDegradation()));
+        tickScheduler.addPhase("planets", (tick, deltaSeconds) -> updateGames(tick));
+        tickScheduler.start();
     }
 
     /**
-     * Main game loop tick method.
-     * Iterates through all active game services and updates their states.
-     * Also updates the LobbyManager.
+     * Updates every active game for one tick.
+     * @param tick The number of the tick being run.
      */
-    private void tick() {
-        try {
-            gameLobbyService.update();
-        } catch (Exception e) {
-            System.err.println("Error updating LobbyManager: " + e.getMessage());
-            e.printStackTrace();
-        }
-        
+    private void updateGames(long tick) {
         List<GameManager> activeGames = gameLobbyService.getActiveGameServices();
-        if (activeGames != null) {
-            for (GameManager game : activeGames) {
-                try {
-                    game.update();
-                } catch (Exception e) {
-                    System.err.println("Error updating game " + game.getGameId() + " (" + game.getPlanetName() + "): " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
+        if (activeGames == null) {
+            return;
         }
+        gameTickRunner.tickAll(tick, activeGames, tickScheduler.getStepNanos());
     }
     
     /**
-     * Stops the network service and sets the running flag to false.
+     * Stops the simulation and the network service.
      */
     public void shutdown() {
         System.out.println("Shutting down server...");
-        this.running = false; 
+        tickScheduler.stop();
+        gameTickRunner.shutdown();
         networkManager.stopServer();
         System.out.println("Server shutdown complete.");
     }
@@ -146,6 +116,6 @@ public class Server {
                 System.err.println("Invalid port number specified: " + args[0] + ". Using default port " + port);
             }
         }
-        new Server(port); 
+        new Server(port, ServerConfig.fromSystemProperties()); 
     }
 }
@@ -0,0 +1,393 @@
+package com.tavuc;
+
+import com.tavuc.networking.AdmissionPolicy;
+import com.tavuc.networking.InboundRatePolicy;
+import com.tavuc.networking.RateLimitAction;
+import com.tavuc.networking.protocol.FrameCompressor;
+import com.tavuc.networking.transport.OutboundPolicy;
+import com.tavuc.networking.transport.TransportMode;
+
+/**
+ * Startup configuration for the server.
+ * Values are read from JVM system properties prefixed with {@code tavuc.}
+ * (for example {@code -Dtavuc.eventLoops=4}, {@code -Dtavuc.transport=virtual}
+ * or {@code -Dtavuc.binaryProtocol=false})
+ * and fall back to sensible defaults.
+ */
+public class ServerConfig {
+
+    private static final String PREFIX = "tavuc.";
+
+    private final TransportMode transportMode;
+    private final int eventLoopThreads;
+    private final boolean binaryProtocolEnabled;
+    private final OutboundPolicy outboundPolicy;
+    private final boolean udpEnabled;
+    private final int udpPort;
+    private final boolean compressionEnabled;
+    private final int compressionThresholdBytes;
+    private final int requestWorkerThreads;
+    private final int requestQueueLimit;
+    private final int resumeGraceSeconds;
+    private final int heartbeatIntervalMillis;
+    private final int idleTimeoutMillis;
+    private final AdmissionPolicy admissionPolicy;
+    private final InboundRatePolicy inboundRatePolicy;
+    private final long chunkCacheBytes;
+    private final int tickRate;
+    private final int maxCatchUpTicks;
+    private final int gameTickThreads;
+    private final int idleTickRate;
+    private final int hibernateAfterSeconds;
+    private final int regionParallelPlayers;
+    private final int overloadRecoverySeconds;
+    private final int projectileCap;
+    private final int legacyIdleTimeoutMillis;
+
+    /**
+     * Constructor for ServerConfig
+     * @param transportMode How client sessions are executed.
+     * @param eventLoopThreads Number of selector threads used by the NIO transport.
+     * @param binaryProtocolEnabled Whether clients may negotiate the binary wire protocol.
+     * @param outboundPolicy The limits applied to every session's outbound queue.
+     * @param udpEnabled Whether binary sessions are offered the UDP channel for latest-state traffic.
+     * @param udpPort The UDP port, or -1 to use the TCP port.
+     * @param compressionEnabled Whether binary sessions may negotiate Deflate compression of large frames.
+     * @param compressionThresholdBytes Frame bodies larger than this are compressed.
+     * @param requestWorkerThreads Number of worker threads serving chunk and planet requests.
+     * @param requestQueueLimit Number of requests that may wait for a worker before new ones are refused.
+     * @param resumeGraceSeconds How long a dropped session can be resumed with its token, or 0 to disable.
+     * @param heartbeatIntervalMillis How often sessions are pinged and checked for silence.
+     * @param idleTimeoutMillis How long a session may stay silent before it is closed.
+     * @param admissionPolicy The limits on concurrent sessions, connection rate and parallel logins.
+     * @param inboundRatePolicy The limits on how fast one session may send messages.
+     * @param chunkCacheBytes Memory budget for encoded chunk responses, or 0 to encode every request.
+     * @param tickRate Simulation ticks per second.
+     * @param maxCatchUpTicks How many ticks may run back to back after a stall before time is dropped.
+     * @param gameTickThreads Number of worker threads that tick the planets' games in parallel.
+     * @param idleTickRate Ticks per second for games whose players are all idle.
+     * @param hibernateAfterSeconds How long a game may stay empty before it is unloaded, or 0 to keep games loaded.
+     * @param regionParallelPlayers From how many players a planet's regions are updated in parallel.
+     * @param overloadRecoverySeconds How long ticks must stay well within budget before shed work is resumed, one stage at a time.
+     * @param projectileCap How many projectiles may be in flight while the server sheds work.
+     * @param legacyIdleTimeoutMillis How long a logged-in session whose client does not answer pings may stay silent before it is closed.
+     */
+    public ServerConfig(TransportMode transportMode, int eventLoopThreads, boolean binaryProtocolEnabled, OutboundPolicy outboundPolicy,
+                        boolean udpEnabled, int udpPort, boolean compressionEnabled, int compressionThresholdBytes,
+                        int requestWorkerThreads, int requestQueueLimit, int resumeGraceSeconds,
+                        int heartbeatIntervalMillis, int idleTimeoutMillis, AdmissionPolicy admissionPolicy,
+                        InboundRatePolicy inboundRatePolicy, long chunkCacheBytes,
+                        int tickRate, int maxCatchUpTicks, int gameTickThreads, int idleTickRate,
+                        int hibernateAfterSeconds, int regionParallelPlayers, int overloadRecoverySeconds,
+                        int projectileCap, int legacyIdleTimeoutMillis) {
+        this.transportMode = transportMode;
+        this.eventLoopThreads = Math.max(1, eventLoopThreads);
+        this.binaryProtocolEnabled = binaryProtocolEnabled;
+        this.outboundPolicy = outboundPolicy;
+        this.udpEnabled = udpEnabled;
+        this.udpPort = udpPort;
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThresholdBytes = compressionThresholdBytes;
+        this.requestWorkerThreads = Math.max(1, requestWorkerThreads);
+        this.requestQueueLimit = Math.max(1, requestQueueLimit);
+        this.resumeGraceSeconds = Math.max(0, resumeGraceSeconds);
+        this.heartbeatIntervalMillis = Math.max(100, heartbeatIntervalMillis);
+        this.idleTimeoutMillis = Math.max(this.heartbeatIntervalMillis * 2, idleTimeoutMillis);
+        this.admissionPolicy = admissionPolicy;
+        this.inboundRatePolicy = inboundRatePolicy;
+        this.chunkCacheBytes = Math.max(0, chunkCacheBytes);
+        this.tickRate = Math.max(1, tickRate);
+        this.maxCatchUpTicks = Math.max(1, maxCatchUpTicks);
+        this.gameTickThreads = Math.max(1, gameTickThreads);
+        this.idleTickRate = Math.max(1, Math.min(this.tickRate, idleTickRate));
+        this.hibernateAfterSeconds = Math.max(0, hibernateAfterSeconds);
+        this.regionParallelPlayers = Math.max(1, regionParallelPlayers);
+        this.overloadRecoverySeconds = Math.max(1, overloadRecoverySeconds);
+        this.projectileCap = Math.max(1, projectileCap);
+        this.legacyIdleTimeoutMillis = Math.max(this.idleTimeoutMillis, legacyIdleTimeoutMillis);
+    }
+
+    /**
+     * Builds a configuration from the current JVM system properties.
+     * @return The configuration for this server process.
+     */
+    public static ServerConfig fromSystemProperties() {
+        int defaultLoops = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        int defaultWorkers = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        return new ServerConfig(
+            TransportMode.parse(System.getProperty(PREFIX + "transport"), TransportMode.NIO),
+            intProperty("eventLoops", defaultLoops),
+            booleanProperty("binaryProtocol", true),
+            new OutboundPolicy(
+                intProperty("outboundDropBytes", 256 * 1024),
+                intProperty("outboundMaxBytes", 1024 * 1024)),
+            booleanProperty("udp", true),
+            intProperty("udpPort", -1),
+            booleanProperty("compression", true),
+            intProperty("compressionThreshold", FrameCompressor.DEFAULT_THRESHOLD_BYTES),
+            intProperty("requestWorkers", defaultWorkers),
+            intProperty("requestQueue", 256),
+            intProperty("resumeGraceSeconds", 30),
+            intProperty("heartbeatInterval", 2000),
+            intProperty("idleTimeout", 15000),
+            new AdmissionPolicy(
+                intProperty("maxSessions", 1000),
+                intProperty("connectsPerMinute", 60),
+                intProperty("connectBurst", 10),
+                intProperty("loginWorkers", 4),
+                intProperty("loginQueue", 256)),
+            new InboundRatePolicy(
+                RateLimitAction.parse(System.getProperty(PREFIX + "rateLimitAction"), RateLimitAction.DROP),
+                intProperty("messageRate", 300),
+                intProperty("combatRate", 15),
+                intProperty("chunkRate", 50),
+                intProperty("areaRate", 4),
+                intProperty("rateLimitMaxDelay", 1000)),
+            intProperty("chunkCacheKilobytes", 32 * 1024) * 1024L,
+            intProperty("tickRate", 60),
+            intProperty("maxCatchUpTicks", 5),
+            intProperty("gameTickThreads", Runtime.getRuntime().availableProcessors()),
+            intProperty("idleTickRate", 10),
+            intProperty("hibernateAfterSeconds", 60),
+            intProperty("regionParallelPlayers", 32),
+            intProperty("overloadRecoverySeconds", 2),
+            intProperty("projectileCap", 128),
+            intProperty("legacyIdleTimeout", 300000)
+        );
+    }
+
+    /**
+     * Gets the session execution model selected at startup.
+     * @return The transport mode.
+     */
+    public TransportMode getTransportMode() {
+        return transportMode;
+    }
+
+    /**
+     * Gets the number of selector threads used by the NIO transport.
+     * @return The event loop thread count.
+     */
+    public int getEventLoopThreads() {
+        return eventLoopThreads;
+    }
+
+    /**
+     * Checks if clients may switch to the binary wire protocol during the handshake.
+     * When disabled every session stays on JSON.
+     * @return true if binary framing may be negotiated.
+     */
+    public boolean isBinaryProtocolEnabled() {
+        return binaryProtocolEnabled;
+    }
+
+    /**
+     * Gets the limits applied to every session's outbound queue, which decide when stale
+     * state updates are dropped and when a slow client is disconnected.
+     * @return The outbound queue policy.
+     */
+    public OutboundPolicy getOutboundPolicy() {
+        return outboundPolicy;
+    }
+
+    /**
+     * Checks if binary sessions are offered the UDP channel for latest-state traffic.
+     * Requires the binary protocol; when disabled every message travels over TCP.
+     * @return true if the UDP channel should be opened.
+     */
+    public boolean isUdpEnabled() {
+        return udpEnabled;
+    }
+
+    /**
+     * Gets the configured UDP port.
+     * @return The UDP port, or -1 to use the same port number as TCP.
+     */
+    public int getUdpPort() {
+        return udpPort;
+    }
+
+    /**
+     * Checks if binary sessions may negotiate Deflate compression of large frames.
+     * @return true if compression may be negotiated.
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Gets the frame body size above which negotiated compression is applied.
+     * @return The threshold in bytes.
+     */
+    public int getCompressionThresholdBytes() {
+        return compressionThresholdBytes;
+    }
+
+    /**
+     * Gets the number of worker threads that serve chunk and planet requests off the session threads.
+     * @return The request worker thread count.
+     */
+    public int getRequestWorkerThreads() {
+        return requestWorkerThreads;
+    }
+
+    /**
+     * Gets the number of requests that may wait for a worker; further requests are refused as busy.
+     * @return The request queue limit.
+     */
+    public int getRequestQueueLimit() {
+        return requestQueueLimit;
+    }
+
+    /**
+     * Gets how long the state of a dropped session is kept for a reconnecting client.
+     * @return The grace window in seconds, 0 if sessions cannot be resumed.
+     */
+    public int getResumeGraceSeconds() {
+        return resumeGraceSeconds;
+    }
+
+    /**
+     * Gets how often sessions are pinged for RTT measurement and checked for silence.
+     * @return The heartbeat interval in milliseconds.
+     */
+    public int getHeartbeatIntervalMillis() {
+        return heartbeatIntervalMillis;
+    }
+
+    /**
+     * Gets how long a session may go without sending anything, pongs included, before it is closed.
+     * Always at least two heartbeat intervals.
+     * @return The idle timeout in milliseconds.
+     */
+    public int getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Gets the limits that keep a reconnect storm from degrading the server for players already in game.
+     * @return The admission policy.
+     */
+    public AdmissionPolicy getAdmissionPolicy() {
+        return admissionPolicy;
+    }
+
+    /**
+     * Gets the per-session limits on inbound messages, which keep one flooding client from
+     * taking tick time and world generation away from everyone else.
+     * @return The inbound rate policy.
+     */
+    public InboundRatePolicy getInboundRatePolicy() {
+        return inboundRatePolicy;
+    }
+
+    /**
+     * Gets how much memory the shared cache of encoded chunk responses may use.
+     * @return The budget in bytes, 0 if chunk responses are encoded for every request.
+     */
+    public long getChunkCacheBytes() {
+        return chunkCacheBytes;
+    }
+
+    /**
+     * Gets the fixed rate at which the simulation advances.
+     * @return The tick rate in ticks per second.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Gets how many ticks the scheduler may run back to back to catch up after a stall.
+     * @return The catch-up limit in ticks.
+     */
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    /**
+     * Gets the number of worker threads that tick the planets' games in parallel.
+     * @return The game tick thread count.
+     */
+    public int getGameTickThreads() {
+        return gameTickThreads;
+    }
+
+    /**
+     * Gets how often a game is ticked while all of its players are idle. Active games run at the
+     * full tick rate and empty games are not ticked.
+     * @return The idle tick rate in ticks per second, at most the full tick rate.
+     */
+    public int getIdleTickRate() {
+        return idleTickRate;
+    }
+
+    /**
+     * Gets how long a game may stay without players before it hibernates: it stops ticking and
+     * releases its chunks, dummies and AI ships until someone joins the planet again.
+     * @return The grace period in seconds, 0 if games are never unloaded.
+     */
+    public int getHibernateAfterSeconds() {
+        return hibernateAfterSeconds;
+    }
+
+    /**
+     * Gets the number of players on one planet from which its chunk-aligned regions are moved,
+     * checked for hits and encoded on several game tick workers. Smaller games run on one thread,
+     * where splitting them would cost more than it saves.
+     * @return The player threshold.
+     */
+    public int getRegionParallelPlayers() {
+        return regionParallelPlayers;
+    }
+
+    /**
+     * Gets how long ticks must stay at under half their budget before the server resumes work it
+     * shed under overload. Work comes back one stage at a time, each after this long.
+     * @return The recovery period in seconds.
+     */
+    public int getOverloadRecoverySeconds() {
+        return overloadRecoverySeconds;
+    }
+
+    /**
+     * Gets the number of projectiles that may be in flight at once while the server is overloaded
+     * far enough to cap them. New shots beyond it are refused until some projectiles expire or hit.
+     * @return The projectile cap.
+     */
+    public int getProjectileCap() {
+        return projectileCap;
+    }
+
+    /**
+     * Gets how long a logged-in session on a protocol version without heartbeats may stay silent
+     * before it is closed. Such clients never answer pings, so an idle player cannot be told apart
+     * from a dead connection; the longer timeout still frees half-open connections eventually.
+     * Always at least the idle timeout.
+     * @return The timeout in milliseconds.
+     */
+    public int getLegacyIdleTimeoutMillis() {
+        return legacyIdleTimeoutMillis;
+    }
+
+    static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("ServerConfig: Invalid value '" + value + "' for " + PREFIX + name + ". Using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    static boolean booleanProperty(String name, boolean defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+}
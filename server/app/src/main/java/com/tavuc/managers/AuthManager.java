@@ -10,6 +10,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.tavuc.exceptions.AuthenticationException;
 import com.tavuc.exceptions.RegistrationException;
@@ -19,6 +20,7 @@ public class AuthManager {
 
     private static final String ID_COUNTER_FILE = "app/src/main/resources/player_id_counter.txt";
     private final Map<String, Player> onlinePlayers = new ConcurrentHashMap<>();
+    private final ReentrantLock idCounterLock = new ReentrantLock();
 
     /**
      * Constructor for AuthenticationService
@@ -39,43 +41,48 @@ public class AuthManager {
 
     /**
      * Gets the next available player ID by reading from a counter file.
-     * The counter file is updated atomically to ensure thread safety.
+     * The counter file is updated under a lock to ensure thread safety.
      * @return The next available player ID.
      * @throws IOException If there is an error reading or writing the counter file.
      */
-    private synchronized int getNextPlayerId() throws IOException {
-        Path counterFilePath = Paths.get(ID_COUNTER_FILE);
+    private int getNextPlayerId() throws IOException {
+        idCounterLock.lock();
+        try {
+            Path counterFilePath = Paths.get(ID_COUNTER_FILE);
         
-        Path parentDir = counterFilePath.getParent();
-        if (parentDir != null && !Files.exists(parentDir)) {
-            Files.createDirectories(parentDir);
-        }
+            Path parentDir = counterFilePath.getParent();
+            if (parentDir != null && !Files.exists(parentDir)) {
+                Files.createDirectories(parentDir);
+            }
 
-        int currentIdToAssign;
-        if (Files.exists(counterFilePath) && Files.size(counterFilePath) > 0) {
-            try (BufferedReader reader = Files.newBufferedReader(counterFilePath)) {
-                String line = reader.readLine();
-                if (line != null && !line.trim().isEmpty()) {
-                    try {
-                        int lastAssignedId = Integer.parseInt(line.trim());
-                        currentIdToAssign = lastAssignedId + 1;
-                    } catch (NumberFormatException e) {
-                        System.err.println("Error parsing player ID counter from file: " + counterFilePath.toAbsolutePath() + ". Content: \"" + line + "\". Resetting to 1. Error: " + e.getMessage());
+            int currentIdToAssign;
+            if (Files.exists(counterFilePath) && Files.size(counterFilePath) > 0) {
+                try (BufferedReader reader = Files.newBufferedReader(counterFilePath)) {
+                    String line = reader.readLine();
+                    if (line != null && !line.trim().isEmpty()) {
+                        try {
+                            int lastAssignedId = Integer.parseInt(line.trim());
+                            currentIdToAssign = lastAssignedId + 1;
+                        } catch (NumberFormatException e) {
+                            System.err.println("Error parsing player ID counter from file: " + counterFilePath.toAbsolutePath() + ". Content: \"" + line + "\". Resetting to 1. Error: " + e.getMessage());
+                            currentIdToAssign = 1; 
+                        }
+                    } else {
                         currentIdToAssign = 1; 
                     }
-                } else {
-                    currentIdToAssign = 1; 
                 }
+            } else {
+                currentIdToAssign = 1; 
             }
-        } else {
-            currentIdToAssign = 1; 
-        }
 
-        try (BufferedWriter writer = Files.newBufferedWriter(counterFilePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
-            writer.write(String.valueOf(currentIdToAssign));
-        }
+            try (BufferedWriter writer = Files.newBufferedWriter(counterFilePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writer.write(String.valueOf(currentIdToAssign));
+            }
         
-        return currentIdToAssign;
+            return currentIdToAssign;
+        } finally {
+            idCounterLock.unlock();
+        }
     }
 
     /**
@@ -155,6 +162,19 @@ public class AuthManager {
         return player;
     }
 
+    /**
+     * Marks a player as online again after a session resume, without reloading it from disk.
+     * @param player The player kept in memory since its previous session dropped.
+     * @throws AuthenticationException If the player has logged in again in the meantime.
+     */
+    public void resume(Player player) throws AuthenticationException {
+        if (onlinePlayers.putIfAbsent(player.getUsername(), player) != null) {
+            System.err.println("Resume failed: Player " + player.getUsername() + " is already logged in.");
+            throw new AuthenticationException("Resume failed: Player " + player.getUsername() + " is already logged in.");
+        }
+        System.out.println("Player resumed session: " + player.getUsername());
+    }
+
     /**
      * Logs out a player, removing them from the online players list.
      * @param player The Player object representing the player to log out.
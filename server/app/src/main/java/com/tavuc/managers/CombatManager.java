@@ -5,8 +5,9 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.tavuc.models.space.BaseShip;
 import com.tavuc.models.space.PlayerShip;
@@ -17,10 +18,15 @@ import com.tavuc.networking.models.ProjectileUpdateBroadcast;
 import com.tavuc.networking.models.ProjectileRemovedBroadcast;
 import com.tavuc.networking.models.ShipDamagedBroadcast;
 import com.tavuc.networking.models.ShipDestroyedBroadcast;
+import com.tavuc.simulation.DegradationLevel;
+import com.tavuc.simulation.SimulationClock;
+import com.tavuc.simulation.TimingWheel;
 
 /**
  * Manages ship combat on the server side.
  * Handles projectiles, collisions, and damage.
+ * While the server is overloaded far enough to cap projectiles, new shots are refused once the
+ * projectile cap is reached; projectiles already in flight are never removed early.
  */
 public class CombatManager {
     // Significantly increased speed so fired projectiles can easily outpace ships
@@ -32,6 +38,7 @@ public class CombatManager {
     private static final float EXPLOSION_DAMAGE = 50.0f;
     private static final float EXPLOSION_RADIUS = 150.0f;
     private static final long FIRE_COOLDOWN_MS = 300;
+    private static final long PROJECTILE_LIFETIME_MS = 15000;
     
     // Collection of active projectiles
     private final Map<String, ProjectileEntity> activeProjectiles = new ConcurrentHashMap<>();
@@ -39,11 +46,77 @@ public class CombatManager {
     // Reference to network manager for broadcasting
     private final NetworkManager networkManager;
     
-    // Map of player IDs to their last fire time
-    private final Map<String, Long> lastFireTimes = new ConcurrentHashMap<>();
+    // Players whose weapons are cooling down; each entry is removed by a timer when its cooldown ends
+    private final Set<String> coolingDown = ConcurrentHashMap.newKeySet();
+
+    // Cooldowns and projectile lifetimes, advanced to the simulation clock once per update
+    private final SimulationClock clock;
+    private final TimingWheel timers;
+
+    // Projectile ids are numbered in firing order so a replay produces the same ids
+    private final AtomicLong nextProjectileId = new AtomicLong();
+
+    // Projectiles allowed in flight while the server sheds work
+    private final int projectileCap;
+    private volatile DegradationLevel degradation = DegradationLevel.NORMAL;
     
-    public CombatManager(NetworkManager networkManager) {
+    /**
+     * Constructor for CombatManager
+     * @param networkManager The network manager used for broadcasting.
+     * @param clock The simulation clock, advanced once per update.
+     * @param projectileCap How many projectiles may be in flight while projectiles are capped.
+     */
+    public CombatManager(NetworkManager networkManager, SimulationClock clock, int projectileCap) {
         this.networkManager = networkManager;
+        this.clock = clock;
+        this.timers = new TimingWheel(clock);
+        this.projectileCap = Math.max(1, projectileCap);
+    }
+
+    /**
+     * Sets how much work the server sheds; from CAPPED_PROJECTILES on, new projectiles are capped.
+     * @param degradation The server-wide degradation level.
+     */
+    public void setDegradation(DegradationLevel degradation) {
+        this.degradation = degradation;
+    }
+
+    /**
+     * Checks whether a new projectile must be refused because projectiles are capped and the cap is reached.
+     * @param gameDegradation The degradation level of the game the shooter is in, or NORMAL in space.
+     * @return true if no projectile may be added right now.
+     */
+    private boolean projectilesCapped(DegradationLevel gameDegradation) {
+        boolean capped = degradation.isAtLeast(DegradationLevel.CAPPED_PROJECTILES)
+            || gameDegradation.isAtLeast(DegradationLevel.CAPPED_PROJECTILES);
+        return capped && activeProjectiles.size() >= projectileCap;
+    }
+
+    /**
+     * Starts a player's fire cooldown unless one is already running.
+     * @param playerId The ID of the player who fired.
+     * @return true if the player may fire, false if still on cooldown.
+     */
+    private boolean startCooldown(String playerId) {
+        if (!coolingDown.add(playerId)) {
+            return false;
+        }
+        timers.scheduleMillis(FIRE_COOLDOWN_MS, () -> coolingDown.remove(playerId));
+        return true;
+    }
+
+    /**
+     * Adds a projectile and schedules its removal at the end of its lifetime. The timer is kept on
+     * the projectile so that a projectile removed earlier by a collision can cancel it.
+     * @param projectile The projectile that was fired.
+     */
+    private void spawnProjectile(ProjectileEntity projectile) {
+        projectile.setLifetimeTimer(timers.scheduleMillis(PROJECTILE_LIFETIME_MS, () -> {
+            if (activeProjectiles.remove(projectile.getId()) != null) {
+                networkManager.broadcastMessageToAllActiveSessions(new ProjectileRemovedBroadcast(projectile.getId()));
+            }
+        }));
+        activeProjectiles.put(projectile.getId(), projectile);
     }
     
     /**
@@ -54,21 +127,20 @@ public class CombatManager {
      * @return True if the fire request was processed, false if on cooldown
      */
     public boolean processFireRequest(String playerId, ClientSession clientSession) {
-        // Check cooldown
-        long currentTime = System.currentTimeMillis();
-        Long lastFireTime = lastFireTimes.get(playerId);
-        if (lastFireTime != null && currentTime - lastFireTime < FIRE_COOLDOWN_MS) {
-            return false; // Still on cooldown
-        }
-        
-        // Update last fire time
-        lastFireTimes.put(playerId, currentTime);
-        
         // Get player ship
         PlayerShip playerShip = networkManager.getPlayerShip(Integer.parseInt(playerId));
         if (playerShip == null) {
             return false; // Player ship not found
         }
+
+        if (projectilesCapped(DegradationLevel.NORMAL)) {
+            return false; // Too many projectiles while overloaded
+        }
+
+        // Check and start cooldown
+        if (!startCooldown(playerId)) {
+            return false; // Still on cooldown
+        }
         
         // Calculate projectile spawn position and velocity
         float shipX = playerShip.getX();
@@ -89,7 +161,7 @@ public class CombatManager {
         velocityY += playerShip.getVelocityY() * 0.5f;
         
         // Create projectile
-        String projectileId = "proj_" + UUID.randomUUID().toString();
+        String projectileId = "proj_" + nextProjectileId.incrementAndGet();
         ProjectileEntity projectile = new ProjectileEntity(
             projectileId, 
             spawnX, 
@@ -104,7 +176,7 @@ public class CombatManager {
         );
         
         // Add projectile to active projectiles
-        activeProjectiles.put(projectileId, projectile);
+        spawnProjectile(projectile);
         
         // Broadcast projectile to all players
         ProjectileSpawnedBroadcast broadcast = new ProjectileSpawnedBroadcast(
@@ -129,16 +201,17 @@ public class CombatManager {
     /**
      * Alternate fire method using explicit ship parameters. Used when a PlayerShip
      * instance is not available (e.g. players on foot in a GameManager).
+     * @param gameDegradation The degradation level of the game the player is in, or NORMAL if none.
      */
     public boolean processFireRequest(String playerId, double shipX, double shipY,
-                                      double shipAngle, double shipDx, double shipDy) {
-        long currentTime = System.currentTimeMillis();
-        Long lastFireTime = lastFireTimes.get(playerId);
-        if (lastFireTime != null && currentTime - lastFireTime < FIRE_COOLDOWN_MS) {
+                                      double shipAngle, double shipDx, double shipDy,
+                                      DegradationLevel gameDegradation) {
+        if (projectilesCapped(gameDegradation)) {
+            return false;
+        }
+        if (!startCooldown(playerId)) {
             return false;
         }
-
-        lastFireTimes.put(playerId, currentTime);
 
         float spawnDistance = PROJECTILE_HEIGHT; // reasonable forward offset
         float spawnX = (float) (shipX + Math.sin(shipAngle) * spawnDistance);
@@ -150,7 +223,7 @@ public class CombatManager {
         velocityX += shipDx * 0.5f;
         velocityY += shipDy * 0.5f;
 
-        String projectileId = "proj_" + UUID.randomUUID();
+        String projectileId = "proj_" + nextProjectileId.incrementAndGet();
         ProjectileEntity projectile = new ProjectileEntity(
             projectileId,
             spawnX,
@@ -164,7 +237,7 @@ public class CombatManager {
             playerId
         );
 
-        activeProjectiles.put(projectileId, projectile);
+        spawnProjectile(projectile);
 
         ProjectileSpawnedBroadcast broadcast = new ProjectileSpawnedBroadcast(
             projectileId,
@@ -191,6 +264,8 @@ public class CombatManager {
      * @param deltaTime Time passed since last update in seconds
      */
     public void update(float deltaTime) {
+        timers.advanceTo(clock.getTick());
+
         Iterator<ProjectileEntity> projectileIterator = activeProjectiles.values().iterator();
         while (projectileIterator.hasNext()) {
             ProjectileEntity projectile = projectileIterator.next();
@@ -198,11 +273,9 @@ public class CombatManager {
 
             boolean removed = false;
 
-            if (projectile.getLifetime() > 15.0f) {
-                projectileIterator.remove();
-                removed = true;
-            } else if (checkProjectileCollisions(projectile)) {
+            if (checkProjectileCollisions(projectile)) {
                 projectileIterator.remove();
+                projectile.getLifetimeTimer().cancel();
                 removed = true;
             }
 
@@ -1,9 +1,14 @@
 package com.tavuc.managers;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Map;
+import java.util.HashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 import com.tavuc.models.GameObject;
@@ -15,11 +20,21 @@ import com.tavuc.models.planets.ColorPallete;
 import com.tavuc.models.planets.Planet;
 import com.tavuc.models.planets.Tile;
 import com.tavuc.networking.ClientSession;
+import com.tavuc.networking.EncodedMessage;
+import com.tavuc.networking.models.BaseMessage;
 import com.tavuc.networking.models.DummyUpdateBroadcast;
 import com.tavuc.networking.models.DummyRemovedBroadcast;
+import com.tavuc.networking.models.ErrorMessage;
 import com.tavuc.networking.models.PlayerJoinedBroadcast;
 import com.tavuc.networking.models.PlayerLeftBroadcast;
 import com.tavuc.networking.models.PlayerMovedBroadcast;
+import com.tavuc.networking.models.PlayerUpdateRequest;
+import com.tavuc.networking.protocol.WireFormat;
+import com.tavuc.simulation.DegradationLevel;
+import com.tavuc.simulation.GameActivity;
+import com.tavuc.simulation.RegionGrid;
+import com.tavuc.simulation.SimulationClock;
+import com.tavuc.simulation.TimingWheel;
 import com.tavuc.models.space.BaseShip;   // Added import
 import com.tavuc.networking.models.AttackResultBroadcast;
 import com.tavuc.networking.models.AttackResultData;
@@ -28,19 +43,60 @@ import com.tavuc.utils.Vector2D;
 import com.tavuc.models.combat.PlayerCombatComponent;
 
 
+/**
+ * One planet's game, run as an actor. Its world (players, dummies, AI ships, combat state and
+ * timers) is only touched by the game tick worker that currently runs the game. Other threads
+ * never modify it directly: joins, leaves and combat requests are posted to the game's mailbox
+ * and applied in arrival order at the start of the game's next tick, even a tick the game rests.
+ * Readers on other threads get an immutable snapshot of the members, republished whenever
+ * membership changes, so they neither lock the game nor copy its collections.
+ * While its ticks overrun, the game sheds work by its {@link DegradationLevel}: dummies and AI
+ * ships are updated less often, and players far from an entity get its movement less often.
+ */
 public class GameManager {
 
     private int gameId;
     private Planet planet;
     private String planetName;
     private int maxPlayers;
-    private final Map<Player, ClientSession> playerSessions = new ConcurrentHashMap<>();
-    private final Map<String, Player> sessionToPlayer = new ConcurrentHashMap<>();
-    private final Map<String, BaseShip> aiShips = new ConcurrentHashMap<>(); // Implemented AI ship tracking
-    private final Map<Integer, Dummy> dummies = new ConcurrentHashMap<>();
+    // Owned by the game's tick; everyone else reads the members snapshot
+    private final Map<Player, ClientSession> playerSessions = new HashMap<>();
+    private final Map<String, BaseShip> aiShips = new HashMap<>(); // Implemented AI ship tracking
+    private final Map<Integer, Dummy> dummies = new HashMap<>();
     private int nextDummyId = 0;
     private HitDetectionSystem hitDetection = new HitDetectionSystem();
 
+    // Sessions admitted to the game, including those whose join is still in the mailbox
+    private final Map<String, Player> sessionToPlayer = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private volatile Members members = Members.EMPTY;
+
+    /** Updates without movement, combat or input after which the game counts as idle. */
+    private static final int IDLE_AFTER_UPDATES = 30;
+    private volatile int quietUpdates;
+    private volatile long emptySinceMillis = System.currentTimeMillis();
+
+    /** While NPCs are reduced, dummies and AI ships are updated once every this many updates. */
+    private static final int NPC_UPDATE_INTERVAL = 4;
+    /** While broadcasts are thinned, distant players get an entity's movement once every this many updates. */
+    private static final int DISTANT_BROADCAST_INTERVAL = 4;
+    /** How far an entity may be from a player along either axis, in pixels, before it counts as distant. */
+    private static final int DISTANT_PIXELS = RegionGrid.REGION_PIXELS;
+    private volatile DegradationLevel degradation = DegradationLevel.NORMAL;
+    private long updateCount;
+    private final TimingWheel timers;
+    private final int regionParallelPlayers;
+
+    /**
+     * Constructor for GameManager
+     * @param clock The simulation clock, whose ticks the game's timers count in.
+     * @param regionParallelPlayers From how many players on the planet its regions are updated in parallel.
+     */
+    public GameManager(SimulationClock clock, int regionParallelPlayers) {
+        this.timers = new TimingWheel(clock);
+        this.regionParallelPlayers = Math.max(1, regionParallelPlayers);
+    }
+
     /**
      * Initializes the GameService with a game ID, planet, and maximum number of players.
      * @param gameId Unique identifier for the game.
@@ -89,28 +145,37 @@ public class GameManager {
     }
 
     /**
-     * Adds a player to the game with the associated session.
+     * Admits a player to the game. The game checks capacity and duplicates right away and takes
+     * the player in at the start of its next tick, when everyone else is told about the new
+     * player and the new player about everyone else.
+     * Callers must not admit players to the same game concurrently; LobbyManager serializes joins.
      * @param player The player to be added.
      * @param session The session associated with the player.
-     * @return true if the player was successfully added, false otherwise.
+     * @return true if the player was admitted, false otherwise.
      */
-    public synchronized boolean addPlayer(Player player, ClientSession session) {
+    public boolean addPlayer(Player player, ClientSession session) {
         if (player == null || session == null) {
             System.err.println("GameService " + gameId + ": Attempted to add null player or session.");
             return false;
         }
-        if (playerSessions.size() >= maxPlayers) {
+        if (sessionToPlayer.size() >= maxPlayers) {
             System.out.println("GameService " + gameId + ": Game is full. Cannot add player " + player.getUsername());
-            session.sendMessage("ERROR Game is full.");
+            session.sendMessage(new ErrorMessage("Game is full."));
             return false;
         }
-        if (playerSessions.containsKey(player) || sessionToPlayer.containsKey(session.getSessionId())) {
+        if (sessionToPlayer.containsValue(player) || sessionToPlayer.putIfAbsent(session.getSessionId(), player) != null) {
             System.out.println("GameService " + gameId + ": Player " + player.getUsername() + " (ID: " + player.getId() + ") or session " + session.getSessionId() + " already in this game. Not re-adding.");
             return false;
         }
+        post(() -> admitPlayer(player, session));
+        System.out.println("GameService " + gameId + ": Player " + player.getUsername() + " (ID: " + player.getId() + ") with session " + session.getSessionId() + " admitted to game.");
+        return true;
+    }
 
+    private void admitPlayer(Player player, ClientSession session) {
         playerSessions.put(player, session);
-        sessionToPlayer.put(session.getSessionId(), player);
+        emptySinceMillis = 0;
+        publishMembers();
 
         // If this is the first player, try spawning dummies
         if (playerSessions.size() == 1) {
@@ -129,8 +194,7 @@ public class GameManager {
         broadcastToGameExceptSender(newPlayerJoinedMsg, session);
 
         // Send existing players' info to the new player
-        for (Map.Entry<Player, ClientSession> entry : playerSessions.entrySet()) {
-            Player existingPlayer = entry.getKey();
+        for (Player existingPlayer : playerSessions.keySet()) {
             // Don't send the new player's own info back to them
             if (!existingPlayer.getIdAsString().equals(player.getIdAsString())) {
                 PlayerJoinedBroadcast existingPlayerMsg = new PlayerJoinedBroadcast(
@@ -148,31 +212,37 @@ public class GameManager {
         }
 
         System.out.println("GameService " + gameId + ": Player " + player.getUsername() + " (ID: " + player.getId() + ") with session " + session.getSessionId() + " added to game.");
-        return true;
     }
 
     /**
-     * Removes a player from the game and their associated session.
+     * Removes a player from the game and their associated session. The seat is freed right away;
+     * the player leaves the world at the start of the game's next tick.
      * @param player The player to be removed.
      * @param session The session associated with the player, can be null if not available.
      */
-    public synchronized void removePlayer(Player player, ClientSession session) {
+    public void removePlayer(Player player, ClientSession session) {
         if (player == null) return;
 
-        playerSessions.remove(player);
         if (session != null) {
             sessionToPlayer.remove(session.getSessionId());
         } else {
-            ClientSession sessionToRemove = null;
-            for(Map.Entry<Player, ClientSession> entry : playerSessions.entrySet()){
-                if(entry.getKey().equals(player)){
-                    sessionToRemove = entry.getValue();
-                    break;
-                }
-            }
-            if(sessionToRemove != null) sessionToPlayer.remove(sessionToRemove.getSessionId());
+            sessionToPlayer.values().remove(player);
+        }
+        post(() -> evictPlayer(player));
+    }
+
+    private void evictPlayer(Player player) {
+        if (playerSessions.remove(player) == null) {
+            return;
+        }
+        if (player.getCombatComponent() != null) {
+            player.getCombatComponent().cancelWindows();
+        }
+        if (playerSessions.isEmpty()) {
+            emptySinceMillis = System.currentTimeMillis();
         }
-        
+        publishMembers();
+
         PlayerLeftBroadcast playerLeftMsg = new PlayerLeftBroadcast(player.getIdAsString());
         broadcastToGame(playerLeftMsg);
 
@@ -180,41 +250,66 @@ public class GameManager {
     }
 
     /**
-     * Handles player updates such as movement and direction changes.
-     * @param clientSession The session of the player sending the update.
-     * @param x The new x-coordinate of the player.
-     * @param y The new y-coordinate of the player.
-     * @param dx The change in x-coordinate (velocity).
-     * @param dy The change in y-coordinate (velocity).
-     * @param directionAngle The new direction angle of the player.
+     * Posts work to the game's mailbox. It runs on the game's tick, in the order it was posted.
+     * @param task The work to run.
      */
-    public void handlePlayerUpdate(ClientSession clientSession, int x, int y, double dx, double dy, double directionAngle) {
-        Player playerToUpdate = sessionToPlayer.get(clientSession.getSessionId());
+    private void post(Runnable task) {
+        mailbox.offer(task);
+    }
 
-        if (playerToUpdate == null) {
-            System.err.println("GameService " + gameId + ": Received player update from unknown session: " + clientSession.getSessionId());
-            clientSession.sendMessage("ERROR You are not recognized in this game.");
-            return;
+    /**
+     * Runs everything posted to the mailbox so far. Only called by the game's tick.
+     */
+    private void drainMailbox() {
+        Runnable task;
+        while ((task = mailbox.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println("GameManager " + gameId + ": Error processing a mailbox message: " + e.getMessage());
+                e.printStackTrace();
+            }
         }
+    }
+
+    private void publishMembers() {
+        members = new Members(playerSessions);
+    }
 
-        playerToUpdate.setDx(dx);
-        playerToUpdate.setDy(dy);
-        playerToUpdate.setDirectionAngle(directionAngle);
+    /**
+     * Applies a player's newest movement input.
+     * @param player The player to update.
+     * @param input The newest input sent by the player's session since the last tick.
+     */
+    private void applyPlayerInput(Player player, PlayerUpdateRequest input) {
+        player.setDx(input.dx);
+        player.setDy(input.dy);
+        player.setDirectionAngle(input.directionAngle);
     }
 
+    /**
+     * Starts an attack on the game's next tick.
+     * @param player The attacking player.
+     * @param direction The direction of the attack.
+     */
     public void handleAttackRequest(Player player, Vector2D direction) {
         if (player == null) return;
         PlayerCombatComponent combat = player.getCombatComponent();
         if (combat != null) {
-            combat.attemptAttack(direction.normalize());
+            Vector2D normalized = direction.normalize();
+            post(() -> combat.attemptAttack(normalized, timers));
         }
     }
 
+    /**
+     * Starts a parry on the game's next tick.
+     * @param player The parrying player.
+     */
     public void handleParryRequest(Player player) {
         if (player == null) return;
         PlayerCombatComponent combat = player.getCombatComponent();
         if (combat != null) {
-            combat.attemptParry();
+            post(() -> combat.attemptParry(timers));
         }
     }
 
@@ -244,47 +339,105 @@ public class GameManager {
     
     /**
      * Retrieves a list of players currently in the game.
-     * @return A list of Player objects representing the players in the game.
+     * @return An unmodifiable snapshot of the players in the game as of its last membership change.
      */
-    public synchronized List<Player> getPlayersInGame() {
-        return new ArrayList<>(playerSessions.keySet());
+    public List<Player> getPlayersInGame() {
+        return members.players;
+    }
+
+    /**
+     * Gets a player's smoothed round-trip time, for latency-aware gameplay.
+     * @param player The player in this game.
+     * @return The RTT in milliseconds, or 0 if the player is not in this game or has not been measured yet.
+     */
+    public double getPlayerRttMillis(Player player) {
+        ClientSession session = members.sessionsByPlayer.get(player);
+        return session != null ? session.getLatency().getSmoothedRttMillis() : 0;
     }
 
     /**
      * Broadcasts a message to all players in the game.
-     * @param messageObject The message object to be sent to all players.
+     * The message is serialized once per encoding in use, not once per player.
+     * @param message The message to be sent to all players.
      */
-    public void broadcastToGame(Object messageObject) {
-        for (ClientSession session : playerSessions.values()) {
-            session.sendMessage(messageObject);
-        }
+    public void broadcastToGame(BaseMessage message) {
+        broadcastToGameExceptSender(message, null);
     }
 
     /**
      * Broadcasts a message to all players in the game except the sender.
-     * @param messageObject The message object to be sent to all players except the sender.
-     * @param sender The session of the player who sent the message, to be excluded from the broadcast.
+     * The message is serialized once per encoding in use, not once per player.
+     * @param message The message to be sent to all players except the sender.
+     * @param sender The session of the player who sent the message, to be excluded from the broadcast, or null to send to all.
+     */
+    public void broadcastToGameExceptSender(BaseMessage message, ClientSession sender) {
+        sendToGameExceptSender(new EncodedMessage(message), sender);
+    }
+
+    private void sendToGameExceptSender(EncodedMessage encoded, ClientSession sender) {
+        for (ClientSession session : members.sessions) {
+            if (session != sender) {
+                session.sendEncoded(encoded);
+            }
+        }
+    }
+
+    /**
+     * Decides how often this game needs to be ticked.
+     * A game is active while anyone moves, fights or has input waiting, and for a short while
+     * after; anything waiting in the mailbox, such as a join or a combat request, wakes it up at
+     * once. Players can only start moving through input, so an idle game may be ticked slowly
+     * without changing what happens in it.
+     * @return EMPTY without players, IDLE if nothing has happened recently, ACTIVE otherwise.
      */
-    public void broadcastToGameExceptSender(Object messageObject, ClientSession sender) {
-        for (Map.Entry<Player, ClientSession> entry : playerSessions.entrySet()) {
-            if (entry.getValue() != sender) {
-                entry.getValue().sendMessage(messageObject);
+    public GameActivity getActivity() {
+        if (!mailbox.isEmpty()) {
+            return GameActivity.ACTIVE;
+        }
+        Members current = members;
+        if (current.players.isEmpty()) {
+            return GameActivity.EMPTY;
+        }
+        if (quietUpdates < IDLE_AFTER_UPDATES) {
+            return GameActivity.ACTIVE;
+        }
+        for (ClientSession session : current.sessions) {
+            if (session.getPlayerInput().hasPending()) {
+                return GameActivity.ACTIVE;
             }
         }
+        return GameActivity.IDLE;
     }
 
     /**
      * Updates the state of all players in the game.
+     * Messages waiting in the mailbox are applied first, then the game's timers run, then each
+     * player's newest input is applied; inputs superseded since the last tick are never seen.
+     * On a crowded planet the players are split into chunk-aligned regions that move, look for
+     * melee hits and encode their updates in parallel. Everything that crosses a region border,
+     * like damage to a player in the next region or the broadcasts to every session, is applied
+     * afterwards on this thread in region order, so the outcome does not depend on which region
+     * finishes first. Players that move across a border belong to their new region from the next phase.
      * Also, TODO: update AI entities.
+     * @param tick The number of the tick being run.
      */
-    public void update() {
-        synchronized (playerSessions) {
-            List<Player> players = new ArrayList<>(playerSessions.keySet());
-
-            for (Player player : players) {
-                player.update(); 
-            }
+    public void update(long tick) {
+        drainMailbox();
+        timers.advanceTo(tick);
+        DegradationLevel level = degradation;
+        boolean thinned = level.isAtLeast(DegradationLevel.THINNED_BROADCASTS);
+        updateCount++;
+        boolean active = false;
+        List<Player> players = new ArrayList<>(members.players);
+        players.sort(Comparator.comparingInt(Player::getId));
+        boolean parallel = players.size() >= regionParallelPlayers;
+
+        RegionGrid<Player> grid = new RegionGrid<>(players, Player::getX, Player::getY);
+        for (boolean regionActive : grid.mapRegions(parallel, region -> updatePlayers(region.getMembers()))) {
+            active |= regionActive;
+        }
 
+        if (!level.isAtLeast(DegradationLevel.REDUCED_NPCS) || updateCount % NPC_UPDATE_INTERVAL == 0) {
             // Iterate through and update AI ships
             for (BaseShip aiShip : aiShips.values()) {
                aiShip.update();
@@ -294,14 +447,63 @@ public class GameManager {
             for (Dummy dummy : dummies.values()) {
                 dummy.update();
                 DummyUpdateBroadcast dummyUpdateMsg = new DummyUpdateBroadcast(dummy.getId(), dummy.getX(), dummy.getY(), dummy.getDx(), dummy.getDy());
-                broadcastToGame(dummyUpdateMsg);
+                sendEntityUpdate(new EncodedMessage(dummyUpdateMsg), dummy.getX(), dummy.getY(), dummy.getId(), null, thinned);
             }
+        }
 
-            updatePlayerCombat();
-            processAttacks();
+        RegionGrid<Player> moved = new RegionGrid<>(players, Player::getX, Player::getY);
+        processAttacks(moved, parallel);
+        broadcastMoves(moved, parallel, thinned, tick);
+        // TODO: Broadcast updates for AI ships if necessary
+        if (!aiShips.isEmpty()) {
+            active = true;
+        }
+        quietUpdates = active ? 0 : Math.min(quietUpdates + 1, IDLE_AFTER_UPDATES);
+    }
 
-            for (Player player : players) {
-                ClientSession session = playerSessions.get(player);
+    /**
+     * Applies input to and moves the players of one region, and lets their status effects act.
+     * @param players The players of the region.
+     * @return true if any of them received input, moves or is in combat.
+     */
+    private boolean updatePlayers(List<Player> players) {
+        boolean active = false;
+        for (Player player : players) {
+            ClientSession session = members.sessionsByPlayer.get(player);
+            PlayerUpdateRequest input = session != null ? session.getPlayerInput().take() : null;
+            if (input != null) {
+                applyPlayerInput(player, input);
+                active = true;
+            }
+            player.update(); 
+            PlayerCombatComponent combat = player.getCombatComponent();
+            if (combat != null && combat.hasActiveEffects()) {
+                combat.update();
+            }
+            if (player.getDx() != 0 || player.getDy() != 0
+                    || (combat != null && (combat.isAttacking() || combat.isParrying() || combat.hasActiveEffects()))) {
+                active = true;
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Sends every player's position to everyone else in the game. Regions build and encode
+     * their players' updates, then the updates are handed to the sessions here in region order.
+     * @param grid The players by region after moving.
+     * @param parallel Whether regions may be encoded in parallel.
+     * @param thinned Whether distant players only get the updates every few ticks.
+     * @param tick The number of the tick being run, stamped on the updates.
+     */
+    private void broadcastMoves(RegionGrid<Player> grid, boolean parallel, boolean thinned, long tick) {
+        Set<WireFormat> formats = EnumSet.noneOf(WireFormat.class);
+        for (ClientSession session : members.sessions) {
+            formats.add(session.getWireFormat());
+        }
+        List<List<EncodedMessage>> regions = grid.mapRegions(parallel, region -> {
+            List<EncodedMessage> updates = new ArrayList<>(region.getMembers().size());
+            for (Player player : region.getMembers()) {
                 PlayerMovedBroadcast playerMovedMsg = new PlayerMovedBroadcast(
                         player.getIdAsString(),
                         player.getX(),
@@ -310,17 +512,117 @@ public class GameManager {
                         player.getDy(),
                         player.getDirectionAngle()
                 );
-                if (session != null) {
-                    broadcastToGameExceptSender(playerMovedMsg, session);
-                } else {
+                playerMovedMsg.setTick(tick);
+                EncodedMessage encoded = new EncodedMessage(playerMovedMsg);
+                if (parallel) {
+                    for (WireFormat format : formats) {
+                        encoded.frameFor(format);
+                    }
+                }
+                updates.add(encoded);
+            }
+            return updates;
+        });
+
+        int index = 0;
+        for (RegionGrid.Region<Player> region : grid.regions()) {
+            List<EncodedMessage> updates = regions.get(index++);
+            for (int i = 0; i < updates.size(); i++) {
+                Player player = region.getMembers().get(i);
+                ClientSession session = members.sessionsByPlayer.get(player);
+                if (session == null) {
                     System.err.println("GameManager " + gameId + ": Session not found for player " + player.getId() + " (username: " + player.getUsername() + ") during final broadcast. Broadcasting to all as fallback.");
-                    broadcastToGame(playerMovedMsg); 
                 }
+                sendEntityUpdate(updates.get(i), player.getX(), player.getY(), player.getId(), session, thinned);
             }
-            // TODO: Broadcast updates for AI ships if necessary
         }
     }
 
+    /**
+     * Sends an entity's update to everyone in the game except the sender. While broadcasts are
+     * thinned, players far from the entity only get it every few updates; which update that is
+     * depends on the entity id, so the distant updates are spread evenly over the ticks.
+     * @param encoded The update.
+     * @param x The entity's x position in pixels.
+     * @param y The entity's y position in pixels.
+     * @param entityId The entity's id.
+     * @param sender The session to skip, or null to send to all.
+     * @param thinned Whether distant players may be skipped this update.
+     */
+    private void sendEntityUpdate(EncodedMessage encoded, double x, double y, int entityId, ClientSession sender, boolean thinned) {
+        if (!thinned || Math.floorMod(updateCount + entityId, DISTANT_BROADCAST_INTERVAL) == 0) {
+            sendToGameExceptSender(encoded, sender);
+            return;
+        }
+        for (Map.Entry<Player, ClientSession> member : members.sessionsByPlayer.entrySet()) {
+            Player viewer = member.getKey();
+            ClientSession session = member.getValue();
+            if (session != sender && Math.abs(viewer.getX() - x) <= DISTANT_PIXELS && Math.abs(viewer.getY() - y) <= DISTANT_PIXELS) {
+                session.sendEncoded(encoded);
+            }
+        }
+    }
+
+    /**
+     * Sets how much work the game sheds, from the game tick runner's overload controller.
+     * Takes effect from the game's next update.
+     * @param degradation The game's degradation level.
+     */
+    public void setDegradation(DegradationLevel degradation) {
+        this.degradation = degradation;
+    }
+
+    /**
+     * Gets how much work the game currently sheds to keep its ticks within budget.
+     * @return The game's degradation level.
+     */
+    public DegradationLevel getDegradation() {
+        return degradation;
+    }
+
+    /**
+     * Checks whether a chunk request should wait because the game is too busy to generate new chunks.
+     * Chunks that have already been generated are never held back.
+     * @param chunkX The x-coordinate of the chunk.
+     * @param chunkY The y-coordinate of the chunk.
+     * @return true if the chunk still has to be generated and chunk generation is deferred.
+     */
+    public boolean shouldDeferChunk(int chunkX, int chunkY) {
+        return degradation.isAtLeast(DegradationLevel.DEFERRED_CHUNKS)
+            && planet != null && !planet.isChunkLoaded(chunkX, chunkY);
+    }
+
+    /**
+     * Processes the mailbox and runs the game's timers up to a tick without updating the game, for
+     * ticks the game rests. Keeps joins prompt and attack, parry and effect windows on time while
+     * the game is ticked at a lower rate.
+     * @param tick The number of the tick being skipped.
+     */
+    public void advanceTimers(long tick) {
+        drainMailbox();
+        timers.advanceTo(tick);
+    }
+
+    /**
+     * Gets how long the game has been without players.
+     * @param nowMillis The current time in milliseconds.
+     * @return The time since the last player left, or 0 while anyone is in the game.
+     */
+    public long getEmptyMillis(long nowMillis) {
+        long since = emptySinceMillis;
+        return since == 0 || !sessionToPlayer.isEmpty() || !mailbox.isEmpty() ? 0 : Math.max(0, nowMillis - since);
+    }
+
+    /**
+     * Releases the planet's generated chunks so the game can be dropped. The planet itself keeps
+     * only its descriptor, and a new GameManager for it starts from a fresh world; the dummies and
+     * AI ships of this game go with it. Must only be called on an empty game.
+     * @return The number of chunks released.
+     */
+    public int hibernate() {
+        return planet != null ? planet.releaseChunks() : 0;
+    }
+
     /**
      * Gets the unique identifier for this game.
      * @return The game ID.
@@ -354,52 +656,84 @@ public class GameManager {
         return maxPlayers;
     }
 
-    private void updatePlayerCombat() {
-        for (Player player : getPlayersInGame()) {
-            if (player.getCombatComponent() != null) {
-                player.getCombatComponent().update();
-            }
-        }
-    }
-
     private static final double ATTACK_CONE_ANGLE = Math.PI / 2.0; // 90 degree cone
 
-    private void processAttacks() {
-        for (Player attacker : getPlayersInGame()) {
-            PlayerCombatComponent combat = attacker.getCombatComponent();
-            if (combat == null || !combat.isAttacking()) continue;
-            if (combat.wasAttackProcessed()) continue;
-
-            Vector2D dir = combat.getAttackDirection();
-            if (dir == null) continue;
-
-            java.util.List<Player> hitPlayers = hitDetection.detectMeleeHits(attacker, dir, this);
-            float damage = combat.getEquippedWeapon() != null ? combat.getEquippedWeapon().getDamage() : 10.0f;
-
-            java.util.List<AttackResultData> results = new java.util.ArrayList<>();
-            for (Player target : hitPlayers) {
-                if (!isWithinAttackCone(attacker, target, ATTACK_CONE_ANGLE)) {
-                    continue;
-                }
-
-                PlayerCombatComponent tc = target.getCombatComponent();
-                if (tc != null) {
-                    if (tc.isParrying()) {
-                        results.add(new AttackResultData(target.getIdAsString(), 0, tc.getHealth(), true));
-                    } else {
-                        tc.takeDamage(damage, attacker);
-                        results.add(new AttackResultData(target.getIdAsString(), damage, tc.getHealth(), false));
+    /**
+     * Resolves the attacks started since the last tick. Regions find the targets their attackers
+     * hit, looking into neighbouring regions for targets across a border; the damage is then
+     * applied here, attacker by attacker in region order.
+     * @param grid The players by region after moving.
+     * @param parallel Whether regions may look for hits in parallel.
+     */
+    private void processAttacks(RegionGrid<Player> grid, boolean parallel) {
+        List<List<PendingAttack>> regions = grid.mapRegions(parallel, region -> {
+            List<PendingAttack> attacks = new ArrayList<>();
+            for (Player attacker : region.getMembers()) {
+                PlayerCombatComponent combat = attacker.getCombatComponent();
+                if (combat == null || !combat.isAttacking()) continue;
+                if (combat.wasAttackProcessed()) continue;
+
+                Vector2D dir = combat.getAttackDirection();
+                if (dir == null) continue;
+
+                float range = combat.getEquippedWeapon() != null ? combat.getEquippedWeapon().getRange() : 0f;
+                List<Player> targets = new ArrayList<>();
+                for (Player target : hitDetection.detectMeleeHits(attacker, dir, grid.around(region, range))) {
+                    if (isWithinAttackCone(attacker, target, ATTACK_CONE_ANGLE)) {
+                        targets.add(target);
                     }
                 }
+                attacks.add(new PendingAttack(attacker, dir, targets));
             }
+            return attacks;
+        });
 
-            combat.setAttackProcessed(true);
+        for (List<PendingAttack> attacks : regions) {
+            for (PendingAttack attack : attacks) {
+                applyAttack(attack);
+            }
+        }
+    }
 
-            if (!results.isEmpty()) {
-                AttackResultBroadcast br = new AttackResultBroadcast(attacker.getIdAsString(), dir.x, dir.y, results);
-                broadcastToGame(br);
+    private void applyAttack(PendingAttack attack) {
+        Player attacker = attack.attacker;
+        PlayerCombatComponent combat = attacker.getCombatComponent();
+        float damage = combat.getEquippedWeapon() != null ? combat.getEquippedWeapon().getDamage() : 10.0f;
+
+        List<AttackResultData> results = new ArrayList<>();
+        for (Player target : attack.targets) {
+            PlayerCombatComponent tc = target.getCombatComponent();
+            if (tc != null) {
+                if (tc.isParrying()) {
+                    results.add(new AttackResultData(target.getIdAsString(), 0, tc.getHealth(), true));
+                } else {
+                    tc.takeDamage(damage, attacker);
+                    results.add(new AttackResultData(target.getIdAsString(), damage, tc.getHealth(), false));
+                }
             }
         }
+
+        combat.setAttackProcessed(true);
+
+        if (!results.isEmpty()) {
+            AttackResultBroadcast br = new AttackResultBroadcast(attacker.getIdAsString(), attack.direction.x, attack.direction.y, results);
+            broadcastToGame(br);
+        }
+    }
+
+    /**
+     * An attack whose targets have been found but not damaged yet.
+     */
+    private static final class PendingAttack {
+        private final Player attacker;
+        private final Vector2D direction;
+        private final List<Player> targets;
+
+        PendingAttack(Player attacker, Vector2D direction, List<Player> targets) {
+            this.attacker = attacker;
+            this.direction = direction;
+            this.targets = targets;
+        }
     }
 
     /**
@@ -436,10 +770,13 @@ public class GameManager {
      * @param ship The AI ship to add.
      */
     public void addAiShip(BaseShip ship) {
-        if (ship != null && !aiShips.containsKey(ship.getEntityId())) {
-            aiShips.put(ship.getEntityId(), ship);
-            System.out.println("GameManager " + gameId + ": Added AI Ship " + ship.getEntityId() + " to tracking.");
-        }
+        if (ship == null) return;
+        post(() -> {
+            if (!aiShips.containsKey(ship.getEntityId())) {
+                aiShips.put(ship.getEntityId(), ship);
+                System.out.println("GameManager " + gameId + ": Added AI Ship " + ship.getEntityId() + " to tracking.");
+            }
+        });
     }
     
     /**
@@ -447,14 +784,37 @@ public class GameManager {
      * @param shipId The ID of the AI ship to remove.
      */
     public void removeAiShip(String shipId) {
-        if (aiShips.containsKey(shipId)) {
-            aiShips.remove(shipId);
-            System.out.println("GameManager " + gameId + ": Removed AI Ship " + shipId + " from tracking.");
-            // TODO: Potentially notify clients about AI ship removal if necessary
-        }
+        post(() -> {
+            if (aiShips.containsKey(shipId)) {
+                aiShips.remove(shipId);
+                System.out.println("GameManager " + gameId + ": Removed AI Ship " + shipId + " from tracking.");
+                // TODO: Potentially notify clients about AI ship removal if necessary
+            }
+        });
     }
 
+    /**
+     * Gets the AI ships of the game. Only for use from the game's own tick.
+     * @return The AI ships by entity id.
+     */
     public Map<String, BaseShip> getAiShips() {
         return aiShips;
     }
+
+    /**
+     * An immutable view of the game's members, replaced as a whole whenever someone joins or leaves.
+     */
+    private static final class Members {
+        private static final Members EMPTY = new Members(Map.of());
+
+        private final List<Player> players;
+        private final List<ClientSession> sessions;
+        private final Map<Player, ClientSession> sessionsByPlayer;
+
+        Members(Map<Player, ClientSession> playerSessions) {
+            this.sessionsByPlayer = Map.copyOf(playerSessions);
+            this.players = List.copyOf(playerSessions.keySet());
+            this.sessions = List.copyOf(playerSessions.values());
+        }
+    }
 }
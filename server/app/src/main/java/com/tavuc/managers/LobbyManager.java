@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random; 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import com.tavuc.exceptions.GameJoinException;
@@ -15,6 +16,7 @@ import com.tavuc.models.planets.Moon;
 import com.tavuc.models.planets.Planet;
 import com.tavuc.models.planets.PlanetType;
 import com.tavuc.networking.ClientSession;
+import com.tavuc.simulation.SimulationClock;
 
 public class LobbyManager {
 
@@ -23,8 +25,15 @@ public class LobbyManager {
 
     private final Map<Integer, Planet> planets = new ConcurrentHashMap<>(); 
     private int nextPlanetId = 1; 
+    private final ReentrantLock membershipLock = new ReentrantLock();
+    private final ReentrantLock galaxyLock = new ReentrantLock();
     
     private NetworkManager networkManager; 
+    private long hibernateAfterMillis;
+    private SimulationClock clock = new SimulationClock(60);
+    private int regionParallelPlayers = 32;
+    private long lastHibernationCheck;
+    private int hibernatedGames;
     // private EmpireManager empireManager; // Removed
 
     private static final int REGION_SIZE = 1000;
@@ -32,6 +41,7 @@ public class LobbyManager {
     private static final int PLANETS_PER_REGION_MAX = 5;
     private static final int MIN_PLANET_SEPARATION = 150; 
     private static final int MAX_PLACEMENT_ATTEMPTS = 20; 
+    private static final long HIBERNATION_CHECK_INTERVAL_MS = 1000;
 
 
     /**
@@ -40,6 +50,9 @@ public class LobbyManager {
      */
     public void initializeLobby(NetworkManager networkManager) { 
         this.networkManager = networkManager; 
+        this.hibernateAfterMillis = networkManager != null ? networkManager.getConfig().getHibernateAfterSeconds() * 1000L : 0;
+        this.clock = networkManager != null ? networkManager.getClock() : clock;
+        this.regionParallelPlayers = networkManager != null ? networkManager.getConfig().getRegionParallelPlayers() : regionParallelPlayers;
         System.out.println("Initializing LobbyManager and generating initial galaxy...");
         
         // this.empireManager = new EmpireManager(); // Removed
@@ -60,11 +73,45 @@ public class LobbyManager {
 
     public void update() { 
         // empireManager.update(); // Removed
+        hibernateEmptyGames();
+    }
+
+    /**
+     * Drops games that have been empty for longer than the grace period, releasing their
+     * chunks, dummies and AI ships. The planet stays in the galaxy and the next joinGame
+     * creates a new game for it, regenerating its chunks from the seed on demand.
+     */
+    private void hibernateEmptyGames() {
+        long now = System.currentTimeMillis();
+        if (hibernateAfterMillis <= 0 || now - lastHibernationCheck < HIBERNATION_CHECK_INTERVAL_MS) {
+            return;
+        }
+        lastHibernationCheck = now;
+        for (GameManager game : games.values()) {
+            if (game.getEmptyMillis(now) < hibernateAfterMillis) {
+                continue;
+            }
+            membershipLock.lock();
+            try {
+                if (games.get(game.getGameId()) != game || game.getEmptyMillis(now) < hibernateAfterMillis) {
+                    continue;
+                }
+                games.remove(game.getGameId());
+                int chunks = game.hibernate();
+                int payloads = networkManager != null ? networkManager.getChunkCache().invalidateGame(game.getGameId()) : 0;
+                hibernatedGames++;
+                System.out.println("LobbyManager: Game " + game.getGameId() + " (" + game.getPlanetName() + ") was empty for "
+                    + game.getEmptyMillis(now) / 1000 + " s. Hibernated it, releasing " + chunks + " chunk(s) and " + payloads
+                    + " cached payload(s). " + games.size() + " game(s) loaded, " + hibernatedGames + " hibernated so far.");
+            } finally {
+                membershipLock.unlock();
             }
+        }
+    }
 
     private void createGameServiceForPlanet(Planet planet) {
         if (!games.containsKey(planet.getPlanetId())) {
-            GameManager gameService = new GameManager();
+            GameManager gameService = new GameManager(clock, regionParallelPlayers);
             gameService.initialize(planet.getPlanetId(), planet, 10); 
             games.put(planet.getPlanetId(), gameService);
             System.out.println("Created initial game service for planet: " + planet.getName());
@@ -96,39 +143,47 @@ public class LobbyManager {
      * @return The GameService instance for the game the player joined.
      * @throws GameJoinException If the player cannot join the game due to various reasons.
      */
-    public synchronized GameManager joinGame(ClientSession session, int entityId) throws GameJoinException {
-        if (session == null || session.getAuthenticatedPlayer() == null) {
-            throw new GameJoinException("Player must be authenticated to join a game.");
-        }
+    public GameManager joinGame(ClientSession session, int entityId) throws GameJoinException {
+        membershipLock.lock();
+        try {
+            if (session == null || session.getAuthenticatedPlayer() == null) {
+                throw new GameJoinException("Player must be authenticated to join a game.");
+            }
         
-        if (sessiontoGame.containsKey(session.getSessionId())) {
-            throw new GameJoinException("Player is already in a game. Please leave the current game first.");
-        }
+            if (sessiontoGame.containsKey(session.getSessionId())) {
+                throw new GameJoinException("Player is already in a game. Please leave the current game first.");
+            }
 
-        GameManager gameToJoin = games.get(entityId);
+            GameManager gameToJoin = games.get(entityId);
 
-        if (gameToJoin == null) {
-            Planet targetPlanet = planets.get(entityId);
+            if (gameToJoin == null) {
+                Planet targetPlanet = planets.get(entityId);
+                if (targetPlanet == null) {
+                    throw new GameJoinException("No planet with ID " + entityId + ".");
+                }
       
-            System.out.println("No active game for planet ID " + entityId + " (" + targetPlanet.getName() + "). Creating new GameService...");
-            gameToJoin = new GameManager();
-            int defaultMaxPlayers = 10; 
-            gameToJoin.initialize(targetPlanet.getPlanetId(), targetPlanet, defaultMaxPlayers);
-            games.put(targetPlanet.getPlanetId(), gameToJoin);
-            System.out.println("Created and cached new GameService for planet: " + targetPlanet.getName());
-        }
+                System.out.println("No active game for planet ID " + entityId + " (" + targetPlanet.getName() + "). Creating new GameService...");
+                gameToJoin = new GameManager(clock, regionParallelPlayers);
+                int defaultMaxPlayers = 10; 
+                gameToJoin.initialize(targetPlanet.getPlanetId(), targetPlanet, defaultMaxPlayers);
+                games.put(targetPlanet.getPlanetId(), gameToJoin);
+                System.out.println("Created and cached new GameService for planet: " + targetPlanet.getName());
+            }
 
-        Player player = session.getAuthenticatedPlayer();
-        System.out.println("LobbyManager: Player " + player.getUsername() + " (Session: " + session.getSessionId() + ") attempting to join game " + entityId + " (" + gameToJoin.getPlanetName() + ")");
-        boolean added = gameToJoin.addPlayer(player, session);
-
-        if (added) {
-            sessiontoGame.put(session.getSessionId(), gameToJoin);
-            System.out.println("LobbyManager: Player " + player.getUsername() + " (Session: " + session.getSessionId() + ") successfully joined game " + entityId + " (" + gameToJoin.getPlanetName() + "). GameManager.addPlayer returned true.");
-            return gameToJoin;
-        } else {
-            System.err.println("LobbyManager: Failed to add player " + player.getUsername() + " to game " + entityId + ". GameManager.addPlayer returned false.");
-            throw new GameJoinException("Failed to add player " + player.getUsername() + " to game " + entityId + ". The game might be full or an internal error occurred.");
+            Player player = session.getAuthenticatedPlayer();
+            System.out.println("LobbyManager: Player " + player.getUsername() + " (Session: " + session.getSessionId() + ") attempting to join game " + entityId + " (" + gameToJoin.getPlanetName() + ")");
+            boolean added = gameToJoin.addPlayer(player, session);
+
+            if (added) {
+                sessiontoGame.put(session.getSessionId(), gameToJoin);
+                System.out.println("LobbyManager: Player " + player.getUsername() + " (Session: " + session.getSessionId() + ") successfully joined game " + entityId + " (" + gameToJoin.getPlanetName() + "). GameManager.addPlayer returned true.");
+                return gameToJoin;
+            } else {
+                System.err.println("LobbyManager: Failed to add player " + player.getUsername() + " to game " + entityId + ". GameManager.addPlayer returned false.");
+                throw new GameJoinException("Failed to add player " + player.getUsername() + " to game " + entityId + ". The game might be full or an internal error occurred.");
+            }
+        } finally {
+            membershipLock.unlock();
         }
     }
 
@@ -137,22 +192,27 @@ public class LobbyManager {
      * @param session The client session of the player trying to leave the game.
      * @param gameId The ID of the game the player wants to leave.
      */
-    public synchronized void leaveGame(ClientSession session, int gameId) {
-        if (session == null) return;
-
-        GameManager gameService = sessiontoGame.get(session.getSessionId());
-        Player player = session.getAuthenticatedPlayer();
-
-        if (gameService != null && player != null) {
-            if (gameService.getGameId() == gameId) {
-                gameService.removePlayer(player, session);
-                sessiontoGame.remove(session.getSessionId());
-                System.out.println("Player " + player.getUsername() + " (Session: " + session.getSessionId() + ") left game " + gameId);
+    public void leaveGame(ClientSession session, int gameId) {
+        membershipLock.lock();
+        try {
+            if (session == null) return;
+
+            GameManager gameService = sessiontoGame.get(session.getSessionId());
+            Player player = session.getAuthenticatedPlayer();
+
+            if (gameService != null && player != null) {
+                if (gameService.getGameId() == gameId) {
+                    gameService.removePlayer(player, session);
+                    sessiontoGame.remove(session.getSessionId());
+                    System.out.println("Player " + player.getUsername() + " (Session: " + session.getSessionId() + ") left game " + gameId);
+                } else {
+                    System.err.println("Player " + player.getUsername() + " (Session: " + session.getSessionId() + ") tried to leave game " + gameId + " but is in game " + gameService.getGameId());
+                }
             } else {
-                System.err.println("Player " + player.getUsername() + " (Session: " + session.getSessionId() + ") tried to leave game " + gameId + " but is in game " + gameService.getGameId());
+                 System.err.println("Could not process leaveGame for session " + session.getSessionId() + " and game " + gameId + ". Player or game not found for this session.");
             }
-        } else {
-             System.err.println("Could not process leaveGame for session " + session.getSessionId() + " and game " + gameId + ". Player or game not found for this session.");
+        } finally {
+            membershipLock.unlock();
         }
     }
     
@@ -182,32 +242,37 @@ public class LobbyManager {
      * @param areaRadius    The radius of the requested area.
      * @return A list of Planet objects within or newly generated for the area.
      */
-    public synchronized List<Planet> getPlanetsInArea(double galaxyCenterX, double galaxyCenterY, double areaRadius) {
-        List<Planet> planetsInArea = new ArrayList<>();
-        Random random = new Random();
+    public List<Planet> getPlanetsInArea(double galaxyCenterX, double galaxyCenterY, double areaRadius) {
+        galaxyLock.lock();
+        try {
+            List<Planet> planetsInArea = new ArrayList<>();
+            Random random = new Random();
 
-        for (Planet planet : planets.values()) {
-            double distanceSq = Math.pow(planet.getGalaxyX() - galaxyCenterX, 2) + Math.pow(planet.getGalaxyY() - galaxyCenterY, 2);
-            if (distanceSq <= areaRadius * areaRadius) {
-                planetsInArea.add(planet);
+            for (Planet planet : planets.values()) {
+                double distanceSq = Math.pow(planet.getGalaxyX() - galaxyCenterX, 2) + Math.pow(planet.getGalaxyY() - galaxyCenterY, 2);
+                if (distanceSq <= areaRadius * areaRadius) {
+                    planetsInArea.add(planet);
+                }
             }
-        }
       
-        if (planetsInArea.isEmpty()) { 
-            System.out.println("Area is sparse. Generating a new planetary region near: " + galaxyCenterX + "," + galaxyCenterY);
-            int numPlanets = PLANETS_PER_REGION_MIN + random.nextInt(PLANETS_PER_REGION_MAX - PLANETS_PER_REGION_MIN + 1);
+            if (planetsInArea.isEmpty()) { 
+                System.out.println("Area is sparse. Generating a new planetary region near: " + galaxyCenterX + "," + galaxyCenterY);
+                int numPlanets = PLANETS_PER_REGION_MIN + random.nextInt(PLANETS_PER_REGION_MAX - PLANETS_PER_REGION_MIN + 1);
             
-            int actualRegionRadius = REGION_SIZE / 2;
-            generateGalaxyRegion((int)galaxyCenterX, (int)galaxyCenterY, actualRegionRadius, numPlanets);
+                int actualRegionRadius = REGION_SIZE / 2;
+                generateGalaxyRegion((int)galaxyCenterX, (int)galaxyCenterY, actualRegionRadius, numPlanets);
             
-            for (Planet planet : planets.values()) {
-                double distanceSq = Math.pow(planet.getGalaxyX() - galaxyCenterX, 2) + Math.pow(planet.getGalaxyY() - galaxyCenterY, 2);
-                if (distanceSq <= areaRadius * areaRadius && !planetsInArea.contains(planet)) { 
-                    planetsInArea.add(planet);
+                for (Planet planet : planets.values()) {
+                    double distanceSq = Math.pow(planet.getGalaxyX() - galaxyCenterX, 2) + Math.pow(planet.getGalaxyY() - galaxyCenterY, 2);
+                    if (distanceSq <= areaRadius * areaRadius && !planetsInArea.contains(planet)) { 
+                        planetsInArea.add(planet);
+                    }
                 }
             }
+            return planetsInArea;
+        } finally {
+            galaxyLock.unlock();
         }
-        return planetsInArea;
     }
 
     private void generateGalaxyRegion(int regionCenterX, int regionCenterY, int regionRadius, int numPlanetsInRegion) {
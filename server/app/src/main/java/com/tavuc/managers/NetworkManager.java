@@ -5,33 +5,61 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
+import com.tavuc.ServerConfig;
 import com.tavuc.exceptions.ServerStartException;
+import com.tavuc.models.entities.Player;
 import com.tavuc.models.space.BaseShip;
 import com.tavuc.models.space.PlayerShip;
+import com.tavuc.networking.AdmissionController;
+import com.tavuc.networking.AdmissionPolicy;
+import com.tavuc.networking.ChunkPayloadCache;
 import com.tavuc.networking.ClientSession;
+import com.tavuc.networking.EncodedMessage;
+import com.tavuc.networking.ResumeRegistry;
+import com.tavuc.networking.UdpRouter;
 import com.tavuc.networking.ClientSessionListener;
 import com.tavuc.networking.models.BaseMessage;
 import com.tavuc.networking.models.ProjectileSpawnedBroadcast;
 import com.tavuc.networking.models.ShipLeftBroadcast;
 import com.tavuc.networking.models.ShipUpdateBroadcast;
+import com.tavuc.networking.models.ShipUpdateRequest;
+import com.tavuc.networking.transport.DatagramEndpoint;
+import com.tavuc.networking.transport.Transport;
+import com.tavuc.simulation.DegradationLevel;
+import com.tavuc.simulation.SimulationClock;
 
 public class NetworkManager implements ClientSessionListener {
 
-    private ServerSocket socket;
     private final AuthManager authManager;
     private final LobbyManager lobbyManager;
+    private final ServerConfig config;
     private volatile boolean running = false;
-    private ExecutorService clientExecutor;
+    private Transport transport;
+    private DatagramEndpoint datagramEndpoint;
+    private volatile UdpRouter udpRouter;
+    private volatile ThreadPoolExecutor requestExecutor;
+    private volatile ScheduledExecutorService heartbeatExecutor;
+    private volatile ThreadPoolExecutor loginExecutor;
+    private volatile ExecutorService playerWriter;
+    private final AdmissionController admissionController;
+    private final ResumeRegistry resumeRegistry;
+    private final ChunkPayloadCache chunkCache;
+    private final ReentrantLock shipLock = new ReentrantLock();
     private final Set<ClientSession> sessions = ConcurrentHashMap.newKeySet();
 
     private final Map<String, BaseShip> activeEntityShips = new ConcurrentHashMap<>();
@@ -39,10 +67,18 @@ public class NetworkManager implements ClientSessionListener {
     // Combat manager for handling ship combat
     private final CombatManager combatManager;
 
-    public NetworkManager(AuthManager authManager, LobbyManager lobbyManager) {
+    // Simulation time shared by space and the planets
+    private final SimulationClock clock;
+
+    public NetworkManager(AuthManager authManager, LobbyManager lobbyManager, ServerConfig config, SimulationClock clock) {
         this.authManager = authManager;
         this.lobbyManager = lobbyManager;
-        this.combatManager = new CombatManager(this);
+        this.config = config;
+        this.clock = clock;
+        this.combatManager = new CombatManager(this, clock, config.getProjectileCap());
+        this.resumeRegistry = new ResumeRegistry(config.getResumeGraceSeconds());
+        this.admissionController = new AdmissionController(config.getAdmissionPolicy());
+        this.chunkCache = new ChunkPayloadCache(config.getChunkCacheBytes());
     }
 
     public LobbyManager getLobbyManager() {
@@ -53,74 +89,238 @@ public class NetworkManager implements ClientSessionListener {
         return combatManager;
     }
 
+    /**
+     * Gets the simulation clock that gameplay timing is derived from.
+     * @return The clock advanced by the tick scheduler.
+     */
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    public ServerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the router of the optional UDP channel.
+     * @return The router, or null if the server runs TCP-only.
+     */
+    public UdpRouter getUdpRouter() {
+        return udpRouter;
+    }
+
+    /**
+     * Gets the bounded pool that serves expensive client requests off the session threads.
+     * @return The request executor; it refuses work with a RejectedExecutionException once its queue is full.
+     */
+    public Executor getRequestExecutor() {
+        return requestExecutor;
+    }
+
+    /**
+     * Gets the cache of encoded chunk responses shared by all sessions.
+     * @return The chunk payload cache.
+     */
+    public ChunkPayloadCache getChunkCache() {
+        return chunkCache;
+    }
+
+    /**
+     * Gets the bounded pool that runs logins and registrations, which read and write player files.
+     * @return The login executor; it refuses work with a RejectedExecutionException once its queue is full.
+     */
+    public ThreadPoolExecutor getLoginExecutor() {
+        return loginExecutor;
+    }
+
+    /**
+     * Saves a player's file on the player writer thread, so that handlers running on a shared event
+     * loop never wait for the disk. Saves run one at a time, in the order they were asked for, so
+     * two saves of the same player cannot interleave. Before the server has started or after it has
+     * stopped, the player is saved on the calling thread.
+     * @param player The player to save.
+     */
+    public void savePlayer(Player player) {
+        savePlayer(player, null);
+    }
+
+    /**
+     * Saves a player's file on the player writer thread and then runs a task, for work that must
+     * not happen before the file is written, such as letting the player log in again.
+     * @param player The player to save.
+     * @param afterSave Runs on the writer thread once the file is written, or null.
+     */
+    public void savePlayer(Player player, Runnable afterSave) {
+        Runnable save = () -> {
+            player.save();
+            if (afterSave != null) {
+                afterSave.run();
+            }
+        };
+        ExecutorService writer = playerWriter;
+        if (writer != null) {
+            try {
+                writer.execute(save);
+                return;
+            } catch (RejectedExecutionException e) {
+                // Stopped; fall through and save on this thread.
+            }
+        }
+        save.run();
+    }
+
+    /**
+     * Gets the single housekeeping thread that runs the heartbeat and short delayed tasks.
+     * Tasks must not block.
+     * @return The scheduler, or null before the server has started.
+     */
+    public ScheduledExecutorService getScheduler() {
+        return heartbeatExecutor;
+    }
+
+    /**
+     * Gets the registry holding the state of recently dropped sessions.
+     * @return The resume registry.
+     */
+    public ResumeRegistry getResumeRegistry() {
+        return resumeRegistry;
+    }
+
     public void startServer(int port) throws ServerStartException {
         try {
-            socket = new ServerSocket(port);
+            startRequestExecutor();
+            startLoginExecutor();
+            startPlayerWriter();
+            startDatagramChannel(port);
+            startHeartbeat();
+            System.out.println("NetworkService: Inbound rate limits per session: " + config.getInboundRatePolicy() + ".");
+            transport = config.getTransportMode().create(config.getEventLoopThreads(), config.getOutboundPolicy());
+            transport.start(port, connection -> {
+                ClientSession clientSession = new ClientSession(connection, this.authManager, this.lobbyManager, this);
+                clientSession.setSessionListener(this);
+                String refusal = admissionController.admit(connection.getRemoteAddress(), sessions.size());
+                if (refusal != null) {
+                    System.out.println("NetworkManager: Refusing connection from " + connection.getRemoteAddress() + ": " + refusal);
+                    clientSession.refuse(refusal);
+                    heartbeatExecutor.schedule(() -> clientSession.close(refusal), config.getHeartbeatIntervalMillis(), TimeUnit.MILLISECONDS);
+                    return clientSession;
+                }
+                sessions.add(clientSession);
+                return clientSession;
+            });
             running = true;
-            clientExecutor = Executors.newCachedThreadPool();
             System.out.println("NetworkService started on port " + port);
-
-            // Start game logic update thread
-            new Thread(() -> {
-                long lastUpdateTime = System.nanoTime();
-                final double TARGET_FPS = 60.0;
-                final double TARGET_TIME_STEP = 1.0 / TARGET_FPS;
-                
-                while (running && !socket.isClosed()) {
-                    long currentTime = System.nanoTime();
-                    double deltaTime = (currentTime - lastUpdateTime) / 1_000_000_000.0;
-                    lastUpdateTime = currentTime;
-                    
-                    // Update game logic
-                    updateGameLogic((float)deltaTime);
-                    
-                    // Sleep to maintain target frame rate
-                    try {
-                        long sleepTime = (long)((TARGET_TIME_STEP - deltaTime) * 1000);
-                        if (sleepTime > 0) {
-                            Thread.sleep(sleepTime);
-                        }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            }, "GameLogicUpdateThread").start();
-
-            new Thread(() -> {
-                while (running && !socket.isClosed()) {
-                    try {
-                        Socket clientSocket = socket.accept();
-                        System.out.println("Client connected: " + clientSocket.getInetAddress().getHostAddress());
-                        ClientSession clientSession = new ClientSession(clientSocket, this.authManager, this.lobbyManager, this);
-                        clientSession.setSessionListener(this);
-                        sessions.add(clientSession);
-                        clientExecutor.submit(clientSession::start);
-                    } catch (IOException e) {
-                        System.err.println("Error accepting client connection: " + e.getMessage());
-                    }
-                }
-            }, "NetworkService-AcceptThread").start();
         } catch (IOException e) {
             running = false;
+            if (transport != null) {
+                transport.stop();
+            }
+            requestExecutor.shutdownNow();
+            loginExecutor.shutdownNow();
+            playerWriter.shutdownNow();
+            if (heartbeatExecutor != null) {
+                heartbeatExecutor.shutdownNow();
+            }
             throw new ServerStartException("Could not start server on port " + port, e);
         }
     }
     
     /**
-     * Updates all game logic components.
-     * 
-     * @param deltaTime Time passed since last update in seconds
+     * Creates the worker pool for chunk and planet requests. The pool and its queue are both
+     * bounded, so a burst of requests is refused instead of piling up behind slow generation.
      */
-    private void updateGameLogic(float deltaTime) {
-        // Update combat system
-        if (combatManager != null) {
-            combatManager.update(deltaTime);
-        }
+    private void startRequestExecutor() {
+        AtomicInteger workerCount = new AtomicInteger();
+        requestExecutor = new ThreadPoolExecutor(
+            config.getRequestWorkerThreads(),
+            config.getRequestWorkerThreads(),
+            60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(config.getRequestQueueLimit()),
+            task -> {
+                Thread worker = new Thread(task, "NetworkService-RequestWorker-" + workerCount.getAndIncrement());
+                worker.setDaemon(true);
+                return worker;
+            });
+        requestExecutor.allowCoreThreadTimeOut(true);
+        System.out.println("NetworkService: " + config.getRequestWorkerThreads() + " request worker(s), queue limit " + config.getRequestQueueLimit() + ".");
+    }
 
-        if (lobbyManager != null) {
-            for (GameManager gm : lobbyManager.getActiveGameServices()) {
-                gm.update();
+    /**
+     * Creates the pool that runs logins and registrations. Only a few run at once, so a login storm
+     * after a restart reads player files a handful at a time instead of all in parallel, and the
+     * sessions already in game keep their share of the disk and CPU.
+     */
+    private void startLoginExecutor() {
+        AdmissionPolicy policy = config.getAdmissionPolicy();
+        AtomicInteger workerCount = new AtomicInteger();
+        loginExecutor = new ThreadPoolExecutor(
+            policy.getLoginWorkers(),
+            policy.getLoginWorkers(),
+            60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(policy.getLoginQueueLimit()),
+            task -> {
+                Thread worker = new Thread(task, "NetworkService-LoginWorker-" + workerCount.getAndIncrement());
+                worker.setDaemon(true);
+                return worker;
+            });
+        loginExecutor.allowCoreThreadTimeOut(true);
+        System.out.println("NetworkService: Admission control: " + policy + ".");
+    }
+
+    /**
+     * Creates the thread that writes player files for sessions. Its queue is unbounded: a save is
+     * small and must not be lost, and the sessions that ask for one never wait for it.
+     */
+    private void startPlayerWriter() {
+        playerWriter = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "NetworkService-PlayerWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts pinging sessions and reaping the ones that went silent, such as half-open
+     * connections whose client vanished without closing the socket.
+     */
+    private void startHeartbeat() {
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "NetworkService-Heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getHeartbeatIntervalMillis();
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        System.out.println("NetworkService: Heartbeat every " + interval + " ms, idle timeout " + config.getIdleTimeoutMillis() + " ms ("
+            + config.getLegacyIdleTimeoutMillis() + " ms for logged-in clients without heartbeat).");
+    }
+
+    private void heartbeat() {
+        try {
+            for (ClientSession session : sessions) {
+                int playerId = session.getPlayerId();
+                if (session.heartbeat(config.getIdleTimeoutMillis(), config.getLegacyIdleTimeoutMillis())) {
+                    System.out.println("NetworkManager: Reaped idle session " + session.getSessionId() + " (Player ID: " + playerId + ").");
+                }
             }
+        } catch (Exception e) {
+            System.err.println("NetworkManager: Error during heartbeat: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Advances space by one tick: applies the newest ship inputs, moves projectiles and resolves
+     * their hits, and checks ships for collisions. Called by the tick scheduler.
+     * @param deltaSeconds The fixed length of a tick in seconds.
+     * @param degradation How much work the server currently sheds to keep up.
+     */
+    public void updateSpace(float deltaSeconds, DegradationLevel degradation) {
+        applyShipInputs();
+
+        // Update combat system
+        if (combatManager != null) {
+            combatManager.setDegradation(degradation);
+            combatManager.update(deltaSeconds);
         }
 
         // Check for ship collisions
@@ -166,26 +366,56 @@ public class NetworkManager implements ClientSessionListener {
         for (ClientSession session : sessionsToClose) {
             session.close("Server shutting down");
         }
-        clientExecutor.shutdown();
-        try {
-            if (!clientExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                clientExecutor.shutdownNow();
-                if (!clientExecutor.awaitTermination(5, TimeUnit.SECONDS))
-                    System.err.println("Client handler pool did not terminate");
-            }
-        } catch (InterruptedException ie) {
-            clientExecutor.shutdownNow();
-            Thread.currentThread().interrupt();
+        if (datagramEndpoint != null) {
+            datagramEndpoint.stop();
         }
-        
-        if (socket != null && !socket.isClosed()) {
+        if (requestExecutor != null) {
+            requestExecutor.shutdownNow();
+        }
+        if (loginExecutor != null) {
+            loginExecutor.shutdownNow();
+        }
+        if (heartbeatExecutor != null) {
+            heartbeatExecutor.shutdownNow();
+        }
+        if (playerWriter != null) {
+            // Closing the sessions above queued their final saves; let them finish.
+            playerWriter.shutdown();
             try {
-                socket.close();
-                System.out.println("NetworkService stopped.");
-            } catch (IOException e) {
-                System.err.println("Error closing server socket: " + e.getMessage());
+                if (!playerWriter.awaitTermination(5, TimeUnit.SECONDS)) {
+                    System.err.println("NetworkService: Player files still being written at shutdown.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
+        System.out.println("NetworkService: Chunk cache: " + chunkCache + ".");
+        if (transport != null) {
+            transport.stop();
+            System.out.println("NetworkService stopped.");
+        }
+    }
+
+    /**
+     * Opens the UDP channel for latest-state traffic if it is enabled. Failing to bind
+     * the UDP port is not fatal: the server then runs TCP-only.
+     * @param tcpPort The TCP port, used as the UDP port unless one is configured.
+     */
+    private void startDatagramChannel(int tcpPort) {
+        if (!config.isUdpEnabled() || !config.isBinaryProtocolEnabled()) {
+            System.out.println("NetworkManager: UDP channel disabled. All traffic uses TCP.");
+            return;
+        }
+        int udpPort = config.getUdpPort() >= 0 ? config.getUdpPort() : tcpPort;
+        try {
+            datagramEndpoint = new DatagramEndpoint(udpPort);
+            udpRouter = new UdpRouter(datagramEndpoint);
+            datagramEndpoint.start(udpRouter);
+        } catch (IOException e) {
+            System.err.println("NetworkManager: Could not open UDP port " + udpPort + ", continuing TCP-only: " + e.getMessage());
+            datagramEndpoint = null;
+            udpRouter = null;
+        }
     }
 
     @Override
@@ -205,71 +435,141 @@ public class NetworkManager implements ClientSessionListener {
         return null;
     }
 
-    public synchronized void updateShip(int playerId, double x, double y, double angle, double dx, double dy, boolean thrusting, boolean shouldBeInSpace, ClientSession sourceSession) {
+    /**
+     * Creates, moves or removes a player's ship and broadcasts the result.
+     * The ship map is only locked while it is mutated; broadcasting happens after the lock is released.
+     */
+    public void updateShip(int playerId, double x, double y, double angle, double dx, double dy, boolean thrusting, boolean shouldBeInSpace, ClientSession sourceSession) {
         String playerShipEntityId = "player_" + playerId;
-        PlayerShip playerShip = getPlayerShip(playerId);
+        PlayerShip shipToBroadcast = null;
+        boolean shipRemoved = false;
 
-        if (playerShip == null && shouldBeInSpace) {
-            playerShip = new PlayerShip(playerShipEntityId, String.valueOf(playerId), (int)x, (int)y, 50, 50); 
-            activeEntityShips.put(playerShipEntityId, playerShip);
-            System.out.println("NetworkManager: New PlayerShip created for player " + playerId + " ID: " + playerShipEntityId);
-        }
-        
-        if (playerShip != null) {
-            if (shouldBeInSpace) {
-                playerShip.setPosition((int)x, (int)y);
-                playerShip.setOrientation((float)angle);
-                playerShip.setVelocity((float)dx, (float)dy);
-                broadcastShipUpdate(playerShip, sourceSession);
-            } else { 
-                if(activeEntityShips.containsKey(playerShipEntityId)){
-                    activeEntityShips.remove(playerShipEntityId);
-                    broadcastShipLeft(playerId, sourceSession);
-                    System.out.println("NetworkManager: PlayerShip for player " + playerId + " removed (not in active space).");
+        shipLock.lock();
+        try {
+            PlayerShip playerShip = getPlayerShip(playerId);
+
+            if (playerShip == null && shouldBeInSpace) {
+                playerShip = new PlayerShip(playerShipEntityId, String.valueOf(playerId), (int)x, (int)y, 50, 50); 
+                activeEntityShips.put(playerShipEntityId, playerShip);
+                System.out.println("NetworkManager: New PlayerShip created for player " + playerId + " ID: " + playerShipEntityId);
+            }
+
+            if (playerShip != null) {
+                if (shouldBeInSpace) {
+                    playerShip.setPosition((int)x, (int)y);
+                    playerShip.setOrientation((float)angle);
+                    playerShip.setVelocity((float)dx, (float)dy);
+                    shipToBroadcast = playerShip;
+                } else { 
+                    if (activeEntityShips.remove(playerShipEntityId) != null) {
+                        shipRemoved = true;
+                        System.out.println("NetworkManager: PlayerShip for player " + playerId + " removed (not in active space).");
+                    }
                 }
             }
+        } finally {
+            shipLock.unlock();
+        }
+
+        if (shipToBroadcast != null) {
+            broadcastShipUpdate(shipToBroadcast, sourceSession);
+        } else if (shipRemoved) {
+            broadcastShipLeft(playerId, sourceSession);
+        }
+    }
+
+    /**
+     * Applies the newest ship input of every session, so each player moves and is broadcast
+     * at most once per tick no matter how many updates arrived since the last one.
+     */
+    private void applyShipInputs() {
+        for (ClientSession session : sessions) {
+            ShipUpdateRequest input = session.getShipInput().take();
+            if (input != null) {
+                moveShip(session.getPlayerId(), input, session);
+            }
+        }
+    }
+
+    /**
+     * Moves a ship that is in space and broadcasts the result.
+     * Unlike {@link #updateShip}, an input never creates a ship, so an input that was waiting
+     * while the ship landed or its session closed is simply discarded.
+     */
+    private void moveShip(int playerId, ShipUpdateRequest input, ClientSession sourceSession) {
+        PlayerShip playerShip;
+        shipLock.lock();
+        try {
+            playerShip = getPlayerShip(playerId);
+            if (playerShip == null) {
+                return;
+            }
+            playerShip.setPosition((int)input.x, (int)input.y);
+            playerShip.setOrientation((float)input.angle);
+            playerShip.setVelocity((float)input.dx, (float)input.dy);
+        } finally {
+            shipLock.unlock();
         }
+        broadcastShipUpdate(playerShip, sourceSession);
     }
 
-    public synchronized void setShipLanded(int playerId, ClientSession sourceSession) {
+    public void setShipLanded(int playerId, ClientSession sourceSession) {
         String playerShipEntityId = "player_" + playerId;
-        BaseShip ship = activeEntityShips.remove(playerShipEntityId);
+        BaseShip ship;
+        shipLock.lock();
+        try {
+            ship = activeEntityShips.remove(playerShipEntityId);
+        } finally {
+            shipLock.unlock();
+        }
         if (ship != null) {
             broadcastShipLeft(playerId, sourceSession);
             System.out.println("NetworkManager: PlayerShip for player " + playerId + " set to LANDED.");
         }
     }
 
-    public synchronized void setShipLaunched(int playerId, double x, double y, double angle, ClientSession sourceSession) {
+    public void setShipLaunched(int playerId, double x, double y, double angle, ClientSession sourceSession) {
         String playerShipEntityId = "player_" + playerId;
-        PlayerShip playerShip = getPlayerShip(playerId);
-        if (playerShip == null) {
-            playerShip = new PlayerShip(playerShipEntityId, String.valueOf(playerId), (int)x, (int)y, 50, 50); 
-            activeEntityShips.put(playerShipEntityId, playerShip);
-        } else { 
-            playerShip.setPosition((int)x, (int)y);
-            playerShip.setOrientation((float)angle);
-            playerShip.setVelocity(0,0); 
+        PlayerShip playerShip;
+        shipLock.lock();
+        try {
+            playerShip = getPlayerShip(playerId);
+            if (playerShip == null) {
+                playerShip = new PlayerShip(playerShipEntityId, String.valueOf(playerId), (int)x, (int)y, 50, 50); 
+                activeEntityShips.put(playerShipEntityId, playerShip);
+            } else { 
+                playerShip.setPosition((int)x, (int)y);
+                playerShip.setOrientation((float)angle);
+                playerShip.setVelocity(0,0); 
+            }
+        } finally {
+            shipLock.unlock();
         }
         broadcastShipUpdate(playerShip, sourceSession);
         System.out.println("NetworkManager: PlayerShip for player " + playerId + " LAUNCHED.");
     }
     
-    public synchronized void removePlayerShip(int playerId, ClientSession sourceSession) {
+    public void removePlayerShip(int playerId, ClientSession sourceSession) {
         String playerShipEntityId = "player_" + playerId;
-        BaseShip removedShip = activeEntityShips.remove(playerShipEntityId);
+        BaseShip removedShip;
+        shipLock.lock();
+        try {
+            removedShip = activeEntityShips.remove(playerShipEntityId);
+        } finally {
+            shipLock.unlock();
+        }
         if (removedShip != null) {
             broadcastShipLeft(playerId, sourceSession);
             System.out.println("NetworkManager: PlayerShip for player " + playerId + " removed due to session closure.");
         }
     }
     
-    public synchronized void addOrUpdateNonPlayerShip(BaseShip ship) {
+    public void addOrUpdateNonPlayerShip(BaseShip ship) {
         if (ship == null || ship.getEntityId() == null) return;
         activeEntityShips.put(ship.getEntityId(), ship);
     }
 
-    public synchronized void removeNonPlayerShip(String entityId) {
+    public void removeNonPlayerShip(String entityId) {
         BaseShip removedShip = activeEntityShips.remove(entityId);
         if (removedShip != null) {
             System.out.println("NetworkManager: AI Ship " + entityId + " removed.");
@@ -284,7 +584,7 @@ public class NetworkManager implements ClientSessionListener {
         return sessions;
     }
 
-    public synchronized void ensureSingleSessionForPlayer(int playerId, String currentSessionId) {
+    public void ensureSingleSessionForPlayer(int playerId, String currentSessionId) {
         if (playerId == 0) return;
         for (ClientSession session : sessions) {
             if (session.getPlayerId() == playerId) {
@@ -317,10 +617,26 @@ public class NetworkManager implements ClientSessionListener {
         broadcastMessageToAllActiveSessions(broadcastMessage);
     }
 
+    /**
+     * Sends a message to every logged in session. The message is serialized once per
+     * encoding in use, not once per recipient.
+     * @param message The message to broadcast.
+     */
     public void broadcastMessageToAllActiveSessions(BaseMessage message) {
+        broadcastMessageToAllActiveSessionsExcept(message, null);
+    }
+
+    /**
+     * Sends a message to every logged in session except one, typically the session whose
+     * action caused the message. The message is serialized once per encoding in use.
+     * @param message The message to broadcast.
+     * @param excluded The session that should not receive the message, or null to send to all.
+     */
+    public void broadcastMessageToAllActiveSessionsExcept(BaseMessage message, ClientSession excluded) {
+        EncodedMessage encoded = new EncodedMessage(message);
         for (ClientSession session : sessions) {
-            if (session.getPlayerId() != 0) { 
-                session.sendMessage(message);
+            if (session != excluded && session.getPlayerId() != 0) {
+                session.sendEncoded(encoded);
             }
         }
     }
@@ -22,8 +22,23 @@ public class HitDetectionSystem {
      * @return List of players that were hit.
      */
     public List<Player> detectMeleeHits(Player attacker, Vector2D direction, GameManager gameManager) {
+        if (gameManager == null) {
+            return new ArrayList<>();
+        }
+        return detectMeleeHits(attacker, direction, gameManager.getPlayersInGame());
+    }
+
+    /**
+     * Detects players hit by a melee attack among a set of candidates, such as the players near the attacker.
+     *
+     * @param attacker The attacking player.
+     * @param direction Direction of the attack (normalized).
+     * @param candidates The players that may be hit.
+     * @return List of players that were hit, in candidate order.
+     */
+    public List<Player> detectMeleeHits(Player attacker, Vector2D direction, List<Player> candidates) {
         List<Player> hits = new ArrayList<>();
-        if (attacker == null || direction == null || gameManager == null) {
+        if (attacker == null || direction == null || candidates == null) {
             return hits;
         }
 
@@ -40,7 +55,7 @@ public class HitDetectionSystem {
 
         Vector2D dirNorm = direction.normalize();
 
-        for (Player target : gameManager.getPlayersInGame()) {
+        for (Player target : candidates) {
             if (target == attacker) continue;
             Vector2D toTarget = new Vector2D(target.getX() - attacker.getX(), target.getY() - attacker.getY());
             double distance = toTarget.magnitude();
@@ -1,29 +1,35 @@
 package com.tavuc.models.combat;
 
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.tavuc.models.combat.weapons.WeaponBase;
 import com.tavuc.models.entities.Player;
+import com.tavuc.simulation.TimingWheel;
 import com.tavuc.utils.Vector2D;
 
 /**
  * Simple combat component attached to players.
+ * Attack and parry windows end through timers on the game's {@link TimingWheel} instead of being
+ * checked against the clock every tick, and cooldowns are measured in the wheel's simulation time
+ * rather than wall-clock time. Status effects are removed by timers on the same wheel.
+ * Windows are started, ended and cancelled only on the tick of the game the player is in;
+ * other threads may read whether the player is attacking or parrying.
  */
 public class PlayerCombatComponent {
     private final Player player;
     private WeaponBase equippedWeapon;
     private float health = 100f;
-    private final Map<String, StatusEffect> activeEffects = new HashMap<>();
-    private boolean attacking;
-    private boolean attackProcessed;
-    private Vector2D attackDirection;
-    private long lastAttackTime;
-    private boolean parrying;
-    private long parryStartTime;
+    private final Map<String, StatusEffect> activeEffects = new ConcurrentHashMap<>();
+    private volatile boolean attacking;
+    private volatile boolean attackProcessed;
+    private volatile Vector2D attackDirection;
+    private int attackSeq;
+    private volatile boolean parrying;
+    private int parrySeq;
     private long lastParryTime;
 
+    public static final long ATTACK_DURATION_MS = 500;
     public static final long PARRY_DURATION_MS = 300;
     public static final long PARRY_COOLDOWN_MS = 1000;
 
@@ -32,46 +38,92 @@ public class PlayerCombatComponent {
         this.equippedWeapon = WeaponRegistry.createWeaponInstance("lightsaber_1");
         this.attackProcessed = false;
         this.parrying = false;
-        this.parryStartTime = 0;
-        this.lastParryTime = 0;
+        this.lastParryTime = -PARRY_COOLDOWN_MS;
     }
 
-    public boolean attemptAttack(Vector2D direction) {
+    /**
+     * Starts an attack that lasts {@link #ATTACK_DURATION_MS}.
+     * @param direction The normalized attack direction.
+     * @param timers The wheel of the game the player is in, which ends the attack.
+     * @return true if the weapon performed the attack.
+     */
+    public boolean attemptAttack(Vector2D direction, TimingWheel timers) {
         if (equippedWeapon == null) return false;
-        if (!equippedWeapon.canAttack()) return false;
+        long now = timers.getCurrentMillis();
+        if (!equippedWeapon.canAttack(now)) return false;
         this.attacking = true;
         this.attackDirection = direction;
         this.attackProcessed = false;
-        this.lastAttackTime = System.currentTimeMillis();
-        return equippedWeapon.performAttack(player, direction);
+        int seq = ++attackSeq;
+        timers.scheduleMillis(ATTACK_DURATION_MS, () -> endAttack(seq));
+        return equippedWeapon.performAttack(player, direction, now);
     }
 
-    public boolean attemptParry() {
-        long now = System.currentTimeMillis();
+    /**
+     * Starts a parry that lasts {@link #PARRY_DURATION_MS}, unless one is running or on cooldown.
+     * @param timers The wheel of the game the player is in, which ends the parry.
+     * @return true if the parry started.
+     */
+    public boolean attemptParry(TimingWheel timers) {
+        long now = timers.getCurrentMillis();
         if (parrying) return false;
         if (now - lastParryTime < PARRY_COOLDOWN_MS) return false;
         this.parrying = true;
-        this.parryStartTime = now;
         this.lastParryTime = now;
+        int seq = ++parrySeq;
+        timers.scheduleMillis(PARRY_DURATION_MS, () -> endParry(seq));
         return true;
     }
 
-    public void update() {
-        if (attacking && System.currentTimeMillis() - lastAttackTime > 500) {
+    private void endAttack(int seq) {
+        if (seq == attackSeq) {
             attacking = false;
             attackProcessed = false;
             attackDirection = null;
         }
-        if (parrying && System.currentTimeMillis() - parryStartTime > PARRY_DURATION_MS) {
+    }
+
+    private void endParry(int seq) {
+        if (seq == parrySeq) {
             parrying = false;
         }
-        Iterator<Map.Entry<String, StatusEffect>> it = activeEffects.entrySet().iterator();
-        while (it.hasNext()) {
-            StatusEffect effect = it.next().getValue();
+    }
+
+    /**
+     * Ends any running attack or parry and clears status effects, for a player leaving the game
+     * whose timers would end them.
+     */
+    public void cancelWindows() {
+        endAttack(attackSeq);
+        endParry(parrySeq);
+        for (StatusEffect effect : activeEffects.values()) {
+            effect.cancelExpiry();
+        }
+        activeEffects.clear();
+    }
+
+    /**
+     * Applies a status effect until its duration runs out, replacing any effect with the same key.
+     * @param key Identifies the effect.
+     * @param effect The effect to apply.
+     * @param timers The wheel of the game the player is in, which removes the effect.
+     */
+    public void applyEffect(String key, StatusEffect effect, TimingWheel timers) {
+        effect.start(timers.getCurrentMillis());
+        effect.setExpiry(timers.scheduleMillis(effect.getDurationMs(), () -> activeEffects.remove(key, effect)));
+        StatusEffect replaced = activeEffects.put(key, effect);
+        if (replaced != null) {
+            replaced.cancelExpiry();
+        }
+    }
+
+    /**
+     * Lets every active status effect act for one tick. Expired effects are removed by their
+     * timers, not here.
+     */
+    public void update() {
+        for (StatusEffect effect : activeEffects.values()) {
             effect.update();
-            if (effect.isExpired()) {
-                it.remove();
-            }
         }
     }
 
@@ -99,10 +151,15 @@ public class PlayerCombatComponent {
         this.attackProcessed = processed;
     }
 
+    /**
+     * Checks whether any status effect is still running on the player.
+     * @return true if at least one effect has not expired yet.
+     */
+    public boolean hasActiveEffects() {
+        return !activeEffects.isEmpty();
+    }
+
     public boolean isParrying() {
-        if (parrying && System.currentTimeMillis() - parryStartTime > PARRY_DURATION_MS) {
-            parrying = false;
-        }
         return parrying;
     }
 
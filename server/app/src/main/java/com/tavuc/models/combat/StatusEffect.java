@@ -1,19 +1,59 @@
 package com.tavuc.models.combat;
 
+import com.tavuc.simulation.TimingWheel;
+
 /**
  * Minimal status effect used by the combat component.
+ * Times are simulation time in milliseconds, taken from the game's timing wheel, which also
+ * removes the effect once its duration has run out.
  */
 public abstract class StatusEffect {
-    protected long startTime = System.currentTimeMillis();
+    protected long startTime;
     protected long durationMs;
+    private volatile TimingWheel.Timeout expiry;
 
     public abstract void update();
 
-    public boolean isExpired() {
-        return System.currentTimeMillis() - startTime > durationMs;
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Marks the moment the effect was applied.
+     * @param nowMillis The current simulation time in milliseconds.
+     */
+    public void start(long nowMillis) {
+        this.startTime = nowMillis;
+    }
+
+    /**
+     * Checks whether the effect has run for its full duration.
+     * @param nowMillis The current simulation time in milliseconds.
+     * @return true if the effect is over.
+     */
+    public boolean isExpired(long nowMillis) {
+        return nowMillis - startTime > durationMs;
     }
 
     public float modifyIncomingDamage(float damage) {
         return damage;
     }
+
+    /**
+     * Keeps the timer that removes the effect, so it can be cancelled if the effect ends early.
+     * @param expiry The timer on the game's wheel.
+     */
+    void setExpiry(TimingWheel.Timeout expiry) {
+        this.expiry = expiry;
+    }
+
+    /**
+     * Cancels the timer that would remove the effect, for an effect that was replaced or cleared.
+     */
+    void cancelExpiry() {
+        TimingWheel.Timeout timeout = expiry;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
 }
@@ -21,8 +21,8 @@ public class LightsaberWeapon extends MeleeWeapon {
     }
 
     @Override
-    public boolean performAttack(Player attacker, Vector2D direction) {
-        return super.performAttack(attacker, direction);
+    public boolean performAttack(Player attacker, Vector2D direction, long nowMillis) {
+        return super.performAttack(attacker, direction, nowMillis);
     }
 
     public String getBladeColor() {
@@ -10,11 +10,11 @@ public class MeleeWeapon extends WeaponBase {
     protected float swingArc;
 
     @Override
-    public boolean performAttack(Player attacker, Vector2D direction) {
-        if (!canAttack()) {
+    public boolean performAttack(Player attacker, Vector2D direction, long nowMillis) {
+        if (!canAttack(nowMillis)) {
             return false;
         }
-        lastAttackTime = System.currentTimeMillis();
+        lastAttackTime = nowMillis;
         return true;
     }
 
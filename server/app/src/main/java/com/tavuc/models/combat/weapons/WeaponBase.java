@@ -12,7 +12,7 @@ public abstract class WeaponBase implements Cloneable {
     protected float damage;
     protected float range;
     protected float attackSpeed;
-    protected long lastAttackTime;
+    protected long lastAttackTime = Long.MIN_VALUE / 2; // never attacked
     protected long attackCooldownMs;
 
     /**
@@ -20,12 +20,19 @@ public abstract class WeaponBase implements Cloneable {
      *
      * @param attacker  player using the weapon
      * @param direction direction of the attack
+     * @param nowMillis current simulation time in milliseconds
      * @return true if attack should be processed
      */
-    public abstract boolean performAttack(Player attacker, Vector2D direction);
+    public abstract boolean performAttack(Player attacker, Vector2D direction, long nowMillis);
 
-    public boolean canAttack() {
-        return System.currentTimeMillis() - lastAttackTime >= attackCooldownMs;
+    /**
+     * Checks whether the weapon has cooled down since its last attack.
+     *
+     * @param nowMillis current simulation time in milliseconds
+     * @return true if the weapon may attack
+     */
+    public boolean canAttack(long nowMillis) {
+        return nowMillis - lastAttackTime >= attackCooldownMs;
     }
 
     public float getDamage() {
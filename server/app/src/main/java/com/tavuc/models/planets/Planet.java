@@ -1,6 +1,6 @@
 package com.tavuc.models.planets;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.function.Function;
@@ -25,7 +25,7 @@ public class Planet {
     private long seed;
     private ColorPallete colorPallete;
     private Map<Point, Chunk> chunks;
-    private PerlinUtility perlinUtility;
+    private volatile PerlinUtility perlinUtility;
     private List<Moon> moons;
     private int galaxyX;
     private int galaxyY;
@@ -55,25 +55,60 @@ public class Planet {
         this.galaxyX = galaxyX;
         this.galaxyY = galaxyY;
         this.colorPallete = generateColorPalette();
-        this.chunks = new HashMap<>();
+        this.chunks = new ConcurrentHashMap<>();
         this.perlinUtility = new PerlinUtility(seed);
         this.moons = new ArrayList<>();
     }
 
     /**
-     * Get the chunk at the specified point
+     * Get the chunk at the specified point, generating it on first use.
+     * Safe to call from several request workers; each chunk is generated exactly once.
      * @param chunkX the leftmost x coordinate of the chunk
      * @param chunkY the bottommost y coordinate of the chunk
      * @return the chunk at the specified point
      */
     public Chunk getChunk(int chunkX, int chunkY) {
-        Point chunkPos = new Point(chunkX, chunkY);
-        if (chunks.containsKey(chunkPos)) {
-            return chunks.get(chunkPos);
+        return chunks.computeIfAbsent(new Point(chunkX, chunkY), pos -> generateChunk(pos.x, pos.y));
+    }
+
+    /**
+     * Drops every generated chunk and the noise tables. Chunks are derived from the seed alone,
+     * so a later {@link #getChunk} regenerates exactly the same tiles; only the planet's
+     * descriptor (seed, type, palette and galaxy position) stays in memory.
+     * @return the number of chunks released
+     */
+    public int releaseChunks() {
+        int released = chunks.size();
+        chunks.clear();
+        perlinUtility = null;
+        return released;
+    }
+
+    /**
+     * Checks whether a chunk has been generated and is held in memory.
+     * @param chunkX the leftmost x coordinate of the chunk
+     * @param chunkY the bottommost y coordinate of the chunk
+     * @return true if {@link #getChunk} would not have to generate it
+     */
+    public boolean isChunkLoaded(int chunkX, int chunkY) {
+        return chunks.containsKey(new Point(chunkX, chunkY));
+    }
+
+    /**
+     * Gets the number of chunks currently held in memory.
+     * @return the loaded chunk count
+     */
+    public int getLoadedChunkCount() {
+        return chunks.size();
+    }
+
+    private PerlinUtility perlin() {
+        PerlinUtility perlin = perlinUtility;
+        if (perlin == null) {
+            perlin = new PerlinUtility(seed);
+            perlinUtility = perlin;
         }
-        Chunk newChunk = generateChunk(chunkX, chunkY);
-        chunks.put(chunkPos, newChunk);
-        return newChunk;
+        return perlin;
     }
 
     /**
@@ -88,6 +123,7 @@ public class Planet {
         double scale = 0.05; 
         int octaves = 4;
         double persistence = 0.5;
+        PerlinUtility perlinUtility = perlin();
 
         for (int localX = 0; localX < 16; localX++) {
             for (int localY = 0; localY < 16; localY++) {
@@ -29,7 +29,7 @@ public abstract class BaseShip extends GameObject {
         this.turnRate = turnRate;
         this.fireRate = fireRate;
         this.projectileDamage = projectileDamage;
-        this.lastFireTime = 0;
+        this.lastFireTime = Long.MIN_VALUE / 2; // never fired
         this.velocityX = 0f;
         this.velocityY = 0f;
     }
@@ -92,8 +92,13 @@ public abstract class BaseShip extends GameObject {
         }
     }
 
-    public boolean canFire() {
-        return System.currentTimeMillis() - lastFireTime >= 1000 / fireRate;
+    /**
+     * Checks whether the ship's guns are ready again.
+     * @param nowMillis The current simulation time in milliseconds.
+     * @return true if the ship may fire.
+     */
+    public boolean canFire(long nowMillis) {
+        return nowMillis - lastFireTime >= 1000 / fireRate;
     }
 
     public float getProjectileDamage() {
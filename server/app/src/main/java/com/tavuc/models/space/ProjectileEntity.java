@@ -1,5 +1,7 @@
 package com.tavuc.models.space;
 
+import com.tavuc.simulation.TimingWheel;
+
 /**
  * Represents a projectile entity on the server side.
  */
@@ -15,6 +17,7 @@ public class ProjectileEntity {
     private float damage;
     private String ownerId;
     private float lifetime;
+    private volatile TimingWheel.Timeout lifetimeTimer;
     
     /**
      * Constructor for ProjectileEntity.
@@ -155,4 +158,22 @@ public class ProjectileEntity {
     public float getLifetime() {
         return lifetime;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Gets the timer that removes this projectile at the end of its lifetime.
+     * 
+     * @return The timer, or null if none was scheduled
+     */
+    public TimingWheel.Timeout getLifetimeTimer() {
+        return lifetimeTimer;
+    }
+    
+    /**
+     * Sets the timer that removes this projectile at the end of its lifetime.
+     * 
+     * @param lifetimeTimer The timer
+     */
+    public void setLifetimeTimer(TimingWheel.Timeout lifetimeTimer) {
+        this.lifetimeTimer = lifetimeTimer;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tavuc.networking;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides at accept time whether a new connection gets a session.
+ * Enforces the session cap and a token bucket per remote address from the {@link AdmissionPolicy}.
+ */
+public class AdmissionController {
+
+    private static final int MAX_TRACKED_ADDRESSES = 4096;
+
+    private final AdmissionPolicy policy;
+    private final Map<String, TokenBucket> bucketsByAddress = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for AdmissionController
+     * @param policy The admission limits.
+     */
+    public AdmissionController(AdmissionPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Gets the limits this controller enforces.
+     * @return The admission policy.
+     */
+    public AdmissionPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Checks if a new connection may be admitted.
+     * @param remoteAddress The address the connection comes from.
+     * @param currentSessions The number of sessions currently open.
+     * @return null if the connection is admitted, otherwise the reason it is refused.
+     */
+    public String admit(String remoteAddress, int currentSessions) {
+        if (currentSessions >= policy.getMaxSessions()) {
+            return "Server is full (" + policy.getMaxSessions() + " sessions). Please try again later.";
+        }
+        if (bucketsByAddress.size() > MAX_TRACKED_ADDRESSES) {
+            bucketsByAddress.values().removeIf(TokenBucket::isFull);
+        }
+        TokenBucket bucket = bucketsByAddress.computeIfAbsent(remoteAddress,
+                address -> new TokenBucket(policy.getConnectBurstPerAddress(), policy.getConnectsPerMinutePerAddress() / 60.0));
+        if (!bucket.tryAcquire()) {
+            return "Too many connections from your address. Please wait a moment before reconnecting.";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.tavuc.networking;
+
+/**
+ * Limits on how fast and how many clients are let in, so a reconnect storm after a restart
+ * cannot starve the players already in the game. Connections beyond {@link #getMaxSessions()}
+ * or arriving faster than the per-address rate are turned away at accept time; logins, which
+ * read player files from disk, run a few at a time and the rest wait in a bounded queue.
+ */
+public final class AdmissionPolicy {
+
+    private final int maxSessions;
+    private final int connectsPerMinutePerAddress;
+    private final int connectBurstPerAddress;
+    private final int loginWorkers;
+    private final int loginQueueLimit;
+
+    /**
+     * Constructor for AdmissionPolicy
+     * @param maxSessions Maximum number of concurrent sessions.
+     * @param connectsPerMinutePerAddress Sustained connection rate allowed from one address.
+     * @param connectBurstPerAddress Connections one address may open at once before the rate applies.
+     * @param loginWorkers Number of logins processed in parallel.
+     * @param loginQueueLimit Number of logins that may wait for a worker before new ones are refused.
+     */
+    public AdmissionPolicy(int maxSessions, int connectsPerMinutePerAddress, int connectBurstPerAddress, int loginWorkers, int loginQueueLimit) {
+        this.maxSessions = Math.max(1, maxSessions);
+        this.connectsPerMinutePerAddress = Math.max(1, connectsPerMinutePerAddress);
+        this.connectBurstPerAddress = Math.max(1, connectBurstPerAddress);
+        this.loginWorkers = Math.max(1, loginWorkers);
+        this.loginQueueLimit = Math.max(1, loginQueueLimit);
+    }
+
+    /**
+     * Gets the maximum number of concurrent sessions.
+     * @return The session cap.
+     */
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Gets the sustained number of connections one address may open per minute.
+     * @return The per-address connection rate.
+     */
+    public int getConnectsPerMinutePerAddress() {
+        return connectsPerMinutePerAddress;
+    }
+
+    /**
+     * Gets the number of connections one address may open in a burst.
+     * @return The per-address burst size.
+     */
+    public int getConnectBurstPerAddress() {
+        return connectBurstPerAddress;
+    }
+
+    /**
+     * Gets the number of logins processed in parallel.
+     * @return The login worker count.
+     */
+    public int getLoginWorkers() {
+        return loginWorkers;
+    }
+
+    /**
+     * Gets the number of logins that may wait for a worker.
+     * @return The login queue limit.
+     */
+    public int getLoginQueueLimit() {
+        return loginQueueLimit;
+    }
+
+    @Override
+    public String toString() {
+        return "max " + maxSessions + " sessions, " + connectsPerMinutePerAddress + " connects/min per address (burst " + connectBurstPerAddress
+                + "), " + loginWorkers + " login worker(s) with queue " + loginQueueLimit;
+    }
+}
@@ -0,0 +1,302 @@
+package com.tavuc.networking;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import com.tavuc.models.planets.Chunk;
+import com.tavuc.networking.models.RequestChunkResponse;
+import com.tavuc.networking.models.TileData;
+import com.tavuc.networking.protocol.MessageCodecs;
+import com.tavuc.networking.protocol.WireFormat;
+import com.tavuc.networking.protocol.WireWriter;
+
+/**
+ * Encoded chunk responses shared by every session.
+ * The tiles of a chunk never change once it has been generated, so its REQUEST_CHUNK_RESPONSE is
+ * encoded once per wire format and the bytes are reused for every later request; only the
+ * request id, which is the last field of the response, is written per request. Concurrent
+ * requests for a chunk that is not cached yet wait for a single encoding. Entries are evicted
+ * least recently used once their total size exceeds the byte budget.
+ */
+public final class ChunkPayloadCache {
+
+    private static final Gson GSON = new Gson();
+    private static final String JSON_REQUEST_ID = "\"requestId\":0";
+
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor for ChunkPayloadCache
+     * @param maxBytes The total size of the cached payloads, or 0 to encode every request without caching.
+     */
+    public ChunkPayloadCache(long maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Gets the complete response frame for a chunk request.
+     * @param gameId The game whose planet the chunk belongs to.
+     * @param chunkX The chunk x coordinate.
+     * @param chunkY The chunk y coordinate.
+     * @param format The wire format of the requesting session.
+     * @param requestId The id the client attached to the request.
+     * @param loader Generates or looks up the chunk on a miss. Called at most once per cached entry.
+     * @return A frame ready to be sent, or null if the loader found no chunk.
+     */
+    public ByteBuffer frameFor(int gameId, int chunkX, int chunkY, WireFormat format, int requestId, Supplier<Chunk> loader) {
+        if (maxBytes == 0) {
+            misses.increment();
+            Payload payload = encode(loader.get(), chunkX, chunkY, format);
+            return payload != null ? payload.frame(requestId) : null;
+        }
+
+        Key key = new Key(gameId, chunkX, chunkY, format);
+        Entry entry;
+        boolean owner = false;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+                owner = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (owner) {
+            misses.increment();
+            load(key, entry, loader);
+        } else {
+            hits.increment();
+        }
+        Payload payload = entry.payload.join();
+        return payload != null ? payload.frame(requestId) : null;
+    }
+
+    private void load(Key key, Entry entry, Supplier<Chunk> loader) {
+        Payload payload;
+        try {
+            payload = encode(loader.get(), key.chunkX, key.chunkY, key.format);
+        } catch (RuntimeException | Error e) {
+            remove(key, entry);
+            entry.payload.completeExceptionally(e);
+            throw e;
+        }
+        if (payload == null) {
+            remove(key, entry);
+            entry.payload.complete(null);
+            return;
+        }
+        lock.lock();
+        try {
+            entry.payload.complete(payload);
+            if (entries.get(key) == entry) {
+                entry.size = payload.size();
+                cachedBytes += entry.size;
+                evict();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Key key, Entry entry) {
+        lock.lock();
+        try {
+            entries.remove(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every cached payload of a game, for instance when its planet releases its chunks.
+     * @param gameId The game whose payloads are dropped.
+     * @return The number of payloads dropped.
+     */
+    public int invalidateGame(int gameId) {
+        lock.lock();
+        try {
+            int dropped = 0;
+            Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, Entry> next = iterator.next();
+                if (next.getKey().gameId == gameId) {
+                    iterator.remove();
+                    cachedBytes -= next.getValue().size;
+                    dropped++;
+                }
+            }
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (cachedBytes > maxBytes && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest.size == 0) {
+                continue;
+            }
+            iterator.remove();
+            cachedBytes -= eldest.size;
+            evictions.increment();
+        }
+    }
+
+    private static Payload encode(Chunk chunk, int chunkX, int chunkY, WireFormat format) {
+        if (chunk == null) {
+            return null;
+        }
+        List<TileData> tiles = chunk.getTilesList().stream()
+            .map(tile -> new TileData(tile.getX(), tile.getY(), tile.getType(), tile.getColorType().name()))
+            .collect(Collectors.toList());
+        RequestChunkResponse response = new RequestChunkResponse(chunkX, chunkY, tiles, 0);
+        if (format == WireFormat.BINARY) {
+            WireWriter out = new WireWriter();
+            MessageCodecs.encode(response, out);
+            int length = out.size();
+            ByteBuffer frame = out.toFrame();
+            // The body follows the length prefix; its last byte is the request id 0.
+            byte[] head = new byte[length - 1];
+            frame.position(frame.limit() - length);
+            frame.get(head);
+            return new Payload(format, head, new byte[0]);
+        }
+        String json = GSON.toJson(response);
+        int split = json.lastIndexOf(JSON_REQUEST_ID) + JSON_REQUEST_ID.length() - 1;
+        return new Payload(format,
+            json.substring(0, split).getBytes(StandardCharsets.UTF_8),
+            (json.substring(split + 1) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the total size of the cached payloads.
+     * @return The cached size in bytes.
+     */
+    public long getCachedBytes() {
+        lock.lock();
+        try {
+            return cachedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of requests answered from the cache.
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of requests that had to encode the chunk.
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return entries.size() + " chunk payload(s), " + cachedBytes + " of " + maxBytes + " bytes, "
+                + hits.sum() + " hit(s), " + misses.sum() + " miss(es), " + evictions.sum() + " eviction(s)";
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A cached response split around its request id.
+     */
+    private static final class Payload {
+        private final WireFormat format;
+        private final byte[] head;
+        private final byte[] tail;
+
+        Payload(WireFormat format, byte[] head, byte[] tail) {
+            this.format = format;
+            this.head = head;
+            this.tail = tail;
+        }
+
+        int size() {
+            return head.length + tail.length;
+        }
+
+        ByteBuffer frame(int requestId) {
+            if (format == WireFormat.BINARY) {
+                WireWriter out = new WireWriter(head.length + 5);
+                out.writeBytes(head);
+                out.writeVarInt(requestId);
+                return out.toFrame();
+            }
+            byte[] id = Integer.toString(requestId).getBytes(StandardCharsets.US_ASCII);
+            ByteBuffer line = ByteBuffer.allocate(head.length + id.length + tail.length);
+            line.put(head).put(id).put(tail);
+            line.flip();
+            return line;
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Payload> payload = new CompletableFuture<>();
+        private int size;
+    }
+
+    private static final class Key {
+        private final int gameId;
+        private final int chunkX;
+        private final int chunkY;
+        private final WireFormat format;
+
+        Key(int gameId, int chunkX, int chunkY, WireFormat format) {
+            this.gameId = gameId;
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.format = format;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return gameId == other.gameId && chunkX == other.chunkX && chunkY == other.chunkY && format == other.format;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(gameId, chunkX, chunkY, format);
+        }
+    }
+}
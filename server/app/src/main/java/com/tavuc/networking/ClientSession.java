@@ -1,203 +1,579 @@
 package com.tavuc.networking;
 
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.tavuc.networking.models.*; 
 import com.tavuc.networking.models.ShipUpdateRequest;
+import com.tavuc.networking.protocol.FrameCompressor;
+import com.tavuc.networking.protocol.MessageCodecs;
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.WireFormat;
+import com.tavuc.networking.transport.Connection;
+import com.tavuc.networking.transport.ConnectionHandler;
+import com.tavuc.networking.transport.Framing;
 import com.tavuc.managers.CombatManager;
 import com.tavuc.exceptions.AuthenticationException;
 import com.tavuc.exceptions.GameJoinException;
+import com.tavuc.exceptions.ProtocolException;
 import com.tavuc.exceptions.RegistrationException;
 import com.tavuc.managers.AuthManager;
 import com.tavuc.managers.GameManager;
 import com.tavuc.managers.LobbyManager;
 import com.tavuc.managers.NetworkManager;
 import com.tavuc.models.entities.Player;
-import com.tavuc.models.planets.Chunk;
 import com.tavuc.models.planets.ColorPallete;
 import com.tavuc.models.planets.Game;
 import com.tavuc.models.planets.Tile;
 import com.tavuc.models.space.PlayerShip;
 import com.tavuc.models.space.Ship;
+import com.tavuc.simulation.DegradationLevel;
 
-public class ClientSession implements Runnable {
+public class ClientSession implements ConnectionHandler {
 
-    private final Socket clientSocket;
+    /** First protocol version whose clients answer PING, so silence means the connection is gone. */
+    private static final int HEARTBEAT_MIN_VERSION = 6;
+
+    /** Gson is thread-safe, so every session shares one instance and its type adapter cache. */
+    private static final Gson GSON = new Gson();
+
+    /** Encodes chunk responses per request when the session has no network manager to share a cache through. */
+    private static final ChunkPayloadCache UNCACHED_CHUNKS = new ChunkPayloadCache(0);
+
+    /** How long an overloaded game puts off generating a chunk nobody has seen yet. */
+    private static final long CHUNK_DEFER_MILLIS = 250;
+
+    private final Connection connection;
     private final AuthManager authService;
-    private final Gson gson = new Gson();
     private final LobbyManager lobbyService;
     private NetworkManager networkManager; 
     private GameManager currentGameService;
-    private PrintWriter out;
-    private BufferedReader in;
-    private Player player;
+    private volatile Player player;
     private final String sessionId;
-    private volatile boolean running = true;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private volatile WireFormat wireFormat = WireFormat.JSON;
+    private volatile UdpBinding udpBinding;
+    private volatile FrameCompressor compressor;
+    private volatile long resumeToken;
+    private final LatencyTracker latency = new LatencyTracker();
+    private volatile long lastHeardNanos = System.nanoTime();
+    private volatile boolean heartbeatEnabled;
+    private volatile String refusalReason;
+    private final AtomicBoolean loginPending = new AtomicBoolean(false);
+    private final InboundRateLimiter rateLimiter;
+    private final AtomicBoolean rateLimitReported = new AtomicBoolean(false);
+    private final InputSlot<ShipUpdateRequest> shipInput = new InputSlot<>();
+    private final InputSlot<PlayerUpdateRequest> playerInput = new InputSlot<>();
     private ClientSessionListener sessionListener;
 
     /**
      * Constructor for ClientSession
-     * @param socket The client socket for this session
+     * @param connection The transport connection for this session
      * @param authService The authentication service to handle user authentication
      * @param lobbyService The game lobby service to manage game sessions
+     * @param networkManager The network manager owning this session
      */
-    public ClientSession(Socket socket, AuthManager authService, LobbyManager lobbyService) {
-        this.clientSocket = socket;
+    public ClientSession(Connection connection, AuthManager authService, LobbyManager lobbyService, NetworkManager networkManager) {
+        this.connection = connection;
         this.authService = authService;
         this.lobbyService = lobbyService;
+        this.networkManager = networkManager; 
         this.sessionId = UUID.randomUUID().toString();
         this.currentGameService = null;
+        this.rateLimiter = networkManager != null ? new InboundRateLimiter(networkManager.getConfig().getInboundRatePolicy()) : null;
+        System.out.println("Client session " + sessionId + " started for " + connection.getRemoteAddress());
     }
 
-    public ClientSession(Socket socket, AuthManager authService, LobbyManager lobbyService, NetworkManager networkManager) {
-        this.clientSocket = socket;
-        this.authService = authService;
-        this.lobbyService = lobbyService;
-        this.networkManager = networkManager; 
-        this.sessionId = UUID.randomUUID().toString();
-        this.currentGameService = null;
+    /**
+     * Called by the transport for every message received from the client.
+     * @param message The raw message received from the client.
+     */
+    @Override
+    public void onMessage(String message) {
+        lastHeardNanos = System.nanoTime();
+        if (running.get()) {
+            processMessage(message);
+        }
     }
 
     /**
-     * Starts the client session in a new thread.
+     * Called by the transport once the underlying connection is gone.
      */
-    public void start() {
-        new Thread(this).start();
+    @Override
+    public void onDisconnected() {
+        close("Client disconnected or error", true);
     }
 
     /**
-     * The main run method for the client session.
-     * It handles reading messages from the client and processing them.
+     * Called by the transport for every binary frame once the session speaks the binary protocol.
+     * @param frame The frame body received from the client.
      */
     @Override
-    public void run() {
-        try {
-            out = new PrintWriter(clientSocket.getOutputStream(), true);
-            in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
-            System.out.println("Client session " + sessionId + " started for " + clientSocket.getInetAddress().getHostAddress());
+    public void onFrame(byte[] frame) {
+        lastHeardNanos = System.nanoTime();
+        if (!running.get()) {
+            return;
+        }
+        if (admitFrame(() -> dispatchFrame(frame))) {
+            dispatchFrame(frame);
+        }
+    }
 
-            String message;
-            while (running && (message = in.readLine()) != null) {
-                processMessage(message);
-            }
-        } catch (IOException e) {
-            if (running) {
-                System.err.println("IOException in session " + sessionId + ": " + e.getMessage());
+    /**
+     * Decodes and handles a binary frame that the general rate limit has let through.
+     * @param frame The frame body received from the client.
+     */
+    private void dispatchFrame(byte[] frame) {
+        Opcode opcode = MessageCodecs.peekOpcode(frame);
+        if (opcode == null || opcode == Opcode.BUNDLE || opcode == Opcode.COMPRESSED) {
+            // The message types are only known after unpacking, so their own budgets apply one message at a time.
+            for (BaseMessage message : decodeFrame(frame)) {
+                if (!running.get()) {
+                    // A message earlier in the bundle closed the session; the rest is not handled.
+                    return;
+                }
+                if (admitInbound(message.type, false, () -> handleMessage(message))) {
+                    handleMessage(message);
+                }
             }
-        } finally {
-            close("Client disconnected or error");
+        } else if (admitInbound(opcode.getType(), true, () -> decodeFrame(frame).forEach(this::handleMessage))) {
+            decodeFrame(frame).forEach(this::handleMessage);
+        }
+    }
+
+    /**
+     * Decodes a binary frame, answering malformed ones with an error.
+     * @param frame The frame body received from the client.
+     * @return The messages carried by the frame, empty if it is malformed.
+     */
+    private List<BaseMessage> decodeFrame(byte[] frame) {
+        try {
+            return MessageCodecs.decodeAll(frame, compressor);
+        } catch (ProtocolException e) {
+            System.err.println("Session " + sessionId + ": Dropping malformed frame of " + frame.length + " bytes: " + e.getMessage());
+            sendMessage(new ErrorMessage("Malformed frame: " + e.getMessage()));
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Called by the {@link UdpRouter} for every datagram received over this session's UDP channel,
+     * before its messages are decoded. Datagrams carry latest state that the next one replaces, so
+     * one over the general rate limit is dropped rather than held back.
+     * @return true if the datagram may be decoded and handled.
+     */
+    boolean admitDatagram() {
+        if (rateLimiter == null || !running.get()) {
+            return running.get();
+        }
+        if (rateLimiter.acquireFrame(false) == 0) {
+            return true;
         }
+        refuseInbound("datagrams");
+        return false;
     }
 
     /**
-     * Processes incoming messages from the client.
+     * Called by the {@link UdpRouter} for every latest-state message received over this session's UDP channel.
+     * @param message The decoded message.
+     */
+    void onDatagramMessage(BaseMessage message) {
+        lastHeardNanos = System.nanoTime();
+        if (running.get() && admitInbound(message.type, false, () -> handleMessage(message))) {
+            handleMessage(message);
+        }
+    }
+
+    /**
+     * Processes incoming JSON messages from the client.
+     * The general rate limit is applied to the raw line, and the budget of the message's type once
+     * the type has been read from the start of the line; only then is the whole line bound to the
+     * concrete message class named by its type.
      * @param jsonMessage The raw message received from the client.
      */
     public void processMessage(String jsonMessage) {
+        if (admitFrame(() -> dispatchLine(jsonMessage))) {
+            dispatchLine(jsonMessage);
+        }
+    }
+
+    /**
+     * Reads the type of a JSON message that the general rate limit has let through and handles it
+     * if the budget of its type allows.
+     * @param jsonMessage The raw message received from the client.
+     */
+    private void dispatchLine(String jsonMessage) {
+        String messageType;
         try {
-            BaseMessage baseMsg = gson.fromJson(jsonMessage, BaseMessage.class);
-            String messageType = baseMsg.type;
+            messageType = peekType(jsonMessage);
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            System.err.println("Session " + sessionId + ": Malformed message '" + jsonMessage + "': " + e.getMessage());
+            sendMessage(new ErrorMessage("Malformed message: " + e.getMessage()));
+            return;
+        }
+        if (admitInbound(messageType, true, () -> bindAndHandle(jsonMessage, messageType))) {
+            bindAndHandle(jsonMessage, messageType);
+        }
+    }
+
+    /**
+     * Reads the type of a JSON message without building the rest of it. Stops at the type field,
+     * which clients send first, and skips over any fields before it without keeping them.
+     * @param jsonMessage The raw message.
+     * @return The message type, or null if the message has none.
+     * @throws IOException If the message is not well-formed JSON up to its type field.
+     */
+    private static String peekType(String jsonMessage) throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(jsonMessage));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("type".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                return reader.nextString();
+            }
+            reader.skipValue();
+        }
+        return null;
+    }
+
+    /**
+     * Binds a JSON message to the concrete message class named by its type and handles it.
+     * @param jsonMessage The raw message.
+     * @param messageType The message type.
+     */
+    private void bindAndHandle(String jsonMessage, String messageType) {
+        Class<? extends BaseMessage> messageClass = MessageCodecs.messageClassFor(messageType);
+        if (messageClass == null) {
+            sendMessage(new ErrorMessage("UNKNOWN_COMMAND " + messageType));
+            return;
+        }
+        BaseMessage message;
+        try {
+            message = GSON.fromJson(jsonMessage, messageClass);
+            message.type = messageType;
+        } catch (JsonParseException | IllegalStateException e) {
+            System.err.println("Session " + sessionId + ": Malformed message '" + jsonMessage + "': " + e.getMessage());
+            sendMessage(new ErrorMessage("Malformed message: " + e.getMessage()));
+            return;
+        }
+        handleMessage(message);
+    }
+
+    /**
+     * Applies the session's general inbound rate limit to a line or frame that has not been decoded
+     * at all yet, so the limit also covers messages wrapped in bundles or compressed frames.
+     * @param deferred Decodes and handles the frame later, if the policy delays it.
+     * @return true if the caller should decode and handle the frame now.
+     */
+    private boolean admitFrame(Runnable deferred) {
+        if (rateLimiter == null) {
+            return true;
+        }
+        return applyLimit(rateLimiter.acquireFrame(true), "all messages", deferred);
+    }
+
+    /**
+     * Applies the budget of a message's type to a message whose type is known but whose payload
+     * has not been decoded yet. A message over the limit is dropped, held back until the limit allows
+     * it, or gets the session closed, as the {@link InboundRatePolicy} says.
+     * @param messageType The message type.
+     * @param aloneInFrame Whether the message was the only one in its line or frame.
+     * @param deferred Decodes and handles the message later, if the policy delays it.
+     * @return true if the caller should handle the message now.
+     */
+    private boolean admitInbound(String messageType, boolean aloneInFrame, Runnable deferred) {
+        if (rateLimiter == null) {
+            return true;
+        }
+        return applyLimit(rateLimiter.acquire(messageType, aloneInFrame), messageType, deferred);
+    }
+
+    /**
+     * Acts on the answer of the rate limiter for one line, frame or message.
+     * @param waitNanos 0 to go ahead, the nanoseconds to hold it back, or -1 if it is over the limit.
+     * @param what What was limited, for the log.
+     * @param deferred Handles it later, if it is held back.
+     * @return true if the caller should handle it now.
+     */
+    private boolean applyLimit(long waitNanos, String what, Runnable deferred) {
+        if (waitNanos == 0) {
+            return true;
+        }
+        if (waitNanos > 0) {
+            ScheduledExecutorService scheduler = networkManager.getScheduler();
+            if (scheduler == null) {
+                return true;
+            }
+            try {
+                scheduler.schedule(() -> {
+                    if (running.get()) {
+                        deferred.run();
+                    }
+                }, waitNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; nothing left to handle the message for.
+            }
+            return false;
+        }
+        refuseInbound(what);
+        return false;
+    }
+
+    /**
+     * Reports a message over the inbound rate limit and closes the session if the policy says so.
+     * @param what What went over the limit.
+     */
+    private void refuseInbound(String what) {
+        RateLimitAction action = rateLimiter.getPolicy().getAction();
+        if (rateLimitReported.compareAndSet(false, true)) {
+            System.err.println("Session " + sessionId + ": Inbound rate limit for " + what + " exceeded (Player ID: " + getPlayerId() + "), action: "
+                    + action.name().toLowerCase() + ". Further violations are only counted.");
+        }
+        if (action == RateLimitAction.DISCONNECT) {
+            sendMessage(new ErrorMessage("Rate limit for " + what + " exceeded. Disconnecting."));
+            close("Inbound rate limit for " + what + " exceeded");
+        }
+    }
 
-            if (!isAuthenticated() && !("REGISTER_REQUEST".equals(messageType) || "LOGIN_REQUEST".equals(messageType))) {
-                sendMessage(gson.toJson(new ErrorMessage("Not authenticated. Please login or register.")));
+    /**
+     * Dispatches a decoded message to its handler, whichever encoding it arrived in.
+     * Under the NIO transport this runs on an event loop shared with other sessions, so handlers
+     * must not block: logins go to the login pool, chunk and planet requests to the request pool,
+     * and player files to the network manager's player writer.
+     * @param message The message received from the client.
+     */
+    private void handleMessage(BaseMessage message) {
+        if (!running.get()) {
+            return;
+        }
+        String messageType = message.type;
+        String refusal = refusalReason;
+        if (refusal != null) {
+            sendMessage(new ErrorMessage(refusal));
+            close(refusal);
+            return;
+        }
+        try {
+            if (!isAuthenticated() && !("REGISTER_REQUEST".equals(messageType) || "LOGIN_REQUEST".equals(messageType) || "RESUME_REQUEST".equals(messageType) || "PROTOCOL_HELLO".equals(messageType) || "PONG".equals(messageType))) {
+                sendMessage(new ErrorMessage("Not authenticated. Please login or register."));
                 return;
             }
 
             switch (messageType) {
+                case "PROTOCOL_HELLO":
+                    handleProtocolHello((ProtocolHello) message);
+                    break;
+                case "PONG":
+                    latency.addSample(System.nanoTime() - ((Pong) message).timestamp);
+                    break;
                 case "REGISTER_REQUEST":
-                    handleRegisterCommand(jsonMessage);
+                    RegisterRequest registerRequest = (RegisterRequest) message;
+                    submitLogin(() -> handleRegisterCommand(registerRequest), new RegisterResponse(false, "Server busy. Please try again in a moment.", null));
                     break;
                 case "LOGIN_REQUEST":
-                    handleLoginCommand(jsonMessage);
+                    LoginRequest loginRequest = (LoginRequest) message;
+                    submitLogin(() -> handleLoginCommand(loginRequest), new LoginResponse(false, "Server busy. Please try again in a moment.", null, null));
+                    break;
+                case "RESUME_REQUEST":
+                    handleResumeCommand((ResumeRequest) message);
                     break;
                 case "LIST_GAMES_REQUEST":
                     handleListGamesCommand();
                     break;
                 case "JOIN_GAME_REQUEST":
-                    handleJoinGameCommand(jsonMessage);
+                    handleJoinGameCommand((JoinGameRequest) message);
                     break;
                 case "LEAVE_GAME_REQUEST":
                     handleLeaveGameCommand();
                     break;
                 case "PLAYER_UPDATE_REQUEST":
-                    handleUpdatePlayerCommand(jsonMessage);
+                    handleUpdatePlayerCommand((PlayerUpdateRequest) message);
                     break;
                 case "GET_PLAYERS_REQUEST":
-                    handleGetPlayersCommand(jsonMessage);
+                    handleGetPlayersCommand((GetPlayersRequest) message);
                     break;
                 case "REQUEST_CHUNK_REQUEST":
-                    handleRequestChunkCommand(jsonMessage);
+                    handleRequestChunkCommand((RequestChunkRequest) message);
                     break;
                 case "REQUEST_PALETTE_REQUEST":
-                    handleRequestPaletteCommand(jsonMessage);
+                    handleRequestPaletteCommand((RequestPaletteRequest) message);
                     break;
                 case "REQUEST_PLANETS_AREA_REQUEST":
-                    handleRequestPlanetsAreaCommand(jsonMessage);
+                    handleRequestPlanetsAreaCommand((RequestPlanetsAreaRequest) message);
                     break;
                 case "SHIP_UPDATE_REQUEST":
-                    handleShipUpdateCommand(jsonMessage);
+                    handleShipUpdateCommand((ShipUpdateRequest) message);
                     break;
                 case "ATTACK_REQUEST":
-                    handleAttackRequest(jsonMessage);
+                    handleAttackRequest((AttackRequest) message);
                     break;
                 case "PARRY_REQUEST":
-                    handleParryRequest(jsonMessage);
+                    handleParryRequest((ParryRequest) message);
                     break;
                 case "FIRE_REQUEST":
-                    handleFireRequest(jsonMessage);
+                    handleFireRequest((FireRequest) message);
                     break;
                 default:
-                    sendMessage(gson.toJson(new ErrorMessage("UNKNOWN_COMMAND " + messageType)));
+                    sendMessage(new ErrorMessage("UNKNOWN_COMMAND " + messageType));
                     break;
             }
         } catch (Exception e) {
-            System.err.println("Error processing command '" + jsonMessage + "' in session " + sessionId + ": " + e.getMessage());
+            System.err.println("Error processing command '" + messageType + "' in session " + sessionId + ": " + e.getMessage());
             e.printStackTrace();
-            sendMessage(gson.toJson(new ErrorMessage("Processing command failed: " + e.getMessage())));
+            sendMessage(new ErrorMessage("Processing command failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Handles the PROTOCOL_HELLO handshake. The acknowledgement is always sent as JSON;
+     * if binary was agreed, every following message in both directions is a binary frame.
+     * The handshake must happen before login so no broadcast can race the switch.
+     * @param req The hello sent by the client.
+     */
+    private void handleProtocolHello(ProtocolHello req) {
+        if (wireFormat != WireFormat.JSON || isAuthenticated()) {
+            sendMessage(new ErrorMessage("PROTOCOL_HELLO must be the first message of a session."));
+            return;
+        }
+        boolean binaryOffered = req.encodings != null && req.encodings.contains(WireFormat.BINARY.getWireName());
+        boolean binary = binaryOffered
+            && req.version == MessageCodecs.PROTOCOL_VERSION
+            && networkManager != null
+            && networkManager.getConfig().isBinaryProtocolEnabled();
+        WireFormat agreed = binary ? WireFormat.BINARY : WireFormat.JSON;
+        boolean deflate = binary
+            && req.compression != null
+            && req.compression.contains(FrameCompressor.DEFLATE)
+            && networkManager.getConfig().isCompressionEnabled();
+
+        heartbeatEnabled = req.version >= HEARTBEAT_MIN_VERSION;
+        writeLine(GSON.toJson(new ProtocolHelloAck(MessageCodecs.PROTOCOL_VERSION, agreed.getWireName(), deflate ? FrameCompressor.DEFLATE : null)), false);
+        if (binary) {
+            if (deflate) {
+                compressor = new FrameCompressor(networkManager.getConfig().getCompressionThresholdBytes());
+            }
+            connection.setFraming(Framing.LENGTH_PREFIXED);
+            wireFormat = WireFormat.BINARY;
+        }
+        System.out.println("Session " + sessionId + ": Protocol negotiated: " + agreed.getWireName() + (deflate ? " with deflate" : "") + " (client version " + req.version + ").");
+    }
+
+    /**
+     * Marks a connection that admission control turned away. The session is never listed as active;
+     * the client's first message, normally its protocol hello, is answered with the reason and the
+     * connection is closed, so the client can tell a full server from a network failure.
+     * @param reason Why the connection was refused.
+     */
+    public void refuse(String reason) {
+        this.refusalReason = reason;
+    }
+
+    /**
+     * Runs a login or registration on the network manager's login pool. Only a few run at once and
+     * the rest wait in a bounded queue; a client that has to wait is told its position first, and
+     * one arriving when the queue is full gets the busy response. One login per session may be pending.
+     * RESUME is not queued: it reads nothing from disk and is what most clients send after a restart.
+     * @param work The login handler.
+     * @param busyResponse The response sent if the queue is full.
+     */
+    private void submitLogin(Runnable work, BaseMessage busyResponse) {
+        ThreadPoolExecutor executor = networkManager != null ? networkManager.getLoginExecutor() : null;
+        if (executor == null) {
+            work.run();
+            return;
+        }
+        if (!loginPending.compareAndSet(false, true)) {
+            sendMessage(new ErrorMessage("A login is already in progress."));
+            return;
+        }
+        int ahead = executor.getActiveCount() >= executor.getMaximumPoolSize() ? executor.getQueue().size() : -1;
+        if (ahead >= 0 && executor.getQueue().remainingCapacity() > 0) {
+            sendMessage(new LoginQueued(ahead + 1));
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (running.get()) {
+                        work.run();
+                    }
+                } catch (Exception e) {
+                    System.err.println("Session " + sessionId + ": Error during login: " + e.getMessage());
+                    e.printStackTrace();
+                    sendMessage(new ErrorMessage("Processing command failed: " + e.getMessage()));
+                } finally {
+                    loginPending.set(false);
+                    Player loggedIn = player;
+                    if (!running.get() && loggedIn != null) {
+                        // The session closed while the login ran, after close() looked for a player to log out
+                        // and a ship to remove.
+                        if (authService != null) {
+                            authService.logout(loggedIn);
+                        }
+                        if (networkManager != null) {
+                            networkManager.removePlayerShip(loggedIn.getId(), this);
+                        }
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loginPending.set(false);
+            System.err.println("Session " + sessionId + ": Login queue full. Refusing login.");
+            sendMessage(busyResponse);
         }
     }
 
     /**
      * Handles the REGISTER command from the client.
-     * @param jsonMessage The full message containing the command and parameters.
+     * @param req The request sent by the client.
      */
-    private void handleRegisterCommand(String jsonMessage) {
-        RegisterRequest req = gson.fromJson(jsonMessage, RegisterRequest.class);
+    private void handleRegisterCommand(RegisterRequest req) {
         try {
             Player registeredPlayer = authService.register(req.username, req.password);
             try {
                 Player loggedInPlayer = authService.login(req.username, req.password);
                 setAuthenticatedPlayer(loggedInPlayer);
-                sendMessage(gson.toJson(new LoginResponse(true, "Login successful after registration.", loggedInPlayer.getIdAsString(), loggedInPlayer.getUsername())));
+                sendMessage(successfulLoginResponse("Login successful after registration.", loggedInPlayer));
             } catch (AuthenticationException ae) {
-                sendMessage(gson.toJson(new RegisterResponse(true, "Registration successful, but login failed: " + ae.getMessage(), registeredPlayer.getIdAsString())));
+                sendMessage(new RegisterResponse(true, "Registration successful, but login failed: " + ae.getMessage(), registeredPlayer.getIdAsString()));
             }
         } catch (RegistrationException e) {
-            sendMessage(gson.toJson(new RegisterResponse(false, e.getMessage(), null)));
+            sendMessage(new RegisterResponse(false, e.getMessage(), null));
         }
     }
 
     /**
      * Handles the LOGIN command from the client.
-     * @param jsonMessage The full message containing the command and parameters.
+     * @param req The request sent by the client.
      */
-    private void handleLoginCommand(String jsonMessage) {
-        LoginRequest req = gson.fromJson(jsonMessage, LoginRequest.class);
+    private void handleLoginCommand(LoginRequest req) {
         try {
             Player loggedInPlayer = authService.login(req.username, req.password);
             setAuthenticatedPlayer(loggedInPlayer);
-            sendMessage(gson.toJson(new LoginResponse(true, "Login successful.", loggedInPlayer.getIdAsString(), loggedInPlayer.getUsername())));
+            sendMessage(successfulLoginResponse("Login successful.", loggedInPlayer));
 
-            if (networkManager != null && loggedInPlayer != null) {
+            if (networkManager != null && loggedInPlayer != null && running.get()) {
+                networkManager.getResumeRegistry().revokePlayer(loggedInPlayer.getId());
                 networkManager.ensureSingleSessionForPlayer(loggedInPlayer.getId(), this.sessionId);
 
 
@@ -212,13 +588,120 @@ public class ClientSession implements Runnable {
                     true,
                     this
                 );
+                if (!running.get()) {
+                    // Closed while the ship was created; the login pool's cleanup removes it again.
+                    return;
+                }
                 networkManager.sendActiveShipsToSession(this);
                 System.out.println("Session " + sessionId + ": Player " + loggedInPlayer.getId() + " logged in. Ship restored/created in space at X: " + loggedInPlayer.getLastSpaceX() + ", Y: " + loggedInPlayer.getLastSpaceY());
             }
 
         } catch (AuthenticationException e) {
-            sendMessage(gson.toJson(new LoginResponse(false, e.getMessage(), null, null)));
+            sendMessage(new LoginResponse(false, e.getMessage(), null, null));
+        }
+    }
+
+    /**
+     * Builds the response to a successful login. Binary sessions are also offered the UDP
+     * channel for latest-state traffic, if the server runs one.
+     * @param message The message shown to the user.
+     * @param loggedInPlayer The player that logged in.
+     * @return The login response.
+     */
+    private LoginResponse successfulLoginResponse(String message, Player loggedInPlayer) {
+        String token = issueResumeToken();
+        UdpRouter router = udpRouter();
+        if (router == null || wireFormat != WireFormat.BINARY) {
+            return new LoginResponse(true, message, loggedInPlayer.getIdAsString(), loggedInPlayer.getUsername(), 0, null, token);
+        }
+        if (udpBinding == null) {
+            udpBinding = router.register(this);
         }
+        return new LoginResponse(true, message, loggedInPlayer.getIdAsString(), loggedInPlayer.getUsername(),
+                router.getPort(), Long.toUnsignedString(udpBinding.getToken(), 16), token);
+    }
+
+    /**
+     * Issues the token this session can later be resumed with.
+     * @return The token as unsigned hex, or null if the server does not resume sessions.
+     */
+    private String issueResumeToken() {
+        ResumeRegistry registry = networkManager != null ? networkManager.getResumeRegistry() : null;
+        if (registry == null || !registry.isEnabled()) {
+            return null;
+        }
+        resumeToken = registry.issueToken();
+        return Long.toUnsignedString(resumeToken, 16);
+    }
+
+    /**
+     * Handles the RESUME command from a client reconnecting after its connection dropped.
+     * The player and its game membership are restored from memory, so nothing is read from disk
+     * and the client keeps the planets, palette and chunks it already has.
+     * @param req The request sent by the client.
+     */
+    private void handleResumeCommand(ResumeRequest req) {
+        if (isAuthenticated()) {
+            sendMessage(new ResumeResponse(false, "Already logged in."));
+            return;
+        }
+        ResumeRegistry registry = networkManager != null ? networkManager.getResumeRegistry() : null;
+        ResumeTicket ticket = null;
+        if (registry != null && req.resumeToken != null) {
+            try {
+                ticket = registry.claim(Long.parseUnsignedLong(req.resumeToken, 16));
+            } catch (NumberFormatException e) {
+                ticket = null;
+            }
+        }
+        if (ticket == null) {
+            sendMessage(new ResumeResponse(false, "Session expired. Please log in again."));
+            return;
+        }
+
+        Player resumedPlayer = ticket.getPlayer();
+        try {
+            authService.resume(resumedPlayer);
+        } catch (AuthenticationException e) {
+            sendMessage(new ResumeResponse(false, e.getMessage()));
+            return;
+        }
+        setAuthenticatedPlayer(resumedPlayer);
+        networkManager.ensureSingleSessionForPlayer(resumedPlayer.getId(), this.sessionId);
+
+        String gameId = null;
+        List<PlayerInitialData> playersInGameData = null;
+        if (ticket.getGameId() != 0) {
+            try {
+                GameManager rejoinedGame = lobbyService.joinGame(this, ticket.getGameId());
+                this.currentGameService = rejoinedGame;
+                gameId = String.valueOf(rejoinedGame.getGameId());
+                playersInGameData = rejoinedGame.getPlayersInGame().stream()
+                    .map(p -> new PlayerInitialData(p.getIdAsString(), p.getUsername(), p.getX(), p.getY(), p.getDx(), p.getDy(), p.getDirectionAngle()))
+                    .collect(Collectors.toList());
+            } catch (GameJoinException e) {
+                System.out.println("Session " + sessionId + ": Could not rejoin game " + ticket.getGameId() + " for player " + resumedPlayer.getId() + ": " + e.getMessage());
+                setAuthenticatedPlayer(null);
+                authService.logout(resumedPlayer);
+                sendMessage(new ResumeResponse(false, "Could not rejoin game: " + e.getMessage() + " Please log in again."));
+                return;
+            }
+        }
+
+        String token = issueResumeToken();
+        UdpRouter router = wireFormat == WireFormat.BINARY ? udpRouter() : null;
+        if (router != null && udpBinding == null) {
+            udpBinding = router.register(this);
+        }
+        sendMessage(new ResumeResponse(true, "Session resumed.", resumedPlayer.getIdAsString(), resumedPlayer.getUsername(), gameId, playersInGameData,
+                router != null ? router.getPort() : 0, router != null ? Long.toUnsignedString(udpBinding.getToken(), 16) : null, token));
+
+        if (currentGameService == null) {
+            networkManager.updateShip(resumedPlayer.getId(), resumedPlayer.getLastSpaceX(), resumedPlayer.getLastSpaceY(), resumedPlayer.getLastSpaceAngle(),
+                    0, 0, false, true, this);
+            networkManager.sendActiveShipsToSession(this);
+        }
+        System.out.println("Session " + sessionId + ": Player " + resumedPlayer.getId() + " resumed " + (gameId != null ? "in game " + gameId : "in space") + ".");
     }
 
     /**
@@ -226,24 +709,23 @@ public class ClientSession implements Runnable {
      */
     private void handleListGamesCommand() {
         if (lobbyService == null) {
-            sendMessage(gson.toJson(new ErrorMessage("GameLobbyService not available.")));
+            sendMessage(new ErrorMessage("GameLobbyService not available."));
             return;
         }
         List<Game> games = lobbyService.getAvailableGames();
         List<GameInfo> gameInfos = games.stream()
                                         .map(game -> new GameInfo(String.valueOf(game.getGameId()), game.getPlanetName(), game.getCurrentPlayerCount()))
                                         .collect(Collectors.toList());
-        sendMessage(gson.toJson(new ListGamesResponse(gameInfos)));
+        sendMessage(new ListGamesResponse(gameInfos));
     }
 
     /**
      * Handles the JOIN_GAME command from the client.
-     * @param jsonMessage The full message containing the command and parameters.
+     * @param req The request sent by the client.
      */
-    private void handleJoinGameCommand(String jsonMessage) {
-        JoinGameRequest req = gson.fromJson(jsonMessage, JoinGameRequest.class);
+    private void handleJoinGameCommand(JoinGameRequest req) {
         if (lobbyService == null) {
-            sendMessage(gson.toJson(new ErrorMessage("GameLobbyService not available.")));
+            sendMessage(new ErrorMessage("GameLobbyService not available."));
             return;
         }
         try {
@@ -255,7 +737,7 @@ public class ClientSession implements Runnable {
                         player.setLastSpaceX(currentPlayerShip.getX());
                         player.setLastSpaceY(currentPlayerShip.getY());
                         player.setLastSpaceAngle(currentPlayerShip.getOrientation());
-                        player.save(); 
+                        networkManager.savePlayer(player);
                         System.out.println("Session " + sessionId + ": Stored and saved last space location for player " + player.getId() + " - X: " + currentPlayerShip.getX() + ", Y: " + currentPlayerShip.getY() + ", Angle: " + currentPlayerShip.getOrientation());
                         networkManager.setShipLanded(player.getId(), this); 
                     } else {
@@ -264,18 +746,20 @@ public class ClientSession implements Runnable {
                     }
                 }
                 GameManager joinedGame = lobbyService.joinGame(this, gameId);
+                shipInput.clear();
+                playerInput.clear();
                 this.currentGameService = joinedGame;
                 
                 List<PlayerInitialData> playersInGameData = joinedGame.getPlayersInGame().stream()
                     .map(p -> new PlayerInitialData(p.getIdAsString(), p.getUsername(), p.getX(), p.getY(), p.getDx(), p.getDy(), p.getDirectionAngle()))
                     .collect(Collectors.toList());
 
-                sendMessage(gson.toJson(new JoinGameResponse(true, "Successfully joined game.", String.valueOf(joinedGame.getGameId()), joinedGame.getPlanetName(), playersInGameData)));
+                sendMessage(new JoinGameResponse(true, "Successfully joined game.", String.valueOf(joinedGame.getGameId()), joinedGame.getPlanetName(), playersInGameData));
 
             } catch (NumberFormatException ex) {
-                sendMessage(gson.toJson(new JoinGameResponse(false, "Invalid game ID format", req.gameId, null, null)));
+                sendMessage(new JoinGameResponse(false, "Invalid game ID format", req.gameId, null, null));
             } catch (GameJoinException e) {
-                sendMessage(gson.toJson(new JoinGameResponse(false, e.getMessage(), req.gameId, null, null)));
+                sendMessage(new JoinGameResponse(false, e.getMessage(), req.gameId, null, null));
             }
     }
     
@@ -284,17 +768,17 @@ public class ClientSession implements Runnable {
      */
     private void handleLeaveGameCommand() {
         if (lobbyService == null) {
-            sendMessage(gson.toJson(new ErrorMessage("GameLobbyService not available.")));
+            sendMessage(new ErrorMessage("GameLobbyService not available."));
             return;
         }
         if (currentGameService == null) {
-            sendMessage(gson.toJson(new ErrorMessage("You are not in a game.")));
+            sendMessage(new ErrorMessage("You are not in a game."));
             return;
         }
         String gameIdStr = String.valueOf(currentGameService.getGameId());
         lobbyService.leaveGame(this, currentGameService.getGameId());
         this.currentGameService = null;
-        sendMessage(gson.toJson(new LeaveGameResponse(true, "Successfully left game.", gameIdStr)));
+        sendMessage(new LeaveGameResponse(true, "Successfully left game.", gameIdStr));
 
         if (isAuthenticated() && networkManager != null && player != null) {
             double launchX = player.getLastSpaceX();
@@ -308,66 +792,135 @@ public class ClientSession implements Runnable {
 
     /**
      * Handles the UPDATE_PLAYER command from the client.
-     * @param jsonMessage The full message containing the command and parameters.
+     * @param req The request sent by the client.
      */
-    private void handleUpdatePlayerCommand(String jsonMessage) {
-        PlayerUpdateRequest req = gson.fromJson(jsonMessage, PlayerUpdateRequest.class);
+    private void handleUpdatePlayerCommand(PlayerUpdateRequest req) {
         if (currentGameService == null) {
-            sendMessage(gson.toJson(new ErrorMessage("Not in a game. Cannot update player.")));
+            sendMessage(new ErrorMessage("Not in a game. Cannot update player."));
             return;
         }
         if (player == null || !String.valueOf(player.getId()).equals(req.playerId)) {
-             sendMessage(gson.toJson(new ErrorMessage("Player ID mismatch or not authenticated.")));
+             sendMessage(new ErrorMessage("Player ID mismatch or not authenticated."));
             return;
         }
-        currentGameService.handlePlayerUpdate(this, (int)req.x, (int)req.y, req.dx, req.dy, req.directionAngle);
+        playerInput.offer(req);
     }
 
     /**
      * Handles the GET_PLAYERS command from the client.
-     * @param jsonMessage The full message containing the command and parameters.
+     * @param req The request sent by the client.
      */
-    private void handleGetPlayersCommand(String jsonMessage) {
-        GetPlayersRequest req = gson.fromJson(jsonMessage, GetPlayersRequest.class);
+    private void handleGetPlayersCommand(GetPlayersRequest req) {
         if (currentGameService == null || !String.valueOf(currentGameService.getGameId()).equals(req.gameId)) {
-            sendMessage(gson.toJson(new ErrorMessage("Not in the specified game or game service unavailable.")));
+            sendMessage(new ErrorMessage("Not in the specified game or game service unavailable."));
             return;
         }
         List<PlayerInitialData> playersInGameData = currentGameService.getPlayersInGame().stream()
             .map(p -> new PlayerInitialData(p.getIdAsString(), p.getUsername(), p.getX(), p.getY(), p.getDx(), p.getDy(), p.getDirectionAngle()))
             .collect(Collectors.toList());
-        sendMessage(gson.toJson(new GetPlayersResponse(playersInGameData)));
+        sendMessage(new GetPlayersResponse(playersInGameData));
     }
 
     /**
      * Handles the REQUEST_CHUNK command from the client.
-     * @param jsonMessage The full message containing the command and parameters.
+     * @param req The request sent by the client.
      */
-    private void handleRequestChunkCommand(String jsonMessage) {
-        RequestChunkRequest req = gson.fromJson(jsonMessage, RequestChunkRequest.class);
-        if (currentGameService == null || !String.valueOf(currentGameService.getGameId()).equals(req.gameId)) {
-            sendMessage(gson.toJson(new ErrorMessage("Not in the specified game or game service unavailable.")));
+    private void handleRequestChunkCommand(RequestChunkRequest req) {
+        GameManager game = currentGameService;
+        if (game == null || !String.valueOf(game.getGameId()).equals(req.gameId)) {
+            sendMessage(new ErrorMessage("Not in the specified game or game service unavailable.", req.requestId));
             return;
         }
-        Chunk chunk = currentGameService.getChunkData(req.chunkX, req.chunkY);
-        if (chunk != null) {
-            List<TileData> tileDataList = chunk.getTilesList().stream()
-                .map(tile -> new TileData(tile.getX(), tile.getY(), tile.getType(), tile.getColorType().name()))
-                .collect(Collectors.toList());
-            sendMessage(gson.toJson(new RequestChunkResponse(req.chunkX, req.chunkY, tileDataList)));
-        } else {
-            sendMessage(gson.toJson(new ErrorMessage("Chunk not found or could not be generated.")));
+        ScheduledExecutorService scheduler = networkManager != null ? networkManager.getScheduler() : null;
+        if (scheduler != null && game.shouldDeferChunk(req.chunkX, req.chunkY)) {
+            // Generated chunks are still served at once; new ones wait so the game's tick gets the CPU first.
+            try {
+                scheduler.schedule(() -> {
+                    if (running.get()) {
+                        sendChunk(game, req);
+                    }
+                }, CHUNK_DEFER_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException e) {
+                // Shutting down; answer right away instead.
+            }
         }
+        sendChunk(game, req);
+    }
+
+    /**
+     * Sends a chunk from the shared payload cache, generating it on a request worker if needed.
+     * @param game The game whose planet the chunk belongs to.
+     * @param req The request sent by the client.
+     */
+    private void sendChunk(GameManager game, RequestChunkRequest req) {
+        ChunkPayloadCache cache = networkManager != null ? networkManager.getChunkCache() : UNCACHED_CHUNKS;
+        WireFormat format = wireFormat;
+        submitRequest("chunk data", req.requestId,
+            () -> cache.frameFor(game.getGameId(), req.chunkX, req.chunkY, format, req.requestId, () -> game.getChunkData(req.chunkX, req.chunkY)),
+            frame -> {
+                if (frame == null) {
+                    sendMessage(new ErrorMessage("Chunk not found or could not be generated.", req.requestId));
+                } else {
+                    sendFrame(frame);
+                }
+            });
+    }
+
+    /**
+     * Runs an expensive request on the network manager's worker pool and sends the response once it is ready.
+     * The session goes on reading while the work runs, so responses may arrive out of order; clients
+     * match them by request ID. Failures and refusals are answered with an ERROR_MESSAGE carrying that ID.
+     * @param description What was requested, used in error messages.
+     * @param requestId The correlation ID sent by the client, echoed in the response.
+     * @param work Builds the response on a worker thread.
+     */
+    private void submitRequest(String description, int requestId, Supplier<BaseMessage> work) {
+        submitRequest(description, requestId, work, this::sendMessage);
+    }
+
+    /**
+     * Runs a request on the request worker pool and hands its result back for delivery.
+     * @param description What is being requested, for logs and error messages.
+     * @param requestId The id the client attached to the request.
+     * @param work Produces the result on a worker thread.
+     * @param delivery Sends the result; runs on the worker thread that produced it.
+     */
+    private <T> void submitRequest(String description, int requestId, Supplier<T> work, Consumer<T> delivery) {
+        Executor executor = networkManager != null ? networkManager.getRequestExecutor() : null;
+        if (executor == null) {
+            executor = Runnable::run;
+        }
+        CompletableFuture<T> response;
+        try {
+            response = CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            System.err.println("Session " + sessionId + ": Request workers busy. Refusing request for " + description + ".");
+            sendMessage(new ErrorMessage("Server busy. Please retry the request for " + description + ".", requestId));
+            return;
+        }
+        response.whenComplete((result, error) -> {
+            if (!running.get()) {
+                return;
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                System.err.println("Session " + sessionId + ": Error retrieving " + description + ": " + cause.getMessage());
+                cause.printStackTrace();
+                sendMessage(new ErrorMessage("Failed to retrieve " + description + ": " + cause.getMessage(), requestId));
+            } else {
+                delivery.accept(result);
+            }
+        });
     }
 
     /**
      * Handles the REQUEST_PALETTE command from the client.
-     * @param jsonMessage The full message containing the command and parameters.
+     * @param req The request sent by the client.
      */
-    private void handleRequestPaletteCommand(String jsonMessage) {
-        RequestPaletteRequest req = gson.fromJson(jsonMessage, RequestPaletteRequest.class);
+    private void handleRequestPaletteCommand(RequestPaletteRequest req) {
         if (currentGameService == null || !String.valueOf(currentGameService.getGameId()).equals(req.gameId)) {
-            sendMessage(gson.toJson(new ErrorMessage("Not in the specified game or game service unavailable.")));
+            sendMessage(new ErrorMessage("Not in the specified game or game service unavailable."));
             return;
         }
         ColorPallete palette = currentGameService.getPlanetPalette();
@@ -380,56 +933,253 @@ public class ClientSession implements Runnable {
                 palette.getHueShift().getRed() + "," + palette.getHueShift().getGreen() + "," + palette.getHueShift().getBlue(),
                 palette.getRock().getRed() + "," + palette.getRock().getGreen() + "," + palette.getRock().getBlue()
             );
-            sendMessage(gson.toJson(resp));
+            sendMessage(resp);
         } else {
-            sendMessage(gson.toJson(new ErrorMessage("Palette not found for this game.")));
+            sendMessage(new ErrorMessage("Palette not found for this game."));
         }
     }
 
     /**
-     * Sends a message to the client.
-     * @param responseObject The object to serialize to JSON and send.
+     * Sends a message to the client in the encoding negotiated for this session.
+     * @param responseObject The message to send.
      */
     public void sendMessage(Object responseObject) {
-        String jsonToSend = gson.toJson(responseObject); // Serialize once
         if (responseObject instanceof PlayerJoinedBroadcast) {
             PlayerJoinedBroadcast pjb = (PlayerJoinedBroadcast) responseObject;
-            System.out.println("Session " + sessionId + ": Attempting to send PlayerJoinedBroadcast for player ID " + pjb.playerId + " (" + pjb.username + "). PrintWriter error state: " + (out == null ? "null" : out.checkError()));
+            System.out.println("Session " + sessionId + ": Attempting to send PlayerJoinedBroadcast for player ID " + pjb.playerId + " (" + pjb.username + "). Connection open: " + connection.isOpen());
         }
-        
-        if (out != null && !out.checkError()) {
-            out.println(jsonToSend);
-            if (responseObject instanceof PlayerJoinedBroadcast) {
-                 System.out.println("Session " + sessionId + ": Successfully sent PlayerJoinedBroadcast for player ID " + ((PlayerJoinedBroadcast)responseObject).playerId);
+        if (!connection.isOpen()) {
+            System.err.println("Session " + sessionId + ": Connection closed. Cannot send: " + responseObject.getClass().getSimpleName());
+            return;
+        }
+
+        if (responseObject instanceof BaseMessage) {
+            sendEncoded(new EncodedMessage((BaseMessage) responseObject));
+        } else if (wireFormat == WireFormat.BINARY) {
+            System.err.println("Session " + sessionId + ": No binary encoding for " + responseObject.getClass().getSimpleName() + ". Dropping message.");
+            return;
+        } else {
+            writeLine(GSON.toJson(responseObject), false);
+        }
+        if (responseObject instanceof PlayerJoinedBroadcast) {
+            System.out.println("Session " + sessionId + ": Successfully queued PlayerJoinedBroadcast for player ID " + ((PlayerJoinedBroadcast)responseObject).playerId);
+        }
+    }
+
+    /**
+     * Sends an already prepared message to the client. The message is serialized only if no
+     * earlier recipient with the same encoding has caused it to be, which makes this the
+     * method to use when the same message goes to many sessions. If the calling thread has an
+     * {@link OutboundBundle} open, delivery is deferred until the bundle is flushed.
+     * @param message The prepared message.
+     */
+    public void sendEncoded(EncodedMessage message) {
+        if (!connection.isOpen()) {
+            return;
+        }
+        if (OutboundBundle.add(this, message)) {
+            return;
+        }
+        ByteBuffer frame = message.frameFor(wireFormat);
+        if (frame == null) {
+            System.err.println("Session " + sessionId + ": No binary encoding for " + message.getMessage().getClass().getSimpleName() + ". Dropping message.");
+            return;
+        }
+        UdpRouter router = udpRouter();
+        if (message.isLatestState() && router != null && router.isActive(udpBinding) && UdpRouter.fits(frame)) {
+            router.send(udpBinding, Collections.singletonList(frame));
+            return;
+        }
+        connection.send(compress(frame), message.isLatestState());
+    }
+
+    /**
+     * Sends a frame that is already encoded in this session's wire format, such as a cached chunk response.
+     * @param frame The frame or JSON line to write.
+     */
+    void sendFrame(ByteBuffer frame) {
+        if (!connection.isOpen()) {
+            return;
+        }
+        connection.send(compress(frame), false);
+    }
+
+    /**
+     * Delivers the messages collected for this session during one tick as a single write.
+     * Binary sessions receive {@link com.tavuc.networking.protocol.Opcode#BUNDLE} frames; JSON
+     * sessions receive the lines concatenated into one buffer. The bundle may be dropped under
+     * backpressure only if every message in it is a latest-state update. While the UDP channel
+     * is up, latest-state updates are sent as datagrams instead and only the rest goes over TCP.
+     * @param messages The messages in delivery order.
+     */
+    void sendBundle(List<EncodedMessage> messages) {
+        if (!connection.isOpen()) {
+            return;
+        }
+        WireFormat format = wireFormat;
+        UdpRouter router = udpRouter();
+        boolean udpActive = router != null && router.isActive(udpBinding);
+        List<ByteBuffer> frames = new ArrayList<>(messages.size());
+        List<ByteBuffer> datagramFrames = udpActive ? new ArrayList<>() : Collections.emptyList();
+        boolean droppable = true;
+        int totalBytes = 0;
+        for (EncodedMessage message : messages) {
+            ByteBuffer frame = message.frameFor(format);
+            if (frame == null) {
+                System.err.println("Session " + sessionId + ": No binary encoding for " + message.getMessage().getClass().getSimpleName() + ". Dropping message.");
+                continue;
+            }
+            if (udpActive && message.isLatestState() && UdpRouter.fits(frame)) {
+                datagramFrames.add(frame);
+                continue;
             }
+            frames.add(frame);
+            droppable &= message.isLatestState();
+            totalBytes += frame.remaining();
+        }
+        if (!datagramFrames.isEmpty()) {
+            router.send(udpBinding, datagramFrames);
+        }
+        if (frames.isEmpty()) {
+            return;
+        }
+
+        if (format == WireFormat.BINARY) {
+            for (ByteBuffer bundle : MessageCodecs.encodeBundles(frames)) {
+                connection.send(compress(bundle), droppable);
+            }
+        } else if (frames.size() == 1) {
+            connection.send(frames.get(0), droppable);
         } else {
-            System.err.println("Session " + sessionId + ": PrintWriter not available or in error state. Cannot send: " + jsonToSend);
+            ByteBuffer lines = ByteBuffer.allocate(totalBytes);
+            for (ByteBuffer frame : frames) {
+                lines.put(frame);
+            }
+            lines.flip();
+            connection.send(lines, droppable);
         }
     }
 
     /**
-     * Sends a raw string message to the client.
+     * Sends a raw string message to the client. Only JSON sessions can receive raw lines.
      * @param message The raw string message to send.
      */
     public void sendRawMessage(String message) {
-        if (out != null && !out.checkError()) {
-            out.println(message);
+        if (wireFormat == WireFormat.BINARY) {
+            System.err.println("Session " + sessionId + ": Binary session cannot receive raw message: " + message);
+            return;
+        }
+        if (connection.isOpen()) {
+            writeLine(message, false);
         } else {
-            System.err.println("Session " + sessionId + ": PrintWriter not available or in error state. Cannot send raw message: " + message);
+            System.err.println("Session " + sessionId + ": Connection closed. Cannot send raw message: " + message);
         }
     }
 
+    /**
+     * Gets the UDP binding issued at login.
+     * @return The binding, or null if this session was not offered the UDP channel.
+     */
+    UdpBinding getUdpBinding() {
+        return udpBinding;
+    }
+
+    private ByteBuffer compress(ByteBuffer frame) {
+        FrameCompressor frameCompressor = compressor;
+        return frameCompressor != null ? frameCompressor.compress(frame) : frame;
+    }
+
+    private UdpRouter udpRouter() {
+        return networkManager != null ? networkManager.getUdpRouter() : null;
+    }
+
+    /**
+     * Gets the encoding this session speaks.
+     * @return The negotiated wire format, JSON until a handshake agrees on binary.
+     */
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    private void writeLine(String line, boolean droppable) {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        connection.send(ByteBuffer.wrap(bytes), droppable);
+    }
+
     /**
      * Closes the client session and releases resources.
      * @param reason The reason for closing the session.
      */
-    public synchronized void close(String reason) {
-        if (!running) return;
-        running = false;
+    public void close(String reason) {
+        close(reason, false);
+    }
+
+    /**
+     * Checks the session for silence and sends the next ping. Called periodically by the {@link NetworkManager}.
+     * Sessions that answer pings, and sessions that never logged in, are closed once nothing has been
+     * received for the idle timeout, which frees half-open connections that TCP alone would keep forever.
+     * Logged-in sessions on older protocol versions do not answer pings and may be silent while their
+     * player idles, so they are given the longer legacy timeout instead.
+     * @param idleTimeoutMillis How long the session may stay silent.
+     * @param legacyIdleTimeoutMillis How long a logged-in session that does not answer pings may stay silent.
+     * @return true if the session was closed as idle.
+     */
+    public boolean heartbeat(long idleTimeoutMillis, long legacyIdleTimeoutMillis) {
+        long now = System.nanoTime();
+        long silentMillis = (now - lastHeardNanos) / 1_000_000;
+        long timeoutMillis = heartbeatEnabled || !isAuthenticated() ? idleTimeoutMillis : legacyIdleTimeoutMillis;
+        if (silentMillis > timeoutMillis) {
+            close("No traffic for " + silentMillis + " ms", true);
+            return true;
+        }
+        if (heartbeatEnabled) {
+            sendMessage(new Ping(now));
+        }
+        return false;
+    }
+
+    /**
+     * Gets the round-trip time estimate of this session, for latency-aware gameplay.
+     * @return The latency tracker, fed by the heartbeat.
+     */
+    public LatencyTracker getLatency() {
+        return latency;
+    }
+
+    /**
+     * Closes the client session and releases resources.
+     * @param reason The reason for closing the session.
+     * @param resumable Whether the connection was lost, so the client may come back with its resume token.
+     */
+    private void close(String reason, boolean resumable) {
+        if (!running.compareAndSet(true, false)) return;
+
+        UdpRouter router = udpRouter();
+        if (router != null && udpBinding != null) {
+            router.unregister(udpBinding);
+        }
+        FrameCompressor frameCompressor = compressor;
+        if (frameCompressor != null) {
+            if (frameCompressor.getCompressedFrames() > 0 || frameCompressor.getInflatedFrames() > 0) {
+                System.out.println("Session " + sessionId + ": Compression: " + frameCompressor);
+            }
+            frameCompressor.close();
+        }
+        long inputs = shipInput.getOfferedCount() + playerInput.getOfferedCount();
+        if (inputs > 0) {
+            long superseded = shipInput.getSupersededCount() + playerInput.getSupersededCount();
+            System.out.println("Session " + sessionId + ": Inputs: " + inputs + " received, " + superseded + " superseded before a tick.");
+        }
+        shipInput.clear();
+        playerInput.clear();
+        if (rateLimiter != null && (rateLimiter.getLimitedCount() > 0 || rateLimiter.getDelayedCount() > 0)) {
+            System.out.println("Session " + sessionId + ": Inbound rate limits: " + rateLimiter + ".");
+        }
 
-        System.out.println("Closing client session " + sessionId + " for " + 
-                           (clientSocket != null && clientSocket.getInetAddress() != null ? clientSocket.getInetAddress().getHostAddress() : "unknown host") + 
-                           ". Reason: " + reason);
+        if (latency.getSampleCount() > 0) {
+            System.out.println("Session " + sessionId + ": " + latency);
+        }
+        System.out.println("Closing client session " + sessionId + " for " + connection.getRemoteAddress() + ". Reason: " + reason);
 
         if (this.sessionListener != null) {
             try {
@@ -439,6 +1189,9 @@ public class ClientSession implements Runnable {
             }
         }
         
+        Player closingPlayer = player;
+        int closingGameId = currentGameService != null ? currentGameService.getGameId() : 0;
+
         if (currentGameService != null && player != null && lobbyService != null) {
             try {
                 lobbyService.leaveGame(this, currentGameService.getGameId());
@@ -453,48 +1206,44 @@ public class ClientSession implements Runnable {
 
         if (this.player != null) {
             Player playerToLogout = this.player; 
+            Runnable logout = () -> {
+                if (authService != null) {
+                    try {
+                        authService.logout(playerToLogout); 
+                    } catch (Exception e) {
+                         System.err.println("Session " + sessionId + ": Error during authService.logout for player " + 
+                                           (playerToLogout.getUsername()) + ": " + e.getMessage());
+                    }
+                }
+            };
+            boolean saving = false;
 
-            if (this.currentGameService == null && networkManager != null && playerToLogout != null) {
+            if (this.currentGameService == null && networkManager != null) {
                 PlayerShip currentShip = networkManager.getPlayerShip(playerToLogout.getId());
                 if (currentShip != null) { 
                     playerToLogout.setLastSpaceX(currentShip.getX());
                     playerToLogout.setLastSpaceY(currentShip.getY());
                     playerToLogout.setLastSpaceAngle(currentShip.getOrientation());
-                    playerToLogout.save(); 
+                    // Logged out only once the file is written, so a quick login again cannot load the old one.
+                    networkManager.savePlayer(playerToLogout, logout);
+                    saving = true;
                 }
             }
             
             this.player = null; 
 
-            if (authService != null && playerToLogout != null) {
-                try {
-                    authService.logout(playerToLogout); 
-                } catch (Exception e) {
-                     System.err.println("Session " + sessionId + ": Error during authService.logout for player " + 
-                                       (playerToLogout.getUsername()) + ": " + e.getMessage());
-                }
+            if (!saving) {
+                logout.run();
             }
         }
 
-        try {
-            if (in != null) {
-                in.close();
-            }
-        } catch (IOException e) {
-            System.err.println("Session " + sessionId + ": Error closing input stream: " + e.getMessage());
-        }
-        
-        if (out != null) {
-            out.close();
-        }
-        
-        try {
-            if (clientSocket != null && !clientSocket.isClosed()) {
-                clientSocket.close();
-            }
-        } catch (Exception e) {
-            System.err.println("Session " + sessionId + ": Error closing client socket: " + e.getMessage());
+        ResumeRegistry registry = networkManager != null ? networkManager.getResumeRegistry() : null;
+        if (resumable && closingPlayer != null && resumeToken != 0 && registry != null) {
+            registry.park(resumeToken, closingPlayer, closingGameId);
+            System.out.println("Session " + sessionId + ": Keeping state of player " + closingPlayer.getId() + " for resume.");
         }
+
+        connection.close();
     }
 
     /**
@@ -537,45 +1286,55 @@ public class ClientSession implements Runnable {
         this.sessionListener = listener;
     }
 
+    /**
+     * Gets the slot holding this session's newest ship movement input.
+     * @return The ship input slot, drained once per tick by the {@link NetworkManager}.
+     */
+    public InputSlot<ShipUpdateRequest> getShipInput() {
+        return shipInput;
+    }
+
+    /**
+     * Gets the slot holding this session's newest on-planet movement input.
+     * @return The player input slot, drained once per tick by the session's {@link GameManager}.
+     */
+    public InputSlot<PlayerUpdateRequest> getPlayerInput() {
+        return playerInput;
+    }
+
     public int getPlayerId() {
         return (this.player != null) ? this.player.getId() : 0;
     }
 
     /**
      * Handles the REQUEST_PLANETS_AREA command from the client.
-     * @param jsonMessage The full message containing the command and parameters.
+     * @param req The request sent by the client.
      */
-    private void handleRequestPlanetsAreaCommand(String jsonMessage) { 
-        RequestPlanetsAreaRequest req = gson.fromJson(jsonMessage, RequestPlanetsAreaRequest.class);
-        try {
-            if (lobbyService != null) {
-                List<PlanetInfo> planetInfos = lobbyService.getPlanetsInArea(req.centerX, req.centerY, req.radius)
-                    .stream()
-                    .map(p -> {
-                        ColorPallete cp = p.getColorPallete();
-                        int hueShiftColorInt = (cp != null && cp.getHueShift() != null) ? cp.getHueShift().getRGB() : java.awt.Color.GRAY.getRGB(); 
-                        return new PlanetInfo(String.valueOf(p.getPlanetId()), p.getName(), p.getGalaxyX(), p.getGalaxyY(), p.getWidth(), p.getType().name(), hueShiftColorInt);
-                    })
-                    .collect(Collectors.toList());
-                sendMessage(gson.toJson(new RequestPlanetsAreaResponse(planetInfos)));
-            } else {
-                sendMessage(gson.toJson(new ErrorMessage("Service not available to fetch planet data.")));
-            }
-        } catch (Exception e) {
-            System.err.println("Error handling REQUEST_PLANETS_AREA: " + e.getMessage());
-            e.printStackTrace();
-            sendMessage(gson.toJson(new ErrorMessage("Failed to retrieve planet data: " + e.getMessage())));
+    private void handleRequestPlanetsAreaCommand(RequestPlanetsAreaRequest req) {
+        if (lobbyService == null) {
+            sendMessage(new ErrorMessage("Service not available to fetch planet data.", req.requestId));
+            return;
         }
+        submitRequest("planet data", req.requestId, () -> {
+            List<PlanetInfo> planetInfos = lobbyService.getPlanetsInArea(req.centerX, req.centerY, req.radius)
+                .stream()
+                .map(p -> {
+                    ColorPallete cp = p.getColorPallete();
+                    int hueShiftColorInt = (cp != null && cp.getHueShift() != null) ? cp.getHueShift().getRGB() : java.awt.Color.GRAY.getRGB(); 
+                    return new PlanetInfo(String.valueOf(p.getPlanetId()), p.getName(), p.getGalaxyX(), p.getGalaxyY(), p.getWidth(), p.getType().name(), hueShiftColorInt);
+                })
+                .collect(Collectors.toList());
+            return new RequestPlanetsAreaResponse(planetInfos, req.requestId);
+        });
     }
 
-    private void handleShipUpdateCommand(String jsonMessage) {
-        ShipUpdateRequest req = gson.fromJson(jsonMessage, ShipUpdateRequest.class);
+    private void handleShipUpdateCommand(ShipUpdateRequest req) {
         if (!isAuthenticated() || networkManager == null) {
-            sendMessage(gson.toJson(new ErrorMessage("Not authenticated or NetworkManager not available for SHIP_UPDATE.")));
+            sendMessage(new ErrorMessage("Not authenticated or NetworkManager not available for SHIP_UPDATE."));
             return;
         }
         if (player == null || !String.valueOf(player.getId()).equals(req.playerId)) {
-            sendMessage(gson.toJson(new ErrorMessage("SHIP_UPDATE player ID mismatch.")));
+            sendMessage(new ErrorMessage("SHIP_UPDATE player ID mismatch."));
             return;
         }
 
@@ -584,38 +1343,36 @@ public class ClientSession implements Runnable {
             return; 
         }
 
-        networkManager.updateShip(getPlayerId(), req.x, req.y, req.angle, req.dx, req.dy, req.thrusting, true, this);
+        shipInput.offer(req);
     }
 
-    private void handleAttackRequest(String jsonMessage) {
-        AttackRequest req = gson.fromJson(jsonMessage, AttackRequest.class);
+    private void handleAttackRequest(AttackRequest req) {
         if (!isAuthenticated() || player == null) {
-            sendMessage(gson.toJson(new ErrorMessage("Not authenticated.")));
+            sendMessage(new ErrorMessage("Not authenticated."));
             return;
         }
         if (currentGameService == null) {
-            sendMessage(gson.toJson(new ErrorMessage("Not in a game.")));
+            sendMessage(new ErrorMessage("Not in a game."));
             return;
         }
         currentGameService.handleAttackRequest(player, new com.tavuc.utils.Vector2D(req.directionX, req.directionY));
     }
 
-    private void handleParryRequest(String jsonMessage) {
-        ParryRequest req = gson.fromJson(jsonMessage, ParryRequest.class);
+    private void handleParryRequest(ParryRequest req) {
         if (!isAuthenticated() || player == null) {
-            sendMessage(gson.toJson(new ErrorMessage("Not authenticated.")));
+            sendMessage(new ErrorMessage("Not authenticated."));
             return;
         }
         if (currentGameService == null) {
-            sendMessage(gson.toJson(new ErrorMessage("Not in a game.")));
+            sendMessage(new ErrorMessage("Not in a game."));
             return;
         }
         currentGameService.handleParryRequest(player);
     }
 
-    private void handleFireRequest(String jsonMessage) {
+    private void handleFireRequest(FireRequest req) {
         if (!isAuthenticated() || player == null) {
-            sendMessage(gson.toJson(new ErrorMessage("Not authenticated or player data missing.")));
+            sendMessage(new ErrorMessage("Not authenticated or player data missing."));
             return;
         }
 
@@ -625,12 +1382,10 @@ public class ClientSession implements Runnable {
         }
 
         if (networkManager == null) {
-            sendMessage(gson.toJson(new ErrorMessage("Network service unavailable to process fire request.")));
+            sendMessage(new ErrorMessage("Network service unavailable to process fire request."));
             return;
         }
 
-        FireRequest req = gson.fromJson(jsonMessage, FireRequest.class);
-
         CombatManager combatManager = networkManager.getCombatManager();
         if (combatManager == null) {
             System.out.println("Session " + sessionId + ": Player " + player.getId() + " tried to fire but CombatManager is null.");
@@ -649,7 +1404,8 @@ public class ClientSession implements Runnable {
                 req.shipY,
                 req.shipAngle,
                 req.shipDx,
-                req.shipDy
+                req.shipDy,
+                currentGameService != null ? currentGameService.getDegradation() : DegradationLevel.NORMAL
             );
         } else {
             System.out.println("Session " + sessionId + ": FireRequest data missing and no active ship instance.");
@@ -0,0 +1,87 @@
+package com.tavuc.networking;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.Gson;
+import com.tavuc.networking.models.BaseMessage;
+import com.tavuc.networking.models.TickStamped;
+import com.tavuc.networking.protocol.MessageCodecs;
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.protocol.WireFormat;
+
+/**
+ * A message prepared for delivery to any number of sessions.
+ * Each wire format is serialized at most once, on first use, and every recipient gets a
+ * view of the same bytes, so broadcasting costs one serialization per format instead of
+ * one per recipient. The wrapped message must not be modified after it has been wrapped.
+ * State created during a tick is stamped with the tick number when it is wrapped.
+ */
+public final class EncodedMessage {
+
+    private static final Gson GSON = new Gson();
+
+    private final BaseMessage message;
+    private final boolean latestState;
+    private volatile ByteBuffer jsonLine;
+    private volatile ByteBuffer binaryFrame;
+
+    /**
+     * Constructor for EncodedMessage
+     * @param message The message to deliver.
+     */
+    public EncodedMessage(BaseMessage message) {
+        this.message = message;
+        if (message instanceof TickStamped) {
+            long tick = OutboundBundle.currentTick();
+            if (tick != OutboundBundle.NO_TICK) {
+                ((TickStamped) message).setTick(tick);
+            }
+        }
+        Opcode opcode = Opcode.fromType(message.type);
+        this.latestState = opcode != null && opcode.isLatestState();
+    }
+
+    /**
+     * Gets the wrapped message.
+     * @return The message.
+     */
+    public BaseMessage getMessage() {
+        return message;
+    }
+
+    /**
+     * Checks if the message only carries latest entity state and may be dropped under backpressure.
+     * @return true if a newer message of the same type supersedes this one.
+     */
+    public boolean isLatestState() {
+        return latestState;
+    }
+
+    /**
+     * Gets the bytes to write for a session using the given format.
+     * The returned buffer has its own position, so each recipient can consume it independently.
+     * @param format The wire format of the recipient.
+     * @return A view of the encoded bytes, or null if the message has no binary encoding.
+     */
+    public ByteBuffer frameFor(WireFormat format) {
+        ByteBuffer encoded;
+        if (format == WireFormat.BINARY) {
+            encoded = binaryFrame;
+            if (encoded == null) {
+                if (!MessageCodecs.supports(message)) {
+                    return null;
+                }
+                encoded = MessageCodecs.encodeFrame(message);
+                binaryFrame = encoded;
+            }
+        } else {
+            encoded = jsonLine;
+            if (encoded == null) {
+                encoded = ByteBuffer.wrap((GSON.toJson(message) + "\n").getBytes(StandardCharsets.UTF_8));
+                jsonLine = encoded;
+            }
+        }
+        return encoded.duplicate();
+    }
+}
@@ -0,0 +1,143 @@
+package com.tavuc.networking;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets of one session. The general budget is charged for every inbound line, frame or
+ * datagram before it is decoded; the budgets of expensive message types are charged once a
+ * message's type is known, before its payload is bound. Enforces an {@link InboundRatePolicy} and
+ * counts the messages that went over it.
+ */
+public final class InboundRateLimiter {
+
+    /** Seconds' worth of messages each bucket lets through in a burst. */
+    private static final int BURST_SECONDS = 2;
+
+    private final InboundRatePolicy policy;
+    private final Budget allMessages;
+    private final Budget[] budgets;
+    private final Map<String, Budget> budgetsByType = new HashMap<>();
+    private final LongAdder delayed = new LongAdder();
+
+    /**
+     * Constructor for InboundRateLimiter
+     * @param policy The limits to enforce.
+     */
+    public InboundRateLimiter(InboundRatePolicy policy) {
+        this.policy = policy;
+        this.allMessages = new Budget("messages", policy.getMessagesPerSecond());
+        Budget combat = new Budget("combat", policy.getCombatPerSecond());
+        Budget chunks = new Budget("chunk", policy.getChunkRequestsPerSecond());
+        Budget areas = new Budget("area", policy.getAreaRequestsPerSecond());
+        this.budgets = new Budget[] { allMessages, combat, chunks, areas };
+        budgetsByType.put("FIRE_REQUEST", combat);
+        budgetsByType.put("ATTACK_REQUEST", combat);
+        budgetsByType.put("PARRY_REQUEST", combat);
+        budgetsByType.put("REQUEST_CHUNK_REQUEST", chunks);
+        budgetsByType.put("REQUEST_PLANETS_AREA_REQUEST", areas);
+    }
+
+    /**
+     * Gets the limits this limiter enforces.
+     * @return The inbound rate policy.
+     */
+    public InboundRatePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Takes the general token for one inbound line, frame or datagram, before any of it is decoded,
+     * so wrapping messages in a bundle or compressed frame does not get them past the limit. Under
+     * {@link RateLimitAction#DELAY} a frame over the limit reserves its token instead, as long as it
+     * is due within the policy's delay limit.
+     * @param mayDelay Whether the caller can hold the frame back; if not, a frame over the limit is refused.
+     * @return 0 to handle the frame now, the nanoseconds to hold it back, or -1 if it is over the limit.
+     */
+    public long acquireFrame(boolean mayDelay) {
+        long wait = allMessages.bucket.reserve(mayDelay ? maxWaitNanos() : 0);
+        if (wait < 0) {
+            allMessages.limited.increment();
+            return -1;
+        }
+        if (wait > 0) {
+            delayed.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Takes the token of a message's own budget once its type is known. Types without a budget of
+     * their own are only limited by {@link #acquireFrame}.
+     * @param type The message type.
+     * @param aloneInFrame Whether the message was the only one in its frame. A refusal then gives the
+     *                     frame's general token back, so a message refused by one budget takes nothing from the other.
+     * @return 0 to handle the message now, the nanoseconds to hold it back, or -1 if it is over the limit.
+     */
+    public long acquire(String type, boolean aloneInFrame) {
+        Budget budget = type != null ? budgetsByType.get(type) : null;
+        if (budget == null) {
+            return 0;
+        }
+        long wait = budget.bucket.reserve(maxWaitNanos());
+        if (wait < 0) {
+            if (aloneInFrame) {
+                allMessages.bucket.refund();
+            }
+            budget.limited.increment();
+            return -1;
+        }
+        if (wait > 0) {
+            delayed.increment();
+        }
+        return wait;
+    }
+
+    private long maxWaitNanos() {
+        return policy.getAction() == RateLimitAction.DELAY ? policy.getMaxDelayMillis() * 1_000_000L : 0;
+    }
+
+    /**
+     * Gets the number of messages that went over a limit and were not handled.
+     * @return The limited message count.
+     */
+    public long getLimitedCount() {
+        long total = 0;
+        for (Budget budget : budgets) {
+            total += budget.limited.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of messages held back until the limit allowed them.
+     * @return The delayed message count.
+     */
+    public long getDelayedCount() {
+        return delayed.sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Budget budget : budgets) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(budget.name).append(' ').append(budget.limited.sum());
+        }
+        return "over limit: " + sb + "; delayed: " + getDelayedCount();
+    }
+
+    private static final class Budget {
+        private final String name;
+        private final TokenBucket bucket;
+        private final LongAdder limited = new LongAdder();
+
+        private Budget(String name, int perSecond) {
+            this.name = name;
+            this.bucket = new TokenBucket((double) perSecond * BURST_SECONDS, perSecond);
+        }
+    }
+}
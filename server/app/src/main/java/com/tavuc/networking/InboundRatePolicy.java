@@ -0,0 +1,92 @@
+package com.tavuc.networking;
+
+/**
+ * Per-session limits on inbound messages. Every JSON line, binary frame and datagram draws from an
+ * overall budget before it is decoded, whether it carries one message or a bundle of them, and the
+ * messages that cost the server real work draw from a budget of their own as well: combat
+ * actions, chunk requests and planet area requests, the last of which may generate galaxy regions.
+ * Each budget allows a burst of two seconds' worth of messages.
+ */
+public final class InboundRatePolicy {
+
+    private final RateLimitAction action;
+    private final int messagesPerSecond;
+    private final int combatPerSecond;
+    private final int chunkRequestsPerSecond;
+    private final int areaRequestsPerSecond;
+    private final int maxDelayMillis;
+
+    /**
+     * Constructor for InboundRatePolicy
+     * @param action What to do with a message over the limit.
+     * @param messagesPerSecond Sustained rate of all lines, frames and datagrams.
+     * @param combatPerSecond Sustained rate of fire, attack and parry requests.
+     * @param chunkRequestsPerSecond Sustained rate of chunk requests.
+     * @param areaRequestsPerSecond Sustained rate of planet area requests.
+     * @param maxDelayMillis Longest a message is held back under {@link RateLimitAction#DELAY} before it is dropped instead.
+     */
+    public InboundRatePolicy(RateLimitAction action, int messagesPerSecond, int combatPerSecond, int chunkRequestsPerSecond,
+                             int areaRequestsPerSecond, int maxDelayMillis) {
+        this.action = action;
+        this.messagesPerSecond = Math.max(1, messagesPerSecond);
+        this.combatPerSecond = Math.max(1, combatPerSecond);
+        this.chunkRequestsPerSecond = Math.max(1, chunkRequestsPerSecond);
+        this.areaRequestsPerSecond = Math.max(1, areaRequestsPerSecond);
+        this.maxDelayMillis = Math.max(0, maxDelayMillis);
+    }
+
+    /**
+     * Gets what happens to a message over the limit.
+     * @return The rate limit action.
+     */
+    public RateLimitAction getAction() {
+        return action;
+    }
+
+    /**
+     * Gets the sustained rate of all messages of one session.
+     * @return Messages per second.
+     */
+    public int getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    /**
+     * Gets the sustained rate of fire, attack and parry requests.
+     * @return Combat requests per second.
+     */
+    public int getCombatPerSecond() {
+        return combatPerSecond;
+    }
+
+    /**
+     * Gets the sustained rate of chunk requests.
+     * @return Chunk requests per second.
+     */
+    public int getChunkRequestsPerSecond() {
+        return chunkRequestsPerSecond;
+    }
+
+    /**
+     * Gets the sustained rate of planet area requests.
+     * @return Area requests per second.
+     */
+    public int getAreaRequestsPerSecond() {
+        return areaRequestsPerSecond;
+    }
+
+    /**
+     * Gets the longest a message may be held back when the action is {@link RateLimitAction#DELAY}.
+     * @return The delay limit in milliseconds.
+     */
+    public int getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    @Override
+    public String toString() {
+        return action.name().toLowerCase() + " over " + messagesPerSecond + " msg/s, " + combatPerSecond + " combat/s, "
+                + chunkRequestsPerSecond + " chunk/s, " + areaRequestsPerSecond + " area/s"
+                + (action == RateLimitAction.DELAY ? " (max delay " + maxDelayMillis + " ms)" : "");
+    }
+}
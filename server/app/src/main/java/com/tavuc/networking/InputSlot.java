@@ -0,0 +1,68 @@
+package com.tavuc.networking;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latest-value cell between a session thread and the simulation tick.
+ * Producers overwrite whatever is waiting, so any number of inputs received between two
+ * ticks collapse into the newest one, and the tick takes at most one value per slot.
+ * Neither side ever blocks.
+ * @param <T> The input type. Values must not be modified after they are offered.
+ */
+public final class InputSlot<T> {
+
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    private final LongAdder offered = new LongAdder();
+    private final LongAdder superseded = new LongAdder();
+
+    /**
+     * Stores an input, replacing any input the tick has not taken yet.
+     * @param value The input to store.
+     */
+    public void offer(T value) {
+        offered.increment();
+        if (latest.getAndSet(value) != null) {
+            superseded.increment();
+        }
+    }
+
+    /**
+     * Takes the waiting input, leaving the slot empty.
+     * @return The newest input offered since the last take, or null if there is none.
+     */
+    public T take() {
+        return latest.getAndSet(null);
+    }
+
+    /**
+     * Checks whether an input is waiting, without taking it.
+     * @return true if an input was offered since the last take.
+     */
+    public boolean hasPending() {
+        return latest.get() != null;
+    }
+
+    /**
+     * Discards any waiting input.
+     */
+    public void clear() {
+        latest.set(null);
+    }
+
+    /**
+     * Gets the number of inputs offered to this slot.
+     * @return The offered input count.
+     */
+    public long getOfferedCount() {
+        return offered.sum();
+    }
+
+    /**
+     * Gets the number of inputs replaced by a newer one before a tick took them.
+     * @return The superseded input count.
+     */
+    public long getSupersededCount() {
+        return superseded.sum();
+    }
+}
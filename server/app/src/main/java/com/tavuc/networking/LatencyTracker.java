@@ -0,0 +1,72 @@
+package com.tavuc.networking;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Smoothed round-trip time and jitter of one session, estimated from ping/pong samples
+ * the same way TCP estimates its retransmission timer (RFC 6298): the RTT moves 1/8 of
+ * the way towards each sample and the jitter 1/4 of the way towards the sample's deviation.
+ */
+public final class LatencyTracker {
+
+    private static final double RTT_GAIN = 1.0 / 8;
+    private static final double JITTER_GAIN = 1.0 / 4;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double smoothedRttMillis;
+    private volatile double jitterMillis;
+    private volatile long samples;
+
+    /**
+     * Adds a round-trip measurement.
+     * @param rttNanos The time between sending a ping and receiving its pong.
+     */
+    public void addSample(long rttNanos) {
+        if (rttNanos < 0) {
+            return;
+        }
+        double rtt = rttNanos / 1_000_000.0;
+        lock.lock();
+        try {
+            if (samples == 0) {
+                smoothedRttMillis = rtt;
+                jitterMillis = rtt / 2;
+            } else {
+                jitterMillis += JITTER_GAIN * (Math.abs(smoothedRttMillis - rtt) - jitterMillis);
+                smoothedRttMillis += RTT_GAIN * (rtt - smoothedRttMillis);
+            }
+            samples++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the smoothed round-trip time.
+     * @return The RTT in milliseconds, or 0 if nothing has been measured yet.
+     */
+    public double getSmoothedRttMillis() {
+        return smoothedRttMillis;
+    }
+
+    /**
+     * Gets the smoothed variation of the round-trip time.
+     * @return The jitter in milliseconds, or 0 if nothing has been measured yet.
+     */
+    public double getJitterMillis() {
+        return jitterMillis;
+    }
+
+    /**
+     * Gets the number of samples measured so far.
+     * @return The sample count.
+     */
+    public long getSampleCount() {
+        return samples;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RTT %.1f ms, jitter %.1f ms over %d sample(s)", smoothedRttMillis, jitterMillis, samples);
+    }
+}
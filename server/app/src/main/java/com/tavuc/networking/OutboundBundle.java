@@ -0,0 +1,90 @@
+package com.tavuc.networking;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects everything a game tick sends, so each session receives the tick's traffic as
+ * one bundle written with a single syscall instead of one write per message.
+ * A bundle is bound to the thread that opened it: messages sent from that thread while it is
+ * open are held back, while responses sent from session threads are delivered immediately.
+ * The bundle also carries the number of the tick that opened it, which is stamped on the
+ * latest-state messages created while it is open.
+ * Usage: {@code OutboundBundle bundle = OutboundBundle.open(tick); try { ... } finally { bundle.flush(); }}
+ */
+public final class OutboundBundle {
+
+    private static final ThreadLocal<OutboundBundle> CURRENT = new ThreadLocal<>();
+
+    /** Returned by {@link #currentTick()} when no tick is running on the calling thread. */
+    public static final long NO_TICK = 0;
+
+    private final Map<ClientSession, List<EncodedMessage>> pending = new LinkedHashMap<>();
+    private final long tick;
+    private int depth;
+
+    private OutboundBundle(long tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Opens a bundle on the calling thread, or joins the one already open so nested ticks
+     * share the outermost bundle.
+     * @param tick The number of the tick that sends through this bundle.
+     * @return The open bundle. Must be flushed exactly once per call.
+     */
+    public static OutboundBundle open(long tick) {
+        OutboundBundle bundle = CURRENT.get();
+        if (bundle == null) {
+            bundle = new OutboundBundle(tick);
+            CURRENT.set(bundle);
+        }
+        bundle.depth++;
+        return bundle;
+    }
+
+    /**
+     * Gets the tick running on the calling thread.
+     * @return The tick number of the open bundle, or {@link #NO_TICK} outside a tick.
+     */
+    public static long currentTick() {
+        OutboundBundle bundle = CURRENT.get();
+        return bundle != null ? bundle.tick : NO_TICK;
+    }
+
+    /**
+     * Holds a message back for the session if the calling thread has a bundle open.
+     * @param session The recipient.
+     * @param message The message to deliver.
+     * @return true if the message was added to a bundle, false if it must be sent directly.
+     */
+    static boolean add(ClientSession session, EncodedMessage message) {
+        OutboundBundle bundle = CURRENT.get();
+        if (bundle == null) {
+            return false;
+        }
+        bundle.pending.computeIfAbsent(session, s -> new ArrayList<>()).add(message);
+        return true;
+    }
+
+    /**
+     * Closes this level of the bundle. When the outermost level is closed, every session
+     * receives the messages collected for it, in the order they were sent.
+     */
+    public void flush() {
+        if (--depth > 0) {
+            return;
+        }
+        CURRENT.remove();
+        for (Map.Entry<ClientSession, List<EncodedMessage>> entry : pending.entrySet()) {
+            try {
+                entry.getKey().sendBundle(entry.getValue());
+            } catch (Exception e) {
+                System.err.println("OutboundBundle: Error delivering bundle to session " + entry.getKey().getSessionId() + ": " + e.getMessage());
+            }
+        }
+        pending.clear();
+    }
+}
@@ -0,0 +1,32 @@
+package com.tavuc.networking;
+
+/**
+ * What a session does with an inbound message that exceeds its rate limit.
+ */
+public enum RateLimitAction {
+    /** Discard the message. */
+    DROP,
+    /** Handle the message once the limit allows it, or drop it if that is too far away. */
+    DELAY,
+    /** Close the session. */
+    DISCONNECT;
+
+    /**
+     * Parses an action name, ignoring case.
+     * @param value The configured name.
+     * @param fallback The action to use if the name is missing or unknown.
+     * @return The matching action.
+     */
+    public static RateLimitAction parse(String value, RateLimitAction fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        for (RateLimitAction action : values()) {
+            if (action.name().equalsIgnoreCase(value.trim())) {
+                return action;
+            }
+        }
+        System.err.println("RateLimitAction: Unknown action '" + value + "'. Using " + fallback);
+        return fallback;
+    }
+}
@@ -0,0 +1,83 @@
+package com.tavuc.networking;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.tavuc.models.entities.Player;
+
+/**
+ * Keeps the state of recently disconnected sessions for a short grace window.
+ * Every login issues a random resume token; when the connection drops, the session parks its
+ * player and game under that token. A client reconnecting within the window presents the token
+ * and picks up where it left off, without reloading the player from disk or refetching the world.
+ * Tokens are single use: a resumed session is issued a fresh one.
+ */
+public class ResumeRegistry {
+
+    private final long graceNanos;
+    private final Map<Long, ResumeTicket> tickets = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructor for ResumeRegistry
+     * @param graceSeconds How long a disconnected session can be resumed, or 0 to disable resuming.
+     */
+    public ResumeRegistry(int graceSeconds) {
+        this.graceNanos = TimeUnit.SECONDS.toNanos(Math.max(0, graceSeconds));
+    }
+
+    /**
+     * Checks if sessions can be resumed at all.
+     * @return true if tokens are issued.
+     */
+    public boolean isEnabled() {
+        return graceNanos > 0;
+    }
+
+    /**
+     * Creates a new resume token.
+     * @return A random non-zero token.
+     */
+    long issueToken() {
+        long token;
+        do {
+            token = random.nextLong();
+        } while (token == 0);
+        return token;
+    }
+
+    /**
+     * Keeps a closed session's state until the grace window ends.
+     * @param token The token issued to the session.
+     * @param player The session's player.
+     * @param gameId The game the player was in, or 0 if in space.
+     */
+    void park(long token, Player player, int gameId) {
+        long now = System.nanoTime();
+        tickets.values().removeIf(ticket -> ticket.isExpired(now));
+        tickets.put(token, new ResumeTicket(player, gameId, now + graceNanos));
+    }
+
+    /**
+     * Takes the state parked under a token. The token cannot be used again.
+     * @param token The token presented by the client.
+     * @return The parked state, or null if the token is unknown or its window has passed.
+     */
+    ResumeTicket claim(long token) {
+        ResumeTicket ticket = tickets.remove(token);
+        if (ticket == null || ticket.isExpired(System.nanoTime())) {
+            return null;
+        }
+        return ticket;
+    }
+
+    /**
+     * Drops any parked state of a player, used when the player logs in normally instead.
+     * @param playerId The player's ID.
+     */
+    void revokePlayer(int playerId) {
+        tickets.values().removeIf(ticket -> ticket.getPlayer().getId() == playerId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.tavuc.networking;
+
+import com.tavuc.models.entities.Player;
+
+/**
+ * What a closed session leaves behind for a reconnecting client: the player as it was held
+ * in memory and the game it was in. Ship position lives on the player's last space location.
+ */
+final class ResumeTicket {
+
+    private final Player player;
+    private final int gameId;
+    private final long expiresAtNanos;
+
+    ResumeTicket(Player player, int gameId, long expiresAtNanos) {
+        this.player = player;
+        this.gameId = gameId;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the game the player was in when the session closed.
+     * @return The game ID, or 0 if the player was in space.
+     */
+    int getGameId() {
+        return gameId;
+    }
+
+    boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0;
+    }
+}
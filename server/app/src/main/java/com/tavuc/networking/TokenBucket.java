@@ -0,0 +1,108 @@
+package com.tavuc.networking;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills continuously at
+ * {@code ratePerSecond}. Each permitted action takes one token, so short bursts up to the
+ * capacity pass while the long-run rate is capped.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double ratePerNano;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Constructor for TokenBucket
+     * @param capacity The burst size; the bucket starts full.
+     * @param ratePerSecond The number of tokens added per second.
+     */
+    public TokenBucket(double capacity, double ratePerSecond) {
+        this.capacity = Math.max(1, capacity);
+        this.ratePerNano = Math.max(0, ratePerSecond) / 1_000_000_000.0;
+        this.tokens = this.capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes a token if one is available.
+     * @return true if the action is permitted.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a token now or reserves the next one, so a caller willing to wait can act once it is due.
+     * Reservations put the bucket into debt; later callers queue behind them.
+     * @param maxWaitNanos The longest the caller is willing to wait.
+     * @return 0 if a token was taken, the nanoseconds until the reserved token is due, or -1 if that
+     *         would be longer than {@code maxWaitNanos}, in which case nothing is taken.
+     */
+    public long reserve(long maxWaitNanos) {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            if (ratePerNano <= 0) {
+                return -1;
+            }
+            long waitNanos = (long) Math.ceil((1 - tokens) / ratePerNano);
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            tokens -= 1;
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a token taken or reserved by {@link #tryAcquire} or {@link #reserve} for an
+     * action that did not happen after all, for instance because another limit refused it.
+     */
+    public void refund() {
+        lock.lock();
+        try {
+            tokens = Math.min(capacity, tokens + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if the bucket has refilled completely, meaning it has not been used for a while.
+     * @return true if the bucket is full.
+     */
+    public boolean isFull() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return tokens >= capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerNano);
+        lastRefillNanos = now;
+    }
+}
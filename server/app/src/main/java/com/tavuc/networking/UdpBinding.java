@@ -0,0 +1,66 @@
+package com.tavuc.networking;
+
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tavuc.networking.protocol.DatagramCodec;
+
+/**
+ * UDP state of one session: its token, the address datagrams currently come from and the
+ * sequence numbers in both directions. The channel counts as up only while the client keeps
+ * sending; otherwise the session falls back to TCP for everything.
+ */
+final class UdpBinding {
+
+    private final long token;
+    private final AtomicInteger outboundSequence = new AtomicInteger();
+    private volatile SocketAddress address;
+    private volatile long lastHeardMillis;
+    private int lastInboundSequence;
+    private boolean receivedAny;
+
+    UdpBinding(long token) {
+        this.token = token;
+    }
+
+    long getToken() {
+        return token;
+    }
+
+    SocketAddress getAddress() {
+        return address;
+    }
+
+    int nextOutboundSequence() {
+        return outboundSequence.incrementAndGet();
+    }
+
+    /**
+     * Accepts a datagram if it is newer than every datagram accepted before and records its sender.
+     * Only called from the datagram receive thread.
+     * @param sequence The datagram's sequence number.
+     * @param sender The address it came from.
+     * @param nowMillis The current time.
+     * @return false if the datagram is stale and must be dropped.
+     */
+    boolean accept(int sequence, SocketAddress sender, long nowMillis) {
+        if (receivedAny && !DatagramCodec.isNewer(sequence, lastInboundSequence)) {
+            return false;
+        }
+        receivedAny = true;
+        lastInboundSequence = sequence;
+        address = sender;
+        lastHeardMillis = nowMillis;
+        return true;
+    }
+
+    /**
+     * Checks if the client has been heard from recently enough to send state over UDP.
+     * @param nowMillis The current time.
+     * @param timeoutMillis How long the channel stays up without inbound datagrams.
+     * @return true if datagrams should be used for this session.
+     */
+    boolean isActive(long nowMillis, long timeoutMillis) {
+        return address != null && nowMillis - lastHeardMillis < timeoutMillis;
+    }
+}
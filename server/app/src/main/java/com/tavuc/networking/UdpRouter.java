@@ -0,0 +1,161 @@
+package com.tavuc.networking;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.tavuc.exceptions.ProtocolException;
+import com.tavuc.networking.models.BaseMessage;
+import com.tavuc.networking.protocol.DatagramCodec;
+import com.tavuc.networking.protocol.MessageCodecs;
+import com.tavuc.networking.protocol.Opcode;
+import com.tavuc.networking.transport.DatagramEndpoint;
+import com.tavuc.networking.transport.DatagramHandler;
+
+/**
+ * Routes the optional UDP channel to client sessions.
+ * A session that logged in over the binary protocol is given a random token; the first datagram
+ * carrying that token binds the sender's address to the session. From then on latest-state
+ * messages travel as datagrams in both directions while everything else stays on TCP.
+ * If the client stops sending for {@link #BINDING_TIMEOUT_MS} the session falls back to TCP.
+ */
+public class UdpRouter implements DatagramHandler {
+
+    /** How long a binding stays up without hearing from the client. Clients send keepalives well within this. */
+    static final long BINDING_TIMEOUT_MS = 5000;
+
+    private final DatagramEndpoint endpoint;
+    private final Map<Long, ClientSession> sessionsByToken = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructor for UdpRouter
+     * @param endpoint The UDP socket shared by all sessions.
+     */
+    public UdpRouter(DatagramEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Gets the UDP port clients should send to.
+     * @return The bound port.
+     */
+    public int getPort() {
+        return endpoint.getPort();
+    }
+
+    /**
+     * Issues a token for a session and prepares its binding.
+     * @param session The authenticated session.
+     * @return The binding holding the new token.
+     */
+    UdpBinding register(ClientSession session) {
+        long token;
+        do {
+            token = random.nextLong();
+        } while (token == 0 || sessionsByToken.putIfAbsent(token, session) != null);
+        return new UdpBinding(token);
+    }
+
+    /**
+     * Revokes a session's token so datagrams carrying it are ignored.
+     * @param binding The binding issued to the session.
+     */
+    void unregister(UdpBinding binding) {
+        sessionsByToken.remove(binding.getToken());
+    }
+
+    /**
+     * Checks if latest-state messages for a binding should go over UDP.
+     * @param binding The session's binding, may be null.
+     * @return true if the client is currently reachable over UDP.
+     */
+    boolean isActive(UdpBinding binding) {
+        return binding != null && binding.isActive(System.currentTimeMillis(), BINDING_TIMEOUT_MS);
+    }
+
+    /**
+     * Sends frames to a bound client, packing as many into each datagram as fit.
+     * @param binding The session's binding.
+     * @param frames The frames to send. Each must fit into a datagram on its own.
+     */
+    void send(UdpBinding binding, List<ByteBuffer> frames) {
+        SocketAddress address = binding.getAddress();
+        if (address == null) {
+            return;
+        }
+        int start = 0;
+        int size = DatagramCodec.SERVER_HEADER_BYTES;
+        for (int i = 0; i <= frames.size(); i++) {
+            boolean full = i < frames.size() && size + frames.get(i).remaining() > DatagramCodec.MAX_DATAGRAM_BYTES;
+            if ((i == frames.size() || full) && i > start) {
+                endpoint.send(address, DatagramCodec.encodeServerDatagram(binding.nextOutboundSequence(), frames.subList(start, i)));
+                start = i;
+                size = DatagramCodec.SERVER_HEADER_BYTES;
+            }
+            if (i < frames.size()) {
+                size += frames.get(i).remaining();
+            }
+        }
+    }
+
+    /**
+     * Checks if a frame is small enough to travel as a datagram.
+     * @param frame The encoded frame.
+     * @return true if the frame fits into one datagram.
+     */
+    static boolean fits(ByteBuffer frame) {
+        return DatagramCodec.SERVER_HEADER_BYTES + frame.remaining() <= DatagramCodec.MAX_DATAGRAM_BYTES;
+    }
+
+    @Override
+    public void onDatagram(SocketAddress sender, ByteBuffer datagram) {
+        if (datagram.remaining() < DatagramCodec.CLIENT_HEADER_BYTES) {
+            return;
+        }
+        long token = datagram.getLong();
+        int sequence = datagram.getInt();
+        ClientSession session = sessionsByToken.get(token);
+        if (session == null) {
+            return;
+        }
+        UdpBinding binding = session.getUdpBinding();
+        if (binding == null || binding.getToken() != token) {
+            return;
+        }
+        boolean wasActive = isActive(binding);
+        if (!binding.accept(sequence, sender, System.currentTimeMillis())) {
+            return;
+        }
+        if (!wasActive) {
+            System.out.println("Session " + session.getSessionId() + ": UDP channel bound to " + sender + ".");
+        }
+        if (!datagram.hasRemaining()) {
+            endpoint.send(sender, DatagramCodec.encodeServerDatagram(binding.nextOutboundSequence(), Collections.emptyList()));
+            return;
+        }
+        if (!session.admitDatagram()) {
+            return;
+        }
+
+        List<BaseMessage> messages;
+        try {
+            messages = MessageCodecs.decodeFrames(datagram.array(), datagram.arrayOffset() + datagram.position(), datagram.remaining());
+        } catch (ProtocolException e) {
+            System.err.println("Session " + session.getSessionId() + ": Dropping malformed datagram: " + e.getMessage());
+            return;
+        }
+        for (BaseMessage message : messages) {
+            Opcode opcode = Opcode.fromType(message.type);
+            if (opcode != null && opcode.isLatestState()) {
+                session.onDatagramMessage(message);
+            } else {
+                System.err.println("Session " + session.getSessionId() + ": Ignoring " + message.type + " received over UDP; only latest-state messages are allowed.");
+            }
+        }
+    }
+}
@@ -1,5 +0,0 @@
-package com.tavuc.networking.models;
-
-public class BaseMessage {
-    public String type;
-}
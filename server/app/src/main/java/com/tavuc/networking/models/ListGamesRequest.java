@@ -1,7 +0,0 @@
-package com.tavuc.networking.models;
-
-public class ListGamesRequest extends BaseMessage {
-    public ListGamesRequest() {
-        this.type = "LIST_GAMES_REQUEST";
-    }
-}
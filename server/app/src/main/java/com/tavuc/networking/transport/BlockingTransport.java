@@ -0,0 +1,99 @@
+package com.tavuc.networking.transport;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-per-session transport. Each accepted socket gets one reader and one writer thread,
+ * either a virtual thread or a platform thread depending on the configured mode, so the
+ * two models can be compared under the same load.
+ */
+public class BlockingTransport implements Transport {
+
+    private final boolean virtualThreads;
+    private final OutboundPolicy outboundPolicy;
+    private ServerSocket serverSocket;
+    private ExecutorService sessionExecutor;
+    private volatile boolean running = false;
+
+    /**
+     * Constructor for BlockingTransport
+     * @param virtualThreads true to run sessions on virtual threads, false for platform threads.
+     * @param outboundPolicy The limits applied to every connection's outbound queue.
+     */
+    public BlockingTransport(boolean virtualThreads, OutboundPolicy outboundPolicy) {
+        this.virtualThreads = virtualThreads;
+        this.outboundPolicy = outboundPolicy;
+    }
+
+    @Override
+    public void start(int port, ConnectionAcceptor acceptor) throws IOException {
+        serverSocket = new ServerSocket(port);
+        if (virtualThreads) {
+            sessionExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ClientSession-", 0).factory());
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory factory = task -> new Thread(task, "ClientSession-" + counter.getAndIncrement());
+            sessionExecutor = Executors.newThreadPerTaskExecutor(factory);
+        }
+        running = true;
+
+        new Thread(() -> acceptLoop(acceptor), "NetworkService-AcceptThread").start();
+        System.out.println("BlockingTransport listening on port " + port + " using " + (virtualThreads ? "virtual" : "platform") + " session threads, outbound policy: " + outboundPolicy + ".");
+    }
+
+    private void acceptLoop(ConnectionAcceptor acceptor) {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                StreamConnection connection = new StreamConnection(socket, outboundPolicy);
+                System.out.println("Client connected: " + connection.getRemoteAddress());
+                connection.setHandler(acceptor.onConnectionAccepted(connection));
+                sessionExecutor.execute(connection);
+                sessionExecutor.execute(connection::writeLoop);
+            } catch (SocketException e) {
+                if (running) {
+                    System.err.println("Error accepting client connection: " + e.getMessage());
+                }
+                if (serverSocket.isClosed()) {
+                    break;
+                }
+            } catch (IOException e) {
+                System.err.println("Error accepting client connection: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing server socket: " + e.getMessage());
+        }
+        if (sessionExecutor != null) {
+            sessionExecutor.shutdown();
+            try {
+                if (!sessionExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    sessionExecutor.shutdownNow();
+                    if (!sessionExecutor.awaitTermination(5, TimeUnit.SECONDS))
+                        System.err.println("Client session threads did not terminate");
+                }
+            } catch (InterruptedException ie) {
+                sessionExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
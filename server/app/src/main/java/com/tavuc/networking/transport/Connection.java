@@ -0,0 +1,53 @@
+package com.tavuc.networking.transport;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A transport-level connection to a single client.
+ * Implementations own the socket and the threads that service it; a
+ * {@link ConnectionHandler} only ever sees complete inbound messages.
+ */
+public interface Connection {
+
+    /**
+     * Queues an already framed payload for delivery to the client.
+     * This method never blocks on the socket.
+     * @param frame The bytes to write. The buffer must not be modified after it is handed over.
+     */
+    default void send(ByteBuffer frame) {
+        send(frame, false);
+    }
+
+    /**
+     * Queues an already framed payload for delivery to the client.
+     * This method never blocks on the socket. If the client has fallen behind, the
+     * connection's {@link OutboundPolicy} may discard droppable frames or close the connection.
+     * @param frame The bytes to write. The buffer must not be modified after it is handed over.
+     * @param droppable true if the frame carries latest-state data that a later frame supersedes.
+     */
+    void send(ByteBuffer frame, boolean droppable);
+
+    /**
+     * Switches how inbound bytes are split into messages. Must be called from within
+     * {@link ConnectionHandler#onMessage(String)} so the switch takes effect exactly after that message.
+     * @param framing The framing to apply to all following inbound bytes.
+     */
+    void setFraming(Framing framing);
+
+    /**
+     * Closes the connection. Safe to call more than once and from any thread.
+     */
+    void close();
+
+    /**
+     * Checks if the connection is still open.
+     * @return true if the connection has not been closed.
+     */
+    boolean isOpen();
+
+    /**
+     * Gets the remote address of the client.
+     * @return The host address of the client, or "unknown host" if it cannot be determined.
+     */
+    String getRemoteAddress();
+}
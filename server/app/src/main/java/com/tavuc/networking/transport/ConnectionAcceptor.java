@@ -0,0 +1,11 @@
+package com.tavuc.networking.transport;
+
+public interface ConnectionAcceptor {
+
+    /**
+     * Called by a transport for every newly accepted connection.
+     * @param connection The new connection.
+     * @return The handler that will receive the connection's messages.
+     */
+    ConnectionHandler onConnectionAccepted(Connection connection);
+}
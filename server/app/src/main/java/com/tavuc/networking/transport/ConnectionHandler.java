@@ -0,0 +1,21 @@
+package com.tavuc.networking.transport;
+
+public interface ConnectionHandler {
+
+    /**
+     * Called with every complete message read from the connection, in arrival order.
+     * @param message The message without its line terminator.
+     */
+    void onMessage(String message);
+
+    /**
+     * Called with every complete binary frame once the connection uses {@link Framing#LENGTH_PREFIXED}.
+     * @param frame The frame body without its length prefix. Ownership passes to the handler.
+     */
+    void onFrame(byte[] frame);
+
+    /**
+     * Called once when the connection has been closed by either side.
+     */
+    void onDisconnected();
+}
@@ -0,0 +1,102 @@
+package com.tavuc.networking.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * UDP socket shared by all sessions for unreliable, latest-wins traffic.
+ * One thread receives and hands each datagram to the {@link DatagramHandler}; any thread may send.
+ * Sending never waits for the peer: a datagram the kernel cannot buffer is simply lost,
+ * which is acceptable for state that the next update supersedes.
+ */
+public class DatagramEndpoint {
+
+    private static final int RECEIVE_BUFFER_SIZE = 64 * 1024;
+
+    private final DatagramChannel channel;
+    private final int port;
+    private volatile boolean running = false;
+
+    /**
+     * Constructor for DatagramEndpoint
+     * @param port The UDP port to bind.
+     * @throws IOException If the port cannot be bound.
+     */
+    public DatagramEndpoint(int port) throws IOException {
+        this.channel = DatagramChannel.open();
+        this.channel.bind(new InetSocketAddress(port));
+        this.port = ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Starts the receive thread.
+     * @param handler The handler receiving every datagram.
+     */
+    public void start(DatagramHandler handler) {
+        running = true;
+        new Thread(() -> receiveLoop(handler), "NetworkService-DatagramThread").start();
+        System.out.println("DatagramEndpoint listening on UDP port " + port + ".");
+    }
+
+    private void receiveLoop(DatagramHandler handler) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECEIVE_BUFFER_SIZE);
+        while (running) {
+            try {
+                buffer.clear();
+                SocketAddress sender = channel.receive(buffer);
+                if (sender == null) {
+                    continue;
+                }
+                buffer.flip();
+                handler.onDatagram(sender, buffer);
+            } catch (ClosedChannelException e) {
+                break;
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("DatagramEndpoint: Receive error: " + e.getMessage());
+                }
+            } catch (Exception e) {
+                System.err.println("DatagramEndpoint: Error handling datagram: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sends one datagram.
+     * @param target The address to send to.
+     * @param datagram The datagram contents. Not consumed.
+     */
+    public void send(SocketAddress target, ByteBuffer datagram) {
+        try {
+            channel.send(datagram.duplicate(), target);
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("DatagramEndpoint: Error sending to " + target + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets the bound UDP port.
+     * @return The local port.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Stops the receive thread and closes the socket.
+     */
+    public void stop() {
+        running = false;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("DatagramEndpoint: Error closing channel: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.tavuc.networking.transport;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+public interface DatagramHandler {
+
+    /**
+     * Called on the endpoint's receive thread for every datagram that arrives.
+     * @param sender The address the datagram came from.
+     * @param datagram The datagram contents, positioned at its first byte. Only valid during the call.
+     */
+    void onDatagram(SocketAddress sender, ByteBuffer datagram);
+}
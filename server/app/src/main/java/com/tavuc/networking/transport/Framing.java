@@ -0,0 +1,11 @@
+package com.tavuc.networking.transport;
+
+/**
+ * How a connection splits its inbound byte stream into messages.
+ */
+public enum Framing {
+    /** Newline terminated UTF-8 text, one JSON message per line. */
+    LINE,
+    /** A varint byte count followed by that many bytes of binary frame. */
+    LENGTH_PREFIXED
+}
@@ -0,0 +1,120 @@
+package com.tavuc.networking.transport;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits the inbound byte stream of one connection into messages according to its
+ * current {@link Framing} and hands each complete message to the handler.
+ * The framing may be switched by the handler while a message is being dispatched;
+ * bytes that follow it are then decoded with the new framing.
+ * Not thread-safe: a decoder is only ever fed by the connection's reading thread.
+ */
+final class InboundDecoder {
+
+    static final int MAX_MESSAGE_BYTES = 1024 * 1024;
+
+    private final String remoteAddress;
+    private volatile Framing framing = Framing.LINE;
+    private byte[] lineBuffer = new byte[256];
+    private int lineLength;
+    private int frameLength = -1;
+    private int lengthShift;
+    private byte[] frame;
+    private int frameFilled;
+
+    InboundDecoder(String remoteAddress) {
+        this.remoteAddress = remoteAddress;
+    }
+
+    void setFraming(Framing framing) {
+        this.framing = framing;
+    }
+
+    /**
+     * Consumes every readable byte of the buffer, dispatching complete messages as they are found.
+     * @param src The bytes read from the socket.
+     * @param handler The handler receiving complete messages.
+     * @return false if the peer violated the framing and the connection must be closed.
+     */
+    boolean decode(ByteBuffer src, ConnectionHandler handler) {
+        while (src.hasRemaining()) {
+            boolean ok = framing == Framing.LINE ? decodeLine(src, handler) : decodeFrame(src, handler);
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean decodeLine(ByteBuffer src, ConnectionHandler handler) {
+        byte b = src.get();
+        if (b == '\n') {
+            int length = lineLength;
+            if (length > 0 && lineBuffer[length - 1] == '\r') {
+                length--;
+            }
+            String message = new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+            lineLength = 0;
+            try {
+                handler.onMessage(message);
+            } catch (Exception e) {
+                System.err.println("Connection " + remoteAddress + ": Handler failed for message: " + e.getMessage());
+                e.printStackTrace();
+            }
+            return true;
+        }
+        if (lineLength == MAX_MESSAGE_BYTES) {
+            System.err.println("Connection " + remoteAddress + ": Message exceeds " + MAX_MESSAGE_BYTES + " bytes. Closing.");
+            return false;
+        }
+        if (lineLength == lineBuffer.length) {
+            byte[] grown = new byte[Math.min(MAX_MESSAGE_BYTES, lineBuffer.length * 2)];
+            System.arraycopy(lineBuffer, 0, grown, 0, lineLength);
+            lineBuffer = grown;
+        }
+        lineBuffer[lineLength++] = b;
+        return true;
+    }
+
+    private boolean decodeFrame(ByteBuffer src, ConnectionHandler handler) {
+        if (frame == null) {
+            byte b = src.get();
+            if (frameLength < 0) {
+                frameLength = 0;
+            }
+            frameLength |= (b & 0x7F) << lengthShift;
+            lengthShift += 7;
+            if ((b & 0x80) != 0) {
+                if (lengthShift > 21) {
+                    System.err.println("Connection " + remoteAddress + ": Malformed frame length. Closing.");
+                    return false;
+                }
+                return true;
+            }
+            if (frameLength > MAX_MESSAGE_BYTES) {
+                System.err.println("Connection " + remoteAddress + ": Frame of " + frameLength + " bytes exceeds " + MAX_MESSAGE_BYTES + " bytes. Closing.");
+                return false;
+            }
+            frame = new byte[frameLength];
+            frameFilled = 0;
+        }
+
+        int chunk = Math.min(src.remaining(), frame.length - frameFilled);
+        src.get(frame, frameFilled, chunk);
+        frameFilled += chunk;
+        if (frameFilled == frame.length) {
+            byte[] complete = frame;
+            frame = null;
+            frameLength = -1;
+            lengthShift = 0;
+            try {
+                handler.onFrame(complete);
+            } catch (Exception e) {
+                System.err.println("Connection " + remoteAddress + ": Handler failed for frame: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,217 @@
+package com.tavuc.networking.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking connection serviced by a {@link NioEventLoop}.
+ * Inbound bytes are split into messages by an {@link InboundDecoder}; outbound frames are
+ * queued by any thread in a bounded {@link OutboundQueue} and written by the loop with
+ * gathering writes, so a single flush covers everything queued since the last one.
+ */
+final class NioConnection implements Connection {
+
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_GATHER = 64;
+
+    private final SocketChannel channel;
+    private final NioEventLoop loop;
+    private final String remoteAddress;
+    private final OutboundQueue outbound;
+    private final ArrayDeque<ByteBuffer> inFlight = new ArrayDeque<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+    private final InboundDecoder decoder;
+    private ConnectionHandler handler;
+    private SelectionKey key;
+    private boolean channelClosed;
+
+    NioConnection(SocketChannel channel, NioEventLoop loop, OutboundPolicy policy) {
+        this.channel = channel;
+        this.loop = loop;
+        this.outbound = new OutboundQueue(policy);
+        String address;
+        try {
+            InetSocketAddress remote = (InetSocketAddress) channel.getRemoteAddress();
+            address = remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown host";
+        } catch (IOException e) {
+            address = "unknown host";
+        }
+        this.remoteAddress = address;
+        this.decoder = new InboundDecoder(address);
+    }
+
+    SocketChannel channel() {
+        return channel;
+    }
+
+    void setHandler(ConnectionHandler handler) {
+        this.handler = handler;
+    }
+
+    void attach(SelectionKey key) {
+        this.key = key;
+        if (closed.get()) {
+            closeNow();
+        } else if (!outbound.isEmpty()) {
+            handleWrite();
+        }
+    }
+
+    @Override
+    public void send(ByteBuffer frame, boolean droppable) {
+        if (closed.get()) {
+            return;
+        }
+        if (!outbound.offer(frame, droppable)) {
+            if (!closed.get()) {
+                System.err.println("Connection " + remoteAddress + ": Slow consumer, " + outbound.getQueuedBytes()
+                        + " bytes queued and " + outbound.getDroppedFrames() + " stale frames dropped. Disconnecting.");
+            }
+            close();
+            return;
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(this::flush);
+        }
+    }
+
+    @Override
+    public void setFraming(Framing framing) {
+        decoder.setFraming(framing);
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        if (key != null) {
+            handleWrite();
+        }
+    }
+
+    /**
+     * Reads whatever is available and dispatches every complete message.
+     * Runs on the loop thread only.
+     */
+    void handleRead() {
+        int read;
+        try {
+            read = channel.read(readBuffer);
+        } catch (IOException e) {
+            if (!closed.get()) {
+                System.err.println("Connection " + remoteAddress + ": Read error: " + e.getMessage());
+            }
+            closeNow();
+            return;
+        }
+        if (read < 0) {
+            closeNow();
+            return;
+        }
+
+        readBuffer.flip();
+        boolean ok = decoder.decode(readBuffer, handler);
+        readBuffer.clear();
+        if (!ok) {
+            closeNow();
+        }
+    }
+
+    /**
+     * Writes as much of the pending output as the socket accepts.
+     * Runs on the loop thread only.
+     */
+    void handleWrite() {
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        try {
+            while (true) {
+                if (inFlight.size() < MAX_GATHER) {
+                    outbound.poll(inFlight, MAX_GATHER - inFlight.size());
+                }
+                if (inFlight.isEmpty()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+                int count = 0;
+                for (ByteBuffer buffer : inFlight) {
+                    gather[count++] = buffer;
+                }
+                channel.write(gather, 0, count);
+                while (!inFlight.isEmpty() && !inFlight.peekFirst().hasRemaining()) {
+                    inFlight.pollFirst();
+                }
+                Arrays.fill(gather, 0, count, null);
+                if (!inFlight.isEmpty()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            if (!closed.get()) {
+                System.err.println("Connection " + remoteAddress + ": Write error: " + e.getMessage());
+            }
+            closeNow();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            if (loop.inEventLoop()) {
+                closeNow();
+            } else {
+                loop.execute(this::closeNow);
+            }
+        }
+    }
+
+    /**
+     * Closes the channel immediately after a best-effort flush. Runs on the loop thread only.
+     */
+    void closeNow() {
+        if (channelClosed) {
+            return;
+        }
+        channelClosed = true;
+        closed.set(true);
+        if (key != null && key.isValid() && (!inFlight.isEmpty() || !outbound.isEmpty())) {
+            handleWrite();
+        }
+        outbound.close();
+        inFlight.clear();
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Connection " + remoteAddress + ": Error closing channel: " + e.getMessage());
+        }
+        if (handler != null) {
+            try {
+                handler.onDisconnected();
+            } catch (Exception e) {
+                System.err.println("Connection " + remoteAddress + ": Error during disconnect notification: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed.get() && channel.isOpen();
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+}
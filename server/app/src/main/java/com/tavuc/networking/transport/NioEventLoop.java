@@ -0,0 +1,142 @@
+package com.tavuc.networking.transport;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A single selector thread that reads, frames and writes for many connections.
+ * All socket I/O of a connection happens on the loop it was registered with;
+ * other threads hand work to the loop through {@link #execute(Runnable)}.
+ */
+public final class NioEventLoop implements Runnable {
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    /**
+     * Constructor for NioEventLoop
+     * @param name The name of the loop thread.
+     * @throws IOException If the selector cannot be opened.
+     */
+    public NioEventLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+    }
+
+    /**
+     * Starts the loop thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Schedules a task to run on the loop thread and wakes the selector.
+     * @param task The task to run.
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Checks if the caller is running on this loop's thread.
+     * @return true if called from the loop thread.
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Registers a connection's channel with this loop for reading.
+     * @param connection The connection to register.
+     */
+    void register(NioConnection connection) {
+        execute(() -> {
+            try {
+                SelectionKey key = connection.channel().register(selector, SelectionKey.OP_READ, connection);
+                connection.attach(key);
+            } catch (IOException e) {
+                System.err.println(thread.getName() + ": Failed to register connection from " + connection.getRemoteAddress() + ": " + e.getMessage());
+                connection.close();
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select();
+                runTasks();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    NioConnection connection = (NioConnection) key.attachment();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isReadable()) {
+                        connection.handleRead();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.handleWrite();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println(thread.getName() + ": Selector error: " + e.getMessage());
+            } catch (Exception e) {
+                System.err.println(thread.getName() + ": Unexpected error in event loop: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        runTasks();
+        closeAll();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println(thread.getName() + ": Error running loop task: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection) {
+                ((NioConnection) key.attachment()).closeNow();
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            System.err.println(thread.getName() + ": Error closing selector: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the loop, closing every connection still registered with it.
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
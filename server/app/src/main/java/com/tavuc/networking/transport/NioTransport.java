@@ -0,0 +1,99 @@
+package com.tavuc.networking.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Non-blocking transport built on a {@link ServerSocketChannel} and a small fixed
+ * set of {@link NioEventLoop}s. Accepted connections are spread round-robin over the loops,
+ * so the number of network threads stays constant regardless of how many clients connect.
+ */
+public class NioTransport implements Transport {
+
+    private final int eventLoopCount;
+    private final OutboundPolicy outboundPolicy;
+    private ServerSocketChannel serverChannel;
+    private NioEventLoop[] eventLoops;
+    private volatile boolean running = false;
+    private int nextLoop = 0;
+
+    /**
+     * Constructor for NioTransport
+     * @param eventLoopCount The number of selector threads to run.
+     * @param outboundPolicy The limits applied to every connection's outbound queue.
+     */
+    public NioTransport(int eventLoopCount, OutboundPolicy outboundPolicy) {
+        this.eventLoopCount = Math.max(1, eventLoopCount);
+        this.outboundPolicy = outboundPolicy;
+    }
+
+    /**
+     * Binds the server channel and starts the accept thread and event loops.
+     * @param port The port to listen on.
+     * @param acceptor Callback creating a handler for every accepted connection.
+     * @throws IOException If the port cannot be bound or a selector cannot be opened.
+     */
+    @Override
+    public void start(int port, ConnectionAcceptor acceptor) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+
+        eventLoops = new NioEventLoop[eventLoopCount];
+        for (int i = 0; i < eventLoopCount; i++) {
+            eventLoops[i] = new NioEventLoop("NetworkService-EventLoop-" + i);
+            eventLoops[i].start();
+        }
+        running = true;
+
+        new Thread(() -> acceptLoop(acceptor), "NetworkService-AcceptThread").start();
+        System.out.println("NioTransport listening on port " + port + " with " + eventLoopCount + " event loop(s), outbound policy: " + outboundPolicy + ".");
+    }
+
+    private void acceptLoop(ConnectionAcceptor acceptor) {
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+                NioEventLoop loop = eventLoops[nextLoop];
+                nextLoop = (nextLoop + 1) % eventLoops.length;
+
+                NioConnection connection = new NioConnection(channel, loop, outboundPolicy);
+                System.out.println("Client connected: " + connection.getRemoteAddress());
+                connection.setHandler(acceptor.onConnectionAccepted(connection));
+                loop.register(connection);
+            } catch (ClosedChannelException e) {
+                break;
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Error accepting client connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections and shuts down every event loop.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing server channel: " + e.getMessage());
+        }
+        if (eventLoops != null) {
+            for (NioEventLoop loop : eventLoops) {
+                loop.shutdown();
+            }
+        }
+    }
+}
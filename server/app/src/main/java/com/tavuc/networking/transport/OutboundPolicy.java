@@ -0,0 +1,45 @@
+package com.tavuc.networking.transport;
+
+/**
+ * Limits applied to the outbound queue of every connection, so a client that reads
+ * slower than the server produces cannot make the server buffer without bound.
+ * Once more than {@link #getDropThresholdBytes()} are waiting, queued latest-state updates
+ * are discarded because newer ones supersede them. If the queue still grows past
+ * {@link #getMaxQueuedBytes()} the client is disconnected.
+ */
+public final class OutboundPolicy {
+
+    private final int dropThresholdBytes;
+    private final int maxQueuedBytes;
+
+    /**
+     * Constructor for OutboundPolicy
+     * @param dropThresholdBytes Queued bytes above which stale state updates are dropped.
+     * @param maxQueuedBytes Queued bytes above which the client is disconnected.
+     */
+    public OutboundPolicy(int dropThresholdBytes, int maxQueuedBytes) {
+        this.maxQueuedBytes = Math.max(1, maxQueuedBytes);
+        this.dropThresholdBytes = Math.max(0, Math.min(dropThresholdBytes, this.maxQueuedBytes));
+    }
+
+    /**
+     * Gets the number of queued bytes above which stale state updates are dropped.
+     * @return The drop threshold in bytes.
+     */
+    public int getDropThresholdBytes() {
+        return dropThresholdBytes;
+    }
+
+    /**
+     * Gets the number of queued bytes above which the client is disconnected.
+     * @return The queue limit in bytes.
+     */
+    public int getMaxQueuedBytes() {
+        return maxQueuedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "drop stale updates above " + dropThresholdBytes + " bytes, disconnect above " + maxQueuedBytes + " bytes";
+    }
+}
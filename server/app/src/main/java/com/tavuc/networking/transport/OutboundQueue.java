@@ -0,0 +1,170 @@
+package com.tavuc.networking.transport;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of frames waiting to be written to one connection.
+ * Any thread may offer frames; only the connection's writer takes them. Offering never
+ * blocks: when the writer falls behind, the {@link OutboundPolicy} decides whether
+ * stale state updates are discarded or the offer is refused.
+ */
+final class OutboundQueue {
+
+    private static final class Entry {
+        final ByteBuffer frame;
+        final boolean droppable;
+
+        Entry(ByteBuffer frame, boolean droppable) {
+            this.frame = frame;
+            this.droppable = droppable;
+        }
+    }
+
+    private final OutboundPolicy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private long queuedBytes;
+    private long droppedFrames;
+    private boolean closed;
+
+    OutboundQueue(OutboundPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Adds a frame to the queue, shedding queued droppable frames first if the drop threshold is exceeded.
+     * @param frame The frame to write.
+     * @param droppable true if a later frame supersedes this one, so it may be discarded under pressure.
+     * @return false if the queue is closed or would exceed its limit even after shedding.
+     */
+    boolean offer(ByteBuffer frame, boolean droppable) {
+        int size = frame.remaining();
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (queuedBytes + size > policy.getDropThresholdBytes()) {
+                dropStale();
+            }
+            if (queuedBytes + size > policy.getMaxQueuedBytes()) {
+                return false;
+            }
+            entries.addLast(new Entry(frame, droppable));
+            queuedBytes += size;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dropStale() {
+        Iterator<Entry> it = entries.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.droppable) {
+                it.remove();
+                queuedBytes -= entry.frame.remaining();
+                droppedFrames++;
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} frames into {@code dst} without waiting.
+     * @param dst The collection receiving the frames in queue order.
+     * @param max The maximum number of frames to move.
+     * @return The number of frames moved.
+     */
+    int poll(Collection<ByteBuffer> dst, int max) {
+        lock.lock();
+        try {
+            return drain(dst, max);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until frames are available, then moves up to {@code max} of them into {@code dst}.
+     * @param dst The collection receiving the frames in queue order.
+     * @param max The maximum number of frames to move.
+     * @return false once the queue has been closed.
+     * @throws InterruptedException If the writer is interrupted while waiting.
+     */
+    boolean await(Collection<ByteBuffer> dst, int max) throws InterruptedException {
+        lock.lock();
+        try {
+            while (entries.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            if (closed) {
+                return false;
+            }
+            drain(dst, max);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int drain(Collection<ByteBuffer> dst, int max) {
+        int moved = 0;
+        while (moved < max && !entries.isEmpty()) {
+            Entry entry = entries.pollFirst();
+            queuedBytes -= entry.frame.remaining();
+            dst.add(entry.frame);
+            moved++;
+        }
+        return moved;
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return entries.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getQueuedBytes() {
+        lock.lock();
+        try {
+            return queuedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getDroppedFrames() {
+        lock.lock();
+        try {
+            return droppedFrames;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards every queued frame and wakes a waiting writer. Later offers are refused.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            entries.clear();
+            queuedBytes = 0;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
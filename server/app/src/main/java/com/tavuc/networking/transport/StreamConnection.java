@@ -0,0 +1,145 @@
+package com.tavuc.networking.transport;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Blocking connection serviced by two dedicated (virtual or platform) threads: one reads and
+ * dispatches inbound messages, the other drains the bounded {@link OutboundQueue}.
+ * Callers of {@link #send(ByteBuffer, boolean)} only enqueue, so a client with a full TCP
+ * window never blocks the game tick. The writer flushes once per batch of queued frames.
+ */
+final class StreamConnection implements Connection, Runnable {
+
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_WRITE_BATCH = 64;
+
+    private final Socket socket;
+    private final String remoteAddress;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final AtomicBoolean disconnectNotified = new AtomicBoolean(false);
+    private final InboundDecoder decoder;
+    private final OutboundQueue outbound;
+    private ConnectionHandler handler;
+
+    StreamConnection(Socket socket, OutboundPolicy policy) {
+        this.socket = socket;
+        this.remoteAddress = socket.getInetAddress() != null ? socket.getInetAddress().getHostAddress() : "unknown host";
+        this.decoder = new InboundDecoder(remoteAddress);
+        this.outbound = new OutboundQueue(policy);
+    }
+
+    void setHandler(ConnectionHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Reads and dispatches messages until the socket closes.
+     */
+    @Override
+    public void run() {
+        try {
+            InputStream in = socket.getInputStream();
+            byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+            int read;
+            while (!closed.get() && (read = in.read(readBuffer)) != -1) {
+                if (!decoder.decode(ByteBuffer.wrap(readBuffer, 0, read), handler)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            if (!closed.get()) {
+                System.err.println("Connection " + remoteAddress + ": Read error: " + e.getMessage());
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Writes queued frames until the connection closes, flushing once per batch.
+     */
+    void writeLoop() {
+        List<ByteBuffer> batch = new ArrayList<>(MAX_WRITE_BATCH);
+        try {
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream(), WRITE_BUFFER_SIZE);
+            while (outbound.await(batch, MAX_WRITE_BATCH)) {
+                for (ByteBuffer frame : batch) {
+                    if (frame.hasArray()) {
+                        out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+                    } else {
+                        byte[] bytes = new byte[frame.remaining()];
+                        frame.duplicate().get(bytes);
+                        out.write(bytes);
+                    }
+                }
+                batch.clear();
+                out.flush();
+            }
+        } catch (IOException e) {
+            if (!closed.get()) {
+                System.err.println("Connection " + remoteAddress + ": Write error: " + e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public void send(ByteBuffer frame, boolean droppable) {
+        if (closed.get()) {
+            return;
+        }
+        if (!outbound.offer(frame, droppable)) {
+            if (!closed.get()) {
+                System.err.println("Connection " + remoteAddress + ": Slow consumer, " + outbound.getQueuedBytes()
+                        + " bytes queued and " + outbound.getDroppedFrames() + " stale frames dropped. Disconnecting.");
+            }
+            close();
+        }
+    }
+
+    @Override
+    public void setFraming(Framing framing) {
+        decoder.setFraming(framing);
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            outbound.close();
+            try {
+                socket.close();
+            } catch (IOException e) {
+                System.err.println("Connection " + remoteAddress + ": Error closing socket: " + e.getMessage());
+            }
+        }
+        if (handler != null && disconnectNotified.compareAndSet(false, true)) {
+            try {
+                handler.onDisconnected();
+            } catch (Exception e) {
+                System.err.println("Connection " + remoteAddress + ": Error during disconnect notification: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed.get() && !socket.isClosed();
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+}
@@ -0,0 +1,23 @@
+package com.tavuc.networking.transport;
+
+import java.io.IOException;
+
+/**
+ * Accepts client connections and runs their I/O.
+ * The implementation is chosen at startup through {@link TransportMode}.
+ */
+public interface Transport {
+
+    /**
+     * Binds the listening socket and starts servicing connections.
+     * @param port The port to listen on.
+     * @param acceptor Callback creating a handler for every accepted connection.
+     * @throws IOException If the port cannot be bound.
+     */
+    void start(int port, ConnectionAcceptor acceptor) throws IOException;
+
+    /**
+     * Stops accepting connections and releases the transport's threads.
+     */
+    void stop();
+}
@@ -0,0 +1,50 @@
+package com.tavuc.networking.transport;
+
+/**
+ * The session execution models the server can run with.
+ */
+public enum TransportMode {
+    /** Non-blocking selector loops shared by all sessions. */
+    NIO,
+    /** A blocking reader and writer per session, each on its own virtual thread. */
+    VIRTUAL,
+    /** A blocking reader and writer per session, each on its own platform thread. */
+    PLATFORM;
+
+    /**
+     * Parses a transport mode name, ignoring case.
+     * @param value The configured name.
+     * @param fallback The mode to use if the name is missing or unknown.
+     * @return The matching transport mode.
+     */
+    public static TransportMode parse(String value, TransportMode fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        for (TransportMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        System.err.println("TransportMode: Unknown transport '" + value + "'. Using " + fallback);
+        return fallback;
+    }
+
+    /**
+     * Creates the transport for this mode.
+     * @param eventLoopThreads The number of selector threads, used by {@link #NIO} only.
+     * @param outboundPolicy The limits applied to every connection's outbound queue.
+     * @return A new, not yet started transport.
+     */
+    public Transport create(int eventLoopThreads, OutboundPolicy outboundPolicy) {
+        switch (this) {
+            case VIRTUAL:
+                return new BlockingTransport(true, outboundPolicy);
+            case PLATFORM:
+                return new BlockingTransport(false, outboundPolicy);
+            case NIO:
+            default:
+                return new NioTransport(eventLoopThreads, outboundPolicy);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.tavuc.simulation;
+
+/**
+ * How much non-essential work is shed to keep ticks within budget. Each level also sheds
+ * everything the levels before it shed; players, combat and membership are never shed.
+ */
+public enum DegradationLevel {
+    /** Everything runs at full fidelity. */
+    NORMAL,
+    /** Dummies and AI ships are updated every few ticks instead of every tick. */
+    REDUCED_NPCS,
+    /** Movement of entities far from a player is sent to them every few ticks instead of every tick. */
+    THINNED_BROADCASTS,
+    /** New projectiles are refused while the projectile cap is reached. */
+    CAPPED_PROJECTILES,
+    /** Chunks that have not been generated yet are generated after a delay. */
+    DEFERRED_CHUNKS;
+
+    /**
+     * Checks whether this level sheds at least as much as another.
+     * @param other The level to compare with.
+     * @return true if this level is the other level or a later one.
+     */
+    public boolean isAtLeast(DegradationLevel other) {
+        return compareTo(other) >= 0;
+    }
+
+    /**
+     * Gets the level that sheds one more stage of work.
+     * @return The next level, or this level if it is the last.
+     */
+    public DegradationLevel next() {
+        DegradationLevel[] levels = values();
+        return ordinal() + 1 < levels.length ? levels[ordinal() + 1] : this;
+    }
+
+    /**
+     * Gets the level that sheds one stage less.
+     * @return The previous level, or this level if it is NORMAL.
+     */
+    public DegradationLevel previous() {
+        return ordinal() > 0 ? values()[ordinal() - 1] : this;
+    }
+}
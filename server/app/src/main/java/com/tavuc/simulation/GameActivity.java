@@ -0,0 +1,13 @@
+package com.tavuc.simulation;
+
+/**
+ * How busy a game is, which decides how often it is ticked.
+ */
+public enum GameActivity {
+    /** Someone is moving, fighting or has just sent input: ticked every tick. */
+    ACTIVE,
+    /** Players are present but nothing has happened for a while: ticked at the idle rate. */
+    IDLE,
+    /** No players: not ticked at all. */
+    EMPTY
+}
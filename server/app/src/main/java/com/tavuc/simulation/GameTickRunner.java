@@ -0,0 +1,240 @@
+package com.tavuc.simulation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.tavuc.managers.GameManager;
+import com.tavuc.networking.OutboundBundle;
+
+/**
+ * Ticks the games of the planets in parallel on a bounded work-stealing pool.
+ * Games share no state, so each one updates on whichever worker is free and a crowded planet
+ * only occupies one core. The tick waits for all games until its budget runs out, then moves on:
+ * a game that is still running is not waited for and skips the ticks that start before it
+ * finishes, so one overloaded game falls behind on its own instead of delaying every other
+ * planet. Each game has an {@link OverloadController}: games that overrun their budget several
+ * ticks in a row shed non-essential work one {@link DegradationLevel} at a time, and take it back
+ * one level at a time once their ticks have stayed well within budget for a while.
+ * How often a game is ticked follows its {@link GameActivity}: active games every tick, idle
+ * games every few ticks and empty games not at all. Clients get each update stamped with its
+ * tick, so they see the longer gaps between idle updates rather than assuming a fixed cadence.
+ */
+public final class GameTickRunner {
+
+    /** Consecutive over-budget ticks after which a game sheds one more stage of work. */
+    private static final int OVERLOAD_TICKS = 3;
+
+    private final ForkJoinPool pool;
+    private final Map<Integer, GameSlot> slots = new ConcurrentHashMap<>();
+    private final int idleTickInterval;
+    private final int recoverAfterTicks;
+
+    /**
+     * Constructor for GameTickRunner
+     * @param parallelism The number of worker threads, at most one game per thread at a time.
+     * @param idleTickInterval Idle games are ticked once every this many ticks.
+     * @param recoverAfterTicks Ticks well within budget after which an overloaded game resumes one stage of shed work.
+     */
+    public GameTickRunner(int parallelism, int idleTickInterval, int recoverAfterTicks) {
+        this.idleTickInterval = Math.max(1, idleTickInterval);
+        this.recoverAfterTicks = Math.max(1, recoverAfterTicks);
+        this.pool = new ForkJoinPool(Math.max(1, parallelism), pool -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName("GameTickWorker-" + worker.getPoolIndex());
+            return worker;
+        }, null, false);
+        System.out.println("GameTickRunner: Ticking games on " + pool.getParallelism() + " worker(s), idle games every " + this.idleTickInterval + " tick(s).");
+    }
+
+    /**
+     * Runs one tick of every game that is due and waits for them until the budget is spent.
+     * Each game's messages go out as its own bundle, stamped with the tick number.
+     * @param tick The number of the tick being run.
+     * @param games The games to update.
+     * @param budgetNanos How long the tick may wait for the games.
+     */
+    public void tickAll(long tick, List<GameManager> games, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(games.size());
+        List<GameSlot> running = new ArrayList<>(games.size());
+        for (GameManager game : games) {
+            GameSlot slot = slotFor(game);
+            GameActivity activity = game.getActivity();
+            slot.activity = activity;
+            if (!slot.busy.compareAndSet(false, true)) {
+                slot.skippedTicks++;
+                continue;
+            }
+            if (activity == GameActivity.EMPTY || (activity == GameActivity.IDLE && tick - slot.lastTick < idleTickInterval)) {
+                // Resting games still run their timers so windows and cooldowns end on time.
+                // A rested tick costs the game nothing, so it counts towards recovering from overload.
+                try {
+                    game.advanceTimers(tick);
+                    slot.observe(0, budgetNanos);
+                } finally {
+                    slot.busy.set(false);
+                }
+                slot.restedTicks++;
+                continue;
+            }
+            slot.lastTick = tick;
+            tasks.add(pool.submit(() -> tickGame(slot, tick, budgetNanos)));
+            running.add(slot);
+        }
+
+        if (slots.size() > games.size()) {
+            forgetUnloadedGames(games);
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                tasks.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                running.get(i).lateTicks++;
+            } catch (ExecutionException e) {
+                System.err.println("GameTickRunner: Tick " + tick + " of game " + running.get(i).game.getGameId() + " failed: " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the slot of a game, replacing the slot of an earlier game on the same planet
+     * that has since been unloaded.
+     */
+    private GameSlot slotFor(GameManager game) {
+        GameSlot slot = slots.get(game.getGameId());
+        if (slot == null || slot.game != game) {
+            slot = new GameSlot(game, new OverloadController(OVERLOAD_TICKS, recoverAfterTicks));
+            slots.put(game.getGameId(), slot);
+        }
+        return slot;
+    }
+
+    private void forgetUnloadedGames(List<GameManager> games) {
+        Set<Integer> loaded = new HashSet<>();
+        for (GameManager game : games) {
+            loaded.add(game.getGameId());
+        }
+        slots.keySet().retainAll(loaded);
+    }
+
+    private void tickGame(GameSlot slot, long tick, long budgetNanos) {
+        GameManager game = slot.game;
+        long start = System.nanoTime();
+        OutboundBundle bundle = OutboundBundle.open(tick);
+        try {
+            game.update(tick);
+        } catch (Exception e) {
+            System.err.println("Error updating game " + game.getGameId() + " (" + game.getPlanetName() + "): " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            bundle.flush();
+            slot.record(System.nanoTime() - start, budgetNanos);
+            slot.busy.set(false);
+        }
+    }
+
+    /**
+     * Describes the tick time of a game.
+     * @param gameId The game to describe.
+     * @return The game's tick statistics, or null if it has never been ticked.
+     */
+    public String describe(int gameId) {
+        GameSlot slot = slots.get(gameId);
+        return slot != null ? slot.toString() : null;
+    }
+
+    /**
+     * Checks whether a game is shedding work because it repeatedly took longer than a tick.
+     * @param gameId The game to check.
+     * @return true if the game is currently overloaded.
+     */
+    public boolean isOverloaded(int gameId) {
+        return getDegradation(gameId) != DegradationLevel.NORMAL;
+    }
+
+    /**
+     * Gets how much work a game currently sheds to keep up.
+     * @param gameId The game to check.
+     * @return The game's degradation level, NORMAL if it has never been ticked.
+     */
+    public DegradationLevel getDegradation(int gameId) {
+        GameSlot slot = slots.get(gameId);
+        return slot != null ? slot.load.getLevel() : DegradationLevel.NORMAL;
+    }
+
+    /**
+     * Stops the workers. Games still running finish their current tick.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Tick accounting of one game. Only the thread holding the busy flag writes the timings and
+     * feeds the overload controller; the scheduling fields are written by the tick thread.
+     */
+    private static final class GameSlot {
+        private final GameManager game;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile long lastNanos;
+        private volatile double averageNanos;
+        private volatile long maxNanos;
+        private volatile long ticks;
+        private volatile long skippedTicks;
+        private volatile long lateTicks;
+        private final OverloadController load;
+        private volatile GameActivity activity = GameActivity.ACTIVE;
+        private volatile long restedTicks;
+        private long lastTick;
+
+        GameSlot(GameManager game, OverloadController load) {
+            this.game = game;
+            this.load = load;
+        }
+
+        void record(long elapsedNanos, long budgetNanos) {
+            lastNanos = elapsedNanos;
+            averageNanos = ticks == 0 ? elapsedNanos : averageNanos + (elapsedNanos - averageNanos) / 16;
+            maxNanos = Math.max(maxNanos, elapsedNanos);
+            ticks++;
+            observe(elapsedNanos, budgetNanos);
+        }
+
+        void observe(long elapsedNanos, long budgetNanos) {
+            DegradationLevel before = load.getLevel();
+            if (!load.record(elapsedNanos, budgetNanos)) {
+                return;
+            }
+            DegradationLevel level = load.getLevel();
+            game.setDegradation(level);
+            if (level.isAtLeast(before)) {
+                System.err.println("GameTickRunner: Game " + game.getGameId() + " (" + game.getPlanetName() + ") is overloaded and sheds work, now at " + level + ": " + this + ".");
+            } else if (level == DegradationLevel.NORMAL) {
+                System.out.println("GameTickRunner: Game " + game.getGameId() + " (" + game.getPlanetName() + ") has recovered: " + this + ".");
+            } else {
+                System.out.println("GameTickRunner: Game " + game.getGameId() + " (" + game.getPlanetName() + ") is recovering, back to " + level + ": " + this + ".");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s, last %.2f ms, average %.2f ms, max %.2f ms over %d tick(s), %d late, %d skipped, %d rested, degradation %s",
+                activity, lastNanos / 1e6, averageNanos / 1e6, maxNanos / 1e6, ticks, lateTicks, skippedTicks, restedTicks, load);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tavuc.simulation;
+
+/**
+ * Decides how much work to shed from how long recent ticks took. A run of ticks over budget
+ * moves one {@link DegradationLevel} up; a longer run of ticks at under half the budget moves one
+ * level back down. Ticks in between hold the level, so the cheaper ticks that shedding work
+ * brings do not immediately bring the work back, and recovery happens in steps that can each be
+ * undone by the next run of slow ticks. Fed by one thread at a time; the level may be read from any thread.
+ */
+public final class OverloadController {
+
+    private final int degradeAfterTicks;
+    private final int recoverAfterTicks;
+    private volatile DegradationLevel level = DegradationLevel.NORMAL;
+    private int overBudgetStreak;
+    private int underBudgetStreak;
+    private volatile long degradations;
+
+    /**
+     * Constructor for OverloadController
+     * @param degradeAfterTicks Consecutive over-budget ticks after which one more stage is shed.
+     * @param recoverAfterTicks Consecutive ticks at under half the budget after which one stage is resumed.
+     */
+    public OverloadController(int degradeAfterTicks, int recoverAfterTicks) {
+        this.degradeAfterTicks = Math.max(1, degradeAfterTicks);
+        this.recoverAfterTicks = Math.max(1, recoverAfterTicks);
+    }
+
+    /**
+     * Records how long a tick took and moves the level if the recent ticks call for it.
+     * @param elapsedNanos How long the tick took.
+     * @param budgetNanos How long the tick was allowed to take.
+     * @return true if the level changed.
+     */
+    public boolean record(long elapsedNanos, long budgetNanos) {
+        if (elapsedNanos > budgetNanos) {
+            underBudgetStreak = 0;
+            if (++overBudgetStreak >= degradeAfterTicks && level.next() != level) {
+                overBudgetStreak = 0;
+                level = level.next();
+                degradations++;
+                return true;
+            }
+        } else if (elapsedNanos < budgetNanos / 2) {
+            overBudgetStreak = 0;
+            if (++underBudgetStreak >= recoverAfterTicks && level != DegradationLevel.NORMAL) {
+                underBudgetStreak = 0;
+                level = level.previous();
+                return true;
+            }
+        } else {
+            overBudgetStreak = 0;
+            underBudgetStreak = 0;
+        }
+        return false;
+    }
+
+    /**
+     * Gets how much work is currently shed.
+     * @return The current level.
+     */
+    public DegradationLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets how often the level has moved up.
+     * @return The number of stages shed so far.
+     */
+    public long getDegradationCount() {
+        return degradations;
+    }
+
+    @Override
+    public String toString() {
+        return level + " (" + degradations + " stage(s) shed so far)";
+    }
+}
@@ -0,0 +1,149 @@
+package com.tavuc.simulation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import com.tavuc.models.planets.Chunk;
+
+/**
+ * A snapshot of entities sorted into square, chunk-aligned regions of a planet, so that
+ * per-region work can run in parallel. Entities are assigned by position when the grid is built,
+ * so an entity that crosses a border simply belongs to its new region the next time a grid is
+ * built. Regions are kept in a fixed order (by row, then column) and entities keep the order they
+ * were given in, which lets callers merge per-region results deterministically.
+ * @param <T> The entity type.
+ */
+public final class RegionGrid<T> {
+
+    /** Chunks along each side of a region. */
+    public static final int REGION_CHUNKS = 2;
+    /** Pixels along each side of a tile, as drawn by the client. */
+    public static final int TILE_PIXELS = 32;
+    /** Pixels along each side of a region. */
+    public static final int REGION_PIXELS = REGION_CHUNKS * Chunk.CHUNK_WIDTH * TILE_PIXELS;
+
+    private final Map<Long, Region<T>> regions = new TreeMap<>();
+    private final int size;
+
+    /**
+     * Constructor for RegionGrid
+     * @param entities The entities to sort, in the order results should be merged in.
+     * @param x Gets an entity's x position in pixels.
+     * @param y Gets an entity's y position in pixels.
+     */
+    public RegionGrid(List<T> entities, ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        for (T entity : entities) {
+            int regionX = regionOf(x.applyAsDouble(entity));
+            int regionY = regionOf(y.applyAsDouble(entity));
+            regions.computeIfAbsent(key(regionX, regionY), k -> new Region<>(regionX, regionY)).members.add(entity);
+        }
+        this.size = entities.size();
+    }
+
+    private static int regionOf(double position) {
+        return (int) Math.floor(position / REGION_PIXELS);
+    }
+
+    private static long key(int regionX, int regionY) {
+        // Row-major order: the row in the high bits, the column offset to be non-negative in the low bits.
+        return ((long) regionY << 32) + ((long) regionX - Integer.MIN_VALUE);
+    }
+
+    /**
+     * Gets the occupied regions in their fixed order.
+     * @return The regions holding at least one entity.
+     */
+    public Collection<Region<T>> regions() {
+        return regions.values();
+    }
+
+    /**
+     * Gets the number of entities in the grid.
+     * @return The entity count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets every entity that may lie within a distance of a region: the members of the region and
+     * of the regions around it, in region order.
+     * @param region The region in the middle.
+     * @param distance The largest distance that matters, in pixels.
+     * @return The candidate entities, a superset of those within the distance.
+     */
+    public List<T> around(Region<T> region, double distance) {
+        int reach = Math.max(1, (int) Math.ceil(distance / REGION_PIXELS));
+        List<T> nearby = new ArrayList<>();
+        for (int dy = -reach; dy <= reach; dy++) {
+            for (int dx = -reach; dx <= reach; dx++) {
+                Region<T> other = regions.get(key(region.regionX + dx, region.regionY + dy));
+                if (other != null) {
+                    nearby.addAll(other.members);
+                }
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * Runs work for every region, in parallel when asked to and when running on a fork/join pool,
+     * and returns once every region is done. The work for one region must only modify that
+     * region's members; anything that touches other regions belongs in the caller's merge of the results.
+     * @param parallel Whether regions may run on several threads.
+     * @param work The work to run for each region.
+     * @param <R> The result type.
+     * @return The result of each region, in region order.
+     */
+    public <R> List<R> mapRegions(boolean parallel, Function<Region<T>, R> work) {
+        List<R> results = new ArrayList<>(regions.size());
+        if (!parallel || regions.size() < 2 || !ForkJoinTask.inForkJoinPool()) {
+            for (Region<T> region : regions.values()) {
+                results.add(work.apply(region));
+            }
+            return results;
+        }
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(regions.size());
+        for (Region<T> region : regions.values()) {
+            tasks.add(ForkJoinTask.adapt(() -> work.apply(region)));
+        }
+        for (ForkJoinTask<R> task : ForkJoinTask.invokeAll(tasks)) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * One region of the grid and the entities in it.
+     * @param <T> The entity type.
+     */
+    public static final class Region<T> {
+        private final int regionX;
+        private final int regionY;
+        private final List<T> members = new ArrayList<>();
+
+        Region(int regionX, int regionY) {
+            this.regionX = regionX;
+            this.regionY = regionY;
+        }
+
+        /**
+         * Gets the entities in this region.
+         * @return The members, in the order they were given to the grid.
+         */
+        public List<T> getMembers() {
+            return members;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + regionX + ", " + regionY + ")";
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.tavuc.simulation;
+
+/**
+ * The time of the simulation, counted in ticks. The tick scheduler advances it once per tick,
+ * before any phase runs, and gameplay code derives its timing from it instead of the wall clock:
+ * cooldowns, windows and effects then depend only on how many ticks have run, so a replay or
+ * benchmark that runs ticks back to back, faster than real time, sees exactly the same timing.
+ * Advanced by one thread; may be read from any thread.
+ */
+public final class SimulationClock {
+
+    private final int ticksPerSecond;
+    private volatile long tick;
+
+    /**
+     * Constructor for SimulationClock
+     * @param ticksPerSecond The number of ticks that make up one second of simulation time.
+     */
+    public SimulationClock(int ticksPerSecond) {
+        this.ticksPerSecond = Math.max(1, ticksPerSecond);
+    }
+
+    /**
+     * Moves the clock forward to a tick.
+     * @param tick The tick to advance to. Ticks at or before the current one are ignored.
+     */
+    public void advanceTo(long tick) {
+        if (tick > this.tick) {
+            this.tick = tick;
+        }
+    }
+
+    /**
+     * Gets the tick the clock has advanced to.
+     * @return The current tick, 0 before the first tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the current simulation time.
+     * @return The time since the first tick in milliseconds.
+     */
+    public long getMillis() {
+        return toMillis(tick);
+    }
+
+    /**
+     * Converts a tick number to simulation time.
+     * @param tick The tick.
+     * @return The time of the tick in milliseconds.
+     */
+    public long toMillis(long tick) {
+        return tick * 1000 / ticksPerSecond;
+    }
+
+    /**
+     * Converts a duration to the number of ticks that covers it.
+     * @param millis The duration in milliseconds.
+     * @return The duration in ticks, rounded up.
+     */
+    public long toTicks(long millis) {
+        return (Math.max(0, millis) * ticksPerSecond + 999) / 1000;
+    }
+
+    /**
+     * Gets the rate at which the clock is advanced.
+     * @return The number of ticks per second.
+     */
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "tick " + tick + " (" + getMillis() + " ms at " + ticksPerSecond + " ticks/s)";
+    }
+}
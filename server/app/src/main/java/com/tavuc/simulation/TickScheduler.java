@@ -0,0 +1,272 @@
+package com.tavuc.simulation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.tavuc.networking.OutboundBundle;
+
+/**
+ * The single clock of the simulation. One thread advances the world in fixed steps: real time
+ * accumulates, and every full step runs each registered phase once, in registration order, with
+ * the same tick number and the same fixed delta. If the thread falls behind it catches up by
+ * running several ticks back to back, but never more than the catch-up limit; time beyond that is
+ * dropped so a stall does not turn into a burst of fast-forwarded ticks. Ticks that take longer
+ * than their step are counted and reported, and feed an {@link OverloadController} whose level
+ * tells server-wide work, such as projectiles in space, how much to shed.
+ * Everything a tick sends is delivered as one {@link OutboundBundle} per session, stamped with the tick number.
+ * Each tick first advances the {@link SimulationClock}, so all phases of a tick see the same simulation time.
+ */
+public final class TickScheduler {
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    /** Consecutive ticks over their step after which the server sheds one more stage of work. */
+    private static final int OVERLOAD_TICKS = 3;
+
+    /**
+     * One part of the world advanced by the scheduler.
+     */
+    @FunctionalInterface
+    public interface TickPhase {
+        /**
+         * Advances this part of the world by one step.
+         * @param tick The number of the tick being run.
+         * @param deltaSeconds The fixed length of a step in seconds.
+         */
+        void tick(long tick, float deltaSeconds);
+    }
+
+    private final long stepNanos;
+    private final float stepSeconds;
+    private final int maxCatchUpTicks;
+    private final List<Phase> phases = new CopyOnWriteArrayList<>();
+    private final SimulationClock clock;
+    private final OverloadController load;
+    private volatile boolean running;
+    private volatile long currentTick;
+    private volatile long overruns;
+    private volatile long skippedTicks;
+    private long worstOverrunNanos;
+    private long worstOverrunTick;
+    private String worstOverrunPhase;
+    private Thread thread;
+
+    /**
+     * Constructor for TickScheduler
+     * @param clock The simulation clock advanced by every tick; its rate is the fixed tick rate.
+     * @param maxCatchUpTicks How many ticks may run back to back to catch up after a stall.
+     * @param recoverAfterTicks Ticks well within their step after which one stage of shed work is resumed.
+     */
+    public TickScheduler(SimulationClock clock, int maxCatchUpTicks, int recoverAfterTicks) {
+        this.clock = clock;
+        int rate = clock.getTicksPerSecond();
+        this.stepNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        this.stepSeconds = 1.0f / rate;
+        this.maxCatchUpTicks = Math.max(1, maxCatchUpTicks);
+        this.load = new OverloadController(OVERLOAD_TICKS, recoverAfterTicks);
+    }
+
+    /**
+     * Adds a phase to every tick, after the phases added before it.
+     * @param name The name used when reporting errors and slow ticks.
+     * @param phase The work to run each tick.
+     */
+    public void addPhase(String name, TickPhase phase) {
+        phases.add(new Phase(name, phase));
+    }
+
+    /**
+     * Starts ticking on a new thread.
+     */
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "SimulationTickThread");
+        thread.start();
+        System.out.println("TickScheduler: " + (TimeUnit.SECONDS.toNanos(1) / stepNanos) + " ticks/s, catching up at most " + maxCatchUpTicks + " tick(s), phases " + phases + ".");
+    }
+
+    /**
+     * Runs ticks back to back on the calling thread without waiting for real time, so benchmarks
+     * and replays can run the simulation faster than real time. Must not be used while the
+     * scheduler is running on its own thread.
+     * @param ticks The number of ticks to run.
+     */
+    public void advance(int ticks) {
+        if (running) {
+            throw new IllegalStateException("TickScheduler is already running on its own thread.");
+        }
+        for (int i = 0; i < ticks; i++) {
+            runTick(currentTick + 1);
+        }
+    }
+
+    /**
+     * Stops ticking after the current tick.
+     */
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        long lastReport = previous;
+        long reportedOverruns = 0;
+        long reportedSkips = 0;
+        while (running) {
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+
+            long maxBacklog = stepNanos * maxCatchUpTicks;
+            if (accumulator > maxBacklog) {
+                skippedTicks += (accumulator - maxBacklog) / stepNanos;
+                accumulator = maxBacklog;
+            }
+            while (accumulator >= stepNanos && running) {
+                runTick(currentTick + 1);
+                accumulator -= stepNanos;
+            }
+
+            if (now - lastReport >= REPORT_INTERVAL_NANOS) {
+                if (overruns != reportedOverruns || skippedTicks != reportedSkips) {
+                    System.err.println("TickScheduler: " + (overruns - reportedOverruns) + " tick(s) over budget and "
+                        + (skippedTicks - reportedSkips) + " tick(s) skipped in the last " + TimeUnit.NANOSECONDS.toSeconds(now - lastReport) + " s, degradation " + load + "."
+                        + (worstOverrunPhase != null ? " Worst: tick " + worstOverrunTick + " took " + TimeUnit.NANOSECONDS.toMillis(worstOverrunNanos)
+                            + " ms of a " + TimeUnit.NANOSECONDS.toMillis(stepNanos) + " ms step, mostly in phase " + worstOverrunPhase + "." : ""));
+                    reportedOverruns = overruns;
+                    reportedSkips = skippedTicks;
+                    worstOverrunNanos = 0;
+                    worstOverrunPhase = null;
+                }
+                lastReport = now;
+            }
+
+            long wait = stepNanos - accumulator - (System.nanoTime() - previous);
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        System.out.println("TickScheduler: Stopped at tick " + currentTick + ".");
+    }
+
+    private void runTick(long tick) {
+        long start = System.nanoTime();
+        clock.advanceTo(tick);
+        Phase slowest = null;
+        long slowestNanos = 0;
+        OutboundBundle bundle = OutboundBundle.open(tick);
+        try {
+            for (Phase phase : phases) {
+                long phaseStart = System.nanoTime();
+                try {
+                    phase.work.tick(tick, stepSeconds);
+                } catch (Exception e) {
+                    System.err.println("TickScheduler: Error in phase " + phase.name + " at tick " + tick + ": " + e.getMessage());
+                    e.printStackTrace();
+                }
+                long phaseNanos = System.nanoTime() - phaseStart;
+                if (phaseNanos > slowestNanos) {
+                    slowestNanos = phaseNanos;
+                    slowest = phase;
+                }
+            }
+        } finally {
+            bundle.flush();
+        }
+        currentTick = tick;
+        long elapsed = System.nanoTime() - start;
+        DegradationLevel before = load.getLevel();
+        if (load.record(elapsed, stepNanos)) {
+            DegradationLevel level = load.getLevel();
+            if (level.isAtLeast(before)) {
+                System.err.println("TickScheduler: Ticks keep overrunning their step, shedding work server-wide, now at " + level + ".");
+            } else {
+                System.out.println("TickScheduler: Ticks are back within their step, now at " + level + ".");
+            }
+        }
+        if (elapsed > stepNanos) {
+            overruns++;
+            if (elapsed > worstOverrunNanos && slowest != null) {
+                worstOverrunNanos = elapsed;
+                worstOverrunTick = tick;
+                worstOverrunPhase = slowest.name;
+            }
+        }
+    }
+
+    /**
+     * Gets the clock this scheduler advances.
+     * @return The simulation clock.
+     */
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the number of the last completed tick.
+     * @return The tick number, 0 before the first tick.
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Gets the fixed length of a tick.
+     * @return The step in nanoseconds.
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Gets the fixed length of a tick.
+     * @return The step in seconds.
+     */
+    public float getStepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * Gets how much server-wide work is shed because whole ticks keep overrunning their step.
+     * @return The current degradation level.
+     */
+    public DegradationLevel getDegradation() {
+        return load.getLevel();
+    }
+
+    /**
+     * Gets the number of ticks that took longer than their step.
+     * @return The overrun count.
+     */
+    public long getOverrunCount() {
+        return overruns;
+    }
+
+    /**
+     * Gets the number of ticks dropped because the scheduler fell further behind than it may catch up.
+     * @return The skipped tick count.
+     */
+    public long getSkippedTickCount() {
+        return skippedTicks;
+    }
+
+    private static final class Phase {
+        private final String name;
+        private final TickPhase work;
+
+        Phase(String name, TickPhase work) {
+            this.name = name;
+            this.work = work;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.tavuc.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel driven by simulation ticks.
+ * Deadlines are kept in four levels of 64 slots; the first level holds the next 64 ticks one
+ * slot per tick, and each level above covers 64 times the span of the one below. Scheduling and
+ * cancelling are O(1), and advancing one tick only looks at the slot that comes due, so expiry
+ * costs nothing for timers that are not due instead of a scan over every entity every tick.
+ * Timers further away than the top level can cover are parked there and re-filed when their slot
+ * comes round. Timers may be scheduled and cancelled from any thread; their tasks run on the
+ * thread that advances the wheel, after the wheel's lock has been released, so a task may
+ * schedule further timers. Durations are converted to ticks at the rate of the
+ * {@link SimulationClock}, and the tick the wheel has reached is the simulation time of whatever
+ * its timers drive.
+ */
+public final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final SimulationClock clock;
+    private final Timeout[][] slots = new Timeout[LEVELS][SLOTS];
+    private final int[] levelCounts = new int[LEVELS];
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+    private int size;
+    private long firedCount;
+
+    /**
+     * Constructor for TimingWheel. The wheel starts at the clock's current tick.
+     * @param clock The simulation clock whose ticks advance the wheel, used to convert durations to ticks.
+     */
+    public TimingWheel(SimulationClock clock) {
+        this.clock = clock;
+        this.currentTick = clock.getTick();
+    }
+
+    /**
+     * Runs a task once the wheel has advanced by the given number of ticks.
+     * @param delayTicks The delay in ticks; anything below 1 fires on the next tick.
+     * @param task The task to run on the advancing thread.
+     * @return A handle that cancels the timer.
+     */
+    public Timeout schedule(long delayTicks, Runnable task) {
+        lock.lock();
+        try {
+            Timeout timeout = new Timeout(currentTick + Math.max(1, delayTicks), task);
+            insert(timeout);
+            size++;
+            return timeout;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a task once at least the given time has passed in ticks.
+     * @param delayMillis The delay in milliseconds, rounded up to whole ticks.
+     * @param task The task to run on the advancing thread.
+     * @return A handle that cancels the timer.
+     */
+    public Timeout scheduleMillis(long delayMillis, Runnable task) {
+        return schedule(toTicks(delayMillis), task);
+    }
+
+    /**
+     * Converts a duration to the number of ticks that covers it.
+     * @param millis The duration in milliseconds.
+     * @return The duration in ticks, rounded up.
+     */
+    public long toTicks(long millis) {
+        return clock.toTicks(millis);
+    }
+
+    /**
+     * Advances the wheel by one tick and runs the timers that came due.
+     */
+    public void advance() {
+        long target;
+        lock.lock();
+        try {
+            target = currentTick + 1;
+        } finally {
+            lock.unlock();
+        }
+        advanceTo(target);
+    }
+
+    /**
+     * Advances the wheel up to a tick and runs every timer that came due on the way, in deadline order.
+     * Stretches without timers are skipped rather than stepped through, so a wheel that has not
+     * been advanced for a long time catches up cheaply.
+     * @param tick The tick to advance to. Ticks at or before the current one are ignored.
+     */
+    public void advanceTo(long tick) {
+        List<Timeout> due = null;
+        lock.lock();
+        try {
+            while (currentTick < tick) {
+                if (size == 0) {
+                    currentTick = tick;
+                    break;
+                }
+                int lowest = 0;
+                while (lowest < LEVELS - 1 && levelCounts[lowest] == 0) {
+                    lowest++;
+                }
+                // Nothing below the lowest occupied level can come due before its next slot boundary.
+                long span = 1L << (SLOT_BITS * lowest);
+                long next = lowest == 0 ? currentTick + 1 : (currentTick / span + 1) * span;
+                currentTick = Math.min(tick, next);
+                due = step(due);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (due == null) {
+            return;
+        }
+        for (Timeout timeout : due) {
+            try {
+                timeout.task.run();
+            } catch (Exception e) {
+                System.err.println("TimingWheel: Timer task due at tick " + timeout.deadline + " failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private List<Timeout> step(List<Timeout> due) {
+        int top = 0;
+        while (top + 1 < LEVELS && (currentTick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        // Higher levels first, so timers they hand down land in slots that have not been visited yet.
+        for (int level = top; level >= 1; level--) {
+            int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timeout timeout = slots[level][index];
+            slots[level][index] = null;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                levelCounts[level]--;
+                timeout.prev = null;
+                timeout.next = null;
+                insert(timeout);
+                timeout = next;
+            }
+        }
+
+        int index = (int) (currentTick & SLOT_MASK);
+        Timeout timeout = slots[0][index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.deadline <= currentTick) {
+                unlink(timeout);
+                size--;
+                firedCount++;
+                if (due == null) {
+                    due = new ArrayList<>();
+                }
+                due.add(timeout);
+            }
+            timeout = next;
+        }
+        return due;
+    }
+
+    private void insert(Timeout timeout) {
+        long delta = Math.min(timeout.deadline - currentTick, MAX_SPAN - 1);
+        long filed = currentTick + Math.max(0, delta);
+        int level = 0;
+        while (level + 1 < LEVELS && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int index = (int) ((filed >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.level = level;
+        timeout.index = index;
+        timeout.next = slots[level][index];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[level][index] = timeout;
+        levelCounts[level]++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        levelCounts[timeout.level]--;
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    /**
+     * Gets the tick the wheel has advanced to.
+     * @return The current tick.
+     */
+    public long getCurrentTick() {
+        lock.lock();
+        try {
+            return currentTick;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the simulation time the wheel has advanced to, for timing that is checked rather than
+     * scheduled, such as cooldowns. Unlike the wall clock it only moves when the wheel is advanced.
+     * @return The current tick in milliseconds.
+     */
+    public long getCurrentMillis() {
+        return clock.toMillis(getCurrentTick());
+    }
+
+    /**
+     * Gets the number of timers waiting to fire.
+     * @return The pending timer count.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return size + " pending timer(s) at tick " + currentTick + ", " + firedCount + " fired";
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A scheduled timer.
+     */
+    public final class Timeout {
+        private final long deadline;
+        private final Runnable task;
+        private Timeout prev;
+        private Timeout next;
+        private int level = -1;
+        private int index;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the timer. Has no effect once it has fired or been cancelled.
+         * @return true if the timer was still pending.
+         */
+        public boolean cancel() {
+            lock.lock();
+            try {
+                if (level < 0) {
+                    return false;
+                }
+                unlink(this);
+                size--;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gets the tick at which the timer fires.
+         * @return The deadline tick.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+}
@@ -12,3 +12,6 @@ plugins {
 
 rootProject.name = "server-space"
 include("app")
+
+// Message classes and their generated binary codecs, shared with the client
+includeBuild("../protocol")